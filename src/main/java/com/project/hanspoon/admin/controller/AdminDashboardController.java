@@ -2,10 +2,12 @@ package com.project.hanspoon.admin.controller;
 
 import com.project.hanspoon.admin.dto.AdminDashboardSummaryDto;
 import com.project.hanspoon.admin.service.AdminDashboardService;
+import com.project.hanspoon.admin.service.SalesRollupBackfillService;
 import com.project.hanspoon.common.response.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class AdminDashboardController {
 
     private final AdminDashboardService dashboardService;
+    private final SalesRollupBackfillService salesRollupBackfillService;
 
     @GetMapping("/summary")
     public ResponseEntity<ApiResponse<AdminDashboardSummaryDto>> getDashboardSummary() {
@@ -31,4 +34,13 @@ public class AdminDashboardController {
     public ResponseEntity<ApiResponse<com.project.hanspoon.admin.dto.SalesStatisticsDto>> getSalesStatistics() {
         return ResponseEntity.ok(ApiResponse.ok(dashboardService.getSalesStatistics()));
     }
+
+    /**
+     * 매출 집계 테이블을 payment 원본으로 다시 계산합니다. (집계 불일치 복구용)
+     */
+    @PostMapping("/rollup/rebuild")
+    public ResponseEntity<ApiResponse<Void>> rebuildSalesRollup() {
+        salesRollupBackfillService.rebuild();
+        return ResponseEntity.ok(ApiResponse.ok("매출 집계를 다시 계산했습니다."));
+    }
 }
@@ -0,0 +1,52 @@
+package com.project.hanspoon.admin.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 일자별 매출 집계(rollup) 테이블입니다.
+ *
+ * 초보자 참고:
+ * - 대시보드가 payment 전체를 읽지 않도록, 결제 완료/취소가 커밋될 때마다 해당 날짜 행을 증감합니다.
+ * - PAID 상태 결제만 합산합니다. 취소되면 결제일(pay_date) 행에서 다시 빼 줍니다.
+ * - 집계가 어긋났다고 의심되면 SalesRollupBackfillService로 payment 테이블에서 다시 계산할 수 있습니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "daily_sales_rollup")
+public class DailySalesRollup {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Column(name = "paid_amount", nullable = false)
+    private long paidAmount;
+
+    @Column(name = "paid_count", nullable = false)
+    private long paidCount;
+
+    // 상품 항목이 포함된 결제의 금액 합계 (카테고리 비중용)
+    @Column(name = "product_amount", nullable = false)
+    private long productAmount;
+
+    // 클래스 항목이 포함된 결제의 금액 합계 (카테고리 비중용)
+    @Column(name = "class_amount", nullable = false)
+    private long classAmount;
+
+    public static DailySalesRollup of(LocalDate salesDate, long paidAmount, long paidCount,
+                                      long productAmount, long classAmount) {
+        DailySalesRollup rollup = new DailySalesRollup();
+        rollup.salesDate = salesDate;
+        rollup.paidAmount = paidAmount;
+        rollup.paidCount = paidCount;
+        rollup.productAmount = productAmount;
+        rollup.classAmount = classAmount;
+        return rollup;
+    }
+}
@@ -0,0 +1,40 @@
+package com.project.hanspoon.admin.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 결제 항목명(item_name) 기준 판매 집계 테이블입니다.
+ * 인기 상품 TOP N을 payment_item 전체 그룹핑 없이 인덱스 정렬 한 번으로 조회하기 위해 사용합니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "item_sales_rollup",
+        indexes = @Index(name = "idx_item_sales_rollup_count", columnList = "item_count"))
+public class ItemSalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "item_name", nullable = false, unique = true, length = 200)
+    private String itemName;
+
+    // 결제 항목 건수 (기존 대시보드의 "판매 건수" 기준과 동일)
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    @Column(name = "quantity", nullable = false)
+    private long quantity;
+
+    public static ItemSalesRollup of(String itemName, long itemCount, long quantity) {
+        ItemSalesRollup rollup = new ItemSalesRollup();
+        rollup.itemName = itemName;
+        rollup.itemCount = itemCount;
+        rollup.quantity = quantity;
+        return rollup;
+    }
+}
@@ -0,0 +1,36 @@
+package com.project.hanspoon.admin.repository;
+
+import com.project.hanspoon.admin.entity.DailySalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+
+public interface DailySalesRollupRepository extends JpaRepository<DailySalesRollup, LocalDate> {
+
+    /**
+     * 해당 날짜 행에 증감분을 원자적으로 더합니다. 행이 없으면 0을 반환하므로 호출 측에서 insert 합니다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update DailySalesRollup r
+            set r.paidAmount = r.paidAmount + :amount,
+                r.paidCount = r.paidCount + :count,
+                r.productAmount = r.productAmount + :productAmount,
+                r.classAmount = r.classAmount + :classAmount
+            where r.salesDate = :salesDate
+            """)
+    int addDelta(@Param("salesDate") LocalDate salesDate,
+                 @Param("amount") long amount,
+                 @Param("count") long count,
+                 @Param("productAmount") long productAmount,
+                 @Param("classAmount") long classAmount);
+
+    @Query("select coalesce(sum(r.productAmount), 0) from DailySalesRollup r")
+    long sumProductAmount();
+
+    @Query("select coalesce(sum(r.classAmount), 0) from DailySalesRollup r")
+    long sumClassAmount();
+}
@@ -0,0 +1,25 @@
+package com.project.hanspoon.admin.repository;
+
+import com.project.hanspoon.admin.entity.ItemSalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ItemSalesRollupRepository extends JpaRepository<ItemSalesRollup, Long> {
+
+    List<ItemSalesRollup> findTop5ByOrderByItemCountDesc();
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update ItemSalesRollup r
+            set r.itemCount = r.itemCount + :count,
+                r.quantity = r.quantity + :quantity
+            where r.itemName = :itemName
+            """)
+    int addDelta(@Param("itemName") String itemName,
+                 @Param("count") long count,
+                 @Param("quantity") long quantity);
+}
@@ -0,0 +1,32 @@
+package com.project.hanspoon.admin.scheduler;
+
+import com.project.hanspoon.admin.service.SalesRollupBackfillService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 매출 집계 테이블이 비어 있으면(최초 배포 직후) 기동 시 한 번 백필합니다.
+ * 이후 재계산은 관리자 API(POST /api/admin/dashboard/rollup/rebuild)로 실행합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalesRollupBackfillJob {
+
+    private final SalesRollupBackfillService backfillService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (backfillService.isEmpty()) {
+                backfillService.rebuild();
+            }
+        } catch (Exception e) {
+            // 집계 백필 실패로 애플리케이션 기동이 막히지 않도록 로그만 남깁니다.
+            log.warn("매출 집계 초기 백필 실패: {}", e.getMessage());
+        }
+    }
+}
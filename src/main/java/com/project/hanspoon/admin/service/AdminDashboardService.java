@@ -1,9 +1,10 @@
 package com.project.hanspoon.admin.service;
 
 import com.project.hanspoon.admin.dto.AdminDashboardSummaryDto;
+import com.project.hanspoon.admin.entity.DailySalesRollup;
+import com.project.hanspoon.admin.repository.DailySalesRollupRepository;
+import com.project.hanspoon.admin.repository.ItemSalesRollupRepository;
 import com.project.hanspoon.common.payment.repository.PaymentRepository;
-import com.project.hanspoon.common.payment.repository.PaymentItemRepository;
-import com.project.hanspoon.common.payment.entity.PaymentItem;
 import com.project.hanspoon.admin.dto.SalesStatisticsDto;
 import com.project.hanspoon.common.user.repository.UserRepository;
 import com.project.hanspoon.oneday.reservation.domain.ReservationStatus;
@@ -27,7 +28,8 @@ import java.util.List;
 public class AdminDashboardService {
 
         private final PaymentRepository paymentRepository;
-        private final PaymentItemRepository paymentItemRepository;
+        private final DailySalesRollupRepository dailySalesRollupRepository;
+        private final ItemSalesRollupRepository itemSalesRollupRepository;
         private final OrderRepository orderRepository;
         private final ClassReservationRepository reservationRepository;
         private final UserRepository userRepository;
@@ -35,24 +37,21 @@ public class AdminDashboardService {
         private final InqProductRepository inqProductRepository;
         private final RecipeIngRepository recipeIngRepository;
 
+        // 매출 추이 캐시 보관 기간(일). 자주 쓰는 조회 범위(7~365일)를 모두 담을 수 있게 잡습니다.
+        private static final int CLOSED_DAY_CACHE_DAYS = 400;
+
+        // 마감된(어제 이전) 날짜의 결제 합계 캐시. 결제일 기준 합계라 한 번 마감되면 값이 바뀌지 않습니다.
+        private final java.util.Map<LocalDate, Long> closedDaySales = new java.util.concurrent.ConcurrentHashMap<>();
+
         public AdminDashboardSummaryDto getDashboardSummary() {
                 try {
-                        LocalDateTime todayStart = LocalDate.now().atStartOfDay();
-                        LocalDateTime todayEnd = LocalDate.now().atTime(23, 59, 59);
-                        LocalDateTime yesterdayStart = todayStart.minusDays(1);
-                        LocalDateTime yesterdayEnd = todayEnd.minusDays(1);
-
-                        // 1. 매출 (Payment 기준, PAID 상태)
-                        long todaySales = paymentRepository.findByPayDateBetween(todayStart, todayEnd).stream()
-                                        .filter(p -> p.getStatus() == com.project.hanspoon.common.payment.constant.PaymentStatus.PAID)
-                                        .mapToLong(p -> p.getTotalPrice() != null ? p.getTotalPrice() : 0)
-                                        .sum();
-
-                        long yesterdaySales = paymentRepository.findByPayDateBetween(yesterdayStart, yesterdayEnd)
-                                        .stream()
-                                        .filter(p -> p.getStatus() == com.project.hanspoon.common.payment.constant.PaymentStatus.PAID)
-                                        .mapToLong(p -> p.getTotalPrice() != null ? p.getTotalPrice() : 0)
-                                        .sum();
+                        LocalDate today = LocalDate.now();
+                        LocalDateTime todayStart = today.atStartOfDay();
+                        LocalDateTime todayEnd = today.atTime(23, 59, 59);
+
+                        // 1. 매출 (Payment 기준, PAID 상태) - 일자별 집계 테이블에서 PK 조회 2번으로 끝냅니다.
+                        long todaySales = paidAmountOf(today);
+                        long yesterdaySales = paidAmountOf(today.minusDays(1));
 
                         // 2. 주문 상태
                         long paymentCompleted = orderRepository.countByStatus(OrderStatus.PAID)
@@ -107,33 +106,31 @@ public class AdminDashboardService {
 
         @Transactional(readOnly = true)
         public com.project.hanspoon.admin.dto.SalesTrendDto getSalesTrend(int days) {
-                LocalDateTime now = LocalDateTime.now();
-                LocalDateTime startDate = now.minusDays(days - 1).toLocalDate().atStartOfDay();
+                int window = Math.max(1, days);
+                LocalDate today = LocalDate.now();
+                LocalDate startDate = today.minusDays(window - 1);
+                // 증감률 계산에 어제 값이 필요하므로, 1일 조회여도 어제까지 포함해 채웁니다.
+                LocalDate firstNeeded = startDate.isBefore(today.minusDays(1)) ? startDate : today.minusDays(1);
+
+                java.util.Map<LocalDate, Long> dailySales = loadDailySales(firstNeeded, today);
 
                 List<com.project.hanspoon.admin.dto.SalesTrendDto.SalesTrendItem> trend = new java.util.ArrayList<>();
                 long totalSales = 0;
 
-                for (int i = 0; i < days; i++) {
-                        LocalDateTime targetDate = startDate.plusDays(i);
-                        LocalDateTime targetStart = targetDate.toLocalDate().atStartOfDay();
-                        LocalDateTime targetEnd = targetDate.toLocalDate().atTime(23, 59, 59);
-
-                        Long dailyAmount = paymentRepository.sumTotalPriceByPayDateBetween(targetStart, targetEnd);
-                        long amount = dailyAmount != null ? dailyAmount : 0;
+                for (int i = 0; i < window; i++) {
+                        LocalDate targetDate = startDate.plusDays(i);
+                        long amount = dailySales.getOrDefault(targetDate, 0L);
 
                         trend.add(com.project.hanspoon.admin.dto.SalesTrendDto.SalesTrendItem.builder()
-                                        .date(targetDate.toLocalDate().toString())
+                                        .date(targetDate.toString())
                                         .sales(amount)
                                         .build());
                         totalSales += amount;
                 }
 
                 // 증감률 계산 (오늘 vs 어제)
-                long todaySales = trend.get(days - 1).getSales();
-                LocalDateTime yesterdayStart = now.minusDays(1).toLocalDate().atStartOfDay();
-                LocalDateTime yesterdayEnd = now.minusDays(1).toLocalDate().atTime(23, 59, 59);
-                Long yesterdaySalesRaw = paymentRepository.sumTotalPriceByPayDateBetween(yesterdayStart, yesterdayEnd);
-                long yesterdaySales = yesterdaySalesRaw != null ? yesterdaySalesRaw : 0;
+                long todaySales = trend.get(window - 1).getSales();
+                long yesterdaySales = dailySales.getOrDefault(today.minusDays(1), 0L);
 
                 double growthRate = 0;
                 if (yesterdaySales > 0) {
@@ -151,18 +148,9 @@ public class AdminDashboardService {
 
         @Transactional(readOnly = true)
         public SalesStatisticsDto getSalesStatistics() {
-                // 1. 카테고리 비중 (전체 기간 기준)
-                long productSales = paymentRepository.findAll().stream()
-                                .filter(p -> p.getStatus() == com.project.hanspoon.common.payment.constant.PaymentStatus.PAID)
-                                .filter(p -> p.getPaymentItems().stream().anyMatch(item -> item.getProductId() != null))
-                                .mapToLong(p -> p.getTotalPrice() != null ? p.getTotalPrice() : 0)
-                                .sum();
-
-                long classSales = paymentRepository.findAll().stream()
-                                .filter(p -> p.getStatus() == com.project.hanspoon.common.payment.constant.PaymentStatus.PAID)
-                                .filter(p -> p.getPaymentItems().stream().anyMatch(item -> item.getClassId() != null))
-                                .mapToLong(p -> p.getTotalPrice() != null ? p.getTotalPrice() : 0)
-                                .sum();
+                // 1. 카테고리 비중 (전체 기간 기준) - 결제 건수가 아닌 "일 수"만큼의 집계 행만 합산합니다.
+                long productSales = dailySalesRollupRepository.sumProductAmount();
+                long classSales = dailySalesRollupRepository.sumClassAmount();
 
                 List<SalesStatisticsDto.CategoryRatio> ratios = List.of(
                                 SalesStatisticsDto.CategoryRatio.builder().category("상점 상품").value(productSales)
@@ -170,22 +158,14 @@ public class AdminDashboardService {
                                 SalesStatisticsDto.CategoryRatio.builder().category("클래스 예약").value(classSales)
                                                 .build());
 
-                // 2. 인기 상품 TOP 5 (수량 기준)
-                List<PaymentItem> allItems = paymentItemRepository.findAll();
-                java.util.Map<String, Long> countMap = allItems.stream()
-                                .filter(item -> item.getItemName() != null)
-                                .collect(java.util.stream.Collectors.groupingBy(
-                                                PaymentItem::getItemName,
-                                                java.util.stream.Collectors.counting()));
-
-                List<SalesStatisticsDto.TopItem> topItems = countMap.entrySet().stream()
-                                .map(entry -> SalesStatisticsDto.TopItem.builder()
-                                                .name(entry.getKey())
-                                                .count(entry.getValue())
+                // 2. 인기 상품 TOP 5 (판매 건수 기준) - 항목별 집계 테이블의 item_count 인덱스 정렬
+                List<SalesStatisticsDto.TopItem> topItems = itemSalesRollupRepository.findTop5ByOrderByItemCountDesc()
+                                .stream()
+                                .map(item -> SalesStatisticsDto.TopItem.builder()
+                                                .name(item.getItemName())
+                                                .count(item.getItemCount())
                                                 .sales(0) // 현재 PaymentItem 에 단가가 없어 0으로 표시하거나 추후 확장
                                                 .build())
-                                .sorted((a, b) -> Long.compare(b.getCount(), a.getCount()))
-                                .limit(5)
                                 .toList();
 
                 return SalesStatisticsDto.builder()
@@ -193,4 +173,50 @@ public class AdminDashboardService {
                                 .topItems(topItems)
                                 .build();
         }
+
+        /**
+         * [from, today] 구간의 일자별 결제 합계를 반환합니다.
+         *
+         * 초보자 참고:
+         * - 지난 날짜(어제 이전)의 합계는 결제일(pay_date) 기준이라 이후에 바뀌지 않으므로 메모리에 캐시합니다.
+         * - 캐시에 없는 가장 이른 날짜부터 오늘까지를 GROUP BY 쿼리 한 번으로 읽고, 결제가 없는 날은 0으로 채웁니다.
+         * - 캐시가 채워진 뒤에는 오늘 하루만 조회하게 됩니다.
+         */
+        private java.util.Map<LocalDate, Long> loadDailySales(LocalDate from, LocalDate today) {
+                LocalDate queryFrom = today;
+                for (LocalDate d = from; d.isBefore(today); d = d.plusDays(1)) {
+                        if (!closedDaySales.containsKey(d)) {
+                                queryFrom = d;
+                                break;
+                        }
+                }
+
+                java.util.Map<LocalDate, Long> fetched = new java.util.HashMap<>();
+                for (PaymentRepository.DailySalesAmount row : paymentRepository.sumTotalPriceGroupByPayDate(
+                                queryFrom.atStartOfDay(), today.plusDays(1).atStartOfDay())) {
+                        fetched.put(row.getSalesDate(), row.getAmount() != null ? row.getAmount() : 0L);
+                }
+
+                java.util.Map<LocalDate, Long> result = new java.util.HashMap<>();
+                for (LocalDate d = from; !d.isAfter(today); d = d.plusDays(1)) {
+                        long amount = d.isBefore(queryFrom)
+                                        ? closedDaySales.getOrDefault(d, 0L)
+                                        : fetched.getOrDefault(d, 0L);
+                        result.put(d, amount);
+                        if (d.isBefore(today)) {
+                                closedDaySales.putIfAbsent(d, amount);
+                        }
+                }
+
+                // 캐시가 끝없이 커지지 않도록 보관 기간을 넘긴 날짜는 정리합니다.
+                LocalDate oldest = today.minusDays(CLOSED_DAY_CACHE_DAYS);
+                closedDaySales.keySet().removeIf(d -> d.isBefore(oldest));
+                return result;
+        }
+
+        private long paidAmountOf(LocalDate date) {
+                return dailySalesRollupRepository.findById(date)
+                                .map(DailySalesRollup::getPaidAmount)
+                                .orElse(0L);
+        }
 }
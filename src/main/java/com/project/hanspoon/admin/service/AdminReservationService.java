@@ -10,6 +10,7 @@ import com.project.hanspoon.oneday.coupon.repository.ClassUserCouponRepository;
 import com.project.hanspoon.oneday.reservation.domain.ReservationStatus;
 import com.project.hanspoon.oneday.reservation.entity.ClassReservation;
 import com.project.hanspoon.oneday.reservation.repository.ClassReservationRepository;
+import com.project.hanspoon.oneday.reservation.service.SeatAllocator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -31,6 +32,7 @@ public class AdminReservationService {
     private final ClassSessionRepository classSessionRepository;
     private final PortOneService portOneService;
     private final PaymentRepository paymentRepository;
+    private final SeatAllocator seatAllocator;
 
     /**
      * 관리자 예약 목록 조회
@@ -92,6 +94,7 @@ public class AdminReservationService {
 
         portOneService.cancelPayment(payId, buildRefundReason(reservation));
         session.decreaseReserved();
+        seatAllocator.release(session.getId(), 1);
         reservation.markCanceled(now);
     }
 
@@ -0,0 +1,61 @@
+package com.project.hanspoon.admin.service;
+
+import com.project.hanspoon.admin.repository.DailySalesRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * payment / payment_item 원본으로 매출 집계 테이블을 다시 계산하는 배치 작업입니다.
+ *
+ * 초보자 참고:
+ * - 집계는 DB의 GROUP BY 한 번으로 처리하므로 결제 건수가 많아도 애플리케이션 힙을 쓰지 않습니다.
+ * - delete + insert 를 한 트랜잭션으로 묶어, 재계산 중에도 대시보드는 이전 값 또는 새 값만 보게 됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesRollupBackfillService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DailySalesRollupRepository dailySalesRollupRepository;
+
+    @Transactional(readOnly = true)
+    public boolean isEmpty() {
+        return dailySalesRollupRepository.count() == 0;
+    }
+
+    @Transactional
+    public void rebuild() {
+        jdbcTemplate.update("delete from daily_sales_rollup");
+        int days = jdbcTemplate.update("""
+                insert into daily_sales_rollup (sales_date, paid_amount, paid_count, product_amount, class_amount)
+                select cast(p.pay_date as date),
+                       coalesce(sum(p.total_price), 0),
+                       count(*),
+                       coalesce(sum(case when exists (select 1 from payment_item i
+                                                      where i.payment_id = p.pay_id and i.product_id is not null)
+                                         then p.total_price else 0 end), 0),
+                       coalesce(sum(case when exists (select 1 from payment_item i
+                                                      where i.payment_id = p.pay_id and i.class_id is not null)
+                                         then p.total_price else 0 end), 0)
+                from payment p
+                where p.status = 'PAID'
+                  and p.pay_date is not null
+                group by cast(p.pay_date as date)
+                """);
+
+        jdbcTemplate.update("delete from item_sales_rollup");
+        int items = jdbcTemplate.update("""
+                insert into item_sales_rollup (item_name, item_count, quantity)
+                select i.item_name, count(*), coalesce(sum(i.quantity), 0)
+                from payment_item i
+                where i.item_name is not null
+                group by i.item_name
+                """);
+
+        log.info("매출 집계 재계산 완료: 일자 {}건, 상품 {}건", days, items);
+    }
+}
@@ -0,0 +1,137 @@
+package com.project.hanspoon.admin.service;
+
+import com.project.hanspoon.admin.entity.DailySalesRollup;
+import com.project.hanspoon.admin.entity.ItemSalesRollup;
+import com.project.hanspoon.admin.repository.DailySalesRollupRepository;
+import com.project.hanspoon.admin.repository.ItemSalesRollupRepository;
+import com.project.hanspoon.common.payment.entity.Payment;
+import com.project.hanspoon.common.payment.entity.PaymentItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 결제 완료/취소를 매출 집계 테이블(daily_sales_rollup, item_sales_rollup)에 반영합니다.
+ *
+ * 초보자 참고:
+ * - 결제 트랜잭션이 "커밋된 뒤"에만 집계를 반영합니다. 롤백된 결제가 매출에 잡히지 않게 하기 위함입니다.
+ * - 집계 행 갱신은 별도(REQUIRES_NEW) 짧은 트랜잭션에서 "update ... set x = x + ?" 로 처리해,
+ *   결제 트랜잭션이 같은 날짜 행을 오래 잠그지 않도록 했습니다.
+ * - 반영에 실패해도 결제 자체에는 영향이 없고, 로그를 남긴 뒤 백필로 복구합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesRollupService {
+
+    private final DailySalesRollupRepository dailySalesRollupRepository;
+    private final ItemSalesRollupRepository itemSalesRollupRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * PAID 결제 1건을 집계에 더합니다. 결제 항목을 모두 추가한 뒤 호출해야 합니다.
+     */
+    public void recordPaid(Payment payment) {
+        SalesDelta delta = SalesDelta.of(payment, 1);
+        List<ItemDelta> items = new ArrayList<>();
+        for (PaymentItem item : payment.getPaymentItems()) {
+            if (item.getItemName() != null) {
+                items.add(new ItemDelta(item.getItemName(), item.getQuantity() == null ? 0 : item.getQuantity()));
+            }
+        }
+        runAfterCommit(() -> apply(delta, items));
+    }
+
+    /**
+     * PAID → CANCELLED 로 바뀐 결제를 결제일 매출에서 뺍니다.
+     * 인기 상품 집계는 기존 대시보드와 같이 결제 항목 건수 기준이므로 그대로 둡니다.
+     */
+    public void recordCancelled(Payment payment) {
+        SalesDelta delta = SalesDelta.of(payment, -1);
+        runAfterCommit(() -> apply(delta, List.of()));
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void apply(SalesDelta delta, List<ItemDelta> items) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // 같은 날짜/상품의 첫 행을 두 요청이 동시에 insert 하면 한쪽이 unique 충돌로 실패합니다.
+        // 그 경우 이미 행이 생겼으므로 한 번 더 시도하면 update 경로로 반영됩니다.
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            try {
+                tx.executeWithoutResult(status -> {
+                    applyDaily(delta);
+                    items.forEach(this::applyItem);
+                });
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == 2) {
+                    log.error("매출 집계 반영 실패(중복 키): date={}, amount={}", delta.salesDate(), delta.amount(), e);
+                }
+            } catch (Exception e) {
+                log.error("매출 집계 반영 실패: date={}, amount={}, error={}",
+                        delta.salesDate(), delta.amount(), e.getMessage(), e);
+                return;
+            }
+        }
+    }
+
+    private void applyDaily(SalesDelta d) {
+        int updated = dailySalesRollupRepository.addDelta(
+                d.salesDate(), d.amount(), d.count(), d.productAmount(), d.classAmount());
+        if (updated == 0) {
+            dailySalesRollupRepository.saveAndFlush(DailySalesRollup.of(
+                    d.salesDate(), d.amount(), d.count(), d.productAmount(), d.classAmount()));
+        }
+    }
+
+    private void applyItem(ItemDelta d) {
+        int updated = itemSalesRollupRepository.addDelta(d.itemName(), 1, d.quantity());
+        if (updated == 0) {
+            itemSalesRollupRepository.saveAndFlush(ItemSalesRollup.of(d.itemName(), 1, d.quantity()));
+        }
+    }
+
+    private record SalesDelta(LocalDate salesDate, long amount, long count, long productAmount, long classAmount) {
+
+        static SalesDelta of(Payment payment, int sign) {
+            LocalDateTime payDate = payment.getPayDate() != null ? payment.getPayDate() : LocalDateTime.now();
+            long amount = payment.getTotalPrice() != null ? payment.getTotalPrice() : 0;
+            boolean hasProduct = payment.getPaymentItems().stream().anyMatch(item -> item.getProductId() != null);
+            boolean hasClass = payment.getPaymentItems().stream().anyMatch(item -> item.getClassId() != null);
+            return new SalesDelta(
+                    payDate.toLocalDate(),
+                    sign * amount,
+                    sign,
+                    hasProduct ? sign * amount : 0,
+                    hasClass ? sign * amount : 0);
+        }
+    }
+
+    private record ItemDelta(String itemName, long quantity) {
+    }
+}
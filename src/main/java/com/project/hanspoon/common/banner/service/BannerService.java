@@ -7,21 +7,17 @@ import com.project.hanspoon.common.banner.dto.BannerDto;
 import com.project.hanspoon.common.banner.entity.Banner;
 import com.project.hanspoon.common.banner.repository.BannerRepository;
 import com.project.hanspoon.common.exception.BusinessException;
+import com.project.hanspoon.common.storage.service.UploadStager;
+import com.project.hanspoon.common.storage.service.UploadStager.StagedUpload;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -33,8 +29,7 @@ public class BannerService {
 
     private final BannerRepository bannerRepository;
     private final ObjectMapper objectMapper;
-    @Value("${itemImgLocation}")
-    private String itemImgLocation;
+    private final UploadStager uploadStager;
 
     public List<BannerDto> getActiveBanners() {
         return bannerRepository.findByIsActiveTrueOrderBySortOrderAscBannerIdAsc()
@@ -105,27 +100,19 @@ public class BannerService {
         bannerRepository.delete(banner);
     }
 
-    @Transactional
+    /**
+     * DB 작업이 없으므로 트랜잭션 없이 임시 폴더에 쓴 뒤 바로 최종 위치로 옮긴다.
+     * 이미지 여부는 Content-Type 헤더가 아니라 파일 앞부분 바이트로 확인한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String uploadBannerImage(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new BusinessException("업로드할 이미지 파일이 없습니다.");
         }
-        if (!StringUtils.hasText(file.getContentType()) || !file.getContentType().startsWith("image/")) {
-            throw new BusinessException("이미지 파일만 업로드할 수 있습니다.");
-        }
-
-        ensureDirExists(itemImgLocation);
 
-        String originalName = Optional.ofNullable(file.getOriginalFilename()).orElse("banner");
-        String ext = getExtension(originalName);
-        String storedName = UUID.randomUUID() + (ext.isEmpty() ? "" : "." + ext);
-        Path savePath = Paths.get(itemImgLocation).resolve(storedName);
-        try {
-            file.transferTo(savePath);
-        } catch (IOException e) {
-            throw new BusinessException("배너 이미지 업로드에 실패했습니다.");
-        }
-        return "/images/" + storedName;
+        StagedUpload staged = uploadStager.stage(file);
+        uploadStager.publishNow(staged);
+        return "/images/" + staged.storedName();
     }
 
     private void validate(BannerDto dto) {
@@ -195,18 +182,4 @@ public class BannerService {
         if (!StringUtils.hasText(value)) return null;
         return value.trim();
     }
-
-    private void ensureDirExists(String dir) {
-        try {
-            Files.createDirectories(Paths.get(dir));
-        } catch (IOException e) {
-            throw new BusinessException("이미지 저장 경로 생성에 실패했습니다.");
-        }
-    }
-
-    private String getExtension(String filename) {
-        int idx = filename.lastIndexOf('.');
-        if (idx < 0 || idx == filename.length() - 1) return "";
-        return filename.substring(idx + 1);
-    }
 }
@@ -1,11 +1,17 @@
 package com.project.hanspoon.common.config;
 
+import io.netty.channel.ChannelOption;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 @ConfigurationProperties(prefix = "portone")
@@ -16,6 +22,11 @@ public class PortOneConfig {
     private String storeId;
     private String apiSecret;
     private ChannelKeys channelKey;
+    private String baseUrl = "https://api.portone.io";
+    // 포트원 콘솔의 웹훅 시크릿(whsec_...). 비어 있으면 웹훅을 받지 않습니다. (payment.webhook.allow-unsigned 개발용 예외)
+    private String webhookSecret;
+    private Client client = new Client();
+    private Breaker breaker = new Breaker();
 
     @Getter
     @Setter
@@ -25,10 +36,62 @@ public class PortOneConfig {
         private String tossPayments;
     }
 
+    /**
+     * 포트원 API 호출 제한값입니다.
+     * - connect/read 타임아웃: 포트원이 느려도 요청 스레드가 오래 묶이지 않게 합니다.
+     * - deadline-ms: 재시도까지 포함한 호출 1건의 전체 마감 시간입니다.
+     * - max-concurrent: 동시에 포트원을 호출하는 요청 수 상한(벌크헤드), acquire-timeout-ms 안에 자리가 안 나면 바로 실패합니다.
+     * - pool-*: 포트원 전용 커넥션 풀 크기와 유휴 연결 정리 주기입니다.
+     * - max-retries: 연결 오류/5xx 일 때 재시도 횟수입니다. 취소는 같은 멱등키로 재시도하므로 중복 환불되지 않습니다.
+     */
+    @Getter
+    @Setter
+    public static class Client {
+        private int connectTimeoutMs = 2000;
+        private int readTimeoutMs = 5000;
+        private long deadlineMs = 6000;
+        private int maxConcurrent = 16;
+        private long acquireTimeoutMs = 300;
+        private int poolMaxConnections = 32;
+        private long poolPendingAcquireTimeoutMs = 1000;
+        private long poolMaxIdleTimeMs = 30000;
+        private int maxRetries = 1;
+        private long retryBackoffMs = 100;
+        private long idempotencyTtlMs = 86_400_000;
+        private int idempotencyMaxEntries = 10_000;
+    }
+
+    /**
+     * 포트원 서킷 브레이커 설정입니다.
+     * 최근 window-size 건 중 실패(타임아웃/5xx/연결 오류) 비율이 failure-rate-threshold(%) 이상이면
+     * open-ms 동안 포트원을 부르지 않고 바로 실패시킨 뒤, 한 건만 시험 삼아 보내 회복 여부를 봅니다.
+     */
+    @Getter
+    @Setter
+    public static class Breaker {
+        private int failureRateThreshold = 50;
+        private int minimumCalls = 10;
+        private int windowSize = 20;
+        private long openMs = 10000;
+    }
+
     @Bean
     public WebClient portOneWebClient() {
+        // 포트원 전용 풀: 다른 외부 API 호출과 커넥션을 나눠 쓰지 않고, 풀이 가득 차면 오래 기다리지 않습니다.
+        ConnectionProvider provider = ConnectionProvider.builder("portone")
+                .maxConnections(client.getPoolMaxConnections())
+                .pendingAcquireTimeout(Duration.ofMillis(client.getPoolPendingAcquireTimeoutMs()))
+                .maxIdleTime(Duration.ofMillis(client.getPoolMaxIdleTimeMs()))
+                .evictInBackground(Duration.ofMillis(client.getPoolMaxIdleTimeMs()))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, client.getConnectTimeoutMs())
+                .responseTimeout(Duration.ofMillis(client.getReadTimeoutMs()));
+
         return WebClient.builder()
-                .baseUrl("https://api.portone.io")
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .defaultHeader("Content-Type", "application/json")
                 .build();
     }
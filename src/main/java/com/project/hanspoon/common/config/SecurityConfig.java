@@ -58,6 +58,8 @@ public class SecurityConfig {
                                                 // 인증/인가 없이 접근 가능한 엔드포인트
                                                 .requestMatchers("/api/auth/**").permitAll()
                                                 .requestMatchers("/api/health", "/api/info").permitAll()
+                                                // 포트원 웹훅: 서명은 PaymentWebhookController 에서 확인합니다.
+                                                .requestMatchers(HttpMethod.POST, "/api/payment/webhook").permitAll()
                                                 .requestMatchers(HttpMethod.GET, "/api/notice/**", "/api/faq/**",
                                                                 "/api/events", "/api/events/**",
                                                                 "/api/banners", "/api/banners/**")
@@ -76,6 +78,7 @@ public class SecurityConfig {
                                                 .permitAll()
                                                 .requestMatchers(HttpMethod.GET,
                                                                 "/api/recipe/list",
+                                                                "/api/recipe/list/cursor",
                                                                 "/api/recipe/detail/*",
                                                                 "/api/recipe/reviews/recipes/*",
                                                                 "/api/recipe/inquiries/recipes/*")
@@ -94,6 +97,8 @@ public class SecurityConfig {
 
                                                 // 정적 리소스 공개
                                                 .requestMatchers("/images/**", "/css/**", "/js/**").permitAll()
+                                                .requestMatchers(HttpMethod.GET, "/api/images/blob/*").permitAll()
+                                                .requestMatchers(HttpMethod.GET, "/api/images/variants/*/*").permitAll()
 
                                                 // 위에서 허용하지 않은 API는 인증 필수
                                                 .requestMatchers("/api/**").authenticated()
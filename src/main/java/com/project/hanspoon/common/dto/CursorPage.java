@@ -0,0 +1,46 @@
+package com.project.hanspoon.common.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서(keyset) 페이징 응답 DTO
+ *
+ * 초보자 참고:
+ * - 다음 페이지는 nextCursor 를 after 파라미터로 그대로 넘겨 요청합니다. (마지막 페이지면 null)
+ * - 전체 건수(COUNT 쿼리)는 비용이 커서 withTotal=true 로 요청한 경우에만 채웁니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long totalElements;
+
+    /**
+     * size + 1 개를 조회한 결과로 응답을 만듭니다.
+     * 한 개가 더 있으면 다음 페이지가 있다는 뜻이고, 그 직전 행이 다음 커서가 됩니다.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size,
+                                          Function<E, CursorToken> cursorOf,
+                                          Function<List<E>, List<T>> mapper,
+                                          Long totalElements) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode() : null;
+
+        return CursorPage.<T>builder()
+                .content(mapper.apply(pageRows))
+                .size(size)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .totalElements(totalElements)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.hanspoon.common.dto;
+
+import com.project.hanspoon.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 커서(keyset) 페이징에서 "마지막으로 본 행"의 정렬 키를 담는 토큰입니다.
+ *
+ * 초보자 참고:
+ * - offset 페이징은 뒤 페이지로 갈수록 DB가 앞의 행을 읽고 버려야 해서 느려집니다.
+ *   커서 방식은 마지막 행의 (정렬 값, id) 다음부터 읽으므로 몇 번째 페이지든 비용이 같습니다.
+ * - 클라이언트에는 Base64URL 문자열(불투명 토큰)로만 전달합니다. 내부 형식이 바뀌어도 API는 그대로입니다.
+ * - createdAt / sortValue 는 목록의 정렬 기준에 따라 필요한 것만 채웁니다. (id 는 항상 필수)
+ */
+public record CursorToken(Long id, LocalDateTime createdAt, Long sortValue) {
+
+    private static final String VERSION = "v1";
+    private static final String DELIMITER = "|";
+
+    public static CursorToken ofId(Long id) {
+        return new CursorToken(id, null, null);
+    }
+
+    public static CursorToken ofCreatedAt(LocalDateTime createdAt, Long id) {
+        return new CursorToken(id, createdAt, null);
+    }
+
+    public static CursorToken ofValue(Long sortValue, Long id) {
+        return new CursorToken(id, null, sortValue);
+    }
+
+    public String encode() {
+        String raw = String.join(DELIMITER,
+                VERSION,
+                String.valueOf(id),
+                createdAt != null ? createdAt.toString() : "",
+                sortValue != null ? String.valueOf(sortValue) : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 토큰을 해석합니다. 비어 있으면 첫 페이지라는 뜻으로 null 을 돌려줍니다.
+     */
+    public static CursorToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("unsupported cursor format");
+            }
+            Long id = Long.valueOf(parts[1]);
+            LocalDateTime createdAt = parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]);
+            Long sortValue = parts[3].isEmpty() ? null : Long.valueOf(parts[3]);
+            return new CursorToken(id, createdAt, sortValue);
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException e) {
+            throw new BusinessException("잘못된 커서입니다.");
+        }
+    }
+}
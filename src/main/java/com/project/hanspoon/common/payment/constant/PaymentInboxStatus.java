@@ -0,0 +1,22 @@
+package com.project.hanspoon.common.payment.constant;
+
+/**
+ * 결제 웹훅 인박스 처리 상태
+ */
+public enum PaymentInboxStatus {
+    PENDING("처리대기"),
+    PROCESSING("처리중"),
+    DONE("처리완료"),
+    SKIPPED("처리제외"),
+    FAILED("처리실패");
+
+    private final String description;
+
+    PaymentInboxStatus(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
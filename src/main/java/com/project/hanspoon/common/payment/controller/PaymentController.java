@@ -8,6 +8,7 @@ import com.project.hanspoon.common.payment.dto.PortOneDto;
 import com.project.hanspoon.common.user.entity.User;
 import com.project.hanspoon.common.security.CustomUserDetails;
 import com.project.hanspoon.common.security.jwt.JwtTokenProvider;
+import com.project.hanspoon.common.payment.service.CheckoutTokens;
 import com.project.hanspoon.common.payment.service.PaymentService;
 import com.project.hanspoon.common.payment.service.PortOneService;
 import com.project.hanspoon.common.user.service.UserService;
@@ -41,6 +42,7 @@ public class PaymentController {
     private final UserService userService;
     private final PortOneConfig portOneConfig;
     private final JwtTokenProvider jwtTokenProvider;
+    private final CheckoutTokens checkoutTokens;
 
     /**
      * 결제 준비 정보 조회
@@ -68,6 +70,8 @@ public class PaymentController {
         }
 
         User user = userService.findById(userDetails.getUserId());
+        // 프론트엔드는 orderId 를 포트원 paymentId 로 쓰고, checkoutToken 을 customData 에 함께 넣습니다.
+        String orderId = portOneService.generateOrderId();
 
         PortOneDto.CheckoutInfo checkoutInfo = PortOneDto.CheckoutInfo.builder()
                 .userId(user.getUserId())
@@ -79,7 +83,8 @@ public class PaymentController {
                 .quantity(quantity)
                 .totalAmount(price * quantity)
                 .orderName(orderName)
-                .orderId(portOneService.generateOrderId())
+                .orderId(orderId)
+                .checkoutToken(checkoutTokens.issue(user.getUserId(), orderId))
                 .storeId(portOneConfig.getStoreId())
                 .channelKeyKakao(portOneConfig.getChannelKey().getKakao())
                 .channelKeyToss(portOneConfig.getChannelKey().getToss())
@@ -0,0 +1,77 @@
+package com.project.hanspoon.common.payment.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.hanspoon.common.payment.dto.PortOneDto;
+import com.project.hanspoon.common.payment.gateway.PortOneWebhookVerifier;
+import com.project.hanspoon.common.payment.service.PaymentInboxService;
+import com.project.hanspoon.common.payment.service.PaymentInboxWorker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 포트원 결제 웹훅 수신 API.
+ * POST /api/payment/webhook
+ *
+ * 초보자 참고:
+ * - webhook-id 가 없거나 웹훅 시크릿이 설정되지 않았으면 받지 않습니다. (webhook-id 로 중복 웹훅을 걸러냅니다)
+ * - 서명만 확인하고 payment_inbox 에 쌓은 뒤 바로 200 을 돌려줍니다. (포트원은 응답이 늦거나 실패하면 다시 보냅니다)
+ * - 결제 확인/저장은 PaymentInboxWorker 가 따로 처리하므로, 포트원이 느려도 웹훅 응답은 느려지지 않습니다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/payment")
+@RequiredArgsConstructor
+public class PaymentWebhookController {
+
+    private final PortOneWebhookVerifier webhookVerifier;
+    private final PaymentInboxService paymentInboxService;
+    private final PaymentInboxWorker paymentInboxWorker;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping("/webhook")
+    public ResponseEntity<Void> receive(
+            @RequestBody String body,
+            @RequestHeader(value = "webhook-id", required = false) String webhookId,
+            @RequestHeader(value = "webhook-timestamp", required = false) String webhookTimestamp,
+            @RequestHeader(value = "webhook-signature", required = false) String webhookSignature) {
+
+        if (!StringUtils.hasText(webhookId)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!webhookVerifier.isEnabled()) {
+            log.warn("포트원 웹훅 시크릿이 없어 웹훅을 거절합니다: webhookId={}", webhookId);
+            return ResponseEntity.status(503).build();
+        }
+        if (!webhookVerifier.verify(webhookId, webhookTimestamp, webhookSignature, body)) {
+            log.warn("포트원 웹훅 서명 불일치: webhookId={}", webhookId);
+            return ResponseEntity.status(401).build();
+        }
+
+        PortOneDto.WebhookEvent event;
+        try {
+            event = objectMapper.readValue(body, PortOneDto.WebhookEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("포트원 웹훅 본문 파싱 실패: webhookId={}, error={}", webhookId, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        String paymentId = event.getData() != null ? event.getData().getPaymentId() : null;
+        if (!StringUtils.hasText(paymentId)) {
+            // 빌링키 발급 등 결제 건이 아닌 이벤트는 받기만 합니다.
+            return ResponseEntity.ok().build();
+        }
+
+        if (paymentInboxService.append(webhookId, event.getType(), paymentId, body)) {
+            paymentInboxWorker.wakeUp();
+        }
+        return ResponseEntity.ok().build();
+    }
+}
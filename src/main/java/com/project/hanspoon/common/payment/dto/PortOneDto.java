@@ -89,6 +89,8 @@ public class PortOneDto {
         private Customer customer;
         private String paidAt;
         private String orderName;
+        // 결제창 호출 시 프론트엔드가 넣은 값 (JSON 문자열, CheckoutCustomData 참고)
+        private String customData;
 
         @Getter
         @Setter
@@ -163,6 +165,8 @@ public class PortOneDto {
         private Long payId;
         private String paymentId;
         private Integer amount;
+        // DB 락 대기/타임아웃처럼 일시적인 장애로 실패해, 잠시 뒤 다시 시도하면 될 수 있는 경우 true
+        private boolean retryable;
     }
 
     /**
@@ -188,6 +192,70 @@ public class PortOneDto {
         private String channelKeyKakao;
         private String channelKeyToss;
         private String channelKeyTossPayments;
+        // 결제창 customData 에 그대로 넣어 보내는 값. 웹훅으로 결제를 완료할 때 결제한 사용자를 확인합니다.
+        private String checkoutToken;
+    }
+
+    /**
+     * 결제창(requestPayment) 호출 시 customData 에 JSON 으로 넣는 결제 요청 정보입니다.
+     * 브라우저가 /verify 를 부르지 못해도(창 닫힘 등) 웹훅으로 같은 검증/저장을 할 수 있게 합니다.
+     * userId 는 checkoutToken(서버 서명)이 맞을 때만 믿습니다.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class CheckoutCustomData {
+        private Long userId;
+        private String checkoutToken;
+        private String orderId;
+        private Integer amount;
+        private Long productId;
+        private Long classId;
+        private Long reservationId;
+        private Long userCouponId;
+        private Integer usedPoints;
+        private Integer quantity;
+
+        public PaymentVerifyRequest toVerifyRequest(String paymentId) {
+            return PaymentVerifyRequest.builder()
+                    .paymentId(paymentId)
+                    .orderId(orderId)
+                    .amount(amount)
+                    .productId(productId)
+                    .classId(classId)
+                    .reservationId(reservationId)
+                    .userCouponId(userCouponId)
+                    .usedPoints(usedPoints)
+                    .quantity(quantity)
+                    .build();
+        }
+    }
+
+    /**
+     * 포트원 웹훅 본문입니다. (예: {"type":"Transaction.Paid","timestamp":"...","data":{"paymentId":"..."}})
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class WebhookEvent {
+        private String type;
+        private String timestamp;
+        private WebhookData data;
+
+        @Getter
+        @Setter
+        @NoArgsConstructor
+        @AllArgsConstructor
+        @JsonIgnoreProperties(ignoreUnknown = true)
+        public static class WebhookData {
+            private String paymentId;
+            private String storeId;
+            private String transactionId;
+        }
     }
 
     /**
@@ -11,7 +11,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "payment")
+// 같은 포트원 결제가 두 번 저장되지 않도록 portone_payment_id 에 유니크 인덱스를 둡니다. (NULL 은 여러 건 허용)
+@Table(name = "payment",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payment_portone_payment_id", columnNames = "portone_payment_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,105 @@
+package com.project.hanspoon.common.payment.entity;
+
+import com.project.hanspoon.common.payment.constant.PaymentInboxStatus;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 포트원 웹훅을 받은 그대로 쌓아 두는 인박스 테이블입니다.
+ *
+ * 초보자 참고:
+ * - 웹훅 요청에서는 이 테이블에 한 줄 넣고 바로 200 을 돌려줍니다. 검증/저장은 PaymentInboxWorker 가 나중에 합니다.
+ * - next_attempt_at: PENDING 이면 다음 처리 가능 시각(재시도 대기), PROCESSING 이면 처리 임대 만료 시각입니다.
+ *   처리 중 서버가 죽어도 임대가 끝나면 다시 가져가므로 이벤트를 잃지 않습니다.
+ * - webhook_id 유니크: 포트원이 같은 웹훅을 다시 보내도 한 줄만 남습니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "payment_inbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payment_inbox_webhook_id", columnNames = "webhook_id"),
+        indexes = {
+                @Index(name = "idx_payment_inbox_status_next", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_payment_inbox_payment_id", columnList = "payment_id")
+        })
+public class PaymentInbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "webhook_id", length = 100)
+    private String webhookId;
+
+    @Column(name = "payment_id", nullable = false, length = 100)
+    private String paymentId;
+
+    @Column(name = "event_type", length = 50)
+    private String eventType;
+
+    @Lob
+    @Column(name = "payload")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private PaymentInboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    public static PaymentInbox received(String webhookId, String paymentId, String eventType, String payload,
+                                        LocalDateTime now) {
+        PaymentInbox inbox = new PaymentInbox();
+        inbox.webhookId = webhookId;
+        inbox.paymentId = paymentId;
+        inbox.eventType = eventType;
+        inbox.payload = payload;
+        inbox.status = PaymentInboxStatus.PENDING;
+        inbox.nextAttemptAt = now;
+        inbox.receivedAt = now;
+        return inbox;
+    }
+
+    /** 워커가 가져갈 때: leaseUntil 까지 처리하지 못하면 다른 워커가 다시 가져갈 수 있습니다. */
+    public void claim(LocalDateTime leaseUntil) {
+        this.status = PaymentInboxStatus.PROCESSING;
+        this.attempts++;
+        this.nextAttemptAt = leaseUntil;
+    }
+
+    public void finish(PaymentInboxStatus status, String message, LocalDateTime now) {
+        this.status = status;
+        this.lastError = truncate(message);
+        this.processedAt = now;
+    }
+
+    public void retryAt(LocalDateTime nextAttemptAt, String error) {
+        this.status = PaymentInboxStatus.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = truncate(error);
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= 500) {
+            return message;
+        }
+        return message.substring(0, 500);
+    }
+}
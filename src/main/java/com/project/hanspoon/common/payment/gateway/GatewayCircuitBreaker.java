@@ -0,0 +1,128 @@
+package com.project.hanspoon.common.payment.gateway;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 외부 결제사 호출용 서킷 브레이커입니다.
+ *
+ * 초보자 참고:
+ * - CLOSED: 평소 상태. 최근 windowSize 건의 성공/실패를 기록하고, 실패 비율이 기준을 넘으면 OPEN 으로 바꿉니다.
+ * - OPEN: openDuration 동안 호출을 보내지 않고 바로 거절합니다. (느린 결제사를 기다리며 스레드가 쌓이지 않게)
+ * - HALF_OPEN: OPEN 시간이 지나면 한 건만 시험 삼아 보내, 성공하면 CLOSED, 실패하면 다시 OPEN 입니다.
+ * - 4xx 같은 "정상적인 거절"은 결제사가 살아 있다는 뜻이므로 실패로 세지 않습니다. (호출하는 쪽에서 onSuccess)
+ */
+@Slf4j
+public class GatewayCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final LongSupplier nanoClock;
+
+    // 최근 호출 결과 (true = 실패) 링 버퍼
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public GatewayCircuitBreaker(String name, int failureRateThreshold, int minimumCalls, int windowSize, long openMs) {
+        this(name, failureRateThreshold, minimumCalls, windowSize, openMs, System::nanoTime);
+    }
+
+    GatewayCircuitBreaker(String name, int failureRateThreshold, int minimumCalls, int windowSize, long openMs,
+                          LongSupplier nanoClock) {
+        this.name = name;
+        this.failureRateThreshold = Math.min(100, Math.max(1, failureRateThreshold));
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.min(window.length, Math.max(1, minimumCalls));
+        this.openDurationNanos = Math.max(0, openMs) * 1_000_000;
+        this.nanoClock = nanoClock;
+    }
+
+    /** 지금 호출해도 되면 true. true 를 받았으면 반드시 onSuccess/onFailure 중 하나를 불러야 합니다. */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openDurationNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+            log.info("서킷 반열림(시험 호출 허용): name={}", name);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            resetWindow();
+            log.info("서킷 닫힘(결제사 회복): name={}", name);
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(true);
+            if (windowCount >= minimumCalls && failures * 100 >= failureRateThreshold * windowCount) {
+                open();
+            }
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                failures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            failures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void open() {
+        log.warn("서킷 열림: name={}, failures={}/{}, openMs={}",
+                name, failures, windowCount, openDurationNanos / 1_000_000);
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        probeInFlight = false;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        windowIndex = 0;
+        windowCount = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,71 @@
+package com.project.hanspoon.common.payment.gateway;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * 멱등키 -> 처리 결과를 일정 시간 기억하는 메모리 저장소입니다.
+ *
+ * 초보자 참고:
+ * - 같은 멱등키로 다시 들어온 요청(사용자 재시도, 네트워크 재전송)은 결제사를 다시 부르지 않고 저장된 결과를 돌려줍니다.
+ * - 모든 항목의 TTL 이 같으므로 넣은 순서가 곧 만료 순서입니다. 그래서 가장 오래된 것부터 지우면 됩니다.
+ * - 서버 한 대 기준 저장소입니다. 서버를 다시 띄우면 비워지지만, 결제사에도 같은 멱등키를 보내므로 중복 처리되지 않습니다.
+ */
+public class IdempotencyStore<V> {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>();
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    public IdempotencyStore(long ttlMs, int maxEntries) {
+        this(ttlMs, maxEntries, System::nanoTime);
+    }
+
+    IdempotencyStore(long ttlMs, int maxEntries, LongSupplier nanoClock) {
+        this.ttlNanos = Math.max(0, ttlMs) * 1_000_000;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.nanoClock = nanoClock;
+    }
+
+    public synchronized Optional<V> get(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt() - nanoClock.getAsLong() <= 0) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    public synchronized void put(String key, V value) {
+        long now = nanoClock.getAsLong();
+        entries.remove(key);
+        entries.put(key, new Entry<>(value, now + ttlNanos));
+
+        var it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry<V>> eldest = it.next();
+            if (entries.size() > maxEntries || eldest.getValue().expiresAt() - now <= 0) {
+                it.remove();
+            } else {
+                break;
+            }
+        }
+    }
+
+    public synchronized void remove(String key) {
+        entries.remove(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
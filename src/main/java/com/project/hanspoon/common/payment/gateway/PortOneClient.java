@@ -0,0 +1,261 @@
+package com.project.hanspoon.common.payment.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.hanspoon.common.config.PortOneConfig;
+import com.project.hanspoon.common.exception.BusinessException;
+import com.project.hanspoon.common.payment.dto.PortOneDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 포트원 REST API 호출을 모아 둔 클라이언트입니다.
+ *
+ * 초보자 참고:
+ * - 호출 1건은 "벌크헤드(동시 호출 상한) -> 서킷 브레이커 -> 재시도 -> 전체 마감 시간" 순서로 보호됩니다.
+ *   포트원이 느려지거나 장애가 나도 대기 요청이 쌓이지 않고 {@link UnavailableException}으로 빨리 실패합니다.
+ * - 커넥션 풀, 타임아웃은 PortOneConfig 의 portOneWebClient 에서 설정합니다.
+ * - 취소는 결제마다 고정된 멱등키(Idempotency-Key)를 보내고, 성공한 취소는 {@link IdempotencyStore}에 기억합니다.
+ *   그래서 재시도하거나 같은 취소가 다시 들어와도 환불이 두 번 나가지 않습니다.
+ *   조회(GET)는 원래 여러 번 불러도 안전해서 재시도만 합니다.
+ * - 엔드포인트별 지연 시간 히스토그램: portone.client.requests{endpoint, outcome}
+ * - DB 트랜잭션 안에서 부르지 않는 것을 전제로 합니다. (PortOneService.verifyAndSavePayment 참고)
+ */
+@Slf4j
+@Component
+public class PortOneClient {
+
+    private static final String GET_PAYMENT = "getPayment";
+    private static final String CANCEL_PAYMENT = "cancelPayment";
+
+    private final WebClient portOneWebClient;
+    private final PortOneConfig portOneConfig;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore permits;
+    private final GatewayCircuitBreaker circuitBreaker;
+    private final IdempotencyStore<Boolean> completedCancels;
+    private final Duration deadline;
+    private final long acquireTimeoutMs;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+
+    public PortOneClient(WebClient portOneWebClient, PortOneConfig portOneConfig, ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry) {
+        this.portOneWebClient = portOneWebClient;
+        this.portOneConfig = portOneConfig;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        PortOneConfig.Client limits = portOneConfig.getClient();
+        this.permits = new Semaphore(Math.max(1, limits.getMaxConcurrent()));
+        this.deadline = Duration.ofMillis(limits.getDeadlineMs());
+        this.acquireTimeoutMs = limits.getAcquireTimeoutMs();
+        this.maxRetries = Math.max(0, limits.getMaxRetries());
+        this.retryBackoff = Duration.ofMillis(limits.getRetryBackoffMs());
+        this.completedCancels = new IdempotencyStore<>(limits.getIdempotencyTtlMs(), limits.getIdempotencyMaxEntries());
+
+        PortOneConfig.Breaker breaker = portOneConfig.getBreaker();
+        this.circuitBreaker = new GatewayCircuitBreaker("portone", breaker.getFailureRateThreshold(),
+                breaker.getMinimumCalls(), breaker.getWindowSize(), breaker.getOpenMs());
+
+        Gauge.builder("portone.client.circuit.state", circuitBreaker, cb -> cb.state().ordinal())
+                .description("포트원 서킷 상태 (0=CLOSED, 1=OPEN, 2=HALF_OPEN)")
+                .register(meterRegistry);
+        Gauge.builder("portone.client.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("포트원 동시 호출 남은 자리")
+                .register(meterRegistry);
+    }
+
+    /** 포트원이 응답하지 않거나(타임아웃/5xx), 서킷이 열렸거나, 동시 호출 상한에 걸린 경우입니다. */
+    public static class UnavailableException extends BusinessException {
+        public UnavailableException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * 결제 단건 조회. 결제가 없거나(4xx) 응답을 해석할 수 없으면 빈 값입니다.
+     */
+    public Optional<PortOneDto.PortOnePaymentResponse> getPayment(String paymentId) {
+        try {
+            String body = execute(GET_PAYMENT, () -> portOneWebClient.get()
+                    .uri("/payments/{paymentId}", paymentId)
+                    .header("Authorization", "PortOne " + portOneConfig.getApiSecret())
+                    .retrieve()
+                    .bodyToMono(String.class));
+            return Optional.ofNullable(body).map(this::parsePayment);
+        } catch (RejectedException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 결제 취소(환불) 요청. 포트원이 거절(4xx)하면 BusinessException 입니다.
+     * 이미 취소된 결제면 성공으로 봅니다. (앞선 시도가 응답만 놓친 경우)
+     */
+    public void cancelPayment(String paymentId, String reason) {
+        String idempotencyKey = "\"hanspoon-cancel-" + paymentId + "\"";
+        if (completedCancels.get(idempotencyKey).isPresent()) {
+            log.info("이미 처리한 포트원 취소 요청: paymentId={}", paymentId);
+            return;
+        }
+
+        try {
+            execute(CANCEL_PAYMENT, () -> portOneWebClient.post()
+                    .uri("/payments/{paymentId}/cancel", paymentId)
+                    .header("Authorization", "PortOne " + portOneConfig.getApiSecret())
+                    .header("Idempotency-Key", idempotencyKey)
+                    .bodyValue(new CancelRequest(reason))
+                    .retrieve()
+                    .bodyToMono(String.class));
+        } catch (RejectedException e) {
+            if (e.status != HttpStatus.CONFLICT.value() || !e.getMessage().contains("ALREADY_CANCELLED")) {
+                throw new BusinessException("포트원이 환불 요청을 거절했습니다: " + e.getMessage());
+            }
+            log.info("포트원에서 이미 취소된 결제: paymentId={}", paymentId);
+        }
+        completedCancels.put(idempotencyKey, Boolean.TRUE);
+    }
+
+    GatewayCircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    private record CancelRequest(String reason) {
+    }
+
+    /**
+     * 벌크헤드 -> 서킷 -> 재시도 -> 마감 시간을 걸고 요청을 실행합니다.
+     * 4xx 는 RejectedException, 타임아웃/5xx/연결 오류/서킷 열림/자리 없음은 UnavailableException 입니다.
+     */
+    private String execute(String endpoint, Supplier<Mono<String>> request) {
+        long startedAt = System.nanoTime();
+        String outcome = "unavailable";
+        try {
+            acquirePermit(endpoint);
+            try {
+                if (!circuitBreaker.tryAcquirePermission()) {
+                    outcome = "short_circuited";
+                    throw new UnavailableException("결제사 연결이 불안정해 잠시 요청을 멈췄습니다. 잠시 후 다시 시도해 주세요.");
+                }
+                String body = call(endpoint, request);
+                outcome = "success";
+                return body;
+            } finally {
+                permits.release();
+            }
+        } catch (RejectedException e) {
+            outcome = "rejected";
+            throw e;
+        } catch (BulkheadFullException e) {
+            outcome = "bulkhead_full";
+            throw new UnavailableException(e.getMessage());
+        } finally {
+            Timer.builder("portone.client.requests")
+                    .description("포트원 API 호출 시간")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String call(String endpoint, Supplier<Mono<String>> request) {
+        try {
+            String body = request.get()
+                    .retryWhen(Retry.backoff(maxRetries, retryBackoff)
+                            .filter(PortOneClient::isTransient)
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                    .timeout(deadline)
+                    .block();
+            circuitBreaker.onSuccess();
+            return body;
+        } catch (WebClientResponseException e) {
+            if (e.getStatusCode().is4xxClientError()) {
+                // 포트원은 살아 있고 요청만 거절한 경우라 서킷에는 성공으로 기록합니다.
+                circuitBreaker.onSuccess();
+                log.warn("포트원 요청 거절: endpoint={}, status={}, body={}",
+                        endpoint, e.getStatusCode().value(), e.getResponseBodyAsString());
+                throw new RejectedException(e.getStatusCode().value(), e.getResponseBodyAsString());
+            }
+            circuitBreaker.onFailure();
+            log.error("포트원 서버 오류: endpoint={}, status={}", endpoint, e.getStatusCode().value());
+            throw new UnavailableException("포트원 서버 오류로 결제를 확인하지 못했습니다.");
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            log.error("포트원 호출 실패: endpoint={}, error={}", endpoint, e.getMessage());
+            throw new UnavailableException("포트원 응답이 지연되어 결제를 확인하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+        }
+    }
+
+    private void acquirePermit(String endpoint) {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnavailableException("포트원 호출이 중단되었습니다.");
+        }
+        if (!acquired) {
+            log.warn("포트원 동시 호출 상한 초과: endpoint={}", endpoint);
+            throw new BulkheadFullException();
+        }
+    }
+
+    // 연결 실패와 5xx 만 재시도합니다. 4xx 는 다시 보내도 결과가 같습니다.
+    private static boolean isTransient(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return e instanceof WebClientRequestException;
+    }
+
+    private PortOneDto.PortOnePaymentResponse parsePayment(String responseBody) {
+        try {
+            PortOneDto.PortOnePaymentWrapper wrapper = objectMapper.readValue(responseBody,
+                    PortOneDto.PortOnePaymentWrapper.class);
+            if (wrapper.getPayment() != null) {
+                return wrapper.getPayment();
+            }
+        } catch (Exception ignored) {
+        }
+
+        try {
+            return objectMapper.readValue(responseBody, PortOneDto.PortOnePaymentResponse.class);
+        } catch (Exception e) {
+            log.error("JSON 파싱 실패", e);
+            return null;
+        }
+    }
+
+    private static class RejectedException extends RuntimeException {
+        private final int status;
+
+        private RejectedException(int status, String body) {
+            super(body);
+            this.status = status;
+        }
+    }
+
+    private static class BulkheadFullException extends RuntimeException {
+        private BulkheadFullException() {
+            super("결제 확인 요청이 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.project.hanspoon.common.payment.gateway;
+
+import com.project.hanspoon.common.config.PortOneConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.Base64;
+
+/**
+ * 포트원 웹훅 서명 검사기입니다. (Standard Webhooks 규격)
+ *
+ * 초보자 참고:
+ * - 포트원은 "webhook-id.webhook-timestamp.본문" 을 웹훅 시크릿으로 HMAC-SHA256 서명해
+ *   webhook-signature 헤더에 "v1,서명" 형태로 보냅니다. 같은 방법으로 계산해 비교합니다.
+ * - 오래된 요청을 다시 보내는 공격을 막기 위해 timestamp 가 5분 넘게 차이 나면 거절합니다.
+ * - 시크릿이 없으면 웹훅을 받지 않습니다. (누구나 인박스에 행을 넣어 포트원 조회를 일으킬 수 있기 때문)
+ *   로컬 개발에서만 payment.webhook.allow-unsigned=true 로 서명 없이 받을 수 있습니다.
+ */
+@Slf4j
+@Component
+public class PortOneWebhookVerifier {
+
+    private static final long TOLERANCE_SECONDS = 300;
+    private static final String SECRET_PREFIX = "whsec_";
+
+    private final byte[] key;
+    private final boolean allowUnsigned;
+    private final Clock clock;
+
+    @Autowired
+    public PortOneWebhookVerifier(
+            PortOneConfig portOneConfig,
+            @Value("${payment.webhook.allow-unsigned:false}") boolean allowUnsigned) {
+        this(portOneConfig.getWebhookSecret(), allowUnsigned, Clock.systemUTC());
+    }
+
+    PortOneWebhookVerifier(String secret, boolean allowUnsigned, Clock clock) {
+        this.clock = clock;
+        this.allowUnsigned = allowUnsigned;
+        if (!StringUtils.hasText(secret)) {
+            if (allowUnsigned) {
+                log.warn("포트원 웹훅 시크릿이 없어 서명 검사 없이 웹훅을 받습니다. (payment.webhook.allow-unsigned, 개발용)");
+            } else {
+                log.warn("포트원 웹훅 시크릿이 없어 웹훅을 받지 않습니다. PORTONE_WEBHOOK_SECRET 을 설정해 주세요.");
+            }
+            this.key = null;
+        } else {
+            String encoded = secret.startsWith(SECRET_PREFIX) ? secret.substring(SECRET_PREFIX.length()) : secret;
+            this.key = Base64.getDecoder().decode(encoded);
+        }
+    }
+
+    /** 웹훅을 받을 수 있는 설정인지 (시크릿이 있거나, 개발용으로 서명 없이 받기로 한 경우) */
+    public boolean isEnabled() {
+        return key != null || allowUnsigned;
+    }
+
+    public boolean verify(String webhookId, String timestamp, String signatureHeader, String body) {
+        if (!StringUtils.hasText(webhookId)) {
+            return false;
+        }
+        if (key == null) {
+            return allowUnsigned;
+        }
+        if (!StringUtils.hasText(timestamp) || !StringUtils.hasText(signatureHeader)) {
+            return false;
+        }
+
+        long sentAt;
+        try {
+            sentAt = Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (Math.abs(clock.instant().getEpochSecond() - sentAt) > TOLERANCE_SECONDS) {
+            return false;
+        }
+
+        byte[] expected = sign(webhookId + "." + timestamp + "." + body);
+        // 시크릿 교체 기간에는 서명이 여러 개 올 수 있습니다. (공백으로 구분)
+        for (String candidate : signatureHeader.split(" ")) {
+            int comma = candidate.indexOf(',');
+            if (comma < 0 || !"v1".equals(candidate.substring(0, comma))) {
+                continue;
+            }
+            byte[] actual;
+            try {
+                actual = Base64.getDecoder().decode(candidate.substring(comma + 1));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (MessageDigest.isEqual(expected, actual)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    byte[] sign(String content) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(content.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 를 사용할 수 없습니다.", e);
+        }
+    }
+}
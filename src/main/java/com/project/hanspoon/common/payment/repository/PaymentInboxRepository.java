@@ -0,0 +1,42 @@
+package com.project.hanspoon.common.payment.repository;
+
+import com.project.hanspoon.common.payment.constant.PaymentInboxStatus;
+import com.project.hanspoon.common.payment.entity.PaymentInbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PaymentInboxRepository extends JpaRepository<PaymentInbox, Long> {
+
+    /**
+     * 지금 처리할 수 있는 인박스 행을 오래된 순으로 가져오며 쓰기 락을 겁니다.
+     * 초보자 참고:
+     * - lock.timeout = -2 는 SKIP LOCKED 입니다. 다른 서버가 잡고 있는 행은 기다리지 않고 건너뜁니다.
+     * - 반드시 @Transactional 범위 안에서 호출하고, 같은 트랜잭션에서 claim 으로 임대를 표시해야 합니다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            select i
+            from PaymentInbox i
+            where i.status in :statuses
+              and i.nextAttemptAt <= :now
+            order by i.id
+            """)
+    List<PaymentInbox> findDueForUpdate(
+            @Param("statuses") Collection<PaymentInboxStatus> statuses,
+            @Param("now") LocalDateTime now,
+            Pageable pageable
+    );
+}
@@ -10,8 +10,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -53,6 +55,29 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
             @Param("end") LocalDateTime end
     );
 
+    /**
+     * 기간 내 결제 합계를 일자별로 한 번에 조회합니다. (매출 추이 차트용)
+     * 결제가 없는 날은 결과에 포함되지 않으므로 호출 측에서 0으로 채웁니다.
+     */
+    @Query("""
+            select cast(p.payDate as LocalDate) as salesDate,
+                   coalesce(sum(p.totalPrice), 0) as amount
+            from Payment p
+            where p.payDate >= :start
+              and p.payDate < :end
+            group by cast(p.payDate as LocalDate)
+            """)
+    List<DailySalesAmount> sumTotalPriceGroupByPayDate(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    interface DailySalesAmount {
+        LocalDate getSalesDate();
+
+        Long getAmount();
+    }
+
     @Query("""
             select p
             from Payment p
@@ -67,4 +92,28 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
             @Param("sessionId") Long sessionId,
             @Param("status") PaymentStatus status
     );
+
+    /**
+     * 포트원 결제 ID 로 이미 저장된 결제를 찾습니다. (중복 검증 요청 빠른 응답용)
+     * uk_payment_portone_payment_id 인덱스 한 번으로 끝나고, 연관 엔티티는 읽지 않습니다.
+     */
+    @Query("""
+            select p.payId as payId,
+                   p.user.userId as userId,
+                   p.status as status,
+                   p.totalPrice as totalPrice
+            from Payment p
+            where p.portOnePaymentId = :paymentId
+            """)
+    Optional<ProcessedPayment> findProcessedByPortOnePaymentId(@Param("paymentId") String paymentId);
+
+    interface ProcessedPayment {
+        Long getPayId();
+
+        Long getUserId();
+
+        PaymentStatus getStatus();
+
+        Integer getTotalPrice();
+    }
 }
@@ -0,0 +1,62 @@
+package com.project.hanspoon.common.payment.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * 결제창 customData 에 넣는 checkoutToken 을 만들고 검사합니다.
+ *
+ * 초보자 참고:
+ * - customData 는 브라우저가 넣는 값이라 userId 를 그대로 믿으면 다른 사람 쿠폰/포인트로 결제를 완료시킬 수 있습니다.
+ * - 그래서 로그인한 사용자에게 결제 정보를 줄 때(checkout-info) 서버 비밀값으로 (userId, 결제 ID)를 서명해 주고,
+ *   웹훅 처리 때 같은 값으로 다시 계산해 맞는 경우에만 userId 를 믿습니다.
+ * - 비밀값은 payment.checkout-token-secret 입니다. 포트원 API 시크릿과 따로 두어 한쪽을 바꿔도 다른 쪽에 영향이 없습니다.
+ */
+@Component
+public class CheckoutTokens {
+
+    private final byte[] key;
+
+    public CheckoutTokens(@Value("${payment.checkout-token-secret:}") String secret) {
+        this.key = StringUtils.hasText(secret) ? secret.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    /** 서명할 비밀값이 없으면 null 입니다. (이 경우 웹훅으로는 결제를 완료하지 않습니다) */
+    public String issue(Long userId, String paymentId) {
+        if (key == null || userId == null || paymentId == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sign(userId, paymentId));
+    }
+
+    public boolean matches(Long userId, String paymentId, String token) {
+        if (key == null || userId == null || paymentId == null || !StringUtils.hasText(token)) {
+            return false;
+        }
+        byte[] actual;
+        try {
+            actual = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(sign(userId, paymentId), actual);
+    }
+
+    private byte[] sign(Long userId, String paymentId) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(("checkout:" + userId + ":" + paymentId).getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 를 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.project.hanspoon.common.payment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.hanspoon.common.payment.constant.PaymentInboxStatus;
+import com.project.hanspoon.common.payment.dto.PortOneDto;
+import com.project.hanspoon.common.payment.entity.PaymentInbox;
+import com.project.hanspoon.common.payment.gateway.PortOneClient;
+import com.project.hanspoon.common.payment.repository.PaymentInboxRepository;
+import com.project.hanspoon.common.payment.repository.PaymentRepository;
+import com.project.hanspoon.common.user.entity.User;
+import com.project.hanspoon.common.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 결제 웹훅 인박스(payment_inbox) 적재/가져가기/처리 결과 반영을 담당합니다.
+ *
+ * 초보자 참고:
+ * - 웹훅 요청 스레드는 {@link #append}만 하고 바로 응답합니다.
+ * - 실제 처리({@link #complete})는 PaymentInboxWorker 가 트랜잭션 밖에서 부릅니다.
+ *   포트원에서 결제를 다시 조회하고, customData 의 결제 요청 정보로 PortOneService 와 같은 검증/저장을 합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentInboxService {
+
+    private static final EnumSet<PaymentInboxStatus> DUE_STATUSES =
+            EnumSet.of(PaymentInboxStatus.PENDING, PaymentInboxStatus.PROCESSING);
+
+    private final PaymentInboxRepository paymentInboxRepository;
+    private final PaymentRepository paymentRepository;
+    private final UserRepository userRepository;
+    private final PortOneClient portOneClient;
+    private final PortOneService portOneService;
+    private final CheckoutTokens checkoutTokens;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 인박스 처리 결과 종류
+     * (NOT_FOUND: 포트원에 결제가 없음. 웹훅이 먼저 도착한 경우만 고려해 짧게 몇 번만 다시 봅니다)
+     */
+    public enum Outcome { COMPLETED, ALREADY_DONE, SKIPPED, FAILED, RETRY, NOT_FOUND }
+
+    public record Completion(Outcome outcome, String message) {
+    }
+
+    /** 인박스 행 하나에 반영할 결과 (nextAttemptAt 은 재시도일 때만) */
+    public record Result(Long inboxId, PaymentInboxStatus status, String message, LocalDateTime nextAttemptAt) {
+    }
+
+    /**
+     * 웹훅 1건을 적재합니다. 같은 webhook-id 가 이미 있으면(포트원 재전송) false 입니다.
+     */
+    public boolean append(String webhookId, String eventType, String paymentId, String payload) {
+        try {
+            paymentInboxRepository.save(
+                    PaymentInbox.received(webhookId, paymentId, eventType, payload, LocalDateTime.now()));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            log.info("이미 받은 웹훅: webhookId={}, paymentId={}", webhookId, paymentId);
+            return false;
+        }
+    }
+
+    /**
+     * 처리할 차례가 된 행을 최대 limit 건 가져오고 lease 동안 임대합니다.
+     * 임대 중 서버가 죽으면 lease 가 지난 뒤 다시 가져갑니다.
+     */
+    @Transactional
+    public List<PaymentInbox> claimDue(LocalDateTime now, int limit, Duration lease) {
+        List<PaymentInbox> due = paymentInboxRepository.findDueForUpdate(DUE_STATUSES, now, PageRequest.of(0, limit));
+        LocalDateTime leaseUntil = now.plus(lease);
+        for (PaymentInbox inbox : due) {
+            inbox.claim(leaseUntil);
+        }
+        return due;
+    }
+
+    @Transactional
+    public void applyResults(List<Result> results) {
+        Map<Long, PaymentInbox> rows = paymentInboxRepository.findAllById(results.stream().map(Result::inboxId).toList())
+                .stream()
+                .collect(Collectors.toMap(PaymentInbox::getId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        for (Result result : results) {
+            PaymentInbox inbox = rows.get(result.inboxId());
+            if (inbox == null) {
+                continue;
+            }
+            if (result.status() == PaymentInboxStatus.PENDING) {
+                inbox.retryAt(result.nextAttemptAt(), result.message());
+            } else {
+                inbox.finish(result.status(), result.message(), now);
+            }
+        }
+    }
+
+    /**
+     * paymentId 결제를 완료 처리합니다. 트랜잭션 밖에서 실행합니다. (포트원 호출 포함)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Completion complete(String paymentId) {
+        if (paymentRepository.findProcessedByPortOnePaymentId(paymentId).isPresent()) {
+            return new Completion(Outcome.ALREADY_DONE, "이미 저장된 결제입니다.");
+        }
+
+        PortOneDto.PortOnePaymentResponse payment;
+        try {
+            payment = portOneClient.getPayment(paymentId).orElse(null);
+        } catch (PortOneClient.UnavailableException e) {
+            return new Completion(Outcome.RETRY, e.getMessage());
+        }
+        if (payment == null) {
+            // 웹훅이 결제 조회 API 보다 먼저 도착하는 경우가 있어 잠깐 뒤에 다시 봅니다. (전체 백오프는 쓰지 않음)
+            return new Completion(Outcome.NOT_FOUND, "포트원에서 결제 정보를 조회할 수 없습니다.");
+        }
+        if (!"PAID".equals(payment.getStatus())) {
+            return new Completion(Outcome.SKIPPED, "결제 완료 상태가 아닙니다: " + payment.getStatus());
+        }
+
+        PortOneDto.CheckoutCustomData custom = parseCustomData(payment.getCustomData());
+        if (custom == null || !checkoutTokens.matches(custom.getUserId(), paymentId, custom.getCheckoutToken())) {
+            return new Completion(Outcome.SKIPPED, "결제 요청 정보(customData)를 확인할 수 없어 브라우저 검증에 맡깁니다.");
+        }
+        Optional<User> user = userRepository.findById(custom.getUserId());
+        if (user.isEmpty()) {
+            return new Completion(Outcome.SKIPPED, "결제한 사용자를 찾을 수 없습니다: " + custom.getUserId());
+        }
+
+        PortOneDto.PaymentResult result = portOneService.verifyPrefetched(
+                user.get(), custom.toVerifyRequest(paymentId), payment);
+        if (result.isSuccess()) {
+            return new Completion(Outcome.COMPLETED, result.getMessage());
+        }
+        // 일시적인 DB 오류는 다시 시도하고, 금액 불일치 같은 검증 거절만 FAILED 로 남깁니다.
+        return new Completion(result.isRetryable() ? Outcome.RETRY : Outcome.FAILED, result.getMessage());
+    }
+
+    private PortOneDto.CheckoutCustomData parseCustomData(String customData) {
+        if (!StringUtils.hasText(customData)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(customData, PortOneDto.CheckoutCustomData.class);
+        } catch (Exception e) {
+            log.warn("customData 파싱 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+}
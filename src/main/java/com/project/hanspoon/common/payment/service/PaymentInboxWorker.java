@@ -0,0 +1,201 @@
+package com.project.hanspoon.common.payment.service;
+
+import com.project.hanspoon.common.payment.constant.PaymentInboxStatus;
+import com.project.hanspoon.common.payment.entity.PaymentInbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 결제 웹훅 인박스를 배치로 꺼내 처리하는 워커입니다.
+ *
+ * 초보자 참고:
+ * - 웹훅이 들어오면 {@link #wakeUp}으로 바로 깨어나고, 놓친 것은 poll-delay-ms 주기 폴링이 줍습니다.
+ * - 한 번에 batch-size 건을 가져와 같은 paymentId 는 한 번만 처리하고(중복 웹훅), 서로 다른 결제는
+ *   최대 max-concurrent 건씩 동시에 처리합니다.
+ * - 포트원 장애처럼 다시 해 볼 만한 실패는 backoff-base-ms 부터 두 배씩(최대 backoff-max-ms) 기다렸다가 재시도하고,
+ *   max-attempts 번을 넘기면 FAILED 로 남겨 관리자가 확인하게 합니다.
+ * - 포트원에 없는 결제(NOT_FOUND)는 not-found-retry-ms 간격으로 not-found-max-attempts 번까지만 보고 SKIPPED 로 끝냅니다.
+ *   임의의 paymentId 로 들어온 웹훅이 포트원 조회를 계속 일으키지 않게 하기 위해서입니다.
+ */
+@Slf4j
+@Component
+public class PaymentInboxWorker {
+
+    private final PaymentInboxService paymentInboxService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final int notFoundMaxAttempts;
+    private final long notFoundRetryMs;
+    private final Duration lease;
+    private final Semaphore permits;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("payment-inbox-", 0).factory());
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean wakeRequested = new AtomicBoolean();
+    private final Map<PaymentInboxService.Outcome, Counter> outcomeCounters =
+            new EnumMap<>(PaymentInboxService.Outcome.class);
+
+    public PaymentInboxWorker(
+            PaymentInboxService paymentInboxService,
+            MeterRegistry meterRegistry,
+            @Value("${payment.inbox.enabled:true}") boolean enabled,
+            @Value("${payment.inbox.batch-size:50}") int batchSize,
+            @Value("${payment.inbox.max-concurrent:4}") int maxConcurrent,
+            @Value("${payment.inbox.max-attempts:8}") int maxAttempts,
+            @Value("${payment.inbox.backoff-base-ms:5000}") long backoffBaseMs,
+            @Value("${payment.inbox.backoff-max-ms:600000}") long backoffMaxMs,
+            @Value("${payment.inbox.lease-ms:120000}") long leaseMs,
+            @Value("${payment.inbox.not-found-max-attempts:3}") int notFoundMaxAttempts,
+            @Value("${payment.inbox.not-found-retry-ms:10000}") long notFoundRetryMs) {
+        this.paymentInboxService = paymentInboxService;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.permits = new Semaphore(Math.max(1, maxConcurrent));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffBaseMs = Math.max(1, backoffBaseMs);
+        this.backoffMaxMs = Math.max(this.backoffBaseMs, backoffMaxMs);
+        this.lease = Duration.ofMillis(leaseMs);
+        this.notFoundMaxAttempts = Math.max(1, Math.min(notFoundMaxAttempts, this.maxAttempts));
+        this.notFoundRetryMs = Math.max(1, notFoundRetryMs);
+
+        for (PaymentInboxService.Outcome outcome : PaymentInboxService.Outcome.values()) {
+            outcomeCounters.put(outcome, Counter.builder("payment.inbox.processed")
+                    .description("결제 웹훅 인박스 처리 결과")
+                    .tag("outcome", outcome.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /** 웹훅 적재 직후 호출합니다. 다음 폴링을 기다리지 않고 바로 처리합니다. */
+    public void wakeUp() {
+        if (!enabled) {
+            return;
+        }
+        wakeRequested.set(true);
+        executor.execute(this::drain);
+    }
+
+    @Scheduled(fixedDelayString = "${payment.inbox.poll-delay-ms:5000}")
+    public void poll() {
+        drain();
+    }
+
+    void drain() {
+        if (!enabled || !draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            while (true) {
+                wakeRequested.set(false);
+                List<PaymentInbox> batch = paymentInboxService.claimDue(LocalDateTime.now(), batchSize, lease);
+                if (!batch.isEmpty()) {
+                    paymentInboxService.applyResults(process(batch));
+                }
+                if (batch.size() < batchSize && !wakeRequested.get()) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("결제 인박스 처리 실패: {}", e.getMessage(), e);
+        } finally {
+            draining.set(false);
+        }
+        // 끝나는 사이에 들어온 웹훅이 있으면 한 번 더 돕니다.
+        if (wakeRequested.get()) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private List<PaymentInboxService.Result> process(List<PaymentInbox> batch) {
+        // 같은 결제의 중복 웹훅은 한 번만 처리하고 결과를 함께 반영합니다.
+        Map<String, List<PaymentInbox>> byPaymentId = new LinkedHashMap<>();
+        for (PaymentInbox inbox : batch) {
+            byPaymentId.computeIfAbsent(inbox.getPaymentId(), k -> new ArrayList<>()).add(inbox);
+        }
+
+        Map<String, CompletableFuture<PaymentInboxService.Completion>> running = new LinkedHashMap<>();
+        for (String paymentId : byPaymentId.keySet()) {
+            permits.acquireUninterruptibly();
+            running.put(paymentId, CompletableFuture.supplyAsync(() -> {
+                try {
+                    return paymentInboxService.complete(paymentId);
+                } catch (Exception e) {
+                    log.warn("결제 인박스 처리 중 오류: paymentId={}, error={}", paymentId, e.getMessage());
+                    return new PaymentInboxService.Completion(PaymentInboxService.Outcome.RETRY, e.getMessage());
+                } finally {
+                    permits.release();
+                }
+            }, executor));
+        }
+
+        List<PaymentInboxService.Result> results = new ArrayList<>(batch.size());
+        LocalDateTime now = LocalDateTime.now();
+        running.forEach((paymentId, future) -> {
+            PaymentInboxService.Completion completion = future.join();
+            outcomeCounters.get(completion.outcome()).increment();
+            if (completion.outcome() == PaymentInboxService.Outcome.FAILED
+                    || completion.outcome() == PaymentInboxService.Outcome.SKIPPED) {
+                log.warn("결제 웹훅 처리 안 됨: paymentId={}, outcome={}, message={}",
+                        paymentId, completion.outcome(), completion.message());
+            }
+            for (PaymentInbox inbox : byPaymentId.get(paymentId)) {
+                results.add(toResult(inbox, completion, now));
+            }
+        });
+        return results;
+    }
+
+    private PaymentInboxService.Result toResult(PaymentInbox inbox, PaymentInboxService.Completion completion,
+                                                LocalDateTime now) {
+        PaymentInboxStatus status = switch (completion.outcome()) {
+            case COMPLETED, ALREADY_DONE -> PaymentInboxStatus.DONE;
+            case SKIPPED -> PaymentInboxStatus.SKIPPED;
+            case FAILED -> PaymentInboxStatus.FAILED;
+            case RETRY -> inbox.getAttempts() >= maxAttempts ? PaymentInboxStatus.FAILED : PaymentInboxStatus.PENDING;
+            case NOT_FOUND -> inbox.getAttempts() >= notFoundMaxAttempts
+                    ? PaymentInboxStatus.SKIPPED
+                    : PaymentInboxStatus.PENDING;
+        };
+        LocalDateTime nextAttemptAt = null;
+        if (status == PaymentInboxStatus.PENDING) {
+            long delayMs = completion.outcome() == PaymentInboxService.Outcome.NOT_FOUND
+                    ? notFoundRetryMs
+                    : backoffMs(inbox.getAttempts());
+            nextAttemptAt = now.plus(Duration.ofMillis(delayMs));
+        }
+        return new PaymentInboxService.Result(inbox.getId(), status, completion.message(), nextAttemptAt);
+    }
+
+    // attempts 번째 실패 후 대기 시간: base * 2^(attempts-1), 최대 backoffMaxMs, 동시에 몰리지 않게 ±20% 흔들기
+    long backoffMs(int attempts) {
+        int shift = Math.min(30, Math.max(0, attempts - 1));
+        long delay = Math.min(backoffMaxMs, backoffBaseMs << shift);
+        if (delay < 0) {
+            delay = backoffMaxMs;
+        }
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return (long) (delay * jitter);
+    }
+}
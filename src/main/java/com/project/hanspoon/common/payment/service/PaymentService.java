@@ -1,5 +1,6 @@
 package com.project.hanspoon.common.payment.service;
 
+import com.project.hanspoon.admin.service.SalesRollupService;
 import com.project.hanspoon.common.payment.constant.PaymentStatus;
 import com.project.hanspoon.common.payment.entity.PaymentItem;
 import com.project.hanspoon.common.payment.entity.Payment;
@@ -25,6 +26,7 @@ public class PaymentService {
     private final PaymentItemRepository paymentItemRepository;
     private final PortOneService portOneService;
     private final OrderRepository orderRepository;
+    private final SalesRollupService salesRollupService;
 
     /**
      * 결제 생성
@@ -51,6 +53,7 @@ public class PaymentService {
         payment.addPaymentItem(paymentItem);
 
         Payment savedPayment = paymentRepository.save(payment);
+        salesRollupService.recordPaid(savedPayment);
         return PaymentDto.from(savedPayment);
     }
 
@@ -66,6 +69,7 @@ public class PaymentService {
         payment.addPaymentItem(paymentItem);
 
         Payment savedPayment = paymentRepository.save(payment);
+        salesRollupService.recordPaid(savedPayment);
         return PaymentDto.from(savedPayment);
     }
 
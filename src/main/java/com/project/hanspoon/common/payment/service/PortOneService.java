@@ -1,29 +1,52 @@
 package com.project.hanspoon.common.payment.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.project.hanspoon.common.config.PortOneConfig;
+import com.project.hanspoon.admin.service.SalesRollupService;
 import com.project.hanspoon.common.exception.BusinessException;
 import com.project.hanspoon.common.payment.constant.PaymentStatus;
 import com.project.hanspoon.common.payment.dto.PortOneDto;
 import com.project.hanspoon.common.payment.entity.Payment;
 import com.project.hanspoon.common.payment.entity.PaymentItem;
+import com.project.hanspoon.common.payment.gateway.IdempotencyStore;
+import com.project.hanspoon.common.payment.gateway.PortOneClient;
 import com.project.hanspoon.common.payment.repository.PaymentRepository;
 import com.project.hanspoon.common.user.entity.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 포트원 결제 검증/저장, 환불을 담당합니다.
+ *
+ * 초보자 참고:
+ * - 결제 검증은 두 단계입니다. ① 트랜잭션 밖에서 포트원 결제 정보를 조회하고(타임아웃/동시 호출 제한/서킷 브레이커는 PortOneClient),
+ *   ② 그 결과로 짧은 트랜잭션 안에서 금액을 검증하고 저장합니다.
+ *   예전에는 포트원 응답을 기다리는 동안 DB 커넥션을 붙잡고 있어, 포트원이 느리면 커넥션 풀이 바닥났습니다.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PortOneService {
 
-    private final WebClient portOneWebClient;
-    private final PortOneConfig portOneConfig;
+    private final PortOneClient portOneClient;
     private final PaymentRepository paymentRepository;
-    private final ObjectMapper objectMapper;
+    private final SalesRollupService salesRollupService;
+    private final TransactionTemplate transactionTemplate;
 
     private final com.project.hanspoon.oneday.clazz.repository.ClassSessionRepository classSessionRepository;
     private final com.project.hanspoon.oneday.reservation.repository.ClassReservationRepository classReservationRepository;
@@ -33,247 +56,395 @@ public class PortOneService {
     private final com.project.hanspoon.shop.order.service.OrderService orderService;
     private final com.project.hanspoon.mypage.service.PointService pointService;
 
-    @Transactional
+    // 같은 결제를 다시 확인하는 요청(새로고침, 재시도)은 이 시간 동안 메모리에서 바로 답합니다.
+    private static final long VERIFIED_TTL_MS = 10 * 60 * 1000L;
+    private static final int VERIFIED_MAX_ENTRIES = 10_000;
+    // 진행 중인 같은 결제 검증을 기다리는 최대 시간 (포트원 호출 마감 시간보다 넉넉하게)
+    private static final long FLIGHT_WAIT_SECONDS = 15;
+
+    private final IdempotencyStore<VerifiedPayment> verifiedPayments =
+            new IdempotencyStore<>(VERIFIED_TTL_MS, VERIFIED_MAX_ENTRIES);
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private record VerifiedPayment(Long userId, PortOneDto.PaymentResult result) {
+    }
+
+    // 진행 중인 검증 1건. 같은 paymentId 로 들어온 요청은 result 를 함께 기다립니다.
+    private record Flight(Long userId, CompletableFuture<PortOneDto.PaymentResult> result) {
+    }
+
+    /**
+     * 결제 검증 및 저장. 호출하는 쪽 트랜잭션에 묶이지 않도록 NOT_SUPPORTED 로 실행합니다.
+     *
+     * 같은 paymentId 는 한 번만 처리합니다.
+     * - 이미 처리된 결제: 메모리 기록 또는 DB(유니크 인덱스) 조회로 기존 결과를 바로 돌려줍니다.
+     * - 같은 결제를 처리하는 중: 포트원을 다시 부르지 않고 진행 중인 검증 결과를 함께 기다립니다.
+     * - 서버 여러 대에서 동시에 저장하려 하면 uk_payment_portone_payment_id 가 한 건만 남깁니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PortOneDto.PaymentResult verifyAndSavePayment(
             User user,
             PortOneDto.PaymentVerifyRequest request) {
+        return verifyDeduplicated(user, request, null);
+    }
+
+    /**
+     * 이미 포트원에서 조회한 결제 정보로 검증/저장합니다. (웹훅 처리용, PaymentInboxService 참고)
+     * 중복 처리 방지는 verifyAndSavePayment 와 같습니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PortOneDto.PaymentResult verifyPrefetched(
+            User user,
+            PortOneDto.PaymentVerifyRequest request,
+            PortOneDto.PortOnePaymentResponse portOnePayment) {
+        return verifyDeduplicated(user, request, portOnePayment);
+    }
+
+    private PortOneDto.PaymentResult verifyDeduplicated(
+            User user,
+            PortOneDto.PaymentVerifyRequest request,
+            PortOneDto.PortOnePaymentResponse prefetched) {
 
         String paymentId = request.getPaymentId();
-        Long orderIdLong = null;
-        if (request.getOrderId() != null) {
-            try {
-                orderIdLong = Long.parseLong(request.getOrderId());
-            } catch (NumberFormatException e) {
-                log.warn("올바르지 않은 주문 ID 형식: {}", request.getOrderId());
-            }
+        if (paymentId == null || paymentId.isBlank()) {
+            return failure("결제 ID가 없습니다.");
+        }
+
+        Optional<PortOneDto.PaymentResult> processed = findProcessed(user, paymentId);
+        if (processed.isPresent()) {
+            return processed.get();
+        }
+
+        Flight mine = new Flight(user.getUserId(), new CompletableFuture<>());
+        Flight running = inFlight.putIfAbsent(paymentId, mine);
+        if (running != null) {
+            return joinFlight(running, user, paymentId);
         }
 
         try {
-            PortOneDto.PortOnePaymentResponse portOnePayment = getPaymentFromPortOne(paymentId);
-            if (portOnePayment == null) {
-                return PortOneDto.PaymentResult.builder()
-                        .success(false)
-                        .message("포트원에서 결제 정보를 조회할 수 없습니다.")
-                        .build();
-            }
+            // 앞선 검증이 방금 끝났을 수 있으니 한 번 더 확인합니다.
+            PortOneDto.PaymentResult result = verifiedResult(user, paymentId)
+                    .orElseGet(() -> verifyOnce(user, request, prefetched));
+            mine.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(paymentId, mine);
+        }
+    }
 
-            if (portOnePayment.getAmount() == null) {
-                log.error("결제 정보 조회 성공했으나 금액 정보가 없음 (paymentId={})", paymentId);
-                return PortOneDto.PaymentResult.builder()
-                        .success(false)
-                        .message("결제 금액 정보를 확인할 수 없습니다.")
-                        .build();
-            }
+    private PortOneDto.PaymentResult verifyOnce(
+            User user,
+            PortOneDto.PaymentVerifyRequest request,
+            PortOneDto.PortOnePaymentResponse prefetched) {
+        String paymentId = request.getPaymentId();
 
-            int expectedTotalBeforeDiscount = 0;
-            if (request.getProductId() != null) {
-                var product = productRepository.findById(request.getProductId())
-                        .orElseThrow(() -> new BusinessException("상품 정보를 찾을 수 없습니다."));
-                expectedTotalBeforeDiscount = product.getPrice() * request.getQuantity();
-            } else if (request.getClassId() != null) {
-                var session = classSessionRepository.findById(request.getClassId())
-                        .orElseThrow(() -> new BusinessException(
-                                "클래스 세션 정보를 찾을 수 없습니다. (ID: " + request.getClassId() + ")"));
-                expectedTotalBeforeDiscount = session.getPrice() * request.getQuantity();
-            } else if (orderIdLong != null) {
-                var order = orderRepository.findById(orderIdLong)
-                        .orElseThrow(() -> new BusinessException("주문 정보를 찾을 수 없습니다."));
-                expectedTotalBeforeDiscount = order.getTotalPrice();
+        // ① 원격 조회: 트랜잭션/DB 커넥션 없이 실행 (웹훅 처리처럼 이미 조회했으면 그대로 씁니다)
+        PortOneDto.PortOnePaymentResponse portOnePayment = prefetched;
+        if (portOnePayment == null) {
+            try {
+                portOnePayment = portOneClient.getPayment(paymentId).orElse(null);
+            } catch (PortOneClient.UnavailableException e) {
+                return retryableFailure(e.getMessage());
             }
+        }
+        if (portOnePayment == null) {
+            return failure("포트원에서 결제 정보를 조회할 수 없습니다.");
+        }
 
-            if (expectedTotalBeforeDiscount > 0 && request.getAmount() != expectedTotalBeforeDiscount) {
-                log.error("사용자 금액 조작 감지: 요청={}, DB 계산={}", request.getAmount(), expectedTotalBeforeDiscount);
-                return PortOneDto.PaymentResult.builder()
-                        .success(false)
-                        .message("결제 금액이 올바르지 않습니다. (조작 의심)")
-                        .build();
+        // ② 검증 + 저장: 짧은 트랜잭션 하나. 검증 실패 결과도 롤백해 부분 저장이 남지 않게 합니다.
+        PortOneDto.PortOnePaymentResponse fetched = portOnePayment;
+        try {
+            PortOneDto.PaymentResult result = transactionTemplate.execute(status -> {
+                PortOneDto.PaymentResult saved = saveVerifiedPayment(user, request, fetched);
+                if (!saved.isSuccess()) {
+                    status.setRollbackOnly();
+                }
+                return saved;
+            });
+            if (result != null && result.isSuccess()) {
+                verifiedPayments.put(paymentId, new VerifiedPayment(user.getUserId(), result));
             }
+            return result;
+        } catch (DataIntegrityViolationException e) {
+            // 다른 서버가 같은 결제를 먼저 저장한 경우입니다.
+            log.info("이미 저장된 포트원 결제: paymentId={}", paymentId);
+            return findProcessed(user, paymentId)
+                    .orElseGet(() -> failure("결제 처리 중 오류가 발생했습니다: " + e.getMessage()));
+        } catch (TransientDataAccessException | CannotCreateTransactionException e) {
+            // 락 대기 초과, 커넥션 부족 등은 결제가 잘못된 것이 아니므로 재시도할 수 있게 표시합니다.
+            log.warn("결제 저장 일시 실패: paymentId={}, error={}", paymentId, e.getMessage());
+            return retryableFailure("결제 처리 중 일시적인 오류가 발생했습니다. 잠시 후 다시 시도해 주세요.");
+        } catch (Exception e) {
+            log.error("결제 검증 및 저장 실패: {}", e.getMessage(), e);
+            return failure("결제 처리 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
 
-            Integer paidAmount = portOnePayment.getAmount().getTotal();
+    private PortOneDto.PaymentResult joinFlight(Flight running, User user, String paymentId) {
+        if (!Objects.equals(running.userId(), user.getUserId())) {
+            log.warn("다른 사용자의 결제 검증 시도: paymentId={}, userId={}", paymentId, user.getUserId());
+            return failure("결제 정보를 확인할 수 없습니다.");
+        }
+        try {
+            return running.result().get(FLIGHT_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failure("결제 확인이 중단되었습니다.");
+        } catch (TimeoutException e) {
+            return failure("같은 결제를 확인하는 중입니다. 잠시 후 다시 시도해 주세요.");
+        } catch (ExecutionException e) {
+            return failure("결제 처리 중 오류가 발생했습니다: " + e.getCause().getMessage());
+        }
+    }
 
-            int discountAmount = 0;
-            com.project.hanspoon.oneday.coupon.entity.ClassUserCoupon userCoupon = null;
+    /** 이미 처리된 결제면 기존 결과입니다. (메모리 기록 -> DB 순으로 확인) */
+    private Optional<PortOneDto.PaymentResult> findProcessed(User user, String paymentId) {
+        Optional<PortOneDto.PaymentResult> verified = verifiedResult(user, paymentId);
+        if (verified.isPresent()) {
+            return verified;
+        }
 
-            if (request.getUserCouponId() != null) {
-                userCoupon = userCouponRepository.findById(request.getUserCouponId())
-                        .orElseThrow(() -> new BusinessException("쿠폰 정보를 찾을 수 없습니다."));
+        return paymentRepository.findProcessedByPortOnePaymentId(paymentId).map(existing -> {
+            if (!Objects.equals(existing.getUserId(), user.getUserId())) {
+                log.warn("다른 사용자의 결제 검증 시도: paymentId={}, userId={}", paymentId, user.getUserId());
+                return failure("결제 정보를 확인할 수 없습니다.");
+            }
+            if (existing.getStatus() != PaymentStatus.PAID) {
+                return failure("이미 처리된 결제입니다. 상태: " + existing.getStatus().getDescription());
+            }
+            PortOneDto.PaymentResult result = PortOneDto.PaymentResult.builder()
+                    .success(true)
+                    .message("이미 완료된 결제입니다.")
+                    .payId(existing.getPayId())
+                    .paymentId(paymentId)
+                    .amount(existing.getTotalPrice())
+                    .build();
+            verifiedPayments.put(paymentId, new VerifiedPayment(existing.getUserId(), result));
+            return result;
+        });
+    }
 
-                if (!userCoupon.isUsable(java.time.LocalDateTime.now())) {
-                    throw new BusinessException("사용할 수 없는 쿠폰입니다.");
-                }
+    private Optional<PortOneDto.PaymentResult> verifiedResult(User user, String paymentId) {
+        return verifiedPayments.get(paymentId).map(verified -> Objects.equals(verified.userId(), user.getUserId())
+                ? verified.result()
+                : failure("결제 정보를 확인할 수 없습니다."));
+    }
 
-                if (!userCoupon.getUserId().equals(user.getUserId())) {
-                    throw new BusinessException("본인 쿠폰만 사용할 수 있습니다.");
-                }
+    private static PortOneDto.PaymentResult failure(String message) {
+        return PortOneDto.PaymentResult.builder()
+                .success(false)
+                .message(message)
+                .build();
+    }
 
-                var coupon = userCoupon.getCoupon();
-                if (coupon.getDiscountType() == com.project.hanspoon.oneday.coupon.domain.DiscountType.FIXED) {
-                    discountAmount = coupon.getDiscountValue();
-                } else {
-                    discountAmount = (int) (request.getAmount() * (coupon.getDiscountValue() / 100.0));
-                }
-            }
+    private static PortOneDto.PaymentResult retryableFailure(String message) {
+        return PortOneDto.PaymentResult.builder()
+                .success(false)
+                .retryable(true)
+                .message(message)
+                .build();
+    }
 
-            int usedPoints = request.getUsedPoints() != null ? request.getUsedPoints() : 0;
-            int expectedPaidAmount = (request.getAmount() - discountAmount) - usedPoints;
+    private PortOneDto.PaymentResult saveVerifiedPayment(
+            User user,
+            PortOneDto.PaymentVerifyRequest request,
+            PortOneDto.PortOnePaymentResponse portOnePayment) {
 
-            if (paidAmount == null || !paidAmount.equals(expectedPaidAmount)) {
-                log.error("결제 금액 불일치: 기대={}, 실제={}", expectedPaidAmount, paidAmount);
-                return PortOneDto.PaymentResult.builder()
-                        .success(false)
-                        .message("결제 금액이 일치하지 않습니다. (할인/포인트 적용 확인 필요)")
-                        .build();
+        String paymentId = request.getPaymentId();
+        Long orderIdLong = null;
+        if (request.getOrderId() != null) {
+            try {
+                orderIdLong = Long.parseLong(request.getOrderId());
+            } catch (NumberFormatException e) {
+                log.warn("올바르지 않은 주문 ID 형식: {}", request.getOrderId());
             }
+        }
 
-            if (!"PAID".equals(portOnePayment.getStatus())) {
-                return PortOneDto.PaymentResult.builder()
-                        .success(false)
-                        .message("결제가 완료되지 않았습니다. 상태: " + portOnePayment.getStatus())
-                        .build();
-            }
+        if (portOnePayment.getAmount() == null) {
+            log.error("결제 정보 조회 성공했으나 금액 정보가 없음 (paymentId={})", paymentId);
+            return PortOneDto.PaymentResult.builder()
+                    .success(false)
+                    .message("결제 금액 정보를 확인할 수 없습니다.")
+                    .build();
+        }
+
+        int expectedTotalBeforeDiscount = 0;
+        if (request.getProductId() != null) {
+            var product = productRepository.findById(request.getProductId())
+                    .orElseThrow(() -> new BusinessException("상품 정보를 찾을 수 없습니다."));
+            expectedTotalBeforeDiscount = product.getPrice() * request.getQuantity();
+        } else if (request.getClassId() != null) {
+            var session = classSessionRepository.findById(request.getClassId())
+                    .orElseThrow(() -> new BusinessException(
+                            "클래스 세션 정보를 찾을 수 없습니다. (ID: " + request.getClassId() + ")"));
+            expectedTotalBeforeDiscount = session.getPrice() * request.getQuantity();
+        } else if (orderIdLong != null) {
+            var order = orderRepository.findById(orderIdLong)
+                    .orElseThrow(() -> new BusinessException("주문 정보를 찾을 수 없습니다."));
+            expectedTotalBeforeDiscount = order.getTotalPrice();
+        }
 
-            Payment payment = Payment.builder()
-                    .user(user)
-                    .totalPrice(paidAmount)
-                    .status(PaymentStatus.PAID)
-                    .portOnePaymentId(paymentId)
-                    .orderId(orderIdLong)
-                    .payDate(java.time.LocalDateTime.now())
+        if (expectedTotalBeforeDiscount > 0 && request.getAmount() != expectedTotalBeforeDiscount) {
+            log.error("사용자 금액 조작 감지: 요청={}, DB 계산={}", request.getAmount(), expectedTotalBeforeDiscount);
+            return PortOneDto.PaymentResult.builder()
+                    .success(false)
+                    .message("결제 금액이 올바르지 않습니다. (조작 의심)")
                     .build();
+        }
 
-            Payment savedPayment = paymentRepository.save(payment);
+        Integer paidAmount = portOnePayment.getAmount().getTotal();
 
-            PaymentItem paymentItem;
-            String itemName = portOnePayment.getOrderName() != null ? portOnePayment.getOrderName() : "결제 상품";
-            if (request.getProductId() != null) {
-                paymentItem = PaymentItem.createForProduct(request.getProductId(), itemName, request.getQuantity());
-                savedPayment.addPaymentItem(paymentItem);
-            } else if (request.getClassId() != null || request.getReservationId() != null) {
-                if (request.getClassId() == null) {
-                    throw new BusinessException("클래스 결제에는 세션 ID(classId)가 필요합니다.");
-                }
+        int discountAmount = 0;
+        com.project.hanspoon.oneday.coupon.entity.ClassUserCoupon userCoupon = null;
 
-                paymentItem = PaymentItem.createForClass(request.getClassId(), itemName, request.getQuantity());
-                savedPayment.addPaymentItem(paymentItem);
-
-                if (request.getReservationId() != null) {
-                    com.project.hanspoon.oneday.reservation.entity.ClassReservation reservation = classReservationRepository
-                            .findById(request.getReservationId())
-                            .orElseThrow(() -> new IllegalArgumentException(
-                                    "예약 정보를 찾을 수 없습니다: " + request.getReservationId()));
-
-                    if (reservation
-                            .getStatus() != com.project.hanspoon.oneday.reservation.domain.ReservationStatus.HOLD) {
-                        throw new IllegalArgumentException("결제 가능한 예약 상태가 아닙니다: " + reservation.getStatus());
-                    }
-
-                    reservation.markPaid(java.time.LocalDateTime.now());
-                    reservation.linkPayment(savedPayment.getPayId());
-                    classReservationRepository.save(reservation);
-                    log.info("기존 예약 확정 및 결제 연동 완료: reservationId={}, payId={}", reservation.getId(),
-                            savedPayment.getPayId());
-                } else {
-                    com.project.hanspoon.oneday.clazz.entity.ClassSession session = classSessionRepository
-                            .findById(request.getClassId())
-                            .orElseThrow(() -> new IllegalArgumentException(
-                                    "해당 클래스 세션을 찾을 수 없습니다: " + request.getClassId()));
-
-                    com.project.hanspoon.oneday.reservation.entity.ClassReservation reservation = com.project.hanspoon.oneday.reservation.entity.ClassReservation
-                            .builder()
-                            .session(session)
-                            .user(user)
-                            .status(com.project.hanspoon.oneday.reservation.domain.ReservationStatus.PAID)
-                            .holdExpiredAt(java.time.LocalDateTime.now().plusHours(1))
-                            .build();
-
-                    reservation.markPaid(java.time.LocalDateTime.now());
-                    reservation.linkPayment(savedPayment.getPayId());
-                    classReservationRepository.save(reservation);
-                    log.info("클래스 예약 자동 생성 및 결제 연동 완료: userId={}, sessionId={}, payId={}",
-                            user.getUserId(), request.getClassId(), savedPayment.getPayId());
-                }
-            } else if (orderIdLong != null) {
-                var order = orderRepository.findById(orderIdLong)
-                        .orElseThrow(() -> new BusinessException(
-                                "주문 정보를 찾을 수 없습니다. (ID: " + request.getOrderId() + ")"));
-
-                // Order 의 OrderItem 목록에서 PaymentItem 생성 (실제 상품명 스냅샷 저장)
-                for (com.project.hanspoon.shop.order.entity.OrderItem oi : order.getItems()) {
-                    PaymentItem pi = PaymentItem.createForProduct(
-                            oi.getProductId(),
-                            oi.getProductName(),
-                            oi.getQuantity());
-                    savedPayment.addPaymentItem(pi);
-                }
+        if (request.getUserCouponId() != null) {
+            userCoupon = userCouponRepository.findById(request.getUserCouponId())
+                    .orElseThrow(() -> new BusinessException("쿠폰 정보를 찾을 수 없습니다."));
 
-                // Use unified order payment completion flow to keep stock/cart handling consistent.
-                orderService.completeOrderPaymentBySystem(orderIdLong);
-                log.info("상품 주문 결제 완료 처리 완료: orderId={}, payId={}", order.getId(), savedPayment.getPayId());
-            } else {
-                throw new BusinessException("결제 대상 정보가 없습니다.");
+            if (!userCoupon.isUsable(java.time.LocalDateTime.now())) {
+                throw new BusinessException("사용할 수 없는 쿠폰입니다.");
             }
 
-            if (userCoupon != null) {
-                userCoupon.markUsed(java.time.LocalDateTime.now());
-                log.info("쿠폰 사용 처리 완료: userCouponId={}, userId={}", userCoupon.getId(), user.getUserId());
+            if (!userCoupon.getUserId().equals(user.getUserId())) {
+                throw new BusinessException("본인 쿠폰만 사용할 수 있습니다.");
             }
 
-            if (usedPoints > 0) {
-                pointService.usePoints(user.getUserId(), usedPoints, "상품 결제 사용: " + portOnePayment.getOrderName(),
-                        savedPayment.getPayId());
-                log.info("포인트 차감 완료: usedPoints={}, userId={}", usedPoints, user.getUserId());
+            var coupon = userCoupon.getCoupon();
+            if (coupon.getDiscountType() == com.project.hanspoon.oneday.coupon.domain.DiscountType.FIXED) {
+                discountAmount = coupon.getDiscountValue();
+            } else {
+                discountAmount = (int) (request.getAmount() * (coupon.getDiscountValue() / 100.0));
             }
+        }
 
-            log.info("결제 완료 및 저장 성공: paymentId={}, amount={}, userId={}",
-                    paymentId, paidAmount, user.getUserId());
+        int usedPoints = request.getUsedPoints() != null ? request.getUsedPoints() : 0;
+        int expectedPaidAmount = (request.getAmount() - discountAmount) - usedPoints;
 
+        if (paidAmount == null || !paidAmount.equals(expectedPaidAmount)) {
+            log.error("결제 금액 불일치: 기대={}, 실제={}", expectedPaidAmount, paidAmount);
             return PortOneDto.PaymentResult.builder()
-                    .success(true)
-                    .message("결제가 완료되었습니다.")
-                    .payId(savedPayment.getPayId())
-                    .paymentId(paymentId)
-                    .amount(paidAmount)
+                    .success(false)
+                    .message("결제 금액이 일치하지 않습니다. (할인/포인트 적용 확인 필요)")
                     .build();
+        }
 
-        } catch (Exception e) {
-            log.error("결제 검증 및 저장 실패: {}", e.getMessage(), e);
+        if (!"PAID".equals(portOnePayment.getStatus())) {
             return PortOneDto.PaymentResult.builder()
                     .success(false)
-                    .message("결제 처리 중 오류가 발생했습니다: " + e.getMessage())
+                    .message("결제가 완료되지 않았습니다. 상태: " + portOnePayment.getStatus())
                     .build();
         }
-    }
 
-    private PortOneDto.PortOnePaymentResponse getPaymentFromPortOne(String paymentId) {
-        try {
-            String responseBody = portOneWebClient.get()
-                    .uri("/payments/{paymentId}", paymentId)
-                    .header("Authorization", "PortOne " + portOneConfig.getApiSecret())
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            if (responseBody != null) {
-                try {
-                    PortOneDto.PortOnePaymentWrapper wrapper = objectMapper.readValue(responseBody,
-                            PortOneDto.PortOnePaymentWrapper.class);
-                    if (wrapper.getPayment() != null) {
-                        return wrapper.getPayment();
-                    }
-                } catch (Exception ignored) {
-                }
+        Payment payment = Payment.builder()
+                .user(user)
+                .totalPrice(paidAmount)
+                .status(PaymentStatus.PAID)
+                .portOnePaymentId(paymentId)
+                .orderId(orderIdLong)
+                .payDate(java.time.LocalDateTime.now())
+                .build();
+
+        Payment savedPayment = paymentRepository.save(payment);
+
+        PaymentItem paymentItem;
+        String itemName = portOnePayment.getOrderName() != null ? portOnePayment.getOrderName() : "결제 상품";
+        if (request.getProductId() != null) {
+            paymentItem = PaymentItem.createForProduct(request.getProductId(), itemName, request.getQuantity());
+            savedPayment.addPaymentItem(paymentItem);
+        } else if (request.getClassId() != null || request.getReservationId() != null) {
+            if (request.getClassId() == null) {
+                throw new BusinessException("클래스 결제에는 세션 ID(classId)가 필요합니다.");
+            }
 
-                try {
-                    return objectMapper.readValue(responseBody, PortOneDto.PortOnePaymentResponse.class);
-                } catch (Exception e) {
-                    log.error("JSON 파싱 실패", e);
+            paymentItem = PaymentItem.createForClass(request.getClassId(), itemName, request.getQuantity());
+            savedPayment.addPaymentItem(paymentItem);
+
+            if (request.getReservationId() != null) {
+                // 좌석 배정기(SeatAllocator)가 정원 초과 홀드를 취소할 때도 이 행을 FOR UPDATE 로 잠급니다.
+                // 같이 잠가야 취소된 홀드를 HOLD 로 읽고 PAID 로 덮어쓰는 일이 없습니다.
+                com.project.hanspoon.oneday.reservation.entity.ClassReservation reservation = classReservationRepository
+                        .findByIdForUpdate(request.getReservationId())
+                        .orElseThrow(() -> new IllegalArgumentException(
+                                "예약 정보를 찾을 수 없습니다: " + request.getReservationId()));
+
+                if (reservation
+                        .getStatus() != com.project.hanspoon.oneday.reservation.domain.ReservationStatus.HOLD) {
+                    throw new IllegalArgumentException("결제 가능한 예약 상태가 아닙니다: " + reservation.getStatus());
                 }
+
+                reservation.markPaid(java.time.LocalDateTime.now());
+                reservation.linkPayment(savedPayment.getPayId());
+                classReservationRepository.save(reservation);
+                log.info("기존 예약 확정 및 결제 연동 완료: reservationId={}, payId={}", reservation.getId(),
+                        savedPayment.getPayId());
+            } else {
+                com.project.hanspoon.oneday.clazz.entity.ClassSession session = classSessionRepository
+                        .findById(request.getClassId())
+                        .orElseThrow(() -> new IllegalArgumentException(
+                                "해당 클래스 세션을 찾을 수 없습니다: " + request.getClassId()));
+
+                com.project.hanspoon.oneday.reservation.entity.ClassReservation reservation = com.project.hanspoon.oneday.reservation.entity.ClassReservation
+                        .builder()
+                        .session(session)
+                        .user(user)
+                        .status(com.project.hanspoon.oneday.reservation.domain.ReservationStatus.PAID)
+                        .holdExpiredAt(java.time.LocalDateTime.now().plusHours(1))
+                        .build();
+
+                reservation.markPaid(java.time.LocalDateTime.now());
+                reservation.linkPayment(savedPayment.getPayId());
+                classReservationRepository.save(reservation);
+                log.info("클래스 예약 자동 생성 및 결제 연동 완료: userId={}, sessionId={}, payId={}",
+                        user.getUserId(), request.getClassId(), savedPayment.getPayId());
             }
-            return null;
-        } catch (Exception e) {
-            log.error("포트원 결제 조회 실패: {}", e.getMessage());
-            return null;
+        } else if (orderIdLong != null) {
+            var order = orderRepository.findById(orderIdLong)
+                    .orElseThrow(() -> new BusinessException(
+                            "주문 정보를 찾을 수 없습니다. (ID: " + request.getOrderId() + ")"));
+
+            // Order 의 OrderItem 목록에서 PaymentItem 생성 (실제 상품명 스냅샷 저장)
+            for (com.project.hanspoon.shop.order.entity.OrderItem oi : order.getItems()) {
+                PaymentItem pi = PaymentItem.createForProduct(
+                        oi.getProductId(),
+                        oi.getProductName(),
+                        oi.getQuantity());
+                savedPayment.addPaymentItem(pi);
+            }
+
+            // Use unified order payment completion flow to keep stock/cart handling consistent.
+            orderService.completeOrderPaymentBySystem(orderIdLong);
+            log.info("상품 주문 결제 완료 처리 완료: orderId={}, payId={}", order.getId(), savedPayment.getPayId());
+        } else {
+            throw new BusinessException("결제 대상 정보가 없습니다.");
+        }
+
+        if (userCoupon != null) {
+            userCoupon.markUsed(java.time.LocalDateTime.now());
+            log.info("쿠폰 사용 처리 완료: userCouponId={}, userId={}", userCoupon.getId(), user.getUserId());
+        }
+
+        if (usedPoints > 0) {
+            pointService.usePoints(user.getUserId(), usedPoints, "상품 결제 사용: " + portOnePayment.getOrderName(),
+                    savedPayment.getPayId());
+            log.info("포인트 차감 완료: usedPoints={}, userId={}", usedPoints, user.getUserId());
         }
+
+        // 커밋 이후 관리자 대시보드 매출 집계에 반영됩니다.
+        salesRollupService.recordPaid(savedPayment);
+
+        log.info("결제 완료 및 저장 성공: paymentId={}, amount={}, userId={}",
+                paymentId, paidAmount, user.getUserId());
+
+        return PortOneDto.PaymentResult.builder()
+                .success(true)
+                .message("결제가 완료되었습니다.")
+                .payId(savedPayment.getPayId())
+                .paymentId(paymentId)
+                .amount(paidAmount)
+                .build();
     }
 
     @Transactional
@@ -285,10 +456,14 @@ public class PortOneService {
             throw new BusinessException("이미 취소된 결제입니다.");
         }
 
+        boolean wasPaid = payment.getStatus() == PaymentStatus.PAID;
         String paymentId = payment.getPortOnePaymentId();
         if (paymentId == null || paymentId.isBlank()) {
             log.warn("결제 ID(paymentId)가 없어 자동 환불이 불가합니다. payId={}", payId);
             payment.setStatus(PaymentStatus.CANCELLED);
+            if (wasPaid) {
+                salesRollupService.recordCancelled(payment);
+            }
             applyOrderRefundStatus(payment, reason);
             return PortOneDto.PaymentResult.builder()
                     .success(true)
@@ -297,17 +472,14 @@ public class PortOneService {
         }
 
         try {
-            PortOneCancelRequest cancelRequest = new PortOneCancelRequest(reason);
-
-            portOneWebClient.post()
-                    .uri("/payments/{paymentId}/cancel", paymentId)
-                    .header("Authorization", "PortOne " + portOneConfig.getApiSecret())
-                    .bodyValue(cancelRequest)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
+            portOneClient.cancelPayment(paymentId, reason);
+            // 캐시는 취소가 커밋된 뒤에 지웁니다. 먼저 지우면 커밋 전 재조회가 PAID 행으로 다시 캐시를 채웁니다.
+            runAfterCommit(() -> verifiedPayments.remove(paymentId));
 
             payment.setStatus(PaymentStatus.CANCELLED);
+            if (wasPaid) {
+                salesRollupService.recordCancelled(payment);
+            }
             applyOrderRefundStatus(payment, reason);
             log.info("포트원 외부 환불 성공: paymentId={}, reason={}", paymentId, reason);
 
@@ -323,7 +495,17 @@ public class PortOneService {
         }
     }
 
-    private record PortOneCancelRequest(String reason) {
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     private void applyOrderRefundStatus(Payment payment, String reason) {
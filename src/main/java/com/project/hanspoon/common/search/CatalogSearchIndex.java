@@ -0,0 +1,202 @@
+package com.project.hanspoon.common.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 레시피/상품/클래스 이름 검색용 메모리 역색인을 관리합니다.
+ *
+ * 초보자 참고:
+ * - 예전에는 title like '%키워드%' 로 검색해서 인덱스를 못 타고 테이블 전체를 읽었습니다.
+ *   이제 {@link #candidates}가 n-gram 역색인에서 맞는 id 를 관련도 순으로 찾아 주고, DB 는 id in (...) 으로만 조회합니다.
+ * - 서버 시작 후 백그라운드에서 세 테이블을 읽어 인덱스를 만들고, 이후에는 엔티티 저장/삭제가 커밋될 때마다 갱신합니다.
+ *   JDBC/벌크 UPDATE 처럼 엔티티를 거치지 않은 변경은 rebuild-cron 주기 재구성이 맞춰 줍니다.
+ * - 인덱스가 아직 준비되지 않았거나 꺼져 있거나, 후보가 max-candidates 를 넘는 넓은 검색어면 빈 값(Optional.empty)을 돌려주고,
+ *   호출하는 쪽은 기존 LIKE 검색으로 처리합니다.
+ */
+@Slf4j
+@Service
+public class CatalogSearchIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxCandidates;
+
+    private final Map<SearchDomain, DomainState> states = new EnumMap<>(SearchDomain.class);
+
+    public CatalogSearchIndex(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${search.index.enabled:true}") boolean enabled,
+            @Value("${search.index.max-candidates:5000}") int maxCandidates) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxCandidates = Math.max(1, maxCandidates);
+
+        for (SearchDomain domain : SearchDomain.values()) {
+            DomainState state = new DomainState(Timer.builder("search.index.query")
+                    .description("역색인 검색 시간")
+                    .tag("domain", domain.name())
+                    .register(meterRegistry));
+            states.put(domain, state);
+            Gauge.builder("search.index.documents", state, s -> s.index == null ? 0 : s.index.size())
+                    .tag("domain", domain.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 검색어에 맞는 id 후보를 관련도 순으로 돌려줍니다. (맞는 것이 없으면 빈 목록)
+     * 인덱스를 쓸 수 없으면 Optional.empty 이며, 이때는 DB LIKE 검색으로 처리해야 합니다.
+     */
+    public Optional<List<Long>> candidates(SearchDomain domain, String keyword) {
+        DomainState state = states.get(domain);
+        InvertedIndex index = state.index;
+        if (!enabled || index == null) {
+            return Optional.empty();
+        }
+        List<InvertedIndex.Hit> hits = state.queryTimer.record(() -> index.search(keyword, maxCandidates));
+        if (hits == null) {
+            return Optional.empty();
+        }
+        return Optional.of(hits.stream().map(InvertedIndex.Hit::id).toList());
+    }
+
+    /** 문서를 등록/갱신합니다. 트랜잭션 안이면 커밋된 뒤에 반영합니다. */
+    public void upsert(SearchDomain domain, Long id, String text) {
+        if (id != null) {
+            afterCommit(() -> states.get(domain).apply(id, text));
+        }
+    }
+
+    public void remove(SearchDomain domain, Long id) {
+        if (id != null) {
+            afterCommit(() -> states.get(domain).apply(id, null));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        // 시작을 늦추지 않도록 백그라운드에서 만듭니다. 그동안 검색은 LIKE 로 처리됩니다.
+        Thread.ofVirtual().name("search-index-build").start(this::rebuildAll);
+    }
+
+    @Scheduled(cron = "${search.index.rebuild-cron:0 30 4 * * *}")
+    public void rebuildAll() {
+        if (!enabled) {
+            return;
+        }
+        for (SearchDomain domain : SearchDomain.values()) {
+            try {
+                rebuild(domain);
+            } catch (Exception e) {
+                log.error("검색 인덱스 재구성 실패: domain={}, error={}", domain, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void rebuild(SearchDomain domain) {
+        DomainState state = states.get(domain);
+        long startedAt = System.nanoTime();
+        state.beginRebuild();
+
+        InvertedIndex fresh = new InvertedIndex();
+        try {
+            jdbcTemplate.query(domain.loadSql(), rs -> {
+                fresh.put(rs.getLong(1), rs.getString(2));
+            });
+        } catch (RuntimeException e) {
+            state.abortRebuild();
+            throw e;
+        }
+        state.finishRebuild(fresh);
+
+        log.info("검색 인덱스 구성: domain={}, documents={}, elapsedMs={}",
+                domain, fresh.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 카탈로그 하나의 인덱스 상태입니다.
+     * 재구성 중에 들어온 변경은 pending 에 모아 두었다가, 새 인덱스로 바꾸기 직전에 다시 적용해 잃어버리지 않습니다.
+     */
+    private static final class DomainState {
+        private final Timer queryTimer;
+        private volatile InvertedIndex index;
+        private List<Change> pending;
+
+        private DomainState(Timer queryTimer) {
+            this.queryTimer = queryTimer;
+        }
+
+        private synchronized void apply(Long id, String text) {
+            if (pending != null) {
+                pending.add(new Change(id, text));
+            }
+            if (index != null) {
+                applyTo(index, new Change(id, text));
+            }
+        }
+
+        private synchronized void beginRebuild() {
+            pending = new ArrayList<>();
+        }
+
+        private synchronized void abortRebuild() {
+            pending = null;
+        }
+
+        private synchronized void finishRebuild(InvertedIndex fresh) {
+            for (Change change : pending) {
+                applyTo(fresh, change);
+            }
+            pending = null;
+            index = fresh;
+        }
+
+        private static void applyTo(InvertedIndex target, Change change) {
+            if (change.text() == null) {
+                target.remove(change.id());
+            } else {
+                target.put(change.id(), change.text());
+            }
+        }
+    }
+
+    // text 가 null 이면 삭제입니다.
+    private record Change(Long id, String text) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.project.hanspoon.common.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 카탈로그 하나(레시피/상품/클래스)의 메모리 역색인입니다. (n-gram -> 문서 id 목록)
+ *
+ * 초보자 참고:
+ * - 검색어를 n-gram 으로 자른 뒤 각 gram 의 문서 목록만 읽어 점수를 셉니다. 테이블 전체를 훑지 않습니다.
+ * - 오타 허용: 검색어 gram 이 3개 이상이면 1개, 6개 이상이면 2개까지 빠져도 후보로 인정합니다.
+ * - 순위: gram 일치 비율 + 검색어가 그대로 들어 있으면 +1, 단어가 검색어로 시작하면(접두) +0.5, 같으면 최신(id 큰) 순.
+ * - 읽기는 여러 스레드가 동시에, 쓰기(등록/삭제)는 한 번에 하나만 하도록 ReadWriteLock 을 씁니다.
+ */
+public class InvertedIndex {
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private record Doc(String text, Set<String> grams) {
+    }
+
+    /** 검색 결과 1건 (score 가 높을수록 관련도가 높습니다) */
+    public record Hit(long id, double score) {
+    }
+
+    public void put(long id, String text) {
+        String normalized = NgramTokenizer.normalize(text);
+        Doc doc = new Doc(normalized, NgramTokenizer.indexGrams(normalized));
+
+        lock.writeLock().lock();
+        try {
+            Doc previous = docs.put(id, doc);
+            if (previous != null) {
+                if (previous.text().equals(normalized)) {
+                    return;
+                }
+                unlink(id, previous);
+            }
+            for (String gram : doc.grams()) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Doc previous = docs.remove(id);
+            if (previous != null) {
+                unlink(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어와 맞는 문서를 관련도 순으로 돌려줍니다.
+     * 후보가 maxHits 를 넘으면 null 을 돌려줍니다. (너무 넓은 검색어는 호출하는 쪽이 DB 검색으로 처리)
+     */
+    public List<Hit> search(String query, int maxHits) {
+        String normalized = NgramTokenizer.normalize(query);
+        Set<String> grams = NgramTokenizer.queryGrams(normalized);
+        if (grams.isEmpty()) {
+            return List.of();
+        }
+        int required = grams.size() - allowedMisses(grams.size());
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> matched = new HashMap<>();
+            for (String gram : grams) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) continue;
+                for (Long id : ids) {
+                    matched.merge(id, 1, Integer::sum);
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            for (Map.Entry<Long, Integer> e : matched.entrySet()) {
+                if (e.getValue() < required) continue;
+                if (hits.size() >= maxHits) {
+                    return null;
+                }
+                Doc doc = docs.get(e.getKey());
+                hits.add(new Hit(e.getKey(), score(doc.text(), normalized, e.getValue(), grams.size())));
+            }
+            hits.sort((a, b) -> a.score() != b.score()
+                    ? Double.compare(b.score(), a.score())
+                    : Long.compare(b.id(), a.id()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unlink(long id, Doc doc) {
+        for (String gram : doc.grams()) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    static int allowedMisses(int gramCount) {
+        if (gramCount >= 6) return 2;
+        if (gramCount >= 3) return 1;
+        return 0;
+    }
+
+    private static double score(String text, String query, int matched, int total) {
+        double score = (double) matched / total;
+        if (text.contains(query)) {
+            score += 1.0;
+        }
+        if (text.startsWith(query) || text.contains(" " + query)) {
+            score += 0.5;
+        }
+        return score;
+    }
+}
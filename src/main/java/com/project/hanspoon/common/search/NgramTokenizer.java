@@ -0,0 +1,73 @@
+package com.project.hanspoon.common.search;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 검색용 n-gram 토크나이저입니다.
+ *
+ * 초보자 참고:
+ * - 한국어는 띄어쓰기/조사가 제각각이라 형태소 분석 없이도 잘 맞는 글자 2개 단위(bigram)로 자릅니다.
+ *   예) "김치찌개" -> 김치, 치찌, 찌개
+ * - 한 글자 검색도 되도록 글자 1개(unigram)도 함께 색인합니다.
+ * - 전각/반각, 대소문자 차이는 NFKC 정규화 + 소문자 변환으로 없앱니다.
+ */
+public final class NgramTokenizer {
+
+    private NgramTokenizer() {
+    }
+
+    /** 정규화: NFKC + 소문자 + 글자/숫자 외 문자는 공백 1개로 */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String nfkc = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(nfkc.length());
+        boolean space = false;
+        for (int i = 0; i < nfkc.length(); i++) {
+            char c = nfkc.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && !sb.isEmpty()) {
+                    sb.append(' ');
+                }
+                sb.append(c);
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    /** 색인용: 단어별 unigram + bigram */
+    public static Set<String> indexGrams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : normalized.split(" ")) {
+            for (int i = 0; i < word.length(); i++) {
+                grams.add(word.substring(i, i + 1));
+                if (i + 1 < word.length()) {
+                    grams.add(word.substring(i, i + 2));
+                }
+            }
+        }
+        grams.remove("");
+        return grams;
+    }
+
+    /** 검색어용: 단어별 bigram (한 글자 단어는 unigram) */
+    public static Set<String> queryGrams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (word.length() == 1) {
+                grams.add(word);
+            }
+            for (int i = 0; i + 1 < word.length(); i++) {
+                grams.add(word.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+}
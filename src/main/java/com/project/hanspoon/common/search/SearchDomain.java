@@ -0,0 +1,25 @@
+package com.project.hanspoon.common.search;
+
+/**
+ * 검색 인덱스를 따로 두는 카탈로그 종류입니다.
+ * table/idColumn/textColumn 은 서버 시작 시 인덱스를 채울 때 읽는 컬럼입니다.
+ */
+public enum SearchDomain {
+    RECIPE("recipe", "recipe_id", "title"),
+    PRODUCT("product", "product_id", "name"),
+    CLASS("class_product", "id", "title");
+
+    private final String table;
+    private final String idColumn;
+    private final String textColumn;
+
+    SearchDomain(String table, String idColumn, String textColumn) {
+        this.table = table;
+        this.idColumn = idColumn;
+        this.textColumn = textColumn;
+    }
+
+    String loadSql() {
+        return "select " + idColumn + ", " + textColumn + " from " + table;
+    }
+}
@@ -0,0 +1,41 @@
+package com.project.hanspoon.common.search;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * {@link Searchable} 엔티티가 저장/수정/삭제될 때 검색 인덱스를 갱신하는 JPA 엔티티 리스너입니다.
+ *
+ * 초보자 참고:
+ * - 엔티티에 @EntityListeners(SearchIndexEntityListener.class) 를 붙이면 Hibernate 가 flush 시점에 호출합니다.
+ *   실제 인덱스 반영은 CatalogSearchIndex 가 커밋 후로 미룹니다.
+ * - Spring Boot 는 엔티티 리스너를 스프링 빈처럼 만들어 주므로 생성자 주입을 쓸 수 있습니다.
+ *   인덱스 빈이 없는 환경(일부 테스트 등)에서는 아무것도 하지 않습니다.
+ */
+public class SearchIndexEntityListener {
+
+    private final ObjectProvider<CatalogSearchIndex> indexProvider;
+
+    public SearchIndexEntityListener(ObjectProvider<CatalogSearchIndex> indexProvider) {
+        this.indexProvider = indexProvider;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        CatalogSearchIndex index = indexProvider.getIfAvailable();
+        if (index != null && entity instanceof Searchable s) {
+            index.upsert(s.searchDomain(), s.searchId(), s.searchText());
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        CatalogSearchIndex index = indexProvider.getIfAvailable();
+        if (index != null && entity instanceof Searchable s) {
+            index.remove(s.searchDomain(), s.searchId());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.project.hanspoon.common.search;
+
+/**
+ * 검색 인덱스에 올라가는 엔티티가 구현합니다.
+ * {@link SearchIndexEntityListener} 가 저장/수정/삭제 시점에 이 값을 읽어 인덱스를 갱신합니다.
+ */
+public interface Searchable {
+
+    SearchDomain searchDomain();
+
+    Long searchId();
+
+    String searchText();
+}
@@ -0,0 +1,147 @@
+package com.project.hanspoon.common.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * JWT 인증 필터에서 사용하는 인증 사용자(principal) 캐시입니다.
+ *
+ * 초보자 참고:
+ * - 인증된 요청마다 users 테이블을 조회하던 비용을 줄이기 위해 이메일 기준으로 CustomUserDetails를 잠깐 보관합니다.
+ * - TTL이 지나면 다시 DB에서 읽고, 최대 개수를 넘으면 만료가 가장 빠른 항목부터 제거합니다.
+ * - 상태 변경/정보 수정/로그아웃 시 {@link #invalidateUser(Long)}로 즉시 비웁니다.
+ *   트랜잭션 안에서 호출되면 커밋 직후에도 한 번 더 비워, 커밋 전 다른 요청이 옛 값을 다시 넣는 경우를 막습니다.
+ * - 적중/미스/제거 횟수는 Actuator(Micrometer) 지표 security.principal.cache.* 로 확인할 수 있습니다.
+ */
+@Slf4j
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PrincipalCache(
+            @Value("${jwt.principal-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${jwt.principal-cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 캐시에 있으면 그대로 돌려주고, 없거나 만료됐으면 loader로 읽어 저장합니다.
+     * TTL이 0 이하이면 캐시를 끄고 항상 loader를 호출합니다.
+     */
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        if (ttlNanos <= 0) {
+            return loader.apply(email);
+        }
+
+        long now = System.nanoTime();
+        Entry cached = entries.get(email);
+        if (cached != null && cached.expiresAt - now > 0) {
+            hits.increment();
+            return cached.principal;
+        }
+
+        misses.increment();
+        UserDetails loaded = loader.apply(email);
+        if (entries.size() >= maxSize) {
+            evictOverflow(now);
+        }
+        entries.put(email, new Entry(loaded, now + ttlNanos));
+        return loaded;
+    }
+
+    /**
+     * 특정 사용자의 캐시를 비웁니다. 사용자 상태/권한/정보가 바뀐 뒤 호출합니다.
+     */
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        removeByUserId(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeByUserId(userId);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        int size = entries.size();
+        entries.clear();
+        evictions.add(size);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("security.principal.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("security.principal.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("security.principal.cache.evictions", evictions, LongAdder::sum)
+                .register(registry);
+        Gauge.builder("security.principal.cache.size", entries, Map::size)
+                .register(registry);
+    }
+
+    private void removeByUserId(Long userId) {
+        boolean removed = entries.values().removeIf(entry ->
+                entry.principal instanceof CustomUserDetails details && userId.equals(details.getUserId()));
+        if (removed) {
+            evictions.increment();
+            log.debug("[PrincipalCache] 사용자 캐시 제거: userId={}", userId);
+        }
+    }
+
+    /**
+     * 용량 초과 시 만료 항목을 먼저 정리하고, 그래도 가득 차 있으면 만료가 가장 빠른 항목을 제거합니다.
+     * 가득 찼을 때만 실행되므로 평소 조회 경로에는 비용이 없습니다.
+     */
+    private void evictOverflow(long now) {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        String oldestKey = null;
+        long oldestExpiry = Long.MAX_VALUE;
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> e = it.next();
+            if (e.getValue().expiresAt - now <= 0) {
+                it.remove();
+                evictions.increment();
+            } else if (oldestKey == null || e.getValue().expiresAt - oldestExpiry < 0) {
+                oldestKey = e.getKey();
+                oldestExpiry = e.getValue().expiresAt;
+            }
+        }
+        if (entries.size() >= maxSize && oldestKey != null && entries.remove(oldestKey) != null) {
+            evictions.increment();
+        }
+    }
+
+    private record Entry(UserDetails principal, long expiresAt) {
+    }
+}
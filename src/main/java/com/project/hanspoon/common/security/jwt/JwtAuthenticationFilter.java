@@ -1,6 +1,7 @@
 package com.project.hanspoon.common.security.jwt;
 
 import com.project.hanspoon.common.security.CustomUserDetailsService;
+import com.project.hanspoon.common.security.PrincipalCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +21,7 @@ import java.io.IOException;
 /**
  * JWT 토큰 인증 필터
  * 모든 요청에서 JWT 토큰을 검사
+ * 사용자 정보는 PrincipalCache를 거쳐 조회하므로, 캐시 적중 시 DB를 조회하지 않습니다.
  */
 @Slf4j
 @Component
@@ -28,6 +30,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -36,15 +39,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             // 요청에서 JWT 토큰 추출
             String jwt = getJwtFromRequest(request);
-            log.info("JWT Filter: 요청 URL={}, 토큰 존재 여부={}", request.getRequestURI(), StringUtils.hasText(jwt));
+            log.debug("JWT Filter: 요청 URL={}, 토큰 존재 여부={}", request.getRequestURI(), StringUtils.hasText(jwt));
 
             // 토큰이 유효하면 인증 처리
             if (StringUtils.hasText(jwt)) {
-                if (jwtTokenProvider.validateToken(jwt)) {
-                    String email = jwtTokenProvider.getEmailFromToken(jwt);
-                    log.info("JWT Filter: 토큰 유효함, 이메일={}", email);
+                JwtTokenProvider.AuthenticatedToken token = jwtTokenProvider.authenticate(jwt).orElse(null);
+                if (token != null) {
+                    String email = token.subject();
+                    log.debug("JWT Filter: 토큰 유효함, 이메일={}", email);
 
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                    UserDetails userDetails = principalCache.get(email, userDetailsService::loadUserByUsername);
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -53,7 +57,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                     // SecurityContext에 인증 정보 저장
                     SecurityContextHolder.getContext().setAuthentication(authentication);
-                    log.info("JWT Filter: 인증 정보 저장 완료 - {}", authentication.getName());
+                    log.debug("JWT Filter: 인증 정보 저장 완료 - {}", authentication.getName());
                 } else {
                     log.warn("JWT Filter: 유효하지 않은 토큰입니다.");
                 }
@@ -11,11 +11,17 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * JWT 토큰 생성 및 검증 유틸리티
+ *
+ * 검증 성능:
+ * - JwtParser는 thread-safe 하므로 기동 시 한 번만 만들어 재사용합니다.
+ * - 서명 검증을 통과한 토큰은 exp 시각까지 VerifiedTokenCache에 보관해, 같은 토큰의 재검증(HMAC)을 생략합니다.
+ * - 필터는 {@link #authenticate(String)} 한 번으로 subject/roles/auth_time을 함께 얻습니다.
  */
 @Slf4j
 @Component
@@ -30,11 +36,24 @@ public class JwtTokenProvider {
     /** Refresh Token: 14일 */
     private static final long REFRESH_TOKEN_VALIDITY_MS = 14L * 24 * 60 * 60 * 1000L;
 
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
+
     private SecretKey secretKey;
+    private JwtParser jwtParser;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    /** 서명 검증을 마친 토큰에서 꺼낸 인증 정보. */
+    public record AuthenticatedToken(String subject, String roles, Long authTime) {
+    }
 
     @PostConstruct
     public void init() {
         this.secretKey = Keys.hmacShaKeyFor(secretKeyString.getBytes());
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        this.verifiedTokenCache = new VerifiedTokenCache(verifiedCacheMaxSize);
     }
 
     // ----------------------------------------------------------------
@@ -87,25 +106,32 @@ public class JwtTokenProvider {
     // ----------------------------------------------------------------
 
     public String getEmailFromToken(String token) {
-        return parseClaims(token).getSubject();
+        return verify(token).subject();
     }
 
     public String getRolesFromToken(String token) {
-        return parseClaims(token).get("roles", String.class);
+        return verify(token).roles();
     }
 
     /** auth_time 클레임 추출 (Unix seconds). 결제 보안 검증에 사용. */
     public Long getAuthTimeFromToken(String token) {
-        return parseClaims(token).get("auth_time", Long.class);
+        return verify(token).authTime();
     }
 
     // ----------------------------------------------------------------
     // 검증
     // ----------------------------------------------------------------
     public boolean validateToken(String token) {
+        return authenticate(token).isPresent();
+    }
+
+    /**
+     * 토큰을 한 번만 검증해 subject/roles/auth_time을 함께 반환합니다.
+     * 유효하지 않은 토큰이면 사유를 로그로 남기고 empty를 반환합니다.
+     */
+    public Optional<AuthenticatedToken> authenticate(String token) {
         try {
-            parseClaims(token);
-            return true;
+            return Optional.of(verify(token));
         } catch (SecurityException | MalformedJwtException e) {
             log.warn("[JWT] 잘못된 서명: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -115,7 +141,7 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException e) {
             log.warn("[JWT] 토큰이 비어있음: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
 
     /**
@@ -143,10 +169,31 @@ public class JwtTokenProvider {
     // Internal
     // ----------------------------------------------------------------
 
+    private AuthenticatedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        if (token != null) {
+            AuthenticatedToken cached = verifiedTokenCache.get(token, now);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Claims claims = parseClaims(token);
+        AuthenticatedToken verified = new AuthenticatedToken(
+                claims.getSubject(),
+                claims.get("roles", String.class),
+                claims.get("auth_time", Long.class));
+
+        // exp가 없는 토큰은 언제까지 유효한지 알 수 없으므로 캐시하지 않습니다.
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            verifiedTokenCache.put(token, verified, expiration.getTime());
+        }
+        return verified;
+    }
+
     private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -0,0 +1,73 @@
+package com.project.hanspoon.common.security.jwt;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 서명 검증을 마친 JWT의 파싱 결과를 토큰 만료(exp) 시각까지 보관하는 스트라이프(striped) LRU 캐시입니다.
+ *
+ * 초보자 참고:
+ * - 같은 Access Token이 30분 동안 수많은 요청에 재사용되므로, HMAC 검증은 토큰당 한 번만 하면 충분합니다.
+ * - 잠금 경합을 줄이기 위해 토큰 hashCode로 16개 구역(stripe) 중 하나를 골라 그 구역만 잠급니다.
+ * - 키는 토큰 문자열 자체입니다. 비교는 전체 문자열로 하므로 해시 충돌로 다른 토큰의 결과가 섞이지 않습니다.
+ *   (SHA-256 같은 별도 다이제스트는 줄이려는 HMAC 검증과 비용이 비슷해 쓰지 않습니다.)
+ */
+class VerifiedTokenCache {
+
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    VerifiedTokenCache(int maxEntries) {
+        int perStripe = Math.max(1, maxEntries / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    JwtTokenProvider.AuthenticatedToken get(String token, long nowMillis) {
+        Stripe stripe = stripeOf(token);
+        synchronized (stripe) {
+            Entry entry = stripe.get(token);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAtMillis <= nowMillis) {
+                stripe.remove(token);
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    void put(String token, JwtTokenProvider.AuthenticatedToken value, long expiresAtMillis) {
+        Stripe stripe = stripeOf(token);
+        synchronized (stripe) {
+            stripe.put(token, new Entry(value, expiresAtMillis));
+        }
+    }
+
+    private Stripe stripeOf(String token) {
+        int h = token.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & (STRIPES - 1)];
+    }
+
+    private record Entry(JwtTokenProvider.AuthenticatedToken value, long expiresAtMillis) {
+    }
+
+    /** 접근 순서 기반 LinkedHashMap으로 구역별 최대 개수를 넘으면 가장 오래 안 쓴 토큰을 버립니다. */
+    private static final class Stripe extends LinkedHashMap<String, Entry> {
+        private final int maxEntries;
+
+        private Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
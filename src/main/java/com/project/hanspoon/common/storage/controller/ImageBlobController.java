@@ -0,0 +1,55 @@
+package com.project.hanspoon.common.storage.controller;
+
+import com.project.hanspoon.common.storage.service.ImageStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * 이미지 저장소 파일 조회 API입니다.
+ *
+ * 초보자 참고:
+ * - 키가 콘텐츠 해시이므로 내용이 절대 바뀌지 않습니다. 그래서 1년 immutable 캐시를 겁니다.
+ * - ETag도 해시 그대로 쓰기 때문에, If-None-Match가 일치하면 디스크를 열지 않고 304를 돌려줍니다.
+ * - 응답(Range, sendfile/transferTo, 지표)은 ImageFileResponder 가 공통으로 처리합니다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/images/blob")
+public class ImageBlobController {
+
+    private static final String SOURCE = "blob";
+
+    private final ImageStorage imageStorage;
+    private final ImageFileResponder responder;
+
+    @GetMapping("/{key:.+}")
+    public void serve(@PathVariable String key,
+                      HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        if (imageStorage.contentTypeOf(key).isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String etag = ImageFileResponder.etagOf(key);
+        if (responder.notModified(SOURCE, etag, request, response)) {
+            return;
+        }
+
+        Optional<Path> path = imageStorage.resolve(key);
+        if (path.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        responder.send(SOURCE, path.get(), etag, request, response);
+    }
+}
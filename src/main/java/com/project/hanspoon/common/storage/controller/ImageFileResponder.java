@@ -0,0 +1,164 @@
+package com.project.hanspoon.common.storage.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 내용이 바뀌지 않는 이미지 파일을 캐시 헤더와 함께 내려주는 공통 응답기입니다.
+ *
+ * 초보자 참고:
+ * - 파일명(UUID/해시)이 곧 내용의 이름이라 1년 immutable 캐시를 걸고, ETag도 파일명으로 만듭니다.
+ *   그래서 If-None-Match 가 일치하면 디스크를 열지 않고 304를 돌려줄 수 있습니다.
+ * - Range 요청(바이트 구간)은 구간 1개까지 206으로 응답하고, 여러 구간이면 전체(200)를 보냅니다.
+ * - Tomcat 이 sendfile 을 지원하면 본문을 커널에 맡기고(복사 없음), 아니면 FileChannel.transferTo 로 보냅니다.
+ * - 처리 결과와 보낸 바이트 수는 Actuator 지표 image.serve.requests / image.serve.bytes 로 볼 수 있습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageFileResponder {
+
+    static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic()
+            .immutable()
+            .getHeaderValue();
+
+    // Tomcat 의 DefaultServlet 과 같은 기준입니다. 작은 파일은 sendfile 준비 비용이 더 큽니다.
+    private static final long SENDFILE_MIN_BYTES = 48 * 1024;
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final MeterRegistry meterRegistry;
+
+    /** 파일명(확장자 제외)으로 강한 ETag 를 만듭니다. */
+    public static String etagOf(String name) {
+        int dot = name.lastIndexOf('.');
+        return "\"" + (dot > 0 ? name.substring(0, dot) : name) + "\"";
+    }
+
+    /**
+     * If-None-Match 가 etag 와 일치하면 304를 쓰고 true 를 돌려줍니다. 디스크는 건드리지 않습니다.
+     */
+    public boolean notModified(String source, String etag,
+                               HttpServletRequest request, HttpServletResponse response) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null || !(ifNoneMatch.contains(etag) || "*".equals(ifNoneMatch.trim()))) {
+            return false;
+        }
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        count(source, "not_modified");
+        return true;
+    }
+
+    /** 파일을 (필요하면 Range 구간만) 내려줍니다. 파일이 없으면 NoSuchFileException 이 납니다. */
+    public void send(String source, Path path, String etag,
+                     HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+            long end = size - 1;
+
+            response.setContentType(MediaTypeFactory.getMediaType(path.getFileName().toString())
+                    .map(Object::toString)
+                    .orElse("application/octet-stream"));
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+            String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            boolean partial = false;
+            if (rangeHeader != null && size > 0 && (ifRange == null || ifRange.trim().equals(etag))) {
+                List<HttpRange> ranges;
+                try {
+                    ranges = HttpRange.parseRanges(rangeHeader);
+                } catch (IllegalArgumentException e) {
+                    ranges = List.of(); // 문법이 틀린 Range 는 무시하고 전체를 보냅니다.
+                }
+                if (ranges.size() == 1) {
+                    HttpRange range = ranges.get(0);
+                    try {
+                        start = range.getRangeStart(size);
+                        end = range.getRangeEnd(size);
+                    } catch (IllegalArgumentException e) {
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                        count(source, "unsatisfiable");
+                        return;
+                    }
+                    partial = true;
+                }
+            }
+
+            long length = size == 0 ? 0 : end - start + 1;
+            if (partial) {
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+            response.setContentLengthLong(length);
+            count(source, partial ? "partial" : "ok");
+
+            if ("HEAD".equals(request.getMethod()) || length == 0) {
+                return;
+            }
+
+            if (length >= SENDFILE_MIN_BYTES && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end + 1);
+                bytes(source, length);
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long limit = end + 1;
+            while (position < limit) {
+                long sent = channel.transferTo(position, limit - position, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+            bytes(source, position - start);
+        }
+    }
+
+    private void count(String source, String result) {
+        Counter.builder("image.serve.requests")
+                .description("이미지 응답 수 (result: ok/partial/not_modified/unsatisfiable)")
+                .tag("source", source)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void bytes(String source, long sent) {
+        Counter.builder("image.serve.bytes")
+                .description("이미지 응답으로 보낸 바이트 수")
+                .baseUnit("bytes")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment(sent);
+    }
+}
@@ -0,0 +1,67 @@
+package com.project.hanspoon.common.storage.controller;
+
+import com.project.hanspoon.common.storage.service.ImageVariantService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * 업로드 이미지의 고정 폭 축소본 조회 API입니다. (예: /api/images/variants/480/uuid.jpg)
+ *
+ * 초보자 참고:
+ * - 업로드 파일명이 UUID라 원본이 바뀌지 않으므로 축소본도 바뀌지 않습니다. 그래서 1년 immutable 캐시를 겁니다.
+ * - 축소본이 아직 없으면 첫 요청에서 만들고, 이후에는 디스크 캐시에서 바로 내려줍니다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/images/variants")
+public class ImageVariantController {
+
+    private static final String SOURCE = "variant";
+
+    private final ImageVariantService imageVariantService;
+    private final ImageFileResponder responder;
+
+    @GetMapping("/{width}/{name:.+}")
+    public void serve(@PathVariable int width,
+                      @PathVariable String name,
+                      HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        if (!ImageVariantService.WIDTHS.contains(width)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String etag = "\"" + width + "-" + ImageFileResponder.etagOf(name).replace("\"", "") + "\"";
+        if (responder.notModified(SOURCE, etag, request, response)) {
+            return;
+        }
+
+        Optional<Path> path = imageVariantService.resolve(name, width);
+        if (path.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        try {
+            responder.send(SOURCE, path.get(), etag, request, response);
+        } catch (NoSuchFileException e) {
+            // 조회와 열기 사이에 캐시 정리로 지워진 경우 한 번 더 만듭니다.
+            path = imageVariantService.resolve(name, width);
+            if (path.isEmpty()) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            responder.send(SOURCE, path.get(), etag, request, response);
+        }
+    }
+}
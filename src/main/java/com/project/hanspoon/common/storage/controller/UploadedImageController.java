@@ -0,0 +1,59 @@
+package com.project.hanspoon.common.storage.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.regex.Pattern;
+
+/**
+ * 업로드 폴더(itemImgLocation)의 원본 이미지 조회입니다. (/images/uuid.jpg, /images/recipe/uuid.jpg)
+ *
+ * 초보자 참고:
+ * - 예전에는 WebConfig/WebMvcConfig 의 리소스 핸들러가 캐시 설정 없이 내려줘서, 브라우저/CDN 이 매번 다시 확인했습니다.
+ * - 업로드 파일명은 UUID 라 내용이 바뀌지 않으므로 ImageFileResponder 로 immutable 캐시, ETag, Range 를 붙입니다.
+ * - 컨트롤러 매핑이 리소스 핸들러보다 먼저 선택되므로, 하위 폴더 경로 등 여기서 받지 않는 주소만 기존 핸들러가 처리합니다.
+ */
+@RestController
+public class UploadedImageController {
+
+    private static final String SOURCE = "upload";
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9_-]+\\.[A-Za-z0-9]+");
+
+    private final ImageFileResponder responder;
+    private final Path baseDir;
+
+    public UploadedImageController(ImageFileResponder responder,
+                                   @Value("${itemImgLocation}") String itemImgLocation) {
+        this.responder = responder;
+        this.baseDir = Paths.get(itemImgLocation).toAbsolutePath().normalize();
+    }
+
+    @GetMapping({"/images/{name:.+}", "/images/recipe/{name:.+}"})
+    public void serve(@PathVariable String name,
+                      HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        if (!SAFE_NAME.matcher(name).matches()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String etag = ImageFileResponder.etagOf(name);
+        if (responder.notModified(SOURCE, etag, request, response)) {
+            return;
+        }
+
+        try {
+            responder.send(SOURCE, baseDir.resolve(name), etag, request, response);
+        } catch (NoSuchFileException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        }
+    }
+}
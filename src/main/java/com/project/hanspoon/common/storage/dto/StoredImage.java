@@ -0,0 +1,17 @@
+package com.project.hanspoon.common.storage.dto;
+
+/**
+ * 이미지 저장소에 저장된 파일 1건의 메타 정보입니다.
+ *
+ * @param key         저장 키(콘텐츠 SHA-256 해시 + 확장자). 같은 이미지는 항상 같은 키가 됩니다.
+ * @param contentType MIME 타입(예: image/png)
+ * @param size        바이트 크기
+ * @param url         브라우저가 바로 사용할 수 있는 조회 URL
+ */
+public record StoredImage(
+        String key,
+        String contentType,
+        long size,
+        String url
+) {
+}
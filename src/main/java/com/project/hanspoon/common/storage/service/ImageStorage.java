@@ -0,0 +1,36 @@
+package com.project.hanspoon.common.storage.service;
+
+import com.project.hanspoon.common.storage.dto.StoredImage;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * 이미지 바이너리 저장소 추상화입니다.
+ *
+ * DB에는 이미지 본문 대신 {@link StoredImage#url()}만 저장하고,
+ * 실제 바이트는 이 저장소를 통해 읽고 씁니다.
+ * 현재 구현은 로컬 파일시스템({@link LocalImageStorage})이며, 필요 시 S3 등으로 교체할 수 있습니다.
+ */
+public interface ImageStorage {
+
+    /**
+     * Base64 Data URL(data:image/png;base64,...)을 디코딩해 저장합니다.
+     * 같은 내용의 이미지는 한 번만 기록됩니다.
+     */
+    StoredImage storeDataUrl(String dataUrl);
+
+    /**
+     * 저장 키로 파일 위치를 찾습니다. 키 형식이 잘못됐거나 파일이 없으면 empty 입니다.
+     */
+    Optional<Path> resolve(String key);
+
+    /**
+     * 저장 키에 해당하는 MIME 타입입니다. 키 형식이 잘못되면 empty 입니다.
+     */
+    Optional<String> contentTypeOf(String key);
+
+    static boolean isDataUrl(String value) {
+        return value != null && value.startsWith("data:");
+    }
+}
@@ -0,0 +1,418 @@
+package com.project.hanspoon.common.storage.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 업로드 원본 이미지로 고정 폭(160/480/1024) 축소본을 만들어 디스크에 캐시하는 서비스입니다.
+ *
+ * 초보자 참고:
+ * - 목록 화면은 200px 남짓한 썸네일만 쓰는데도 카메라 원본을 그대로 내려받고 있었습니다.
+ *   이제 목록 DTO는 {@link #variantUrl}로 만든 축소본 주소를 내려주고, 축소본은 처음 요청될 때(또는 업로드 직후) 만듭니다.
+ * - 디코딩/인코딩은 JDK 기본 ImageIO 만 사용합니다. JPEG/PNG 만 줄이고, GIF(움직이는 이미지)/WEBP 는 원본을 그대로 씁니다.
+ *   원본이 요청 폭보다 작으면 확대하지 않고 원본을 씁니다.
+ * - 축소본은 {itemImgLocation}/.variants/{폭}/{파일명} 에 임시 파일 + rename 으로 저장해, 만들다 만 파일이 보이지 않습니다.
+ * - 캐시 전체 크기가 max-bytes 를 넘으면 가장 오래 안 쓰인 축소본부터 지웁니다. (지워져도 다음 요청 때 다시 만듭니다)
+ * - 같은 축소본을 동시에 요청해도 한 번만 만들고, 동시에 만드는 개수는 max-concurrent 로 제한합니다.
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    public static final int THUMB = 160;
+    public static final int MEDIUM = 480;
+    public static final int LARGE = 1024;
+    public static final Set<Integer> WIDTHS = Set.of(THUMB, MEDIUM, LARGE);
+
+    private static final String URL_PREFIX = "/api/images/variants/";
+    private static final String VARIANT_DIR = ".variants";
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9_-]+\\.[A-Za-z0-9]+");
+    // 축소 후 캐시가 max-bytes 를 넘으면 이 비율까지 줄여, 매 요청마다 삭제가 일어나지 않게 합니다.
+    private static final double LOW_WATERMARK = 0.9;
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final Path baseDir;
+    private final Path variantDir;
+    private final long maxBytes;
+    private final long maxPixels;
+    private final List<Integer> eagerWidths;
+    private final Semaphore permits;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("image-variant-", 0).factory());
+
+    // 캐시에 있는 축소본 경로 -> (크기, 마지막 사용 시각)
+    private final Map<Path, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final Map<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+    // 원본이 이미 충분히 작거나 너무 커서 원본을 그대로 쓰기로 한 축소본 경로 (매번 헤더를 다시 읽지 않도록)
+    private final Set<Path> passThrough = ConcurrentHashMap.newKeySet();
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter generatedCounter;
+    private final Counter evictedCounter;
+
+    public ImageVariantService(
+            MeterRegistry meterRegistry,
+            @Value("${itemImgLocation}") String itemImgLocation,
+            @Value("${image.variants.max-bytes:536870912}") long maxBytes,
+            @Value("${image.variants.max-pixels:40000000}") long maxPixels,
+            @Value("${image.variants.max-concurrent:2}") int maxConcurrent,
+            @Value("${image.variants.eager-widths:160,480}") List<Integer> eagerWidths) {
+        this.baseDir = Paths.get(itemImgLocation).toAbsolutePath().normalize();
+        this.variantDir = baseDir.resolve(VARIANT_DIR);
+        this.maxBytes = maxBytes;
+        this.maxPixels = maxPixels;
+        this.permits = new Semaphore(Math.max(1, maxConcurrent));
+        this.eagerWidths = eagerWidths.stream().filter(WIDTHS::contains).toList();
+
+        this.hitCounter = Counter.builder("image.variants.hits")
+                .description("디스크 캐시에서 바로 내준 축소본 수")
+                .register(meterRegistry);
+        this.generatedCounter = Counter.builder("image.variants.generated")
+                .description("새로 만든 축소본 수")
+                .register(meterRegistry);
+        this.evictedCounter = Counter.builder("image.variants.evicted")
+                .description("캐시 용량 초과로 지운 축소본 수")
+                .register(meterRegistry);
+        Gauge.builder("image.variants.bytes", totalBytes, AtomicLong::get)
+                .description("디스크 캐시에 있는 축소본 전체 크기")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 이미지 주소(또는 저장 파일명)를 해당 폭의 축소본 주소로 바꿉니다.
+     * 업로드 폴더의 파일이 아니면(외부 URL 등) 그대로 돌려줍니다.
+     */
+    public static String variantUrl(String imageUrl, int width) {
+        if (imageUrl == null || imageUrl.isBlank()) {
+            return imageUrl;
+        }
+        String name;
+        if (imageUrl.startsWith("/images/")) {
+            name = imageUrl.substring(imageUrl.lastIndexOf('/') + 1);
+        } else if (imageUrl.indexOf('/') < 0) {
+            name = imageUrl;
+        } else {
+            return imageUrl;
+        }
+        if (!WIDTHS.contains(width) || !SAFE_NAME.matcher(name).matches()) {
+            return imageUrl;
+        }
+        return URL_PREFIX + width + "/" + name;
+    }
+
+    /** 서버 시작 시 이미 디스크에 있는 축소본으로 캐시 목록을 다시 채웁니다. */
+    @PostConstruct
+    public void loadIndex() {
+        if (!Files.isDirectory(variantDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(variantDir, 2)) {
+            files.filter(Files::isRegularFile)
+                    .filter(p -> !p.getFileName().toString().endsWith(".tmp"))
+                    .forEach(p -> {
+                        try {
+                            BasicFileAttributes attrs = Files.readAttributes(p, BasicFileAttributes.class);
+                            track(p, attrs.size(), attrs.lastModifiedTime().toMillis());
+                        } catch (IOException e) {
+                            log.debug("축소본 캐시 항목 읽기 실패: {}", p, e);
+                        }
+                    });
+        } catch (IOException e) {
+            log.warn("축소본 캐시 폴더 읽기 실패: {}", variantDir, e);
+        }
+        log.info("축소본 캐시 로드: {}개, {} bytes", entries.size(), totalBytes.get());
+        evictIfNeeded();
+    }
+
+    /**
+     * 요청한 폭의 이미지 파일 경로를 돌려줍니다. 축소본이 없으면 지금 만듭니다.
+     * 축소할 필요가 없거나 줄일 수 없는 형식이면 원본 경로를 돌려주고, 원본이 없으면 빈 값입니다.
+     */
+    public Optional<Path> resolve(String name, int width) {
+        if (!WIDTHS.contains(width) || name == null || !SAFE_NAME.matcher(name).matches()) {
+            return Optional.empty();
+        }
+        Path original = baseDir.resolve(name);
+        if (!Files.isRegularFile(original)) {
+            return Optional.empty();
+        }
+        if (!isResizable(name)) {
+            return Optional.of(original);
+        }
+
+        Path target = variantDir.resolve(Integer.toString(width)).resolve(name);
+        if (passThrough.contains(target)) {
+            return Optional.of(original);
+        }
+        CacheEntry cached = entries.get(target);
+        if (cached != null && Files.isRegularFile(target)) {
+            cached.touch();
+            hitCounter.increment();
+            return Optional.of(target);
+        }
+
+        CompletableFuture<Path> future = inFlight.computeIfAbsent(target,
+                t -> CompletableFuture.supplyAsync(() -> generate(original, t, width), executor));
+        try {
+            return Optional.of(future.join());
+        } catch (CompletionException e) {
+            log.warn("축소본 생성 실패, 원본으로 대체: name={}, width={}", name, width, e.getCause());
+            return Optional.of(original);
+        } finally {
+            inFlight.remove(target, future);
+        }
+    }
+
+    /** 업로드 직후 자주 쓰는 폭(eager-widths)의 축소본을 백그라운드에서 미리 만듭니다. */
+    public void prewarm(Collection<String> names) {
+        if (eagerWidths.isEmpty()) {
+            return;
+        }
+        for (String name : names) {
+            if (name == null || !isResizable(name)) continue;
+            executor.execute(() -> {
+                for (int width : eagerWidths) {
+                    resolve(name, width);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private Path generate(Path original, Path target, int width) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+        try {
+            // 다른 요청이 먼저 만들어 둔 경우
+            if (Files.isRegularFile(target)) {
+                track(target, Files.size(target), System.currentTimeMillis());
+                return target;
+            }
+
+            BufferedImage source = read(original, width);
+            if (source == null) {
+                passThrough.add(target);
+                return original;
+            }
+
+            String format = formatOf(original.getFileName().toString());
+            BufferedImage scaled = scale(source, width, "png".equals(format));
+
+            Files.createDirectories(target.getParent());
+            Path tmp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+            try {
+                write(scaled, format, tmp);
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+
+            track(target, Files.size(target), System.currentTimeMillis());
+            generatedCounter.increment();
+            evictIfNeeded();
+            return target;
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 원본을 디코딩합니다. 헤더의 크기를 먼저 확인해, 목표 폭 이하(확대 불필요)이거나
+     * 지나치게 큰 이미지(압축 폭탄 등)는 디코딩하지 않고 null 을 돌려줍니다.
+     */
+    private BufferedImage read(Path original, int targetWidth) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int sourceWidth = reader.getWidth(0);
+                if (sourceWidth <= targetWidth) {
+                    return null;
+                }
+                long pixels = (long) sourceWidth * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("이미지가 너무 커서 축소본을 만들지 않습니다: {} ({} px)", original, pixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 한 번에 크게 줄이면 계단 현상이 생기므로, 목표의 2배가 될 때까지 절반씩 줄인 뒤 마지막에 맞춥니다.
+    private static BufferedImage scale(BufferedImage source, int targetWidth, boolean keepAlpha) {
+        int type = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int sourceWidth = source.getWidth();
+        int sourceHeight = source.getHeight();
+        int targetHeight = Math.max(1, (int) Math.round((double) sourceHeight * targetWidth / sourceWidth));
+
+        BufferedImage current = source;
+        int w = sourceWidth;
+        do {
+            w = (w / 2 >= targetWidth) ? w / 2 : targetWidth;
+            int h = (w == targetWidth)
+                    ? targetHeight
+                    : Math.max(1, (int) Math.round((double) sourceHeight * w / sourceWidth));
+
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (!keepAlpha) {
+                    // 투명 영역이 있는 원본도 JPEG 로 저장할 때 검게 나오지 않도록 흰 배경을 깝니다.
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, w, h);
+                }
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w > targetWidth);
+        return current;
+    }
+
+    private static void write(BufferedImage image, String format, Path tmp) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(tmp.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private void track(Path path, long size, long lastAccess) {
+        CacheEntry previous = entries.put(path, new CacheEntry(size, lastAccess));
+        totalBytes.addAndGet(size - (previous != null ? previous.size : 0));
+    }
+
+    /** 캐시가 max-bytes 를 넘으면 마지막 사용 시각이 오래된 순으로 지웁니다. */
+    private synchronized void evictIfNeeded() {
+        if (totalBytes.get() <= maxBytes) {
+            return;
+        }
+        long goal = (long) (maxBytes * LOW_WATERMARK);
+        List<Map.Entry<Path, CacheEntry>> candidates = new ArrayList<>(entries.entrySet());
+        candidates.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+
+        int removed = 0;
+        for (Map.Entry<Path, CacheEntry> e : candidates) {
+            if (totalBytes.get() <= goal) break;
+            if (!entries.remove(e.getKey(), e.getValue())) continue;
+            totalBytes.addAndGet(-e.getValue().size);
+            try {
+                Files.deleteIfExists(e.getKey());
+                removed++;
+            } catch (IOException ex) {
+                log.warn("축소본 삭제 실패: {}", e.getKey(), ex);
+            }
+        }
+        if (removed > 0) {
+            evictedCounter.increment(removed);
+            log.info("축소본 캐시 정리: {}개 삭제, 현재 {} bytes", removed, totalBytes.get());
+        }
+    }
+
+    private static boolean isResizable(String name) {
+        return formatOf(name) != null;
+    }
+
+    private static String formatOf(String name) {
+        String ext = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return switch (ext) {
+            case "jpg", "jpeg" -> "jpeg";
+            case "png" -> "png";
+            default -> null;
+        };
+    }
+
+    private static final class CacheEntry {
+        private final long size;
+        private volatile long lastAccess;
+
+        private CacheEntry(long size, long lastAccess) {
+            this.size = size;
+            this.lastAccess = lastAccess;
+        }
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
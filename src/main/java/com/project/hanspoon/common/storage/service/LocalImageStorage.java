@@ -0,0 +1,160 @@
+package com.project.hanspoon.common.storage.service;
+
+import com.project.hanspoon.common.exception.BusinessException;
+import com.project.hanspoon.common.storage.dto.StoredImage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 파일시스템 기반 콘텐츠 주소(content-addressed) 이미지 저장소입니다.
+ *
+ * 초보자 참고:
+ * - 파일 이름은 이미지 바이트의 SHA-256 해시입니다. 같은 이미지를 여러 번 올려도 파일은 1개만 생깁니다.
+ * - 내용이 바뀌면 이름도 바뀌므로, 조회 응답에 장기 캐시(immutable)를 걸어도 안전합니다.
+ * - 디렉터리 하나에 파일이 몰리지 않도록 해시 앞 2글자로 하위 폴더를 나눕니다. (예: ab/abcd...png)
+ */
+@Slf4j
+@Component
+public class LocalImageStorage implements ImageStorage {
+
+    public static final String URL_PREFIX = "/api/images/blob/";
+
+    // 저장 키 형식: 64자리 소문자 hex + 허용 확장자. 경로 조작(../) 방지를 위해 이 형식만 받습니다.
+    private static final Pattern KEY_PATTERN = Pattern.compile("^[0-9a-f]{64}\\.(png|jpg|gif|webp)$");
+
+    private static final Map<String, String> EXTENSION_BY_MIME = Map.of(
+            "image/png", "png",
+            "image/jpeg", "jpg",
+            "image/jpg", "jpg",
+            "image/gif", "gif",
+            "image/webp", "webp"
+    );
+
+    private static final Map<String, String> MIME_BY_EXTENSION = Map.of(
+            "png", "image/png",
+            "jpg", "image/jpeg",
+            "gif", "image/gif",
+            "webp", "image/webp"
+    );
+
+    private final Path baseDir;
+
+    public LocalImageStorage(@Value("${image-store.location:c:/hanspoon/img/blob}") String location) {
+        this.baseDir = Paths.get(location).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public StoredImage storeDataUrl(String dataUrl) {
+        if (!ImageStorage.isDataUrl(dataUrl)) {
+            throw new BusinessException("이미지 데이터 형식이 올바르지 않습니다.");
+        }
+
+        int comma = dataUrl.indexOf(',');
+        if (comma < 0) {
+            throw new BusinessException("이미지 데이터 형식이 올바르지 않습니다.");
+        }
+
+        // 헤더 예시: data:image/png;base64
+        String header = dataUrl.substring("data:".length(), comma);
+        if (!header.endsWith(";base64")) {
+            throw new BusinessException("Base64 형식의 이미지만 등록할 수 있습니다.");
+        }
+        String mime = header.substring(0, header.length() - ";base64".length()).trim().toLowerCase();
+        String ext = EXTENSION_BY_MIME.get(mime);
+        if (ext == null) {
+            throw new BusinessException("지원하지 않는 이미지 형식입니다: " + mime);
+        }
+
+        byte[] bytes;
+        try {
+            // 줄바꿈이 섞인 Base64도 허용하기 위해 MIME 디코더를 사용합니다.
+            bytes = Base64.getMimeDecoder().decode(dataUrl.substring(comma + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("이미지 데이터를 해석할 수 없습니다.");
+        }
+
+        String key = sha256Hex(bytes) + "." + ext;
+        Path target = pathOf(key);
+
+        if (!Files.exists(target)) {
+            write(target, bytes);
+        }
+
+        return new StoredImage(key, MIME_BY_EXTENSION.get(ext), bytes.length, URL_PREFIX + key);
+    }
+
+    @Override
+    public Optional<Path> resolve(String key) {
+        if (!isValidKey(key)) {
+            return Optional.empty();
+        }
+        Path path = pathOf(key);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    @Override
+    public Optional<String> contentTypeOf(String key) {
+        if (!isValidKey(key)) {
+            return Optional.empty();
+        }
+        String ext = key.substring(key.lastIndexOf('.') + 1);
+        return Optional.ofNullable(MIME_BY_EXTENSION.get(ext));
+    }
+
+    private boolean isValidKey(String key) {
+        return key != null && KEY_PATTERN.matcher(key).matches();
+    }
+
+    private Path pathOf(String key) {
+        return baseDir.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private void write(Path target, byte[] bytes) {
+        try {
+            Files.createDirectories(target.getParent());
+
+            // 같은 폴더에 임시 파일로 먼저 쓰고 rename 해서, 읽는 쪽이 반쯤 쓰인 파일을 보지 않게 합니다.
+            Path temp = Files.createTempFile(target.getParent(), "upload-", ".tmp");
+            try {
+                Files.write(temp, bytes);
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            // 동시에 같은 이미지를 저장한 경우 다른 요청이 이미 파일을 만들었을 수 있습니다.
+            if (Files.exists(target)) {
+                return;
+            }
+            log.error("이미지 저장 실패: {}", target, e);
+            throw new BusinessException("이미지 저장에 실패했습니다.");
+        }
+    }
+
+    private static String sha256Hex(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
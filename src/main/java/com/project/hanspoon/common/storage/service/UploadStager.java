@@ -0,0 +1,290 @@
+package com.project.hanspoon.common.storage.service;
+
+import com.project.hanspoon.common.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 업로드 이미지를 트랜잭션 밖에서 미리 임시 저장(staging)하고, DB 커밋 뒤에만 최종 위치로 옮기는 도우미입니다.
+ *
+ * 초보자 참고:
+ * - 예전에는 @Transactional 메서드 안에서 파일을 하나씩 디스크에 써서, 사진이 많으면 그동안 DB 커넥션을 붙잡고 있었습니다.
+ *   이제는 트랜잭션을 열기 전에 가상 스레드로 여러 파일을 동시에 임시 폴더에 쓰고(동시 개수는 parallelism 으로 제한),
+ *   DB 작업은 {@link #inTransaction}으로 짧게 끝냅니다.
+ * - 파일 앞부분 바이트(매직 넘버)로 PNG/JPEG/GIF/WEBP 인지 확인하고, 확장자도 실제 형식 기준으로 붙입니다.
+ * - 커밋되면 임시 파일을 같은 디스크 안에서 rename 해 한 번에 공개하고, 롤백되면 임시 파일을 지웁니다.
+ *   공개된 이미지는 ImageVariantService 가 목록용 축소본을 백그라운드에서 미리 만듭니다.
+ *   서버가 중간에 꺼져 남은 임시 파일은 주기 작업이 max-age-minutes 가 지나면 정리합니다.
+ */
+@Slf4j
+@Component
+public class UploadStager {
+
+    private static final String STAGING_DIR = ".staging";
+    private static final String PART_SUFFIX = ".part";
+    private static final int HEADER_BYTES = 12;
+
+    private final Path baseDir;
+    private final Path stagingDir;
+    private final Semaphore permits;
+    private final Duration maxAge;
+    private final TransactionTemplate transactionTemplate;
+    private final ImageVariantService imageVariantService;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("upload-stage-", 0).factory());
+
+    public UploadStager(
+            PlatformTransactionManager transactionManager,
+            ImageVariantService imageVariantService,
+            @Value("${itemImgLocation}") String itemImgLocation,
+            @Value("${upload.staging.parallelism:8}") int parallelism,
+            @Value("${upload.staging.max-age-minutes:60}") long maxAgeMinutes) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.imageVariantService = imageVariantService;
+        this.baseDir = Paths.get(itemImgLocation).toAbsolutePath().normalize();
+        this.stagingDir = baseDir.resolve(STAGING_DIR);
+        this.permits = new Semaphore(Math.max(1, parallelism));
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+    }
+
+    /**
+     * 임시 저장된 업로드 1건입니다. storedName 은 커밋 후 itemImgLocation 아래에 생길 최종 파일명입니다.
+     */
+    public record StagedUpload(Path stagedPath, String storedName, String originalName, long size) {
+    }
+
+    /** 파일 1개를 현재 스레드에서 임시 저장합니다. 비어 있으면 null 입니다. */
+    public StagedUpload stage(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            return null;
+        }
+        return stageOne(file);
+    }
+
+    /**
+     * 여러 파일을 병렬로 임시 저장합니다. 결과는 입력과 같은 순서/길이이며 비어 있는 파일 자리는 null 입니다.
+     * 하나라도 실패하면 이미 저장된 임시 파일을 지우고 예외를 던집니다.
+     */
+    public List<StagedUpload> stageAll(List<MultipartFile> files) {
+        if (files == null || files.isEmpty()) {
+            return List.of();
+        }
+
+        List<CompletableFuture<StagedUpload>> futures = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            futures.add(CompletableFuture.supplyAsync(() -> stageWithPermit(file), executor));
+        }
+
+        List<StagedUpload> staged = new ArrayList<>(files.size());
+        RuntimeException failure = null;
+        for (CompletableFuture<StagedUpload> future : futures) {
+            try {
+                staged.add(future.join());
+            } catch (CompletionException e) {
+                staged.add(null);
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException re ? re : e;
+                }
+            }
+        }
+
+        if (failure != null) {
+            discard(staged);
+            throw failure;
+        }
+        return staged;
+    }
+
+    /**
+     * action 을 새 트랜잭션에서 실행하고, 커밋되면 임시 파일을 최종 위치로 옮깁니다.
+     * 롤백되거나 예외가 나면 임시 파일을 지웁니다.
+     */
+    public <T> T inTransaction(Collection<StagedUpload> uploads, TransactionCallback<T> action) {
+        List<StagedUpload> targets = uploads.stream().filter(Objects::nonNull).toList();
+        try {
+            return transactionTemplate.execute(status -> {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int completionStatus) {
+                        if (completionStatus == STATUS_COMMITTED) {
+                            publish(targets);
+                        } else {
+                            discard(targets);
+                        }
+                    }
+                });
+                return action.doInTransaction(status);
+            });
+        } catch (RuntimeException e) {
+            discard(targets);
+            throw e;
+        }
+    }
+
+    /** 트랜잭션 없이 바로 공개합니다. (DB 작업이 없는 업로드용) */
+    public void publishNow(StagedUpload upload) {
+        if (upload != null) {
+            publish(List.of(upload));
+        }
+    }
+
+    public void discard(Collection<StagedUpload> uploads) {
+        for (StagedUpload upload : uploads) {
+            if (upload == null) continue;
+            try {
+                Files.deleteIfExists(upload.stagedPath());
+            } catch (IOException e) {
+                log.warn("임시 업로드 파일 삭제 실패: {}", upload.stagedPath(), e);
+            }
+        }
+    }
+
+    /** 롤백/서버 중단으로 남은 오래된 임시 파일을 정리합니다. */
+    @Scheduled(fixedDelayString = "${upload.staging.sweep-interval-ms:600000}")
+    public void sweepOrphans() {
+        if (!Files.isDirectory(stagingDir)) {
+            return;
+        }
+        Instant threshold = Instant.now().minus(maxAge);
+        int removed = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(stagingDir, "*" + PART_SUFFIX)) {
+            for (Path path : stream) {
+                if (Files.getLastModifiedTime(path).toInstant().isBefore(threshold) && Files.deleteIfExists(path)) {
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("임시 업로드 폴더 정리 실패: {}", stagingDir, e);
+        }
+        if (removed > 0) {
+            log.info("남은 임시 업로드 파일 {}개 정리", removed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private StagedUpload stageWithPermit(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            return null;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("이미지 업로드가 중단되었습니다.");
+        }
+        try {
+            return stageOne(file);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private StagedUpload stageOne(MultipartFile file) {
+        String originalName = Optional.ofNullable(file.getOriginalFilename()).orElse("file");
+        Path part = null;
+        try (InputStream in = file.getInputStream()) {
+            byte[] header = in.readNBytes(HEADER_BYTES);
+            String ext = detectImageExtension(header);
+            if (ext == null) {
+                throw new BusinessException("이미지 파일만 업로드할 수 있습니다: " + originalName);
+            }
+
+            Files.createDirectories(stagingDir);
+            String storedName = UUID.randomUUID() + "." + ext;
+            part = stagingDir.resolve(storedName + PART_SUFFIX);
+            try (OutputStream out = Files.newOutputStream(part)) {
+                out.write(header);
+                in.transferTo(out);
+            }
+            return new StagedUpload(part, storedName, originalName, Files.size(part));
+        } catch (IOException e) {
+            deleteQuietly(part);
+            log.error("업로드 임시 저장 실패: {}", originalName, e);
+            throw new BusinessException("이미지 저장에 실패했습니다: " + originalName);
+        }
+    }
+
+    private void publish(List<StagedUpload> uploads) {
+        List<String> published = new ArrayList<>(uploads.size());
+        for (StagedUpload upload : uploads) {
+            Path target = baseDir.resolve(upload.storedName());
+            try {
+                try {
+                    Files.move(upload.stagedPath(), target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(upload.stagedPath(), target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                published.add(upload.storedName());
+            } catch (IOException e) {
+                // DB는 이미 커밋되었으므로 되돌릴 수 없습니다. 임시 파일은 남겨 두고 수동 복구할 수 있게 기록합니다.
+                log.error("업로드 파일 공개 실패: {} -> {}", upload.stagedPath(), target, e);
+            }
+        }
+        imageVariantService.prewarm(published);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 남은 파일은 sweepOrphans 가 정리합니다.
+        }
+    }
+
+    /** 파일 앞부분 바이트로 이미지 형식을 판별합니다. 지원하지 않는 형식이면 null 입니다. */
+    static String detectImageExtension(byte[] h) {
+        if (h.length >= 8 && (h[0] & 0xFF) == 0x89 && h[1] == 'P' && h[2] == 'N' && h[3] == 'G'
+                && h[4] == 0x0D && h[5] == 0x0A && h[6] == 0x1A && h[7] == 0x0A) {
+            return "png";
+        }
+        if (h.length >= 3 && (h[0] & 0xFF) == 0xFF && (h[1] & 0xFF) == 0xD8 && (h[2] & 0xFF) == 0xFF) {
+            return "jpg";
+        }
+        if (h.length >= 6 && h[0] == 'G' && h[1] == 'I' && h[2] == 'F' && h[3] == '8'
+                && (h[4] == '7' || h[4] == '9') && h[5] == 'a') {
+            return "gif";
+        }
+        if (h.length >= 12 && h[0] == 'R' && h[1] == 'I' && h[2] == 'F' && h[3] == 'F'
+                && h[8] == 'W' && h[9] == 'E' && h[10] == 'B' && h[11] == 'P') {
+            return "webp";
+        }
+        return null;
+    }
+}
@@ -165,7 +165,7 @@ public class AuthController {
                 .userId(user.getUserId())
                 .email(user.getEmail())
                 .userName(user.getUserName())
-                .spoonBalance(user.getSpoonBalance()) // ✅ 추가
+                .spoonBalance(userService.getSpoonBalance(user.getUserId())) // 인증 캐시 값이 아닌 DB 잔액
                 .role(resolveRole(user, userDetails))
                 .build();
 
@@ -190,7 +190,7 @@ public class AuthController {
                 .userId(user.getUserId())
                 .email(user.getEmail())
                 .userName(user.getUserName())
-                .spoonBalance(user.getSpoonBalance()) // ✅ 추가
+                .spoonBalance(userService.getSpoonBalance(user.getUserId())) // 인증 캐시 값이 아닌 DB 잔액
                 .role(resolveRole(user, userDetails))
                 .build();
 
@@ -2,6 +2,8 @@ package com.project.hanspoon.common.user.repository;
 
 import com.project.hanspoon.common.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,6 +12,10 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
+    // 스푼 잔액만 읽습니다. (인증 캐시에 들어 있는 User 는 최대 TTL 동안 옛 값일 수 있어 잔액은 항상 DB에서 읽음)
+    @Query("select u.spoonCount from User u where u.userId = :userId")
+    Optional<Integer> findSpoonCountByUserId(@Param("userId") Long userId);
+
     boolean existsByEmail(String email);
 
     Optional<User> findByEmailAndIsDeletedFalse(String email);
@@ -2,6 +2,7 @@ package com.project.hanspoon.common.user.service;
 
 import com.project.hanspoon.common.security.CustomUserDetails;
 import com.project.hanspoon.common.security.CustomUserDetailsService;
+import com.project.hanspoon.common.security.PrincipalCache;
 import com.project.hanspoon.common.security.jwt.JwtTokenProvider;
 import com.project.hanspoon.common.security.jwt.entity.RefreshToken;
 import com.project.hanspoon.common.security.jwt.repository.RefreshTokenRepository;
@@ -31,6 +32,7 @@ public class AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final RefreshTokenRepository refreshTokenRepository;
     private final CustomUserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     public record TokenPair(String accessToken, String refreshToken) {
     }
@@ -97,11 +99,12 @@ public class AuthService {
     // ----------------------------------------------------------------
 
     /**
-     * 해당 사용자의 Refresh Token을 DB에서 삭제.
+     * 해당 사용자의 Refresh Token을 DB에서 삭제하고 인증 캐시도 비운다.
      */
     @Transactional
     public void logout(Long userId) {
         refreshTokenRepository.deleteByUserId(userId);
+        principalCache.invalidateUser(userId);
         log.info("[Auth] 로그아웃 완료: userId={}", userId);
     }
 
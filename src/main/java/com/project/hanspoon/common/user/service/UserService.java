@@ -1,5 +1,6 @@
 package com.project.hanspoon.common.user.service;
 
+import com.project.hanspoon.common.security.PrincipalCache;
 import com.project.hanspoon.common.user.entity.PointHistory;
 import com.project.hanspoon.common.user.repository.PointHistoryRepository;
 import com.project.hanspoon.common.user.repository.UserRepository;
@@ -49,6 +50,7 @@ public class UserService {
     private final ClassReservationRepository reservationRepository;
     private final PaymentRepository paymentRepository;
     private final PointHistoryRepository pointHistoryRepository;
+    private final PrincipalCache principalCache;
 
     @Transactional(readOnly = true)
     public AdminUserDetailResponse getAdminUserDetail(Long userId) {
@@ -153,6 +155,17 @@ public class UserService {
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
     }
 
+    /**
+     * 현재 스푼 잔액을 DB에서 읽습니다.
+     *
+     * 초보자 참고: 인증 필터가 쓰는 User 는 PrincipalCache 에 잠깐 보관된 값이라,
+     * 다른 경로(레시피 추천 보상 등)로 잔액이 바뀌어도 바로 반영되지 않습니다. 화면에 보여 줄 잔액은 이 메서드로 읽습니다.
+     */
+    @Transactional(readOnly = true)
+    public int getSpoonBalance(Long userId) {
+        return userRepository.findSpoonCountByUserId(userId).orElse(0);
+    }
+
     /**
      * 이름과 전화번호로 이메일 찾기 (계정 찾기 기능)
      *
@@ -233,6 +246,8 @@ public class UserService {
             user.activate();
         }
         userRepository.save(user);
+        // 정지/탈퇴가 다음 요청부터 바로 반영되도록 인증 캐시를 비웁니다.
+        principalCache.invalidateUser(userId);
     }
 
     @Transactional(readOnly = true)
@@ -310,6 +325,8 @@ public class UserService {
             user.setPassword(passwordEncoder.encode(dto.getNewPassword()));
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        principalCache.invalidateUser(userId);
+        return saved;
     }
 }
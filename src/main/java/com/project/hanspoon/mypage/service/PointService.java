@@ -1,5 +1,6 @@
 package com.project.hanspoon.mypage.service;
 
+import com.project.hanspoon.common.security.PrincipalCache;
 import com.project.hanspoon.common.user.entity.PointHistory;
 import com.project.hanspoon.common.user.repository.PointHistoryRepository;
 import com.project.hanspoon.mypage.dto.PointHistoryDto;
@@ -16,6 +17,7 @@ public class PointService {
 
     private final PointHistoryRepository pointHistoryRepository;
     private final com.project.hanspoon.common.user.repository.UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     public Page<PointHistoryDto> getPointHistories(Long userId, Pageable pageable) {
         return pointHistoryRepository.findByUserUserIdOrderByCreatedAtDesc(userId, pageable)
@@ -43,6 +45,8 @@ public class PointService {
                 .build();
 
         pointHistoryRepository.save(history);
+        // /api/auth/me 등 principal에서 잔액을 읽는 화면이 바로 갱신되도록 캐시를 비웁니다.
+        principalCache.invalidateUser(userId);
     }
 
     public int getPointBalance(Long userId) {
@@ -0,0 +1,207 @@
+package com.project.hanspoon.oneday.api.location;
+
+import com.project.hanspoon.oneday.api.location.entity.GeocodeCacheEntry;
+import com.project.hanspoon.oneday.api.location.repository.GeocodeCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 지오코딩 결과 캐시입니다. (정규화한 검색어 -> 주소/좌표)
+ *
+ * 초보자 참고:
+ * - 클래스 위치 검색은 같은 주소가 반복해서 들어오므로, 카카오 API 를 부르기 전에 여기서 먼저 찾습니다.
+ * - 메모리에는 최근에 쓴 max-size 건만 남기고(LRU), persist=true 이면 geocode_cache 테이블에도 적어
+ *   서버를 다시 띄운 뒤에도 재사용합니다.
+ * - "검색 결과 없음"도 negative-ttl 동안 기억합니다. 잘못된 주소를 계속 다시 묻지 않기 위해서입니다.
+ *   (API 오류/인증 실패는 기억하지 않습니다)
+ */
+@Slf4j
+@Component
+public class GeocodeCache {
+
+    /** 캐시에 담는 값. 결과 없음이면 {@link Lookup#place()}가 null 입니다. */
+    public record Place(String address, double lat, double lng) {
+    }
+
+    public record Lookup(Place place) {
+        public boolean found() {
+            return place != null;
+        }
+    }
+
+    private record Entry(Place place, LocalDateTime expiresAt) {
+    }
+
+    // geocode_cache.query_key 컬럼 길이
+    private static final int MAX_PERSISTED_KEY_LENGTH = 255;
+
+    private final GeocodeCacheRepository repository;
+    private final boolean persist;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final Map<String, Entry> entries;
+
+    private final Counter hits;
+    private final Counter negativeHits;
+    private final Counter misses;
+
+    public GeocodeCache(
+            GeocodeCacheRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${kakao.geocode.cache.persist:true}") boolean persist,
+            @Value("${kakao.geocode.cache.ttl-ms:2592000000}") long ttlMs,
+            @Value("${kakao.geocode.cache.negative-ttl-ms:1800000}") long negativeTtlMs,
+            @Value("${kakao.geocode.cache.max-size:10000}") int maxSize) {
+        this.repository = repository;
+        this.persist = persist;
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.negativeTtl = Duration.ofMillis(negativeTtlMs);
+
+        int capacity = Math.max(1, maxSize);
+        // accessOrder=true: 조회할 때마다 뒤로 옮겨져, 가장 오래 안 쓴 항목부터 밀려납니다.
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+
+        this.hits = counter(meterRegistry, "hit");
+        this.negativeHits = counter(meterRegistry, "negative_hit");
+        this.misses = counter(meterRegistry, "miss");
+        Gauge.builder("geocode.cache.size", this, GeocodeCache::size)
+                .description("메모리 지오코딩 캐시 항목 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시 키를 만듭니다. 앞뒤 공백/연속 공백/전각 문자/대소문자 차이는 같은 검색어로 봅니다.
+     */
+    public static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        String text = Normalizer.normalize(query, Normalizer.Form.NFKC);
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public Optional<Lookup> get(String key) {
+        LocalDateTime now = LocalDateTime.now();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && !entry.expiresAt().isAfter(now)) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            entry = loadPersisted(key, now);
+        }
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        (entry.place() != null ? hits : negativeHits).increment();
+        return Optional.of(new Lookup(entry.place()));
+    }
+
+    public void putFound(String key, Place place) {
+        put(key, new Entry(place, LocalDateTime.now().plus(ttl)));
+    }
+
+    public void putNotFound(String key) {
+        put(key, new Entry(null, LocalDateTime.now().plus(negativeTtl)));
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // 만료된 테이블 행을 하루 한 번 지웁니다. (메모리 항목은 조회할 때 지워집니다)
+    @Scheduled(cron = "${kakao.geocode.cache.purge-cron:0 30 4 * * *}")
+    public void purgeExpired() {
+        if (!persist) {
+            return;
+        }
+        try {
+            int deleted = repository.deleteExpired(LocalDateTime.now());
+            if (deleted > 0) {
+                log.info("만료된 지오코딩 캐시 삭제: {}건", deleted);
+            }
+        } catch (DataAccessException e) {
+            log.warn("지오코딩 캐시 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private void put(String key, Entry entry) {
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+        if (!persistable(key)) {
+            return;
+        }
+        Place place = entry.place();
+        try {
+            repository.save(GeocodeCacheEntry.of(key, place != null,
+                    place != null ? place.address() : null,
+                    place != null ? place.lat() : null,
+                    place != null ? place.lng() : null,
+                    entry.expiresAt()));
+        } catch (DataAccessException e) {
+            // 테이블 저장 실패는 메모리 캐시만으로 계속 진행합니다.
+            log.warn("지오코딩 캐시 저장 실패: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    private Entry loadPersisted(String key, LocalDateTime now) {
+        if (!persistable(key)) {
+            return null;
+        }
+        GeocodeCacheEntry row;
+        try {
+            row = repository.findById(key).orElse(null);
+        } catch (DataAccessException e) {
+            log.warn("지오코딩 캐시 조회 실패: key={}, error={}", key, e.getMessage());
+            return null;
+        }
+        if (row == null || !row.getExpiresAt().isAfter(now)) {
+            return null;
+        }
+        Place place = row.isFound() && row.getLat() != null && row.getLng() != null
+                ? new Place(row.getAddress(), row.getLat(), row.getLng())
+                : null;
+        Entry entry = new Entry(place, row.getExpiresAt());
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    private boolean persistable(String key) {
+        return persist && !key.isEmpty() && key.length() <= MAX_PERSISTED_KEY_LENGTH;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("geocode.cache")
+                .description("지오코딩 캐시 조회 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -2,35 +2,83 @@ package com.project.hanspoon.oneday.api.location;
 
 import com.project.hanspoon.common.exception.BusinessException;
 import com.project.hanspoon.oneday.api.location.dto.GeocodeResponseDTO;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
-
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * 카카오 로컬 API 호출 서비스
  * - REST 키는 반드시 서버에서만 관리(프론트 노출 금지)
+ *
+ * 초보자 참고:
+ * - 결과는 GeocodeCache 에 먼저 찾아보고, 없을 때만 카카오를 부릅니다.
+ * - 주소 검색과 키워드 검색을 차례로 부르면 느린 쪽 시간을 두 번 기다리게 되므로 동시에 보내고,
+ *   응답이 오면 주소 검색 결과를 우선 사용합니다.
+ * - 전용 커넥션 풀과 짧은 타임아웃을 둬서 카카오가 느려도 요청 스레드를 오래 잡지 않습니다.
  */
+@Slf4j
 @Service
 public class KakaoLocationService {
-    private static final String ADDRESS_SEARCH_URL = "https://dapi.kakao.com/v2/local/search/address.json";
-    private static final String KEYWORD_SEARCH_URL = "https://dapi.kakao.com/v2/local/search/keyword.json";
-
-    @Value("${kakao.rest-api-key:}")
-    private String kakaoRestApiKey;
-
-    private final RestTemplate restTemplate = new RestTemplate();
+    private static final String ADDRESS_SEARCH_PATH = "/v2/local/search/address.json";
+    private static final String KEYWORD_SEARCH_PATH = "/v2/local/search/keyword.json";
+
+    private static final String NOT_FOUND_MESSAGE = "검색 결과가 없습니다. 주소나 건물명을 다시 확인해 주세요.";
+    private static final String CALL_FAILED_MESSAGE = "카카오 주소검색 호출에 실패했습니다. 잠시 후 다시 시도해 주세요.";
+
+    private final GeocodeCache geocodeCache;
+    private final String kakaoRestApiKey;
+    private final WebClient kakaoWebClient;
+    private final Duration deadline;
+
+    public KakaoLocationService(
+            GeocodeCache geocodeCache,
+            @Value("${kakao.rest-api-key:}") String kakaoRestApiKey,
+            @Value("${kakao.geocode.client.base-url:https://dapi.kakao.com}") String baseUrl,
+            @Value("${kakao.geocode.client.connect-timeout-ms:1000}") int connectTimeoutMs,
+            @Value("${kakao.geocode.client.read-timeout-ms:2000}") long readTimeoutMs,
+            @Value("${kakao.geocode.client.deadline-ms:2500}") long deadlineMs,
+            @Value("${kakao.geocode.client.max-connections:20}") int maxConnections) {
+        this.geocodeCache = geocodeCache;
+        this.kakaoRestApiKey = kakaoRestApiKey;
+        this.deadline = Duration.ofMillis(deadlineMs);
+
+        // 카카오 전용 풀: 풀이 가득 차도 deadline 이상 기다리지 않습니다.
+        ConnectionProvider provider = ConnectionProvider.builder("kakao-local")
+                .maxConnections(Math.max(2, maxConnections))
+                .pendingAcquireTimeout(Duration.ofMillis(deadlineMs))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .evictInBackground(Duration.ofSeconds(30))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+
+        this.kakaoWebClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
 
     /**
      * 검색어 -> 좌표 변환(지오코딩)
-     * 1) 주소 검색 API 우선
-     * 2) 결과가 없으면 키워드(건물명/장소명) 검색 API로 재시도
+     * 1) 캐시에 있으면 바로 반환 ("결과 없음"도 잠시 기억)
+     * 2) 주소 검색 API 와 키워드(건물명/장소명) 검색 API 를 동시에 호출
+     * 3) 주소 검색 결과 우선, 없으면 키워드 검색 결과 사용
      *
      * @param query 사용자가 입력한 주소/건물명 문자열
      * @return address, lat, lng
@@ -48,43 +96,83 @@ public class KakaoLocationService {
             throw new BusinessException("카카오 주소검색 REST API 키가 설정되지 않았습니다. 백엔드 KAKAO_REST_API_KEY를 확인해 주세요.");
         }
 
-        List<Map> addressDocuments = requestDocuments(ADDRESS_SEARCH_URL, normalizedQuery, restApiKey);
-        if (!addressDocuments.isEmpty()) {
-            return toAddressResponse(addressDocuments.get(0));
+        String cacheKey = GeocodeCache.normalize(normalizedQuery);
+        Optional<GeocodeCache.Lookup> cached = geocodeCache.get(cacheKey);
+        if (cached.isPresent()) {
+            if (!cached.get().found()) {
+                throw new BusinessException(NOT_FOUND_MESSAGE);
+            }
+            return toResponse(cached.get().place());
+        }
+
+        Tuple2<Documents, Documents> both;
+        try {
+            both = Mono.zip(
+                            requestDocuments(ADDRESS_SEARCH_PATH, normalizedQuery, restApiKey),
+                            requestDocuments(KEYWORD_SEARCH_PATH, normalizedQuery, restApiKey))
+                    .timeout(deadline)
+                    .block();
+        } catch (RuntimeException e) {
+            log.warn("카카오 주소검색 시간 초과/실패: query={}, error={}", normalizedQuery, e.getMessage());
+            throw new BusinessException(CALL_FAILED_MESSAGE);
+        }
+        Documents address = both.getT1();
+        Documents keyword = both.getT2();
+
+        if (!address.isEmpty()) {
+            GeocodeCache.Place place = toAddressPlace(address.documents().get(0));
+            geocodeCache.putFound(cacheKey, place);
+            return toResponse(place);
         }
 
         // 주소 검색 결과가 없을 때 건물명/상호명 검색으로 보완합니다.
-        List<Map> keywordDocuments = requestDocuments(KEYWORD_SEARCH_URL, normalizedQuery, restApiKey);
-        if (!keywordDocuments.isEmpty()) {
-            return toKeywordResponse(keywordDocuments.get(0));
+        if (!keyword.isEmpty()) {
+            GeocodeCache.Place place = toKeywordPlace(keyword.documents().get(0));
+            // 주소 검색이 실패한 경우엔 다음에 주소 결과가 나올 수 있으니 기억하지 않습니다.
+            if (address.error() == null) {
+                geocodeCache.putFound(cacheKey, place);
+            }
+            return toResponse(place);
         }
 
-        throw new BusinessException("검색 결과가 없습니다. 주소나 건물명을 다시 확인해 주세요.");
+        if (address.error() != null) {
+            throw address.error();
+        }
+        if (keyword.error() != null) {
+            throw keyword.error();
+        }
+        geocodeCache.putNotFound(cacheKey);
+        throw new BusinessException(NOT_FOUND_MESSAGE);
     }
 
-    private List<Map> requestDocuments(String endpoint, String query, String restApiKey) {
-        String url = UriComponentsBuilder.fromUriString(endpoint)
-                .queryParam("query", query)
-                .build()
-                .toUriString();
+    /** 검색 API 한 번의 결과. 실패해도 다른 검색 결과를 쓸 수 있도록 예외 대신 error 로 담습니다. */
+    private record Documents(List<Map> documents, BusinessException error) {
+        boolean isEmpty() {
+            return documents.isEmpty();
+        }
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "KakaoAK " + restApiKey);
+    private Mono<Documents> requestDocuments(String path, String query, String restApiKey) {
+        return kakaoWebClient.get()
+                // 값은 {query} 변수로 넘겨야 &, + 같은 문자까지 인코딩됩니다.
+                .uri(builder -> builder.path(path).queryParam("query", "{query}").build(query))
+                .header(HttpHeaders.AUTHORIZATION, "KakaoAK " + restApiKey)
+                .retrieve()
+                .bodyToMono(Map.class)
+                .map(body -> new Documents(extractDocuments(body), null))
+                .defaultIfEmpty(new Documents(List.of(), null))
+                .onErrorResume(e -> Mono.just(new Documents(List.of(), toBusinessException(path, e))));
+    }
 
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-        ResponseEntity<Map> response;
-        try {
-            response = restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
-        } catch (HttpClientErrorException.Unauthorized | HttpClientErrorException.Forbidden e) {
-            throw new BusinessException("카카오 주소검색 인증에 실패했습니다. REST API 키와 카카오 개발자 콘솔 설정을 확인해 주세요.");
-        } catch (RestClientException e) {
-            throw new BusinessException("카카오 주소검색 호출에 실패했습니다. 잠시 후 다시 시도해 주세요.");
+    private BusinessException toBusinessException(String path, Throwable e) {
+        if (e instanceof WebClientResponseException.Unauthorized || e instanceof WebClientResponseException.Forbidden) {
+            return new BusinessException("카카오 주소검색 인증에 실패했습니다. REST API 키와 카카오 개발자 콘솔 설정을 확인해 주세요.");
         }
+        log.warn("카카오 로컬 API 호출 실패: path={}, error={}", path, e.getMessage());
+        return new BusinessException(CALL_FAILED_MESSAGE);
+    }
 
-        Map body = response.getBody();
-        if (body == null) {
-            return List.of();
-        }
+    private List<Map> extractDocuments(Map body) {
         Object documents = body.get("documents");
         if (!(documents instanceof List<?> list)) {
             return List.of();
@@ -95,15 +183,20 @@ public class KakaoLocationService {
                 .toList();
     }
 
-    private GeocodeResponseDTO toAddressResponse(Map first) {
+    private GeocodeResponseDTO toResponse(GeocodeCache.Place place) {
+        // 캐시 값을 그대로 내보내지 않고 매번 새 DTO 를 만듭니다.
+        return new GeocodeResponseDTO(place.address(), place.lat(), place.lng());
+    }
+
+    private GeocodeCache.Place toAddressPlace(Map first) {
         // 주소 검색 응답 기준: x=경도, y=위도
         String addressName = normalizeText(first.get("address_name"));
         double lng = parseCoordinate(first.get("x"), "경도");
         double lat = parseCoordinate(first.get("y"), "위도");
-        return new GeocodeResponseDTO(addressName, lat, lng);
+        return new GeocodeCache.Place(addressName, lat, lng);
     }
 
-    private GeocodeResponseDTO toKeywordResponse(Map first) {
+    private GeocodeCache.Place toKeywordPlace(Map first) {
         // 건물명 검색 응답에서 도로명 주소 우선, 없으면 지번 주소/장소명 순으로 fallback
         String roadAddressName = normalizeText(first.get("road_address_name"));
         String jibunAddressName = normalizeText(first.get("address_name"));
@@ -117,7 +210,7 @@ public class KakaoLocationService {
 
         double lng = parseCoordinate(first.get("x"), "경도");
         double lat = parseCoordinate(first.get("y"), "위도");
-        return new GeocodeResponseDTO(resolvedAddress, lat, lng);
+        return new GeocodeCache.Place(resolvedAddress, lat, lng);
     }
 
     private String normalizeText(Object value) {
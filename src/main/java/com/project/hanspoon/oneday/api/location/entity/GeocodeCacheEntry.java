@@ -0,0 +1,52 @@
+package com.project.hanspoon.oneday.api.location.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 지오코딩 결과 캐시 테이블입니다. (정규화한 검색어 -> 좌표)
+ * 서버를 다시 띄워도 같은 주소로 카카오 API 를 다시 부르지 않도록 메모리 캐시 뒤에 둡니다.
+ * found=false 는 "검색 결과 없음"을 기억한 행입니다. (짧은 TTL)
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "geocode_cache",
+        indexes = @Index(name = "idx_geocode_cache_expires_at", columnList = "expires_at"))
+public class GeocodeCacheEntry {
+
+    @Id
+    @Column(name = "query_key", length = 255)
+    private String queryKey;
+
+    @Column(name = "found", nullable = false)
+    private boolean found;
+
+    @Column(name = "address", length = 255)
+    private String address;
+
+    @Column(name = "lat")
+    private Double lat;
+
+    @Column(name = "lng")
+    private Double lng;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public static GeocodeCacheEntry of(String queryKey, boolean found, String address, Double lat, Double lng,
+                                       LocalDateTime expiresAt) {
+        GeocodeCacheEntry entry = new GeocodeCacheEntry();
+        entry.queryKey = queryKey;
+        entry.found = found;
+        entry.address = address;
+        entry.lat = lat;
+        entry.lng = lng;
+        entry.expiresAt = expiresAt;
+        return entry;
+    }
+}
@@ -0,0 +1,19 @@
+package com.project.hanspoon.oneday.api.location.repository;
+
+import com.project.hanspoon.oneday.api.location.entity.GeocodeCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface GeocodeCacheRepository extends JpaRepository<GeocodeCacheEntry, String> {
+
+    // 만료된 캐시 행 정리 (expires_at 인덱스 사용)
+    @Transactional
+    @Modifying
+    @Query("delete from GeocodeCacheEntry e where e.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,5 +1,7 @@
 package com.project.hanspoon.oneday.api.service;
 
+import com.project.hanspoon.common.search.CatalogSearchIndex;
+import com.project.hanspoon.common.search.SearchDomain;
 import com.project.hanspoon.oneday.api.dto.SessionSearchResponse;
 import com.project.hanspoon.oneday.api.spec.ClassSessionSpecs;
 import com.project.hanspoon.oneday.clazz.entity.ClassSession;
@@ -20,6 +22,7 @@ import java.util.List;
 public class OneDaySessionSearchService {
 
     private final ClassSessionRepository classSessionRepository;
+    private final CatalogSearchIndex catalogSearchIndex;
     private static final ZoneId KST_ZONE = ZoneId.of("Asia/Seoul");
 
     public List<SessionSearchResponse> search(
@@ -45,7 +48,7 @@ public class OneDaySessionSearchService {
                 .and(ClassSessionSpecs.instructorNameContains(instructorName))
                 .and(ClassSessionSpecs.startAtFrom(dateFrom))
                 .and(ClassSessionSpecs.startAtTo(dateTo))
-                .and(ClassSessionSpecs.titleContains(keyword))
+                .and(titleSpec(keyword))
                 .and(ClassSessionSpecs.onlyAvailable(onlyAvailable));
 
         Sort s = toSort(sort);
@@ -55,6 +58,15 @@ public class OneDaySessionSearchService {
                 .toList();
     }
 
+    // 클래스 제목 검색: 검색 인덱스의 클래스 id 후보로 거르고, 인덱스를 쓸 수 없으면 LIKE 로 처리한다.
+    private Specification<ClassSession> titleSpec(String keyword) {
+        if (keyword == null || keyword.isBlank())
+            return ClassSessionSpecs.titleContains(keyword);
+        return catalogSearchIndex.candidates(SearchDomain.CLASS, keyword.trim())
+                .map(ClassSessionSpecs::classIdIn)
+                .orElseGet(() -> ClassSessionSpecs.titleContains(keyword));
+    }
+
     private Sort toSort(String sort) {
         if (sort == null || sort.isBlank())
             return Sort.by(Sort.Direction.ASC, "startAt");
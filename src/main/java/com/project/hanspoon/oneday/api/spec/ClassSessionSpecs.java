@@ -9,6 +9,7 @@ import jakarta.persistence.criteria.JoinType;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 
 public final class ClassSessionSpecs {
 
@@ -76,6 +77,14 @@ public final class ClassSessionSpecs {
         };
     }
 
+    /**
+     * 클래스 id 후보 조건 (검색 인덱스가 제목으로 찾은 클래스). 후보가 없으면 결과가 비게 됩니다.
+     */
+    public static Specification<ClassSession> classIdIn(Collection<Long> classIds) {
+        return (root, query, cb) -> classIds.isEmpty() ? cb.disjunction()
+                : root.get("classProduct").get("id").in(classIds);
+    }
+
     public static Specification<ClassSession> titleContains(String keyword) {
         return (root, query, cb) -> {
             if (keyword == null || keyword.trim().isEmpty())
@@ -22,6 +22,7 @@ public class ClassDetailImage {
     @Column(name = "sort_order", nullable = false)
     private int sortOrder;
 
+    // 이미지 저장소 조회 URL. 마이그레이션 전 레거시 행은 Base64 Data URL일 수 있습니다.
     @Column(columnDefinition = "LONGTEXT")
     private String imageData;
 
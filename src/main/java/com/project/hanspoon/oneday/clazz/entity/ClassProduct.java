@@ -1,6 +1,9 @@
 package com.project.hanspoon.oneday.clazz.entity;
 
 import com.project.hanspoon.common.entity.BaseTimeEntity;
+import com.project.hanspoon.common.search.SearchDomain;
+import com.project.hanspoon.common.search.SearchIndexEntityListener;
+import com.project.hanspoon.common.search.Searchable;
 import com.project.hanspoon.oneday.clazz.domain.Level;
 import com.project.hanspoon.oneday.clazz.domain.RecipeCategory;
 import com.project.hanspoon.oneday.clazz.domain.RunType;
@@ -19,7 +22,8 @@ import java.util.List;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
 @Table(name = "class_product")
-public class ClassProduct extends BaseTimeEntity {
+@EntityListeners(SearchIndexEntityListener.class)
+public class ClassProduct extends BaseTimeEntity implements Searchable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,7 +38,8 @@ public class ClassProduct extends BaseTimeEntity {
     @Column(columnDefinition = "TEXT")
     private String detailDescription;
 
-    // Base64 Data URL 형식(예: data:image/png;base64,...)을 저장하는 상세 이미지 필드
+    // 대표 상세 이미지의 조회 URL(/api/images/blob/{hash}.png)을 저장합니다.
+    // 이전 데이터는 Base64 Data URL일 수 있으며 ClassDetailImageMigrator로 URL로 옮깁니다.
     @Column(columnDefinition = "LONGTEXT")
     private String detailImageData;
 
@@ -142,4 +147,20 @@ public class ClassProduct extends BaseTimeEntity {
         }
         this.legacyUpdatedAt = this.updatedAt;
     }
+
+    // 검색 인덱스(CatalogSearchIndex)에 올릴 값입니다.
+    @Override
+    public SearchDomain searchDomain() {
+        return SearchDomain.CLASS;
+    }
+
+    @Override
+    public Long searchId() {
+        return id;
+    }
+
+    @Override
+    public String searchText() {
+        return title;
+    }
 }
@@ -5,15 +5,22 @@ import com.project.hanspoon.oneday.clazz.entity.ClassProduct;
 import jakarta.persistence.criteria.JoinType;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
+
 public class ClassProductSpec {
 
+    /**
+     * keywordIds 는 검색 인덱스가 keyword 로 찾은 클래스 id 후보입니다.
+     * null 이면(인덱스를 쓸 수 없을 때) keyword 로 title LIKE 검색을 합니다.
+     */
     public static Specification<ClassProduct> search(
             Level level,
             RunType runType,
             RecipeCategory category,
             Long instructorId,
             String instructorName,
-            String keyword) {
+            String keyword,
+            Collection<Long> keywordIds) {
         return (root, query, cb) -> {
             // 목록 조회에서 N+1 방지(Count 쿼리에는 fetch 하면 안 됨)
             if (!Long.class.equals(query.getResultType()) && !long.class.equals(query.getResultType())) {
@@ -37,7 +44,10 @@ public class ClassProductSpec {
                         cb.like(cb.lower(root.get("instructor").get("user").get("userName")), normalizedInstructorName));
             }
 
-            if (keyword != null && !keyword.trim().isEmpty()) {
+            if (keywordIds != null) {
+                predicates = cb.and(predicates,
+                        keywordIds.isEmpty() ? cb.disjunction() : root.get("id").in(keywordIds));
+            } else if (keyword != null && !keyword.trim().isEmpty()) {
                 predicates = cb.and(predicates, cb.like(root.get("title"), "%" + keyword.trim() + "%"));
             }
 
@@ -6,6 +6,7 @@ import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -32,6 +33,34 @@ public interface ClassSessionRepository extends JpaRepository<ClassSession, Long
             @Param("slot") SessionSlot slot
             );
 
+    /**
+     * 남은 좌석이 충분할 때만 예약 수를 count 만큼 늘립니다. 반영된 행 수(0 또는 1)를 돌려줍니다.
+     * 벌크 UPDATE는 @Version 을 올려 주지 않으므로 직접 올려, 이 값을 모르는 엔티티 저장이 덮어쓰지 못하게 합니다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update ClassSession s set s.reservedCount = s.reservedCount + :count, " +
+            "s.version = coalesce(s.version, 0) + 1 " +
+            "where s.id = :id and s.reservedCount + :count <= s.capacity")
+    int increaseReservedIfFits(@Param("id") Long id, @Param("count") int count);
+
+    /** 이미 확정된 예약 수를 정원과 관계없이 반영합니다. (좌석 초과를 기록할 때만 사용) */
+    @Modifying(flushAutomatically = true)
+    @Query("update ClassSession s set s.reservedCount = s.reservedCount + :count, " +
+            "s.version = coalesce(s.version, 0) + 1 " +
+            "where s.id = :id")
+    int increaseReserved(@Param("id") Long id, @Param("count") int count);
+
+    /** 만료/취소된 예약 수만큼 한 번에 줄입니다. 0 아래로는 내려가지 않습니다. */
+    @Modifying(flushAutomatically = true)
+    @Query("update ClassSession s set s.reservedCount = " +
+            "case when s.reservedCount > :count then s.reservedCount - :count else 0 end, " +
+            "s.version = coalesce(s.version, 0) + 1 " +
+            "where s.id = :id")
+    int decreaseReserved(@Param("id") Long id, @Param("count") int count);
+
+    @Query("select s.capacity - s.reservedCount from ClassSession s where s.id = :id")
+    Optional<Integer> findRemainingSeatsById(@Param("id") Long id);
+
     boolean existsByClassProductIdAndReservedCountGreaterThan(Long classProductId, int reservedCount);
 
     void deleteByClassProductId(Long classProductId);
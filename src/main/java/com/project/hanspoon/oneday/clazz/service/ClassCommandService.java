@@ -1,6 +1,7 @@
 package com.project.hanspoon.oneday.clazz.service;
 
 import com.project.hanspoon.common.exception.BusinessException;
+import com.project.hanspoon.common.storage.service.ImageStorage;
 import com.project.hanspoon.oneday.clazz.dto.ClassCreateRequest;
 import com.project.hanspoon.oneday.clazz.dto.ClassCreateResponse;
 import com.project.hanspoon.oneday.clazz.dto.ClassDetailResponse;
@@ -33,12 +34,14 @@ public class ClassCommandService {
     private final ClassSessionRepository classSessionRepository;
     private final InstructorRepository instructorRepository;
     private final ClassReservationRepository classReservationRepository;
+    private final ImageStorage imageStorage;
 
     public ClassCreateResponse createClass(Long actorUserId, boolean isAdmin, ClassCreateRequest req) {
         validateActor(actorUserId, isAdmin);
         validateCreateRequest(req);
 
-        List<String> detailImages = normalizeDetailImages(req.detailImageData(), req.detailImageDataList());
+        List<String> detailImages = storeDetailImages(
+                normalizeDetailImages(req.detailImageData(), req.detailImageDataList()));
         Instructor instructor = loadInstructor(req.instructorId());
 
         ClassProduct savedClass = classProductRepository.save(
@@ -74,8 +77,6 @@ public class ClassCommandService {
         validateActor(actorUserId, isAdmin);
         validateUpdateRequest(req);
 
-        List<String> detailImages = normalizeDetailImages(req.detailImageData(), req.detailImageDataList());
-
         ClassProduct target = classProductRepository.findById(classId)
                 .orElseThrow(() -> new BusinessException("클래스를 찾을 수 없습니다. id=" + classId));
 
@@ -87,6 +88,10 @@ public class ClassCommandService {
 
         Instructor instructor = loadInstructor(req.instructorId());
 
+        // 예약 여부 검증을 통과한 뒤에 저장소에 기록해, 거절될 요청의 이미지가 디스크에 남지 않게 합니다.
+        List<String> detailImages = storeDetailImages(
+                normalizeDetailImages(req.detailImageData(), req.detailImageDataList()));
+
         target.updateInfo(
                 req.title().trim(),
                 trimOrEmpty(req.description()),
@@ -312,6 +317,23 @@ public class ClassCommandService {
         return normalized.isEmpty() ? null : normalized;
     }
 
+    /**
+     * Base64 Data URL 이미지는 이미지 저장소에 한 번만 디코딩해 기록하고, DB에는 조회 URL만 남깁니다.
+     * 수정 화면에서 기존 이미지 URL이 그대로 넘어오면 다시 저장하지 않고 유지합니다.
+     */
+    private List<String> storeDetailImages(List<String> detailImages) {
+        List<String> result = new ArrayList<>(detailImages.size());
+        for (String imageData : detailImages) {
+            String url = ImageStorage.isDataUrl(imageData)
+                    ? imageStorage.storeDataUrl(imageData).url()
+                    : imageData;
+            if (!result.contains(url)) {
+                result.add(url);
+            }
+        }
+        return result;
+    }
+
     private List<String> normalizeDetailImages(String detailImageData, List<String> detailImageDataList) {
         List<String> result = new ArrayList<>();
         String main = trimOrEmpty(detailImageData);
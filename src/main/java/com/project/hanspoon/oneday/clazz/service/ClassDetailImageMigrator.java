@@ -0,0 +1,63 @@
+package com.project.hanspoon.oneday.clazz.service;
+
+import com.project.hanspoon.common.storage.service.ImageStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 기존 클래스 상세 이미지(Base64 Data URL)를 이미지 저장소로 옮기는 1회성 마이그레이터입니다.
+ *
+ * 초보자 참고:
+ * - image-store.migrate-on-startup=true 로 기동할 때만 실행됩니다.
+ * - JPA 엔티티 대신 JdbcTemplate으로 한 행씩 읽고 갱신해, 큰 이미지 여러 개가 동시에 힙에 올라오지 않게 합니다.
+ * - "data:"로 시작하는 행만 대상이므로 여러 번 실행해도 안전합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "image-store", name = "migrate-on-startup", havingValue = "true")
+public class ClassDetailImageMigrator implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ImageStorage imageStorage;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int products = migrate("class_product", "detail_image_data");
+        int detailImages = migrate("class_detail_image", "image_data");
+        log.info("클래스 상세 이미지 마이그레이션 완료: class_product={}건, class_detail_image={}건", products, detailImages);
+    }
+
+    private int migrate(String table, String column) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "select id from " + table + " where " + column + " like 'data:%' order by id",
+                Long.class);
+
+        int migrated = 0;
+        for (Long id : ids) {
+            try {
+                String dataUrl = jdbcTemplate.queryForObject(
+                        "select " + column + " from " + table + " where id = ?", String.class, id);
+                if (!ImageStorage.isDataUrl(dataUrl)) {
+                    continue;
+                }
+
+                String url = imageStorage.storeDataUrl(dataUrl).url();
+                // 조건부 갱신: 마이그레이션 도중 관리자가 이미지를 바꿨다면 덮어쓰지 않습니다.
+                migrated += jdbcTemplate.update(
+                        "update " + table + " set " + column + " = ? where id = ? and " + column + " like 'data:%'",
+                        url, id);
+            } catch (Exception e) {
+                log.warn("이미지 마이그레이션 실패: table={}, id={}, error={}", table, id, e.getMessage());
+            }
+        }
+        return migrated;
+    }
+}
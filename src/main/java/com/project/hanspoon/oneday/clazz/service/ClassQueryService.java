@@ -1,6 +1,8 @@
 package com.project.hanspoon.oneday.clazz.service;
 
 import com.project.hanspoon.common.exception.BusinessException;
+import com.project.hanspoon.common.search.CatalogSearchIndex;
+import com.project.hanspoon.common.search.SearchDomain;
 import com.project.hanspoon.oneday.clazz.domain.*;
 import com.project.hanspoon.oneday.clazz.dto.*;
 import com.project.hanspoon.oneday.clazz.entity.ClassProduct;
@@ -21,6 +23,7 @@ public class ClassQueryService {
 
     private final ClassProductRepository classProductRepository;
     private final ClassSessionRepository classSessionRepository;
+    private final CatalogSearchIndex catalogSearchIndex;
 
     public Page<ClassListItemResponse> searchClasses(
             Level level,
@@ -30,7 +33,11 @@ public class ClassQueryService {
             String instructorName,
             String keyword,
             Pageable pageable) {
-        var spec = ClassProductSpec.search(level, runType, category, instructorId, instructorName, keyword);
+        // 제목 검색은 검색 인덱스의 id 후보로 거르고, 인덱스를 쓸 수 없으면(null) LIKE 로 처리한다.
+        List<Long> keywordIds = (keyword == null || keyword.isBlank())
+                ? null
+                : catalogSearchIndex.candidates(SearchDomain.CLASS, keyword.trim()).orElse(null);
+        var spec = ClassProductSpec.search(level, runType, category, instructorId, instructorName, keyword, keywordIds);
 
         return classProductRepository.findAll(spec, pageable)
                 .map(ClassListItemResponse::from);
@@ -1,59 +1,182 @@
 package com.project.hanspoon.oneday.completion.service;
 
+import com.project.hanspoon.oneday.coupon.entity.ClassCoupon;
 import com.project.hanspoon.oneday.coupon.repository.ClassCouponRepository;
 import com.project.hanspoon.oneday.coupon.repository.ClassUserCouponRepository;
-import com.project.hanspoon.oneday.coupon.entity.ClassUserCoupon;
 import com.project.hanspoon.oneday.reservation.domain.ReservationStatus;
 import com.project.hanspoon.oneday.reservation.repository.ClassReservationRepository;
-import lombok.RequiredArgsConstructor;
+import com.project.hanspoon.oneday.reservation.repository.ClassReservationRepository.CompletionRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
+/**
+ * 시작 시각이 지난 수업의 PAID 예약을 COMPLETED 로 바꾸고 수강 완료 쿠폰을 발급하는 배치입니다.
+ *
+ * 초보자 참고:
+ * - 예약 id 키셋(id > 마지막 id)으로 chunk-size 건씩 읽고, 청크마다 짧은 트랜잭션 하나로 처리합니다.
+ *   대상이 많아도 한 트랜잭션이 오래 잠그지 않고, 중간에 실패해도 이미 끝난 청크는 그대로 남습니다.
+ * - 청크 안에서는 상태 변경을 UPDATE 한 번, 쿠폰 중복 확인을 IN 조회 한 번, 쿠폰 발급을 JDBC 배치 insert 한 번으로 처리합니다.
+ * - 진행 상황과 처리량은 Actuator(Micrometer) 지표 oneday.completion.* 로 확인할 수 있습니다.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ClassCompletionService {
     private static final int COMPLETION_COUPON_VALID_MONTHS = 6;
 
+    private static final String INSERT_USER_COUPON = """
+            insert into class_user_coupon
+                (user_id, coupon_id, reservation_id, issued_at, expires_at, created_at, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?)
+            """;
+
     private final ClassReservationRepository reservationRepository;
     private final ClassCouponRepository couponRepository;
     private final ClassUserCouponRepository userCouponRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
 
-    @Transactional
-    public int completeAndIssueCoupons(LocalDateTime now) {
-        var targets = reservationRepository.findPaidToComplete(ReservationStatus.PAID, now);
-        if (targets.isEmpty()) return 0;
+    private final Counter completedCounter;
+    private final Counter couponCounter;
+    private final Timer chunkTimer;
+    // 진행 중인 실행의 누적 처리 건수와 마지막 처리 예약 id (실행이 끝나면 다음 실행 때 0부터 다시 셉니다)
+    private final AtomicLong runProcessed = new AtomicLong();
+    private final AtomicLong runLastId = new AtomicLong();
+
+    public ClassCompletionService(
+            ClassReservationRepository reservationRepository,
+            ClassCouponRepository couponRepository,
+            ClassUserCouponRepository userCouponRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${oneday.completion.chunk-size:500}") int chunkSize) {
+        this.reservationRepository = reservationRepository;
+        this.couponRepository = couponRepository;
+        this.userCouponRepository = userCouponRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+
+        this.completedCounter = Counter.builder("oneday.completion.reservations")
+                .description("수강 완료 처리된 예약 수")
+                .register(meterRegistry);
+        this.couponCounter = Counter.builder("oneday.completion.coupons")
+                .description("수강 완료로 발급된 쿠폰 수")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("oneday.completion.chunk")
+                .description("수강 완료 청크 1개 처리 시간")
+                .register(meterRegistry);
+        Gauge.builder("oneday.completion.run.processed", runProcessed, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("oneday.completion.run.last-id", runLastId, AtomicLong::get)
+                .register(meterRegistry);
+    }
 
+    public int completeAndIssueCoupons(LocalDateTime now) {
         // 활성 쿠폰 1개를 “수강 완료 보상 쿠폰”으로 사용 (나중에 정책 바꾸기 쉬움)
-        var coupon = couponRepository.findFirstByActiveTrueOrderByIdAsc().orElse(null);
+        Long couponId = couponRepository.findFirstByActiveTrueOrderByIdAsc()
+                .map(ClassCoupon::getId)
+                .orElse(null);
+
+        runProcessed.set(0);
+        runLastId.set(0);
+
+        long afterId = 0L;
+        int completed = 0;
+        int issued = 0;
+        long startedAt = System.nanoTime();
+
+        while (true) {
+            long cursor = afterId;
+            ChunkResult chunk = chunkTimer.record(() ->
+                    transactionTemplate.execute(status -> processChunk(cursor, now, couponId)));
+            if (chunk == null || chunk.scanned() == 0) {
+                break;
+            }
 
-        int count = 0;
+            afterId = chunk.lastId();
+            completed += chunk.completed();
+            issued += chunk.issued();
 
-        for (var r : targets) {
-            if (r.getStatus() != ReservationStatus.PAID) continue;
+            completedCounter.increment(chunk.completed());
+            couponCounter.increment(chunk.issued());
+            runProcessed.addAndGet(chunk.completed());
+            runLastId.set(afterId);
 
-            r.markCompleted(now);
-            count++;
+            if (chunk.scanned() < chunkSize) {
+                break;
+            }
+        }
 
-            if (coupon == null) continue;
+        if (completed > 0) {
+            log.info("Completed reservations processed. count={}, coupons={}, elapsedMs={}, now={}",
+                    completed, issued, (System.nanoTime() - startedAt) / 1_000_000, now);
+        }
+        return completed;
+    }
+
+    private ChunkResult processChunk(long afterId, LocalDateTime now, Long couponId) {
+        List<CompletionRow> rows = reservationRepository.findPaidToCompleteAfter(
+                ReservationStatus.PAID, now, afterId, PageRequest.of(0, chunkSize));
+        if (rows.isEmpty()) {
+            return new ChunkResult(0, afterId, 0, 0);
+        }
 
-            // reservationId로 중복 발급 방지(유니크 + exists로 2중 안전)
-            if (userCouponRepository.existsByReservationId(r.getId())) continue;
+        Map<Long, Long> userIdByReservationId = rows.stream()
+                .collect(Collectors.toMap(CompletionRow::getId, CompletionRow::getUserId));
+        List<Long> ids = new ArrayList<>(userIdByReservationId.keySet());
+        long lastId = rows.get(rows.size() - 1).getId();
 
-            var issued = ClassUserCoupon.issueForMonths(
-                    r.getUser().getUserId(),
-                    coupon,
-                    r.getId(),
-                    now,
-                    COMPLETION_COUPON_VALID_MONTHS
-            );
-            userCouponRepository.save(issued);
+        int updated = reservationRepository.completeAll(ids, ReservationStatus.PAID, ReservationStatus.COMPLETED, now);
+
+        // 조회와 UPDATE 사이에 상태가 바뀐 예약이 있으면 실제로 완료된 것만 골라 쿠폰을 발급합니다.
+        List<Long> completedIds = (updated == ids.size())
+                ? ids
+                : reservationRepository.findIdsByIdInAndStatus(ids, ReservationStatus.COMPLETED);
+
+        int issued = 0;
+        if (couponId != null && !completedIds.isEmpty()) {
+            // reservationId로 중복 발급 방지(유니크 + IN 조회로 2중 안전)
+            Set<Long> alreadyIssued = new HashSet<>(userCouponRepository.findReservationIdsIn(completedIds));
+            List<Object[]> batch = new ArrayList<>();
+            Timestamp issuedAt = Timestamp.valueOf(now);
+            Timestamp expiresAt = Timestamp.valueOf(now.plusMonths(COMPLETION_COUPON_VALID_MONTHS));
+            for (Long reservationId : completedIds) {
+                if (alreadyIssued.contains(reservationId)) continue;
+                batch.add(new Object[] {
+                        userIdByReservationId.get(reservationId), couponId, reservationId,
+                        issuedAt, expiresAt, issuedAt, issuedAt
+                });
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_USER_COUPON, batch);
+                issued = batch.size();
+            }
         }
 
-        log.info("Completed reservations processed. count={}, now={}", count, now);
-        return count;
+        return new ChunkResult(rows.size(), lastId, completedIds.size(), issued);
+    }
+
+    private record ChunkResult(int scanned, long lastId, int completed, int issued) {
     }
 }
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ClassUserCouponRepository extends JpaRepository<ClassUserCoupon, Long> {
@@ -14,6 +15,9 @@ public interface ClassUserCouponRepository extends JpaRepository<ClassUserCoupon
 
     boolean existsByReservationId(Long reservationId);
 
+    @Query("select uc.reservationId from ClassUserCoupon uc where uc.reservationId in :reservationIds")
+    List<Long> findReservationIdsIn(@Param("reservationIds") Collection<Long> reservationIds);
+
     List<ClassUserCoupon> findAllByUserIdOrderByIssuedAtDesc(Long userId);
 
     List<ClassUserCoupon> findAllByUserIdAndUsedAtIsNullAndExpiresAtAfterOrderByIssuedAtDesc(Long userId, LocalDateTime now);
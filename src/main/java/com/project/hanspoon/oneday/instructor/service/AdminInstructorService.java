@@ -1,6 +1,7 @@
 package com.project.hanspoon.oneday.instructor.service;
 
 import com.project.hanspoon.common.exception.BusinessException;
+import com.project.hanspoon.common.security.PrincipalCache;
 import com.project.hanspoon.common.user.entity.User;
 import com.project.hanspoon.common.user.repository.UserRepository;
 import com.project.hanspoon.oneday.clazz.repository.ClassProductRepository;
@@ -25,6 +26,7 @@ public class AdminInstructorService {
     private final InstructorRepository instructorRepository;
     private final UserRepository userRepository;
     private final ClassProductRepository classProductRepository;
+    private final PrincipalCache principalCache;
 
     @Transactional(readOnly = true)
     public List<InstructorAdminResponse> getInstructors() {
@@ -111,6 +113,7 @@ public class AdminInstructorService {
 
         if (user != null && "ROLE_INSTRUCTOR".equalsIgnoreCase(user.getRole())) {
             user.setRole("ROLE_USER");
+            principalCache.invalidateUser(user.getUserId());
         }
     }
 
@@ -118,6 +121,7 @@ public class AdminInstructorService {
         if (user == null) return;
         if (!"ROLE_INSTRUCTOR".equalsIgnoreCase(user.getRole())) {
             user.setRole("ROLE_INSTRUCTOR");
+            principalCache.invalidateUser(user.getUserId());
         }
     }
 
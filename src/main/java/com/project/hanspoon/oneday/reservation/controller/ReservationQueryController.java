@@ -6,6 +6,7 @@ import com.project.hanspoon.common.security.CustomUserDetails;
 import com.project.hanspoon.oneday.reservation.domain.ReservationStatus;
 import com.project.hanspoon.oneday.reservation.dto.ReservationDetailResponse;
 import com.project.hanspoon.oneday.reservation.dto.ReservationListItemResponse;
+import com.project.hanspoon.oneday.reservation.dto.ReservationScrollResponse;
 import com.project.hanspoon.oneday.reservation.service.ReservationQueryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -43,6 +44,24 @@ public class ReservationQueryController {
         return ApiResponse.ok(queryService.myReservationsWithFilters(userId, start, end, parseStatus(status), pageable));
     }
 
+    /**
+     * 커서(keyset) 방식 목록입니다. 응답의 nextCursor 를 다음 요청의 afterId 로 넘깁니다.
+     */
+    @GetMapping("/scroll")
+    public ApiResponse<ReservationScrollResponse> myReservationScroll(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        Long userId = resolveUserId(userDetails);
+        LocalDateTime start = (startDate != null) ? startDate.atStartOfDay() : null;
+        LocalDateTime end = (endDate != null) ? endDate.atTime(23, 59, 59) : null;
+        return ApiResponse.ok(queryService.myReservationsAfter(userId, start, end, parseStatus(status), afterId, size));
+    }
+
     @GetMapping("/{reservationId}")
     public ApiResponse<ReservationDetailResponse> myReservationDetail(
             @AuthenticationPrincipal CustomUserDetails userDetails,
@@ -0,0 +1,13 @@
+package com.project.hanspoon.oneday.reservation.dto;
+
+import java.util.List;
+
+/**
+ * keyset(커서) 방식 예약 목록 응답입니다.
+ * 다음 페이지를 요청할 때 nextCursor 값을 afterId 파라미터로 그대로 넘기면 됩니다. (마지막 페이지면 null)
+ */
+public record ReservationScrollResponse(
+        List<ReservationListItemResponse> items,
+        Long nextCursor,
+        boolean hasNext
+) {}
@@ -19,6 +19,7 @@ import java.time.LocalDateTime;
                 indexes = {
                         @Index(name = "idx_reservation_session", columnList = "session_id"),
                         @Index(name = "idx_reservation_user", columnList = "member_id"),
+                        @Index(name = "idx_reservation_user_created", columnList = "member_id, created_at"),
                         @Index(name = "idx_reservation_status", columnList = "status")
                 })
 public class ClassReservation extends BaseTimeEntity {
@@ -4,9 +4,11 @@ import com.project.hanspoon.oneday.reservation.domain.ReservationStatus;
 import com.project.hanspoon.oneday.reservation.entity.ClassReservation;
 import jakarta.persistence.LockModeType;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -35,6 +37,8 @@ public interface ClassReservationRepository extends JpaRepository<ClassReservati
         @Query("select r from ClassReservation r where r.id = :id and r.user.userId = :userId")
         Optional<ClassReservation> findByIdAndUserIdForUpdate(@Param("id") Long id, @Param("userId") Long userId);
 
+        // 만료 처리기(타이머)와 주기 점검이 같은 예약을 동시에 만료시키지 않도록 행을 잠가서 읽습니다.
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
         @Query("""
                             select r
                             from ClassReservation r
@@ -46,27 +50,166 @@ public interface ClassReservationRepository extends JpaRepository<ClassReservati
                         @Param("status") ReservationStatus status,
                         @Param("now") LocalDateTime now);
 
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("""
+                            select r
+                            from ClassReservation r
+                            where r.id in :ids
+                              and r.status = :status
+                              and r.holdExpiredAt < :now
+                        """)
+        List<ClassReservation> findExpiredHoldsByIdsForUpdate(
+                        @Param("ids") Collection<Long> ids,
+                        @Param("status") ReservationStatus status,
+                        @Param("now") LocalDateTime now);
+
+        // 좌석 배정기가 정원 초과를 감지했을 때 취소할, 세션의 가장 최근 HOLD 예약들입니다.
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("""
+                            select r
+                            from ClassReservation r
+                            where r.session.id = :sessionId
+                              and r.status = :status
+                            order by r.id desc
+                        """)
+        List<ClassReservation> findNewestHoldsForUpdate(
+                        @Param("sessionId") Long sessionId,
+                        @Param("status") ReservationStatus status,
+                        Pageable limit);
+
+        // 서버 시작 시 만료 타이머에 다시 등록할 HOLD 예약의 id/만료 시각만 읽습니다.
+        @Query("select r.id as id, r.holdExpiredAt as holdExpiredAt from ClassReservation r where r.status = :status")
+        List<HoldDeadline> findHoldDeadlines(@Param("status") ReservationStatus status);
+
+        interface HoldDeadline {
+                Long getId();
+
+                LocalDateTime getHoldExpiredAt();
+        }
+
         @Query("select r from ClassReservation r where r.user.userId = :userId order by r.createdAt desc")
         List<ClassReservation> findByUserId(@Param("userId") Long userId);
 
-        List<ClassReservation> findAllByUser_UserId(Long userId, Sort sort);
+        Optional<ClassReservation> findByIdAndUser_UserId(Long reservationId, Long userId);
 
-        List<ClassReservation> findAllByUser_UserIdAndStatus(Long userId, ReservationStatus status, Sort sort);
+        // 마이페이지 예약 목록: 세션/클래스를 함께 가져오고(join fetch) 날짜/상태 조건과 페이지 자르기를 DB에서 처리합니다.
+        // 조건 파라미터가 null 이면 해당 조건은 적용하지 않습니다.
+        // join fetch 쿼리는 count 로 바로 바꿀 수 없어 countQuery 를 따로 둡니다.
+        @Query(value = """
+                            select r
+                            from ClassReservation r
+                            join fetch r.session s
+                            join fetch s.classProduct p
+                            where r.user.userId = :userId
+                              and (:status is null or r.status = :status)
+                              and (:startDate is null or s.startAt >= :startDate)
+                              and (:endDate is null or s.startAt <= :endDate)
+                            order by r.createdAt desc, r.id desc
+                        """,
+                        countQuery = """
+                            select count(r)
+                            from ClassReservation r
+                            join r.session s
+                            where r.user.userId = :userId
+                              and (:status is null or r.status = :status)
+                              and (:startDate is null or s.startAt >= :startDate)
+                              and (:endDate is null or s.startAt <= :endDate)
+                        """)
+        Page<ClassReservation> findPageForUser(
+                        @Param("userId") Long userId,
+                        @Param("status") ReservationStatus status,
+                        @Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate,
+                        Pageable pageable);
 
-        Optional<ClassReservation> findByIdAndUser_UserId(Long reservationId, Long userId);
+        // keyset 방식의 첫 페이지: findPageForUser 와 같은 조건/정렬이지만 List 로 받아 count 쿼리를 실행하지 않습니다.
+        @Query("""
+                            select r
+                            from ClassReservation r
+                            join fetch r.session s
+                            join fetch s.classProduct p
+                            where r.user.userId = :userId
+                              and (:status is null or r.status = :status)
+                              and (:startDate is null or s.startAt >= :startDate)
+                              and (:endDate is null or s.startAt <= :endDate)
+                            order by r.createdAt desc, r.id desc
+                        """)
+        List<ClassReservation> findFirstForUser(
+                        @Param("userId") Long userId,
+                        @Param("status") ReservationStatus status,
+                        @Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate,
+                        Pageable limit);
 
+        // 깊은 페이지용 keyset(seek) 조회: offset 대신 마지막으로 본 예약의 (createdAt, id) 다음부터 읽습니다.
+        // count 쿼리가 없고, (member_id, created_at) 인덱스만 타므로 페이지가 뒤로 갈수록 느려지지 않습니다.
         @Query("""
                             select r
                             from ClassReservation r
                             join fetch r.session s
                             join fetch s.classProduct p
+                            where r.user.userId = :userId
+                              and (:status is null or r.status = :status)
+                              and (:startDate is null or s.startAt >= :startDate)
+                              and (:endDate is null or s.startAt <= :endDate)
+                              and (r.createdAt < :cursorCreatedAt
+                                   or (r.createdAt = :cursorCreatedAt and r.id < :cursorId))
+                            order by r.createdAt desc, r.id desc
+                        """)
+        List<ClassReservation> findNextForUser(
+                        @Param("userId") Long userId,
+                        @Param("status") ReservationStatus status,
+                        @Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate,
+                        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                        @Param("cursorId") Long cursorId,
+                        Pageable limit);
+
+        // 수강 완료 배치: 예약 id 키셋으로 한 청크씩 id/사용자 id 만 읽습니다.
+        @Query("""
+                            select r.id as id, r.user.userId as userId
+                            from ClassReservation r
+                            join r.session s
                             where r.status = :status
                               and s.startAt < :now
+                              and r.id > :afterId
+                            order by r.id asc
+                        """)
+        List<CompletionRow> findPaidToCompleteAfter(
+                        @Param("status") ReservationStatus status,
+                        @Param("now") LocalDateTime now,
+                        @Param("afterId") Long afterId,
+                        Pageable limit);
+
+        interface CompletionRow {
+                Long getId();
+
+                Long getUserId();
+        }
+
+        // 청크 단위 일괄 완료 처리. 그 사이 취소 요청 등으로 상태가 바뀐 예약은 status 조건에서 빠집니다.
+        // 벌크 UPDATE 는 @PreUpdate 를 거치지 않으므로 updated_at / updatedat 도 직접 맞춥니다.
+        @Modifying(flushAutomatically = true)
+        @Query("""
+                            update ClassReservation r
+                            set r.status = :completed,
+                                r.completedAt = :now,
+                                r.updatedAt = :now,
+                                r.legacyUpdatedAt = :now
+                            where r.id in :ids
+                              and r.status = :status
                         """)
-        List<ClassReservation> findPaidToComplete(
+        int completeAll(
+                        @Param("ids") Collection<Long> ids,
                         @Param("status") ReservationStatus status,
+                        @Param("completed") ReservationStatus completed,
                         @Param("now") LocalDateTime now);
 
+        @Query("select r.id from ClassReservation r where r.id in :ids and r.status = :status")
+        List<Long> findIdsByIdInAndStatus(
+                        @Param("ids") Collection<Long> ids,
+                        @Param("status") ReservationStatus status);
+
         @Query("select count(r) from ClassReservation r where r.status = :status")
         long countByStatus(@Param("status") ReservationStatus status);
 
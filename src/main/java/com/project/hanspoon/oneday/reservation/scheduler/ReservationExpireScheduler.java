@@ -6,16 +6,21 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 @Component
 @RequiredArgsConstructor
 public class ReservationExpireScheduler {
 
+    private static final ZoneId KST_ZONE = ZoneId.of("Asia/Seoul");
+
     private final ReservationExpireService expireService;
 
-    // 매 1분마다 만료 처리 (개발/운영 모두 무난)
-    @Scheduled(cron = "0 * * * * *", zone = "Asia/Seoul")
+    // 평소 만료는 HoldExpiryQueue 가 만료 시각에 처리합니다.
+    // 이 스캔은 서버 재시작/처리 오류로 놓친 HOLD 를 줍는 안전장치라 기본 5분 간격입니다.
+    @Scheduled(cron = "${oneday.hold-expiry.scan-cron:0 */5 * * * *}", zone = "Asia/Seoul")
     public void expireHolds() {
-        expireService.expireHolds(LocalDateTime.now());
+        // 홀드 만료 시각은 KST 기준으로 저장되므로 비교 기준도 KST 로 맞춥니다.
+        expireService.expireHolds(LocalDateTime.now(KST_ZONE));
     }
 }
@@ -29,6 +29,8 @@ public class ClassReservationService {
     private final ClassSessionRepository classSessionRepository;
     private final ClassReservationRepository reservationRepository;
     private final UserRepository userRepository;
+    private final SeatAllocator seatAllocator;
+    private final HoldExpiryQueue holdExpiryQueue;
 
     public ReservationResponse createHold(Long sessionId, Long userId) {
         validateUserId(userId);
@@ -36,8 +38,12 @@ public class ClassReservationService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new BusinessException("사용자를 찾을 수 없습니다. id=" + userId));
 
-        // 동시 예약 경쟁에서 정원 초과를 막기 위해 세션을 락으로 조회합니다.
-        ClassSession session = classSessionRepository.findByIdForUpdate(sessionId)
+        // 좌석 배정기를 쓰면 세션 행을 잠그지 않고 메모리 카운터에서 좌석을 받습니다.
+        // 꺼져 있으면 예전처럼 동시 예약 경쟁에서 정원 초과를 막기 위해 세션을 락으로 조회합니다.
+        boolean useAllocator = seatAllocator.isEnabled();
+        ClassSession session = (useAllocator
+                ? classSessionRepository.findById(sessionId)
+                : classSessionRepository.findByIdForUpdate(sessionId))
                 .orElseThrow(() -> new BusinessException("세션을 찾을 수 없습니다. id=" + sessionId));
 
         // 서버의 KST 시간 기준으로 이미 시작한 수업은 예약하지 못하게 막습니다.
@@ -46,6 +52,10 @@ public class ClassReservationService {
             throw new BusinessException("이미 시작된 수업은 예약할 수 없습니다.");
         }
 
+        if (useAllocator && !seatAllocator.claimUser(sessionId, userId)) {
+            throw new BusinessException("같은 수업의 예약을 처리하고 있습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
         List<ClassReservation> existingReservations = reservationRepository.findBySession_IdAndUser_UserId(sessionId,
                 userId);
         for (ClassReservation res : existingReservations) {
@@ -60,15 +70,22 @@ public class ClassReservationService {
             }
         }
 
-        if (session.remainingSeats() <= 0) {
-            throw new BusinessException("정원이 마감되었습니다.");
-        }
+        if (useAllocator) {
+            // reserved_count 는 커밋 후 SeatAllocator 가 모아서 반영합니다.
+            if (!seatAllocator.tryAcquire(session)) {
+                throw new BusinessException("정원이 마감되었습니다.");
+            }
+        } else {
+            if (session.remainingSeats() <= 0) {
+                throw new BusinessException("정원이 마감되었습니다.");
+            }
 
-        // 엔티티 메서드에서도 마지막으로 좌석 상태를 점검합니다.
-        try {
-            session.increaseReserved();
-        } catch (IllegalStateException ex) {
-            throw new BusinessException("정원이 마감되었습니다.");
+            // 엔티티 메서드에서도 마지막으로 좌석 상태를 점검합니다.
+            try {
+                session.increaseReserved();
+            } catch (IllegalStateException ex) {
+                throw new BusinessException("정원이 마감되었습니다.");
+            }
         }
 
         ClassReservation reservation = ClassReservation.builder()
@@ -79,6 +96,7 @@ public class ClassReservationService {
                 .build();
 
         ClassReservation saved = reservationRepository.save(reservation);
+        holdExpiryQueue.schedule(saved.getId(), saved.getHoldExpiredAt());
         return ReservationResponse.from(saved);
     }
 
@@ -0,0 +1,183 @@
+package com.project.hanspoon.oneday.reservation.service;
+
+import com.project.hanspoon.oneday.reservation.domain.ReservationStatus;
+import com.project.hanspoon.oneday.reservation.repository.ClassReservationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HOLD 예약을 만료 시각에 바로 만료시키는 지연 큐(DelayQueue)입니다.
+ *
+ * 초보자 참고:
+ * - 예전에는 1분마다 전체 HOLD를 스캔해서, 만료된 좌석이 최대 1분 늦게 돌아왔습니다.
+ *   여기서는 홀드가 생길 때 만료 시각을 큐에 넣고, 전용 스레드가 시각이 된 항목만 꺼내 처리합니다.
+ * - 같은 시각에 만료된 항목은 한 번에 꺼내(drainTo) 세션별 UPDATE 한 번으로 좌석을 복구합니다.
+ * - 큐는 메모리에만 있으므로 서버 시작 시 DB의 HOLD 만료 시각을 다시 읽어 채웁니다.
+ *   처리 중 오류로 빠진 건은 ReservationExpireScheduler 의 주기 점검이 처리합니다.
+ */
+@Slf4j
+@Component
+public class HoldExpiryQueue {
+
+    private static final ZoneId KST_ZONE = ZoneId.of("Asia/Seoul");
+    // IN 절이 너무 길어지지 않도록 한 번에 처리하는 최대 건수입니다.
+    private static final int MAX_BATCH = 500;
+
+    private final ReservationExpireService expireService;
+    private final ClassReservationRepository reservationRepository;
+    private final boolean enabled;
+    private final Clock clock;
+
+    private final DelayQueue<Deadline> queue = new DelayQueue<>();
+    private volatile Thread worker;
+
+    @Autowired
+    public HoldExpiryQueue(
+            ReservationExpireService expireService,
+            ClassReservationRepository reservationRepository,
+            @Value("${oneday.hold-expiry.queue-enabled:true}") boolean enabled) {
+        this(expireService, reservationRepository, enabled, Clock.system(KST_ZONE));
+    }
+
+    HoldExpiryQueue(
+            ReservationExpireService expireService,
+            ClassReservationRepository reservationRepository,
+            boolean enabled,
+            Clock clock) {
+        this.expireService = expireService;
+        this.reservationRepository = reservationRepository;
+        this.enabled = enabled;
+        this.clock = clock;
+    }
+
+    /**
+     * 예약의 만료 시각을 큐에 등록합니다. 트랜잭션 안이면 커밋된 뒤에 등록합니다.
+     */
+    public void schedule(Long reservationId, LocalDateTime holdExpiredAt) {
+        if (!enabled || reservationId == null || holdExpiredAt == null) {
+            return;
+        }
+        Deadline deadline = new Deadline(reservationId, toEpochMillis(holdExpiredAt), clock);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    queue.add(deadline);
+                }
+            });
+        } else {
+            queue.add(deadline);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        log.info("HOLD 만료 큐 시작: 대기 중인 홀드 {}건", reload());
+
+        Thread thread = new Thread(this::run, "hold-expiry");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    // DB의 HOLD 만료 시각을 큐에 다시 채웁니다. 읽은 홀드 수를 돌려줍니다.
+    int reload() {
+        var holds = reservationRepository.findHoldDeadlines(ReservationStatus.HOLD);
+        for (var hold : holds) {
+            if (hold.getHoldExpiredAt() != null) {
+                queue.add(new Deadline(hold.getId(), toEpochMillis(hold.getHoldExpiredAt()), clock));
+            }
+        }
+        return holds.size();
+    }
+
+    /**
+     * 지금 시각이 된 항목을 최대 MAX_BATCH 건 꺼내 만료 처리합니다. 기다리지 않으며, 꺼낸 건수를 돌려줍니다.
+     */
+    int drainDue() {
+        Deadline first = queue.poll();
+        return first == null ? 0 : expireBatch(first);
+    }
+
+    private void run() {
+        while (worker == Thread.currentThread()) {
+            Deadline first;
+            try {
+                first = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            expireBatch(first);
+        }
+    }
+
+    private int expireBatch(Deadline first) {
+        List<Deadline> due = new ArrayList<>();
+        due.add(first);
+        queue.drainTo(due, MAX_BATCH - 1);
+
+        List<Long> ids = due.stream().map(Deadline::reservationId).toList();
+        try {
+            int expired = expireService.expireByIds(ids, LocalDateTime.now(clock));
+            log.debug("HOLD 만료 처리: 대상 {}건, 만료 {}건", ids.size(), expired);
+        } catch (Exception e) {
+            // 여기서 놓친 건은 주기 점검(expireHolds)이 처리합니다.
+            log.error("HOLD 만료 처리 실패: ids={}, error={}", ids, e.getMessage(), e);
+        }
+        return ids.size();
+    }
+
+    // DB 조회 조건이 holdExpiredAt < now 이므로 만료 시각보다 1ms 뒤에 꺼내도록 합니다.
+    private static long toEpochMillis(LocalDateTime holdExpiredAt) {
+        return holdExpiredAt.atZone(KST_ZONE).toInstant().toEpochMilli() + 1;
+    }
+
+    private record Deadline(Long reservationId, long dueAtMillis, Clock clock) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - clock.millis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof Deadline d) {
+                return Long.compare(dueAtMillis, d.dueAtMillis);
+            }
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package com.project.hanspoon.oneday.reservation.service;
 
-import com.project.hanspoon.oneday.clazz.entity.ClassSession;
 import com.project.hanspoon.oneday.clazz.repository.ClassSessionRepository;
 import com.project.hanspoon.oneday.reservation.domain.ReservationStatus;
+import com.project.hanspoon.oneday.reservation.entity.ClassReservation;
 import com.project.hanspoon.oneday.reservation.repository.ClassReservationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,8 +10,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 @Slf4j
 @Service
@@ -20,37 +22,54 @@ public class ReservationExpireService {
 
     private final ClassReservationRepository reservationRepository;
     private final ClassSessionRepository sessionRepository;
+    private final SeatAllocator seatAllocator;
 
     /**
-     * 만료된 HOLD를 EXPIRED 처리하고 좌석을 복구한다.
+     * 만료된 HOLD를 모두 찾아 EXPIRED 처리하고 좌석을 복구한다.
+     * 평소에는 HoldExpiryQueue 가 만료 시각에 처리하므로, 이 메서드는 놓친 건을 줍는 주기 점검용이다.
      */
     @Transactional
     public int expireHolds(LocalDateTime now) {
         var targets = reservationRepository.findExpiredHolds(ReservationStatus.HOLD, now);
-        if (targets.isEmpty()) return 0;
+        int count = expire(targets, now);
+        if (count > 0) {
+            log.info("Expired holds processed by scan. count={}, now={}", count, now);
+        }
+        return count;
+    }
 
-        // 세션별로 몇 개 만료되는지 모아서 좌석 복구를 한 번에 처리할 수도 있음
-        // (지금은 이해를 위해 직관적인 방식으로)
-        int count = 0;
+    /**
+     * 만료 시각이 된 예약 id 목록을 받아 그중 아직 HOLD 인 것만 EXPIRED 처리한다.
+     * 그 사이 결제/만료된 예약은 조회 조건(status = HOLD)에서 빠진다.
+     */
+    @Transactional
+    public int expireByIds(Collection<Long> reservationIds, LocalDateTime now) {
+        if (reservationIds.isEmpty()) return 0;
+        var targets = reservationRepository.findExpiredHoldsByIdsForUpdate(reservationIds, ReservationStatus.HOLD, now);
+        return expire(targets, now);
+    }
+
+    private int expire(List<ClassReservation> targets, LocalDateTime now) {
+        if (targets.isEmpty()) return 0;
 
+        // 세션별 만료 건수를 모아 좌석 복구를 세션당 UPDATE 한 번으로 처리한다.
+        // TreeMap 으로 세션 id 순서를 고정해 여러 처리기가 동시에 돌아도 잠금 순서가 엇갈리지 않게 한다.
+        Map<Long, Integer> releasedBySession = new TreeMap<>();
         for (var r : targets) {
             // 이미 상태가 바뀐 경우 방어 (동시 실행 대비)
             if (r.getStatus() != ReservationStatus.HOLD) continue;
 
-            // 좌석 복구: 세션 락 잡고 감소
-            Long sessionId = r.getSession().getId();
-            ClassSession session = sessionRepository.findByIdForUpdate(sessionId)
-                    .orElseThrow(() -> new IllegalStateException("세션을 찾을 수 없습니다. id=" + sessionId));
-
-            session.decreaseReserved();
             r.markExpired(now);
-
-            log.debug("Expired reservation id={}, sessionId={}", r.getId(), sessionId);
-
-            count++;
+            releasedBySession.merge(r.getSession().getId(), 1, Integer::sum);
+            log.debug("Expired reservation id={}, sessionId={}", r.getId(), r.getSession().getId());
         }
 
-        log.info("Expired holds processed. count={}, now={}", count, now);
+        int count = 0;
+        for (Map.Entry<Long, Integer> e : releasedBySession.entrySet()) {
+            sessionRepository.decreaseReserved(e.getKey(), e.getValue());
+            seatAllocator.release(e.getKey(), e.getValue());
+            count += e.getValue();
+        }
         return count;
     }
 }
@@ -4,13 +4,13 @@ import com.project.hanspoon.common.exception.BusinessException;
 import com.project.hanspoon.oneday.reservation.domain.ReservationStatus;
 import com.project.hanspoon.oneday.reservation.dto.ReservationDetailResponse;
 import com.project.hanspoon.oneday.reservation.dto.ReservationListItemResponse;
+import com.project.hanspoon.oneday.reservation.dto.ReservationScrollResponse;
 import com.project.hanspoon.oneday.reservation.entity.ClassReservation;
 import com.project.hanspoon.oneday.reservation.repository.ClassReservationRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,8 +22,17 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class ReservationQueryService {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
     private final ClassReservationRepository reservationRepository;
 
+    /**
+     * 내 예약 목록(페이지 번호 방식)입니다.
+     *
+     * 초보자 참고:
+     * - 날짜/상태 조건과 페이지 자르기를 모두 DB 쿼리에서 처리하고, 세션/클래스는 join fetch로 한 번에 가져옵니다.
+     * - 정렬은 기존과 같이 예약 생성일 최신순이며, 같은 시각의 예약은 id로 순서를 고정해 페이지 간 중복/누락을 막습니다.
+     */
     public Page<ReservationListItemResponse> myReservationsWithFilters(
             Long userId,
             LocalDateTime startDate,
@@ -33,29 +42,50 @@ public class ReservationQueryService {
     ) {
         validateUserId(userId);
 
-        Sort sortByLatest = Sort.by(Sort.Direction.DESC, "createdAt");
-        List<ClassReservation> all = (status == null)
-                ? reservationRepository.findAllByUser_UserId(userId, sortByLatest)
-                : reservationRepository.findAllByUser_UserIdAndStatus(userId, status, sortByLatest);
-
-        // 기존 DB 쿼리를 크게 바꾸지 않기 위해 날짜 조건은 원데이 범위에서 메모리 필터로 적용합니다.
-        List<ClassReservation> filtered = all.stream()
-                .filter(r -> isInRange(r.getSession().getStartAt(), startDate, endDate))
-                .toList();
+        // 정렬은 쿼리에 고정되어 있으므로 페이지 번호/크기만 넘깁니다.
+        Pageable pageOnly = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return reservationRepository.findPageForUser(userId, status, startDate, endDate, pageOnly)
+                .map(this::toListItemResponse);
+    }
 
-        int total = filtered.size();
-        int fromIndex = Math.toIntExact(pageable.getOffset());
-        if (fromIndex >= total) {
-            return new PageImpl<>(List.of(), pageable, total);
+    /**
+     * 내 예약 목록(keyset/커서 방식)입니다. 예약 이력이 많은 사용자의 깊은 페이지 조회용입니다.
+     *
+     * 초보자 참고:
+     * - afterId 가 없으면 첫 페이지, 있으면 해당 예약 바로 다음(더 오래된) 예약부터 size 개를 읽습니다.
+     * - size + 1 개를 조회해 다음 페이지 존재 여부를 count 쿼리 없이 판단합니다.
+     */
+    public ReservationScrollResponse myReservationsAfter(
+            Long userId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            ReservationStatus status,
+            Long afterId,
+            int size
+    ) {
+        validateUserId(userId);
+        int limit = Math.min(Math.max(size, 1), MAX_SCROLL_SIZE);
+
+        List<ClassReservation> rows;
+        if (afterId == null) {
+            rows = reservationRepository.findFirstForUser(
+                    userId, status, startDate, endDate, PageRequest.of(0, limit + 1));
+        } else {
+            ClassReservation cursor = reservationRepository.findByIdAndUser_UserId(afterId, userId)
+                    .orElseThrow(() -> new BusinessException("잘못된 커서입니다."));
+            rows = reservationRepository.findNextForUser(
+                    userId, status, startDate, endDate,
+                    cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, limit + 1));
         }
-        int toIndex = Math.min(fromIndex + pageable.getPageSize(), total);
 
-        List<ReservationListItemResponse> content = filtered.subList(fromIndex, toIndex)
-                .stream()
-                .map(this::toListItemResponse)
-                .toList();
+        boolean hasNext = rows.size() > limit;
+        List<ClassReservation> pageRows = hasNext ? rows.subList(0, limit) : rows;
+        Long nextCursor = hasNext ? pageRows.get(pageRows.size() - 1).getId() : null;
 
-        return new PageImpl<>(content, pageable, total);
+        return new ReservationScrollResponse(
+                pageRows.stream().map(this::toListItemResponse).toList(),
+                nextCursor,
+                hasNext);
     }
 
     public ReservationDetailResponse myReservationDetail(Long userId, Long reservationId) {
@@ -101,19 +131,6 @@ public class ReservationQueryService {
         );
     }
 
-    private boolean isInRange(LocalDateTime target, LocalDateTime startDate, LocalDateTime endDate) {
-        if (target == null) {
-            return false;
-        }
-        if (startDate != null && target.isBefore(startDate)) {
-            return false;
-        }
-        if (endDate != null && target.isAfter(endDate)) {
-            return false;
-        }
-        return true;
-    }
-
     private void validateUserId(Long userId) {
         if (userId == null || userId <= 0) {
             throw new BusinessException("로그인 정보가 올바르지 않습니다.");
@@ -0,0 +1,258 @@
+package com.project.hanspoon.oneday.reservation.service;
+
+import com.project.hanspoon.oneday.clazz.entity.ClassSession;
+import com.project.hanspoon.oneday.clazz.repository.ClassSessionRepository;
+import com.project.hanspoon.oneday.reservation.domain.ReservationStatus;
+import com.project.hanspoon.oneday.reservation.entity.ClassReservation;
+import com.project.hanspoon.oneday.reservation.repository.ClassReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 클래스 세션별 남은 좌석을 메모리에서 나눠 주는 좌석 배정기입니다.
+ *
+ * 초보자 참고:
+ * - 인기 클래스 오픈 시각에 한 세션으로 홀드 요청이 몰리면, 세션 행을 FOR UPDATE 로 잠그는 방식은 요청이 줄을 서게 됩니다.
+ *   여기서는 세션마다 남은 좌석을 여러 칸(stripe)의 AtomicInteger 로 나눠 CAS 로 차감하므로 DB 락 없이 좌석을 배정합니다.
+ * - 처음 쓰는 세션은 DB 값(capacity - reservedCount)으로 카운터를 만듭니다.
+ * - 커밋된 홀드 수는 모아 두었다가 flush-interval-ms 마다 세션별 조건부 UPDATE 한 번
+ *   (reserved_count + k <= capacity)으로 class_session.reserved_count 에 반영합니다. (write-behind)
+ * - DB 조건부 UPDATE 가 기준입니다. 실패하면 DB 기준으로 좌석이 모자란 것이므로(다른 서버가 좌석을 쓴 경우 등)
+ *   남은 좌석만큼만 반영하고, 넘친 만큼은 그 세션의 가장 최근 HOLD 예약을 취소합니다. 그 뒤 카운터를 DB 값으로 다시 맞춥니다.
+ * - 메모리 카운터는 서버 한 대 기준이라 기본은 꺼져 있습니다. (oneday.seat-allocator.enabled=false 이면
+ *   예전처럼 세션 행 잠금 방식으로 동작합니다) 서버를 한 대만 띄울 때만 켜 주세요.
+ */
+@Slf4j
+@Component
+public class SeatAllocator {
+
+    private static final int STRIPES = 8;
+    private static final ZoneId KST_ZONE = ZoneId.of("Asia/Seoul");
+    // 시작 시각이 이만큼 지난 세션 카운터는 더 쓸 일이 없으므로 정리합니다.
+    private static final long EVICT_AFTER_START_HOURS = 1;
+
+    private final ClassSessionRepository classSessionRepository;
+    private final ClassReservationRepository classReservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    private final Map<Long, SeatCounter> counters = new ConcurrentHashMap<>();
+    private final Set<UserKey> pendingUsers = ConcurrentHashMap.newKeySet();
+
+    public SeatAllocator(
+            ClassSessionRepository classSessionRepository,
+            ClassReservationRepository classReservationRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${oneday.seat-allocator.enabled:false}") boolean enabled) {
+        this.classSessionRepository = classSessionRepository;
+        this.classReservationRepository = classReservationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 같은 사용자가 같은 세션에 홀드를 동시에 두 번 요청하는 경우를 막습니다. (예전에는 세션 행 잠금이 하던 역할)
+     * 현재 트랜잭션이 끝나면 자동으로 풀립니다. 이미 처리 중이면 false 입니다.
+     */
+    public boolean claimUser(Long sessionId, Long userId) {
+        UserKey key = new UserKey(sessionId, userId);
+        if (!pendingUsers.add(key)) {
+            return false;
+        }
+        afterCompletion(committed -> pendingUsers.remove(key));
+        return true;
+    }
+
+    /**
+     * 세션 좌석 1개를 메모리에서 가져옵니다. 남은 좌석이 없으면 false 입니다.
+     * 트랜잭션이 롤백되면 좌석을 돌려놓고, 커밋되면 다음 flush 때 DB에 반영할 수로 넘깁니다.
+     */
+    public boolean tryAcquire(ClassSession session) {
+        SeatCounter counter = counters.computeIfAbsent(session.getId(),
+                id -> new SeatCounter(session.remainingSeats(), session.getStartAt()));
+
+        if (!counter.tryTake()) {
+            return false;
+        }
+        counter.inFlight.incrementAndGet();
+        afterCompletion(committed -> {
+            counter.inFlight.decrementAndGet();
+            if (committed) {
+                counter.unflushed.incrementAndGet();
+            } else {
+                counter.put(1);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * 만료/취소로 DB의 reserved_count 가 줄어든 만큼 메모리 좌석을 돌려놓습니다.
+     * 트랜잭션 안이면 커밋된 뒤에만 돌려놓습니다.
+     */
+    public void release(Long sessionId, int count) {
+        if (!enabled || sessionId == null || count <= 0) {
+            return;
+        }
+        afterCompletion(committed -> {
+            SeatCounter counter = counters.get(sessionId);
+            if (committed && counter != null) {
+                counter.put(count);
+            }
+        });
+    }
+
+    /**
+     * 커밋된 홀드 수를 세션별 UPDATE 한 번으로 class_session.reserved_count 에 반영합니다.
+     */
+    @Scheduled(fixedDelayString = "${oneday.seat-allocator.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled || counters.isEmpty()) {
+            return;
+        }
+        LocalDateTime evictBefore = LocalDateTime.now(KST_ZONE).minusHours(EVICT_AFTER_START_HOURS);
+
+        for (Map.Entry<Long, SeatCounter> e : counters.entrySet()) {
+            Long sessionId = e.getKey();
+            SeatCounter counter = e.getValue();
+
+            int count = counter.unflushed.getAndSet(0);
+            if (count > 0) {
+                try {
+                    write(sessionId, counter, count);
+                } catch (Exception ex) {
+                    // 반영하지 못한 수는 되돌려 두고 다음 flush 때 다시 시도합니다.
+                    counter.unflushed.addAndGet(count);
+                    log.error("좌석 예약 수 반영 실패: sessionId={}, count={}, error={}",
+                            sessionId, count, ex.getMessage(), ex);
+                }
+            } else if (counter.inFlight.get() == 0
+                    && counter.startAt != null && counter.startAt.isBefore(evictBefore)) {
+                counters.remove(sessionId, counter);
+            }
+        }
+    }
+
+    private void write(Long sessionId, SeatCounter counter, int count) {
+        Integer remaining = transactionTemplate.execute(status -> {
+            if (classSessionRepository.increaseReservedIfFits(sessionId, count) == 1) {
+                return null;
+            }
+            rejectOverflow(sessionId, count);
+            return classSessionRepository.findRemainingSeatsById(sessionId).orElse(0);
+        });
+
+        if (remaining != null) {
+            // DB 기준으로 좌석이 모자랐습니다. 아직 커밋 전인 홀드 몫을 빼고 카운터를 다시 맞춥니다.
+            counter.reset(remaining - counter.inFlight.get() - counter.unflushed.get());
+        }
+    }
+
+    /**
+     * count 건을 다 반영할 자리가 없을 때: DB의 남은 좌석만큼만 반영하고, 넘친 만큼은 가장 최근 HOLD 예약부터 취소합니다.
+     * 그 사이 결제까지 끝나 취소할 수 없는 예약은 실제로 있는 좌석이므로 기록하고 관리자가 확인하도록 남깁니다.
+     */
+    private void rejectOverflow(Long sessionId, int count) {
+        int fits = Math.min(count, Math.max(0, classSessionRepository.findRemainingSeatsById(sessionId).orElse(0)));
+        int overflow = count - fits;
+
+        List<ClassReservation> holds = overflow == 0 ? List.of()
+                : classReservationRepository.findNewestHoldsForUpdate(
+                        sessionId, ReservationStatus.HOLD, PageRequest.of(0, overflow));
+        LocalDateTime now = LocalDateTime.now(KST_ZONE);
+        for (ClassReservation hold : holds) {
+            hold.markCanceled(now);
+        }
+        log.error("세션 정원 초과 감지: sessionId={}, 반영 요청={}, 남은 좌석={}, 취소한 홀드={}",
+                sessionId, count, fits, holds.stream().map(ClassReservation::getId).toList());
+
+        int kept = count - holds.size();
+        if (kept <= 0 || classSessionRepository.increaseReservedIfFits(sessionId, kept) == 1) {
+            return;
+        }
+        classSessionRepository.increaseReserved(sessionId, kept);
+        log.error("정원 초과 예약을 취소하지 못했습니다(결제 완료 등). 관리자 확인 필요: sessionId={}, 초과 수={}",
+                sessionId, kept - fits);
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private record UserKey(Long sessionId, Long userId) {
+    }
+
+    /**
+     * 한 세션의 남은 좌석을 STRIPES 칸에 나눠 담습니다.
+     * 요청마다 임의의 칸부터 차감하므로 같은 AtomicInteger 에 CAS 가 몰리지 않고, 빈 칸이면 다음 칸으로 넘어갑니다.
+     */
+    private static final class SeatCounter {
+        private final AtomicInteger[] stripes = new AtomicInteger[STRIPES];
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger unflushed = new AtomicInteger();
+        private final LocalDateTime startAt;
+
+        private SeatCounter(int remaining, LocalDateTime startAt) {
+            this.startAt = startAt;
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new AtomicInteger();
+            }
+            reset(remaining);
+        }
+
+        private boolean tryTake() {
+            int start = ThreadLocalRandom.current().nextInt(STRIPES);
+            for (int n = 0; n < STRIPES; n++) {
+                AtomicInteger stripe = stripes[(start + n) & (STRIPES - 1)];
+                int current;
+                while ((current = stripe.get()) > 0) {
+                    if (stripe.compareAndSet(current, current - 1)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void put(int count) {
+            stripes[ThreadLocalRandom.current().nextInt(STRIPES)].addAndGet(count);
+        }
+
+        private void reset(int remaining) {
+            int total = Math.max(0, remaining);
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i].set(total / STRIPES + (i < total % STRIPES ? 1 : 0));
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.project.hanspoon.recipe.component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 재료 이름들을 글자 단위로 저장한 트라이(trie)입니다.
+ *
+ * 초보자 참고:
+ * - 본문의 '@' 다음 위치에서 트라이를 따라 내려가며 "가장 긴" 재료 이름을 찾습니다.
+ *   그래서 "설탕"과 "설탕물"이 함께 있어도 "@설탕물"은 항상 설탕물로 치환됩니다.
+ * - 한 번 만들면 바뀌지 않으므로 여러 스레드가 함께 읽어도 안전합니다.
+ */
+final class IngredientNameTrie {
+
+    private final Node root = new Node();
+
+    IngredientNameTrie(Collection<String> names) {
+        for (String name : names) {
+            if (name == null || name.isEmpty()) {
+                continue;
+            }
+            Node node = root;
+            for (int i = 0; i < name.length(); i++) {
+                node = node.children.computeIfAbsent(name.charAt(i), c -> new Node());
+            }
+            node.name = name;
+        }
+    }
+
+    /**
+     * text[from..] 에서 시작하는 가장 긴 재료 이름을 돌려줍니다. 없으면 null.
+     */
+    String longestMatch(CharSequence text, int from) {
+        Node node = root;
+        String matched = null;
+        for (int i = from; i < text.length(); i++) {
+            node = node.children.get(text.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.name != null) {
+                matched = node.name;
+            }
+        }
+        return matched;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private String name;
+    }
+}
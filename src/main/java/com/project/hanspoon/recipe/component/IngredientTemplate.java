@@ -0,0 +1,118 @@
+package com.project.hanspoon.recipe.component;
+
+import com.project.hanspoon.recipe.dto.IngredientDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 조리 순서 본문을 "일반 글자 / @재료 자리" 조각으로 미리 나눠 둔 템플릿입니다.
+ *
+ * 초보자 참고:
+ * - 본문 분석(compile)은 한 번만 하고, 인분 수가 바뀔 때는 render 만 다시 호출합니다.
+ * - render 는 조각을 앞에서부터 한 번 훑으며 StringBuilder 에 이어 붙이므로
+ *   재료 수와 관계없이 본문 길이에 비례하는 시간만 듭니다.
+ */
+public final class IngredientTemplate {
+
+    private final String source;
+    // 일반 글자 구간 [literalStarts[i], literalEnds[i]) 다음에 placeholders[i] 재료 자리가 옵니다.
+    // 일반 글자 구간은 재료 자리보다 항상 1개 많습니다. (마지막 구간은 본문 끝까지)
+    // 원본 문자열의 위치만 기억하므로 compile 때 부분 문자열을 새로 만들지 않습니다.
+    private final int[] literalStarts;
+    private final int[] literalEnds;
+    private final String[] placeholders;
+
+    private IngredientTemplate(String source, int[] literalStarts, int[] literalEnds, String[] placeholders) {
+        this.source = source;
+        this.literalStarts = literalStarts;
+        this.literalEnds = literalEnds;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * 본문에서 '@재료명' 자리를 찾아 템플릿으로 만듭니다.
+     * 등록되지 않은 이름의 '@'는 일반 글자로 남깁니다.
+     */
+    static IngredientTemplate compile(String content, IngredientNameTrie trie) {
+        List<int[]> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+
+        int literalStart = 0;
+        int at = content.indexOf('@');
+        while (at >= 0) {
+            String name = trie.longestMatch(content, at + 1);
+            if (name != null) {
+                literals.add(new int[]{literalStart, at});
+                names.add(name);
+                literalStart = at + 1 + name.length();
+                at = content.indexOf('@', literalStart);
+            } else {
+                at = content.indexOf('@', at + 1);
+            }
+        }
+        literals.add(new int[]{literalStart, content.length()});
+
+        int[] starts = new int[literals.size()];
+        int[] ends = new int[literals.size()];
+        for (int i = 0; i < literals.size(); i++) {
+            starts[i] = literals.get(i)[0];
+            ends[i] = literals.get(i)[1];
+        }
+        return new IngredientTemplate(content, starts, ends, names.toArray(new String[0]));
+    }
+
+    public boolean hasPlaceholders() {
+        return placeholders.length > 0;
+    }
+
+    /**
+     * 재료 자리를 "재료명 + 용량(배수 적용) + 단위"로 채운 문자열을 만듭니다.
+     * 맵에 없는 재료는 원래의 "@재료명"을 그대로 둡니다.
+     */
+    public String render(Map<String, IngredientDto> ingMap, double multiplier) {
+        if (placeholders.length == 0) {
+            return source;
+        }
+        StringBuilder out = new StringBuilder(source.length() + placeholders.length * 8);
+        for (int i = 0; i < placeholders.length; i++) {
+            out.append(source, literalStarts[i], literalEnds[i]);
+
+            String name = placeholders[i];
+            IngredientDto ing = ingMap.get(name);
+            if (ing == null) {
+                out.append('@').append(name);
+                continue;
+            }
+            out.append(name);
+            appendAmount(out, ing.getBaseAmount() * multiplier);
+            if (ing.getUnit() != null) {
+                out.append(ing.getUnit());
+            }
+        }
+        int last = placeholders.length;
+        out.append(source, literalStarts[last], literalEnds[last]);
+        return out.toString();
+    }
+
+    /**
+     * 정수면 소수점 없이, 아니면 소수 첫째 자리까지(반올림) 씁니다.
+     * String.format 대신 숫자를 직접 이어 붙여 임시 객체를 만들지 않습니다.
+     */
+    static void appendAmount(StringBuilder out, double amount) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+            out.append(amount);
+            return;
+        }
+        if (amount == (long) amount) {
+            out.append((long) amount);
+            return;
+        }
+        long tenths = Math.round(Math.abs(amount) * 10);
+        if (amount < 0 && tenths != 0) {
+            out.append('-');
+        }
+        out.append(tenths / 10).append('.').append(tenths % 10);
+    }
+}
@@ -3,30 +3,57 @@ package com.project.hanspoon.recipe.component;
 import com.project.hanspoon.recipe.dto.IngredientDto;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
-
+import java.util.Set;
+
+/**
+ * 조리 순서 본문의 '@재료명'을 인분 수에 맞는 용량으로 바꿔 주는 파서입니다.
+ *
+ * 초보자 참고:
+ * - 예전에는 재료마다 본문 전체에 String.replace 를 반복해 (재료 수 × 본문 길이) 만큼 훑었고,
+ *   "설탕"/"설탕물"처럼 한 이름이 다른 이름의 앞부분이면 잘못 치환될 수 있었습니다.
+ * - 지금은 재료 이름 트라이로 본문을 한 번 분석해 템플릿(IngredientTemplate)을 만들고,
+ *   같은 본문 + 같은 재료 목록이면 캐시된 템플릿을 재사용합니다.
+ *   레시피를 수정하면 본문/재료가 달라져 새 키가 되므로 "레시피 버전별" 캐시처럼 동작합니다.
+ */
 @Component
 public class RecipeParser {
 
-    public String parse(String content, Map<String, IngredientDto> ingMap, double multiplier) {
-        if (content == null) return "";
-        String result = content;
+    private static final int MAX_CACHED_TEMPLATES = 2048;
 
-        for (String name : ingMap.keySet()) {
-            IngredientDto ing = ingMap.get(name);
-            String formatted = formatAmount(ing.getBaseAmount() * multiplier);
+    private final Map<TemplateKey, IngredientTemplate> templates = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TemplateKey, IngredientTemplate> eldest) {
+                    return size() > MAX_CACHED_TEMPLATES;
+                }
+            });
 
-            String target = "@" + name;
-            String replacement = name + "" + formatted + ing.getUnit();
+    public String parse(String content, Map<String, IngredientDto> ingMap, double multiplier) {
+        if (content == null) return "";
+        if (ingMap == null || ingMap.isEmpty() || content.indexOf('@') < 0) return content;
 
-            result = result.replace(target, replacement);
+        IngredientTemplate template = cached(content, ingMap.keySet());
+        if (template == null) {
+            template = compileAndCache(content, ingMap.keySet(), new IngredientNameTrie(ingMap.keySet()));
         }
-        return result;
+        return template.render(ingMap, multiplier);
     }
-    private String formatAmount (double amount) {
-        return (amount == (long) amount)
-                ? String.format("%d", (long) amount)
-                : String.format("%.1f", amount);
+
+    // 조회는 호출자의 keySet 을 그대로 쓰고, 캐시에 넣을 때만 복사해 원본 맵 변경의 영향을 받지 않게 합니다.
+    private IngredientTemplate cached(String content, Set<String> names) {
+        return templates.get(new TemplateKey(content, names));
+    }
+
+    private IngredientTemplate compileAndCache(String content, Set<String> names, IngredientNameTrie trie) {
+        IngredientTemplate compiled = IngredientTemplate.compile(content, trie);
+        templates.put(new TemplateKey(content, Collections.unmodifiableSet(new HashSet<>(names))), compiled);
+        return compiled;
     }
 
+    private record TemplateKey(String content, Set<String> names) {
+    }
 }
@@ -3,10 +3,13 @@ package com.project.hanspoon.recipe.config;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+
 @Configuration
 @Log4j2
 public class WebMvcConfig implements WebMvcConfigurer {
@@ -20,8 +23,10 @@ public class WebMvcConfig implements WebMvcConfigurer {
         // trailing slash를 강제로 붙이지 않아 ResourceHandler 경고를 방지한다.
         log.info("매핑된 로컬 경로: {}", uploadPath);
 
+        // 평범한 파일명은 UploadedImageController 가 캐시 헤더/Range 와 함께 먼저 처리한다.
         registry.addResourceHandler("/images/recipe/**")
-                .addResourceLocations(uploadPath);
+                .addResourceLocations(uploadPath)
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
     }
 
     @Override
@@ -1,5 +1,6 @@
 package com.project.hanspoon.recipe.controller;
 
+import com.project.hanspoon.common.dto.CursorPage;
 import com.project.hanspoon.common.response.ApiResponse;
 import com.project.hanspoon.common.security.CustomUserDetails;
 import com.project.hanspoon.recipe.constant.Category;
@@ -98,6 +99,26 @@ public class RecipeController {
         return ResponseEntity.ok(ApiResponse.ok(recipeList));
     }
 
+    /**
+     * 레시피 목록 커서(keyset) 조회 API. 무한 스크롤용이며 기존 /list 와 함께 제공된다.
+     * - 응답의 nextCursor 를 다음 요청의 after 로 넘긴다.
+     * - 전체 건수가 필요할 때만 withTotal=true 로 요청한다.
+     */
+    @GetMapping("/list/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<RecipeListDto>>> getRecipeListCursor(
+            @RequestParam(value = "category", required = false) Category category,
+            @RequestParam(value = "keyword", required = false) String keyword,
+            @RequestParam(value = "userId", required = false) Long userId,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "6") int size,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+
+        CursorPage<RecipeListDto> recipeList =
+                recipeService.getRecipeListCursor(keyword, category, userId, after, size, withTotal);
+
+        return ResponseEntity.ok(ApiResponse.ok(recipeList));
+    }
+
     /**
      * 레시피 수정 화면에 필요한 상세 데이터 조회 API.
      */
@@ -1,18 +1,17 @@
 package com.project.hanspoon.recipe.dto;
 
 import com.project.hanspoon.recipe.entity.Recipe;
-import com.project.hanspoon.recipe.entity.RecipeIngredient;
-import com.project.hanspoon.recipe.entity.RecipeInstruction;
 import com.project.hanspoon.recipe.entity.RecipeWish;
 import lombok.*;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 @Setter
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class RecipeDetailDto {
@@ -45,6 +44,29 @@ public class RecipeDetailDto {
     public static RecipeDetailDto fromEntity(
             Recipe recipe, boolean wished,
             RecipeWish recipeWish, boolean isRecommended) {
+        return bodyOf(recipe).toBuilder()
+                .isWished(wished)
+                .wihsid(recipeWish != null ? recipeWish.getId() : null)
+                .recommended(isRecommended)
+                .recommendCount(recipe.getRecommendCount())
+                .reviews(recipe.getRecipeRevs() !=null ?
+                        recipe.getRecipeRevs().stream()
+                                .filter(rev -> !rev.isDelFlag())
+                                .map(RevDto::fromEntity)
+                                .toList() : List.of())
+                .ingDtos(recipe.getRecipeIngs() !=null?
+                        recipe.getRecipeIngs().stream()
+                                .map(IngDto::fromEntity)
+                                .toList() : List.of())
+                .build();
+    }
+
+    /**
+     * 레시피 수정/삭제 전까지 바뀌지 않는 본문(기본 정보, 재료/조리 순서 그룹, 서브 레시피)만 담은 DTO를 만든다.
+     * 상세 캐시(RecipeDetailLoader)에 보관되므로 리스트/맵은 수정할 수 없는 형태로 만든다.
+     * 리뷰/문의/추천수/찜 여부처럼 다른 요청으로 자주 바뀌는 값은 비워 두고 조회 시점에 채운다.
+     */
+    public static RecipeDetailDto bodyOf(Recipe recipe) {
         Map<String, IngredientDto> ingMap = recipe.getRecipeIngredientGroup().stream()
                 .flatMap(group -> group.getIngredients().stream())
                 .map(IngredientDto::fromEntity)
@@ -58,10 +80,6 @@ public class RecipeDetailDto {
                 .id(recipe.getId())
                 .userId(recipe.getUser() != null ? recipe.getUser().getUserId(): null)
                 .title(recipe.getTitle())
-                .isWished(wished)
-                .wihsid(recipeWish != null ? recipeWish.getId() : null)
-                .recommended(isRecommended)
-                .recommendCount(recipe.getRecommendCount())
                 .recipeImg(recipe.getRecipeImg())
                 .category(recipe.getCategory() !=null ?
                         recipe.getCategory().name() : null)
@@ -77,16 +95,7 @@ public class RecipeDetailDto {
                         .map(IngredientGroupDto::fromEntity).toList())
                 .instructionGroup(recipe.getRecipeInstructionGroup().stream()
                         .map(InstructionGroupDto::fromEntity).toList())
-                .ingredientMap(ingMap)
-                .reviews(recipe.getRecipeRevs() !=null ?
-                        recipe.getRecipeRevs().stream()
-                                .filter(rev -> !rev.isDelFlag())
-                                .map(RevDto::fromEntity)
-                                .toList() : List.of())
-                .ingDtos(recipe.getRecipeIngs() !=null?
-                        recipe.getRecipeIngs().stream()
-                                .map(IngDto::fromEntity)
-                                .toList() : List.of())
+                .ingredientMap(Collections.unmodifiableMap(ingMap))
                 .build();
     }
 }
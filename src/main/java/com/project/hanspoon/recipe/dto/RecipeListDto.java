@@ -11,6 +11,7 @@ public class RecipeListDto {
     private Long id;
     private String title;
     private String recipeImg;
+    private String thumbnailUrl; // 목록 카드용 480px 축소본 주소
     private String category;
     private double averageRating;
     private int reviewCount;
@@ -1,6 +1,9 @@
 package com.project.hanspoon.recipe.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.hanspoon.common.search.SearchDomain;
+import com.project.hanspoon.common.search.SearchIndexEntityListener;
+import com.project.hanspoon.common.search.Searchable;
 import com.project.hanspoon.common.user.entity.User;
 import com.project.hanspoon.recipe.constant.Category;
 import com.project.hanspoon.recipe.dto.RecipeFormDto;
@@ -12,6 +15,7 @@ import java.util.List;
 
 @Entity
 @Table(name="recipe")
+@EntityListeners(SearchIndexEntityListener.class)
 @SuppressWarnings("JpaDataSourceORMInspection")
 @Getter
 @Setter
@@ -19,7 +23,7 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class Recipe { //레시피 메인
+public class Recipe implements Searchable { //레시피 메인
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -130,4 +134,20 @@ public class Recipe { //레시피 메인
                 .build();
 
     }
+
+    // 검색 인덱스(CatalogSearchIndex)에 올릴 값입니다.
+    @Override
+    public SearchDomain searchDomain() {
+        return SearchDomain.RECIPE;
+    }
+
+    @Override
+    public Long searchId() {
+        return id;
+    }
+
+    @Override
+    public String searchText() {
+        return title;
+    }
 }
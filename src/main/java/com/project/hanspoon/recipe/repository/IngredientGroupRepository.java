@@ -1,13 +1,15 @@
 package com.project.hanspoon.recipe.repository;
 
-import com.project.hanspoon.recipe.entity.Recipe;
 import com.project.hanspoon.recipe.entity.RecipeIngredientGroup;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface IngredientGroupRepository extends JpaRepository<RecipeIngredientGroup, Long> {
 
-
-    void deleteByRecipe(Recipe recipe);
+    // 레시피 상세용: 레시피의 모든 재료 그룹과 그 재료들을 한 번에 읽는다. (그룹마다 재료를 따로 조회하지 않도록)
+    @Query("select distinct g from RecipeIngredientGroup g left join fetch g.ingredients where g.recipe.id = :recipeId")
+    List<RecipeIngredientGroup> findAllWithIngredientsByRecipeId(@Param("recipeId") Long recipeId);
 }
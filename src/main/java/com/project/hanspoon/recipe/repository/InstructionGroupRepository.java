@@ -1,13 +1,15 @@
 package com.project.hanspoon.recipe.repository;
 
-import com.project.hanspoon.recipe.entity.Recipe;
 import com.project.hanspoon.recipe.entity.RecipeInstructionGroup;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface InstructionGroupRepository extends JpaRepository<RecipeInstructionGroup, Long> {
 
-
-    void deleteByRecipe(Recipe recipe);
+    // 레시피 상세용: 레시피의 모든 조리 그룹과 그 조리 단계들을 한 번에 읽는다.
+    @Query("select distinct g from RecipeInstructionGroup g left join fetch g.instructions where g.recipe.id = :recipeId")
+    List<RecipeInstructionGroup> findAllWithInstructionsByRecipeId(@Param("recipeId") Long recipeId);
 }
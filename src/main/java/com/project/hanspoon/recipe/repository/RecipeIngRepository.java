@@ -1,7 +1,10 @@
 package com.project.hanspoon.recipe.repository;
 
+import com.project.hanspoon.recipe.dto.IngDto;
 import com.project.hanspoon.recipe.entity.RecipeIng;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,4 +19,13 @@ public interface RecipeIngRepository extends JpaRepository<RecipeIng, Long> {
     Optional<RecipeIng> findByIdAndUser_UserId(Long inquiryId, Long userId);
 
     long countByIsAnsweredFalse();
+
+    // 레시피 상세용: 문의 목록을 작성자 이름과 함께 DTO로 바로 읽는다.
+    @Query("""
+            select new com.project.hanspoon.recipe.dto.IngDto(i.id, u.userName, i.content, i.answer, i.isAnswered)
+            from RecipeIng i join i.user u
+            where i.recipe.id = :recipeId
+            order by i.id
+            """)
+    List<IngDto> findDetailRowsByRecipeId(@Param("recipeId") Long recipeId);
 }
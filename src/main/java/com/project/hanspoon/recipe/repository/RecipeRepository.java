@@ -5,16 +5,15 @@ import com.project.hanspoon.recipe.entity.Recipe;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface RecipeRepository extends JpaRepository<Recipe, Long> {
 
-    Page<Recipe> findByTitleContainingAndDeletedFalse(String keyword, Pageable pageable);
-
-    Page<Recipe> findByCategoryAndTitleContainingAndDeletedFalse
-            (Category category, String keyword, Pageable pageable);
-
     Page<Recipe> findByDeletedFalse(Pageable pageable);
 
     Page<Recipe> findByDeletedTrueAndCategory(Category category, Pageable pageable);
@@ -22,4 +21,117 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long> {
     Page<Recipe> findByDeletedTrue(Pageable pageable);
 
     Page<Recipe> findByUser_UserIdAndDeletedFalse(Long userId, Pageable pageable);
+
+    // 레시피 상세 로딩용 fetch join 쿼리들입니다. (RecipeDetailLoader 참고)
+    // List 컬렉션(bag)은 한 쿼리에서 둘 이상 fetch join 할 수 없어 컬렉션별로 나눠 읽고,
+    // 같은 영속성 컨텍스트 안에서 Recipe 엔티티의 각 컬렉션이 채워지게 합니다.
+    @Query("select distinct r from Recipe r left join fetch r.user left join fetch r.recipeIngredientGroup where r.id = :id")
+    Optional<Recipe> findWithIngredientGroupsById(@Param("id") Long id);
+
+    @Query("select distinct r from Recipe r left join fetch r.recipeInstructionGroup where r.id = :id")
+    Optional<Recipe> findWithInstructionGroupsById(@Param("id") Long id);
+
+    @Query("""
+            select distinct r from Recipe r
+            left join fetch r.subRecipeRelations rel
+            left join fetch rel.subRecipe sub
+            left join fetch sub.user
+            where r.id = :id
+            """)
+    Optional<Recipe> findWithSubRecipesById(@Param("id") Long id);
+
+    @Query("select r.recommendCount from Recipe r where r.id = :id")
+    Optional<Integer> findRecommendCountById(@Param("id") Long id);
+
+    /**
+     * 레시피 목록 화면에 필요한 컬럼만 담는 projection 입니다.
+     * 작성자는 left join 으로, 리뷰 수는 삭제되지 않은 리뷰의 count 서브쿼리로 같은 SQL 에서 가져옵니다.
+     * (엔티티를 읽고 getUser()/getRecipeRevs().size() 를 호출하면 행마다 추가 쿼리가 나가던 N+1 을 없앱니다.)
+     */
+    interface RecipeListRow {
+        Long getId();
+
+        String getTitle();
+
+        String getRecipeImg();
+
+        Category getCategory();
+
+        Integer getRecommendCount();
+
+        Long getReviewCount();
+
+        Long getUserId();
+
+        String getUsername();
+    }
+
+    // 목록(페이지 번호 방식): 조건 파라미터가 null(keyword 는 빈 문자열)이면 해당 조건은 적용하지 않습니다.
+    // 제목 검색은 검색 인덱스가 찾은 id 후보(useIds=true, ids)로 거르고, 인덱스를 쓸 수 없을 때만 keyword LIKE 를 씁니다.
+    // 정렬은 Pageable 의 sort 가 r 기준으로 붙습니다. (기본 id 내림차순)
+    @Query(value = """
+            select r.id as id, r.title as title, r.recipeImg as recipeImg, r.category as category,
+                   r.recommendCount as recommendCount,
+                   (select count(rv) from RecipeRev rv where rv.recipe = r and rv.delFlag = false) as reviewCount,
+                   u.userId as userId, u.userName as username
+            from Recipe r
+            left join r.user u
+            where r.deleted = false
+              and (:userId is null or u.userId = :userId)
+              and (:category is null or r.category = :category)
+              and (:keyword = '' or r.title like concat('%', :keyword, '%'))
+              and (:useIds = false or r.id in :ids)
+            """,
+            countQuery = """
+            select count(r) from Recipe r
+            where r.deleted = false
+              and (:userId is null or r.user.userId = :userId)
+              and (:category is null or r.category = :category)
+              and (:keyword = '' or r.title like concat('%', :keyword, '%'))
+              and (:useIds = false or r.id in :ids)
+            """)
+    Page<RecipeListRow> findListRows(@Param("userId") Long userId,
+                                     @Param("category") Category category,
+                                     @Param("keyword") String keyword,
+                                     @Param("useIds") boolean useIds,
+                                     @Param("ids") Collection<Long> ids,
+                                     Pageable pageable);
+
+    // 커서(keyset) 목록: afterId 보다 작은 id 부터 최신순으로 읽습니다. (limit 은 Pageable 크기로 지정)
+    @Query("""
+            select r.id as id, r.title as title, r.recipeImg as recipeImg, r.category as category,
+                   r.recommendCount as recommendCount,
+                   (select count(rv) from RecipeRev rv where rv.recipe = r and rv.delFlag = false) as reviewCount,
+                   u.userId as userId, u.userName as username
+            from Recipe r
+            left join r.user u
+            where r.deleted = false
+              and (:userId is null or u.userId = :userId)
+              and (:category is null or r.category = :category)
+              and (:keyword = '' or r.title like concat('%', :keyword, '%'))
+              and (:useIds = false or r.id in :ids)
+              and (:afterId is null or r.id < :afterId)
+            order by r.id desc
+            """)
+    List<RecipeListRow> findListRowsAfter(@Param("userId") Long userId,
+                                          @Param("category") Category category,
+                                          @Param("keyword") String keyword,
+                                          @Param("useIds") boolean useIds,
+                                          @Param("ids") Collection<Long> ids,
+                                          @Param("afterId") Long afterId,
+                                          Pageable limit);
+
+    @Query("""
+            select count(r) from Recipe r
+            where r.deleted = false
+              and (:userId is null or r.user.userId = :userId)
+              and (:category is null or r.category = :category)
+              and (:keyword = '' or r.title like concat('%', :keyword, '%'))
+              and (:useIds = false or r.id in :ids)
+            """)
+    long countList(@Param("userId") Long userId,
+                   @Param("category") Category category,
+                   @Param("keyword") String keyword,
+                   @Param("useIds") boolean useIds,
+                   @Param("ids") Collection<Long> ids);
 }
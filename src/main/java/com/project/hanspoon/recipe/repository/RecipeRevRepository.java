@@ -1,7 +1,10 @@
 package com.project.hanspoon.recipe.repository;
 
+import com.project.hanspoon.recipe.dto.RevDto;
 import com.project.hanspoon.recipe.entity.RecipeRev;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,4 +19,13 @@ public interface RecipeRevRepository extends JpaRepository<RecipeRev, Long> {
     List<RecipeRev> findAllByDelFlagFalseOrderByIdDesc();
 
     Optional<RecipeRev> findByIdAndDelFlagFalse(Long revId);
+
+    // 레시피 상세용: 삭제되지 않은 리뷰를 작성자 이름과 함께 DTO로 바로 읽는다. (리뷰/작성자 엔티티를 행마다 로딩하지 않음)
+    @Query("""
+            select new com.project.hanspoon.recipe.dto.RevDto(rv.id, rv.content, rv.rating, u.userName)
+            from RecipeRev rv join rv.user u
+            where rv.recipe.id = :recipeId and rv.delFlag = false
+            order by rv.id
+            """)
+    List<RevDto> findDetailRowsByRecipeId(@Param("recipeId") Long recipeId);
 }
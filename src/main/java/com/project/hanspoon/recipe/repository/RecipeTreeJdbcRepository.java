@@ -0,0 +1,152 @@
+package com.project.hanspoon.recipe.repository;
+
+import com.project.hanspoon.recipe.entity.RecipeIngredient;
+import com.project.hanspoon.recipe.entity.RecipeIngredientGroup;
+import com.project.hanspoon.recipe.entity.RecipeInstruction;
+import com.project.hanspoon.recipe.entity.RecipeInstructionGroup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * 레시피의 재료 그룹/재료, 조리 그룹/조리 단계 트리를 JDBC 배치로 통째로 교체하는 저장소입니다.
+ *
+ * 초보자 참고:
+ * - 이 엔티티들은 IDENTITY 키라 JPA save 로는 insert 를 묶을 수 없어, 재료/단계 수만큼 DB 왕복이 생겼습니다.
+ *   여기서는 삭제 4번 + 테이블별 배치 insert 1번으로, 재료/단계 수와 관계없이 왕복 수가 고정됩니다.
+ * - 그룹 id 는 배치 insert 가 돌려주는 생성 키(getGeneratedKeys)로 받아 입력 순서대로 채웁니다.
+ * - SQL 은 MariaDB 전용 문법(delete ... join)을 쓰지 않아 테스트용 H2 에서도 그대로 동작합니다.
+ * - JPA 와 같은 트랜잭션(커넥션)에서 실행되므로, 호출하는 쪽은 이 트리를 영속성 컨텍스트에서 따로 건드리지 않아야 합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RecipeTreeJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 레시피의 기존 트리를 지우고 전달된 그룹(과 그 안의 재료/조리 단계)으로 다시 만듭니다.
+     * 저장 후 그룹 엔티티에는 새 id 가 채워집니다.
+     */
+    public void replaceTree(Long recipeId,
+                            List<RecipeIngredientGroup> ingredientGroups,
+                            List<RecipeInstructionGroup> instructionGroups) {
+        deleteTree(recipeId);
+        insertIngredientGroups(recipeId, ingredientGroups);
+        insertInstructionGroups(recipeId, instructionGroups);
+    }
+
+    public void deleteTree(Long recipeId) {
+        jdbcTemplate.update("""
+                delete from recipe_ingredient
+                where group_id in (select group_id from recipe_ingredient_group where recipe_id = ?)
+                """, recipeId);
+        jdbcTemplate.update("delete from recipe_ingredient_group where recipe_id = ?", recipeId);
+        jdbcTemplate.update("""
+                delete from recipe_instruction
+                where inst_group_id in (select inst_group_id from recipe_instruction_group where recipe_id = ?)
+                """, recipeId);
+        jdbcTemplate.update("delete from recipe_instruction_group where recipe_id = ?", recipeId);
+    }
+
+    private void insertIngredientGroups(Long recipeId, List<RecipeIngredientGroup> groups) {
+        if (groups.isEmpty()) {
+            return;
+        }
+        List<Long> ids = insertGroups(
+                "insert into recipe_ingredient_group (recipe_id, group_name, sort_order) values (?, ?, ?)",
+                "group_id", recipeId, groups, RecipeIngredientGroup::getName, RecipeIngredientGroup::getSortOrder);
+        for (int i = 0; i < groups.size(); i++) {
+            groups.get(i).setId(ids.get(i));
+        }
+
+        List<RecipeIngredient> ingredients = groups.stream()
+                .flatMap(g -> g.getIngredients().stream())
+                .toList();
+        if (ingredients.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                insert into recipe_ingredient (group_id, name, base_amount, ratio, unit, taste_type, main)
+                values (?, ?, ?, ?, ?, ?, ?)
+                """, ingredients, ingredients.size(), (ps, ing) -> {
+            ps.setLong(1, ing.getRecipeIngredientGroup().getId());
+            ps.setString(2, ing.getName());
+            ps.setDouble(3, ing.getBaseAmount());
+            ps.setDouble(4, ing.getRatio());
+            ps.setString(5, ing.getUnit());
+            ps.setString(6, ing.getTasteType() != null ? ing.getTasteType().name() : null);
+            ps.setBoolean(7, ing.isMain());
+        });
+    }
+
+    private void insertInstructionGroups(Long recipeId, List<RecipeInstructionGroup> groups) {
+        if (groups.isEmpty()) {
+            return;
+        }
+        List<Long> ids = insertGroups(
+                "insert into recipe_instruction_group (recipe_id, group_title, sort_order) values (?, ?, ?)",
+                "inst_group_id", recipeId, groups, RecipeInstructionGroup::getTitle, RecipeInstructionGroup::getSortOrder);
+        for (int i = 0; i < groups.size(); i++) {
+            groups.get(i).setId(ids.get(i));
+        }
+
+        List<RecipeInstruction> instructions = groups.stream()
+                .flatMap(g -> g.getInstructions().stream())
+                .toList();
+        if (instructions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                insert into recipe_instruction (inst_group_id, step_order, content, inst_img)
+                values (?, ?, ?, ?)
+                """, instructions, instructions.size(), (ps, inst) -> {
+            ps.setLong(1, inst.getRecipeInstructionGroup().getId());
+            ps.setInt(2, inst.getStepOrder());
+            ps.setString(3, inst.getContent());
+            ps.setString(4, inst.getInstImg());
+        });
+    }
+
+    /**
+     * 그룹 행을 배치 insert 하고, 드라이버가 돌려준 생성 키를 입력 순서대로 반환합니다.
+     */
+    private <G> List<Long> insertGroups(String sql, String keyColumn, Long recipeId, List<G> groups,
+                                        Function<G, String> name, ToIntFunction<G> sortOrder) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, new String[]{keyColumn}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        G group = groups.get(i);
+                        ps.setLong(1, recipeId);
+                        ps.setString(2, name.apply(group));
+                        ps.setInt(3, sortOrder.applyAsInt(group));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return groups.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != groups.size()) {
+            throw new IllegalStateException("생성 키 수가 맞지 않습니다. expected=" + groups.size() + ", actual=" + keys.size());
+        }
+        // 드라이버마다 키 컬럼 이름이 달라(group_id, GENERATED_KEY, insert_id 등) 첫 번째 값을 씁니다.
+        return keys.stream()
+                .map(row -> ((Number) row.values().iterator().next()).longValue())
+                .toList();
+    }
+}
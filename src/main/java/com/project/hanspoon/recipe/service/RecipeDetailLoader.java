@@ -0,0 +1,139 @@
+package com.project.hanspoon.recipe.service;
+
+import com.project.hanspoon.recipe.dto.RecipeDetailDto;
+import com.project.hanspoon.recipe.entity.Recipe;
+import com.project.hanspoon.recipe.repository.IngredientGroupRepository;
+import com.project.hanspoon.recipe.repository.InstructionGroupRepository;
+import com.project.hanspoon.recipe.repository.RecipeRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 레시피 상세 화면의 "본문"(기본 정보, 재료/조리 순서 그룹, 서브 레시피)을 읽고 캐시하는 로더입니다.
+ *
+ * 초보자 참고:
+ * - 예전에는 그룹마다 재료/조리 단계를 지연 로딩해서 그룹 수만큼 쿼리가 나갔습니다.
+ *   여기서는 컬렉션별 fetch join 쿼리 5개로 트리 전체를 읽으므로 그룹이 많아도 쿼리 수가 고정됩니다.
+ * - 본문은 레시피 수정/삭제 때만 바뀌므로 TTL 캐시에 보관하고, 수정/삭제 시 {@link #evict(Long)}로 비웁니다.
+ * - 리뷰/문의/추천수/찜 여부는 다른 요청으로 자주 바뀌어 캐시하지 않고 RecipeService에서 조회 시점에 채웁니다.
+ */
+@Log4j2
+@Service
+public class RecipeDetailLoader {
+
+    private final RecipeRepository recipeRepository;
+    private final IngredientGroupRepository ingredientGroupRepository;
+    private final InstructionGroupRepository instructionGroupRepository;
+
+    private final Map<Long, Entry> cache = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+
+    // evict 가 일어날 때마다 증가합니다. 읽는 도중 수정이 커밋되면 옛 본문을 캐시에 넣지 않기 위해 사용합니다.
+    private final AtomicLong generation = new AtomicLong();
+
+    public RecipeDetailLoader(
+            RecipeRepository recipeRepository,
+            IngredientGroupRepository ingredientGroupRepository,
+            InstructionGroupRepository instructionGroupRepository,
+            @Value("${recipe.detail-cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${recipe.detail-cache.max-size:500}") int maxSize) {
+        this.recipeRepository = recipeRepository;
+        this.ingredientGroupRepository = ingredientGroupRepository;
+        this.instructionGroupRepository = instructionGroupRepository;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 캐시에 있으면 그대로, 없으면 DB에서 읽어 캐시에 넣고 돌려줍니다.
+     * 돌려준 DTO는 여러 요청이 함께 쓰므로 수정하지 말고 toBuilder()로 복사해서 사용해야 합니다.
+     */
+    @Transactional(readOnly = true)
+    public RecipeDetailDto loadBody(Long recipeId) {
+        long now = System.nanoTime();
+        Entry cached = cache.get(recipeId);
+        if (cached != null && cached.expiresAt - now > 0) {
+            return cached.body;
+        }
+
+        long startGeneration = generation.get();
+        RecipeDetailDto body = loadFromDb(recipeId);
+
+        if (ttlNanos > 0 && generation.get() == startGeneration) {
+            if (cache.size() >= maxSize) {
+                evictOverflow(now);
+            }
+            cache.put(recipeId, new Entry(body, now + ttlNanos));
+        }
+        return body;
+    }
+
+    /**
+     * 레시피 본문이 바뀐 뒤 호출합니다. 트랜잭션 안이면 커밋 직후에도 한 번 더 비웁니다.
+     */
+    public void evict(Long recipeId) {
+        if (recipeId == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        cache.remove(recipeId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                    cache.remove(recipeId);
+                }
+            });
+        }
+    }
+
+    private RecipeDetailDto loadFromDb(Long recipeId) {
+        // 1) 레시피 + 작성자 + 재료 그룹
+        Recipe recipe = recipeRepository.findWithIngredientGroupsById(recipeId)
+                .orElseThrow(() -> new EntityNotFoundException("레시피를 찾을 수 없습니다"));
+
+        // 2) ~ 5) 같은 영속성 컨텍스트에서 나머지 컬렉션을 채웁니다. (반환값은 쓰지 않아도 엔티티에 반영됨)
+        recipeRepository.findWithInstructionGroupsById(recipeId);
+        recipeRepository.findWithSubRecipesById(recipeId);
+        ingredientGroupRepository.findAllWithIngredientsByRecipeId(recipeId);
+        instructionGroupRepository.findAllWithInstructionsByRecipeId(recipeId);
+
+        log.debug("레시피 상세 본문 DB 로딩: recipeId={}", recipeId);
+        return RecipeDetailDto.bodyOf(recipe);
+    }
+
+    /** 가득 찼을 때만 만료 항목을 정리하고, 그래도 가득 차 있으면 만료가 가장 빠른 항목을 버립니다. */
+    private void evictOverflow(long now) {
+        Iterator<Map.Entry<Long, Entry>> it = cache.entrySet().iterator();
+        Long oldestKey = null;
+        long oldestExpiry = Long.MAX_VALUE;
+        while (it.hasNext()) {
+            Map.Entry<Long, Entry> e = it.next();
+            if (e.getValue().expiresAt - now <= 0) {
+                it.remove();
+            } else if (oldestKey == null || e.getValue().expiresAt - oldestExpiry < 0) {
+                oldestKey = e.getKey();
+                oldestExpiry = e.getValue().expiresAt;
+            }
+        }
+        if (cache.size() >= maxSize && oldestKey != null) {
+            cache.remove(oldestKey);
+        }
+    }
+
+    private record Entry(RecipeDetailDto body, long expiresAt) {
+    }
+}
@@ -1,6 +1,14 @@
 package com.project.hanspoon.recipe.service;
 
+import com.project.hanspoon.common.dto.CursorPage;
+import com.project.hanspoon.common.dto.CursorToken;
+import com.project.hanspoon.common.search.CatalogSearchIndex;
+import com.project.hanspoon.common.search.SearchDomain;
 import com.project.hanspoon.common.security.CustomUserDetails;
+import com.project.hanspoon.common.security.PrincipalCache;
+import com.project.hanspoon.common.storage.service.ImageVariantService;
+import com.project.hanspoon.common.storage.service.UploadStager;
+import com.project.hanspoon.common.storage.service.UploadStager.StagedUpload;
 import com.project.hanspoon.common.user.entity.User;
 import com.project.hanspoon.common.user.repository.UserRepository;
 import com.project.hanspoon.recipe.component.RecipeParser;
@@ -11,22 +19,18 @@ import com.project.hanspoon.recipe.repository.*;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @Log4j2
@@ -34,19 +38,18 @@ import java.util.UUID;
 @Transactional
 public class RecipeService {
 
-    @Value("${itemImgLocation}")
-    private String itemImgLocation;
-
     private final RecipeRepository recipeRepository; // 레시피 메인 레포스토리
-    private final IngredientGroupRepository ingredientGroupRepository; // 재료 그룹 레포스토리
-    private final IngredientRepository ingredientRepository; // 개별 재료 레포스토리
-    private final InstructionRepository instructionRepository; // 개별 조리 방법 레포스토리
-    private final InstructionGroupRepository instructionGroupRepository; // 조리 방법 그룹 레포스토리
+    private final RecipeTreeJdbcRepository recipeTreeJdbcRepository; // 재료/조리 트리 일괄 저장(JDBC 배치)
     private final RecipeRelationRepository recipeRelationRepository; // 서브 레시피 레포스토리
     private final RecipeWishesRepository recipeWishesRepository;
     private final RecipeRevRepository recipeRevRepository;
+    private final RecipeIngRepository recipeIngRepository;
+    private final RecipeDetailLoader recipeDetailLoader; // 상세 본문 로딩 + 캐시
     private final UserRepository userRepository;
     private final RecommendationRepository recommendationRepository;
+    private final UploadStager uploadStager; // 업로드 이미지 임시 저장 → 커밋 후 공개
+    private final CatalogSearchIndex catalogSearchIndex; // 제목 검색용 n-gram 역색인
+    private final PrincipalCache principalCache; // 스푼 잔액이 바뀐 작성자의 인증 캐시 비우기
 
     /**
      * 다양한 단위를 g 기준으로 환산한다.
@@ -64,48 +67,10 @@ public class RecipeService {
         };
     }
 
-    /**
-     * 업로드 파일을 저장하고 저장된 파일명을 반환한다.
-     * - 실패 시 빈 문자열("")을 반환한다.
-     */
-    public String uploadFile(MultipartFile file){
-        if (file == null || file.isEmpty()) return "";
-
-        String originalFileName = file.getOriginalFilename();
-        if (originalFileName == null || originalFileName.isBlank()) {
-            return "";
-        }
-
-        int extensionIndex = originalFileName.lastIndexOf(".");
-        String extension = extensionIndex >= 0 ? originalFileName.substring(extensionIndex) : "";
-        String savedFileName = UUID.randomUUID()+ extension;
-        log.info("저장될 파일명: "+ savedFileName);
-
-        try {
-            // 1. 디렉토리 생성 확인
-            Path uploadPath = Paths.get(itemImgLocation);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-            log.info("업로드 경로:" + uploadPath.toAbsolutePath());
-
-            // 2. ★ transferTo 대신 Files.copy 사용 (이게 훨씬 안전합니다)
-            Path filePath = uploadPath.resolve(savedFileName);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-            log.info("파일 저장 완료: " + savedFileName);
-            return savedFileName;
-
-        } catch (IOException e) {
-            log.error("파일 저장 실패", e);
-            return "";
-        }
-    }
-
-
     /**
      * 레시피 저장(메인 + 재료 + 조리단계 + 서브레시피 관계).
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void saveRecipe(RecipeFormDto recipeFormDto,
                            MultipartFile recipeImage,
                            List<MultipartFile> instructionImages,
@@ -113,22 +78,52 @@ public class RecipeService {
 
         User user = userDetails.getUser();
 
-        // 1) 메인 레시피 엔티티 생성
-        Recipe mainRecipe = Recipe.createRecipe(recipeFormDto, user);
+        // 0) 이미지는 트랜잭션을 열기 전에 병렬로 임시 저장하고, 커밋된 뒤에만 공개한다.
+        StagedUpload mainImage = uploadStager.stage(recipeImage);
+        List<StagedUpload> stepImages = stageInstructionImages(mainImage, instructionImages);
 
-        // 2) 대표 이미지 저장
-        if (recipeImage != null && !recipeImage.isEmpty()) {
-            String savedMainImgName = uploadFile(recipeImage);
-            mainRecipe.updateRecipeImg(savedMainImgName);
-        }
+        uploadStager.inTransaction(withMain(mainImage, stepImages), status -> {
+            // 1) 메인 레시피 엔티티 생성
+            Recipe mainRecipe = Recipe.createRecipe(recipeFormDto, user);
 
-        // 3) 메인 레시피 저장
-        mainRecipe = recipeRepository.save(mainRecipe);
+            // 2) 대표 이미지 파일명 반영
+            if (mainImage != null) {
+                mainRecipe.updateRecipeImg(mainImage.storedName());
+            }
 
-        // 4) 하위 데이터 저장
-        saveIngredientsAndInstructions(mainRecipe, recipeFormDto, instructionImages);
-        saveRecipeRelations(mainRecipe, recipeFormDto.getSubrecipe());
+            // 3) 메인 레시피 저장
+            mainRecipe = recipeRepository.save(mainRecipe);
 
+            // 4) 하위 데이터 저장
+            saveIngredientsAndInstructions(mainRecipe, recipeFormDto, storedNames(stepImages));
+            saveRecipeRelations(mainRecipe, recipeFormDto.getSubrecipe());
+            return mainRecipe.getId();
+        });
+    }
+
+    // 대표 이미지 임시 저장 뒤 조리 사진을 병렬로 임시 저장한다. 조리 사진이 실패하면 대표 이미지도 지운다.
+    private List<StagedUpload> stageInstructionImages(StagedUpload mainImage, List<MultipartFile> instructionImages) {
+        try {
+            return uploadStager.stageAll(instructionImages);
+        } catch (RuntimeException e) {
+            uploadStager.discard(withMain(mainImage, List.of()));
+            throw e;
+        }
+    }
+
+    private static List<StagedUpload> withMain(StagedUpload mainImage, List<StagedUpload> stepImages) {
+        List<StagedUpload> all = new ArrayList<>(stepImages);
+        all.add(mainImage);
+        return all;
+    }
+
+    // 임시 저장 결과를 조리 사진 순서 그대로의 최종 파일명 목록으로 바꾼다. (빈 파일 자리는 null)
+    private static List<String> storedNames(List<StagedUpload> stepImages) {
+        List<String> names = new ArrayList<>(stepImages.size());
+        for (StagedUpload staged : stepImages) {
+            names.add(staged != null ? staged.storedName() : null);
+        }
+        return names;
     }
 
     /**
@@ -151,8 +146,8 @@ public class RecipeService {
     @Transactional(readOnly = true)
     public RecipeDetailDto getRecipeDtl(Long id, String userEmail) {
 
-        Recipe recipe = recipeRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("레시피를 찾을 수 없습니다"));
+        // 본문(재료/조리 순서 트리 등)은 캐시 또는 고정된 수의 fetch join 쿼리로 읽는다.
+        RecipeDetailDto body = recipeDetailLoader.loadBody(id);
 
         // 1. 찜(관심목록) 여부 확인
         RecipeWish wishid = null;
@@ -168,20 +163,16 @@ public class RecipeService {
             isRecommended = recommendationRepository.existsByUserEmailAndRecipeId(userEmail, id);
         }
 
-        // 🚩 3. DTO 생성 시 추천 정보도 함께 전달
-        // (RecipeDetailDto.fromEntity 메서드 파라미터에 isRecommended를 추가해야 합니다)
-        RecipeDetailDto dto = RecipeDetailDto.fromEntity(recipe, isWished, wishid, isRecommended);
-
-        // 기존 조리 순서 관련 로직 (필요 시 유지)
-        if (dto.getInstructionGroup() != null) {
-            dto.getInstructionGroup().forEach(group -> {
-                group.getInstructions().forEach(inst -> {
-                    // 원본 유지 로직
-                });
-            });
-        }
-
-        return dto;
+        // 🚩 3. 자주 바뀌는 값(추천수/리뷰/문의)과 사용자별 값은 캐시된 본문을 복사해 채운다.
+        // (캐시된 본문 객체는 여러 요청이 공유하므로 직접 수정하지 않는다)
+        return body.toBuilder()
+                .isWished(isWished)
+                .wihsid(wishid != null ? wishid.getId() : null)
+                .recommended(isRecommended)
+                .recommendCount(recipeRepository.findRecommendCountById(id).orElse(null))
+                .reviews(recipeRevRepository.findDetailRowsByRecipeId(id))
+                .ingDtos(recipeIngRepository.findDetailRowsByRecipeId(id))
+                .build();
     }
 
     // 기존 컨트롤러 호출(파라미터 1개)과 호환되도록 오버로드를 제공한다.
@@ -200,44 +191,86 @@ public class RecipeService {
             String keyword, Pageable pageable,
             Category category, Long userId) { // 🚩 1. 파라미터에 userId 추가 (이제 4개!)
 
-        String normalizedkeyword = (keyword == null || keyword.trim().isEmpty()) ? "" : keyword.trim();
+        // 🚩 2. userId가 넘어온 경우 (내 레시피 목록 조회 시) → 카테고리/키워드 조건은 적용하지 않는다.
+        // 🚩 3. 전체 목록 조회 시 → 카테고리/키워드 조건을 적용한다.
+        // 목록에 필요한 컬럼 + 작성자 + 리뷰 수를 projection 한 번으로 읽으므로 페이지당 쿼리는 (목록 1 + count 1) 뿐이다.
+        String normalizedKeyword = (userId != null || keyword == null) ? "" : keyword.trim();
+        Category categoryFilter = (userId != null) ? null : category;
+        TitleFilter title = titleFilter(normalizedKeyword);
+        if (title.matchesNothing()) {
+            return Page.empty(pageable);
+        }
 
-        Page<Recipe> recipePage;
+        return recipeRepository.findListRows(userId, categoryFilter, title.keyword(), title.useIds(), title.ids(), pageable)
+                .map(this::toRecipeListDto);
+    }
 
-        // 🚩 2. userId가 넘어온 경우 (내 레시피 목록 조회 시)
-        if (userId != null) {
-            // Repository에 findByUserIdAndDeletedFalse 같은 메서드가 필요합니다.
-            recipePage = recipeRepository.findByUser_UserIdAndDeletedFalse(userId, pageable);
+    /**
+     * 레시피 목록 커서(keyset) 조회. 무한 스크롤처럼 뒤 페이지까지 계속 내려가는 화면용입니다.
+     * - 최신순(id 내림차순) 고정이며, after 토큰이 있으면 그 다음 레시피부터 size 개를 읽는다.
+     * - 필터 규칙은 getRecipeListDto 와 같다. (userId 가 있으면 내 레시피만, 카테고리/키워드는 무시)
+     * - 전체 건수는 withTotal=true 일 때만 COUNT 쿼리로 구한다.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<RecipeListDto> getRecipeListCursor(
+            String keyword, Category category, Long userId,
+            String after, int size, boolean withTotal) {
+
+        int safeSize = Math.min(Math.max(size, 1), 100);
+        CursorToken cursor = CursorToken.decode(after);
+        Long afterId = cursor != null ? cursor.id() : null;
+
+        String normalizedKeyword = (userId != null || keyword == null) ? "" : keyword.trim();
+        Category categoryFilter = (userId != null) ? null : category;
+        TitleFilter title = titleFilter(normalizedKeyword);
+
+        List<RecipeRepository.RecipeListRow> rows = title.matchesNothing()
+                ? List.of()
+                : recipeRepository.findListRowsAfter(userId, categoryFilter, title.keyword(), title.useIds(), title.ids(),
+                        afterId, PageRequest.of(0, safeSize + 1));
+        Long total = !withTotal ? null
+                : title.matchesNothing() ? 0L
+                : recipeRepository.countList(userId, categoryFilter, title.keyword(), title.useIds(), title.ids());
+
+        return CursorPage.of(rows, safeSize,
+                row -> CursorToken.ofId(row.getId()),
+                page -> page.stream().map(this::toRecipeListDto).toList(),
+                total);
+    }
+
+    /**
+     * 제목 검색 조건. 검색 인덱스를 쓸 수 있으면 id 후보로, 아니면 LIKE 키워드로 거른다.
+     * ids 는 useIds=false 일 때도 in () 이 비지 않도록 자리만 채운 값이다.
+     */
+    private record TitleFilter(String keyword, boolean useIds, List<Long> ids) {
+        private static final List<Long> UNUSED_IDS = List.of(0L);
+
+        boolean matchesNothing() {
+            return useIds && ids.isEmpty();
         }
-        // 🚩 3. 기존 로직 (전체 목록 조회 시)
-        else {
-            if(category == null) {
-                if (normalizedkeyword.isEmpty()) {
-                    recipePage = recipeRepository.findByDeletedFalse(pageable);
-                } else {
-                    recipePage = recipeRepository.findByTitleContainingAndDeletedFalse(normalizedkeyword, pageable);
-                }
-            } else {
-                recipePage = recipeRepository.findByCategoryAndTitleContainingAndDeletedFalse(category, normalizedkeyword, pageable);
-            }
+    }
+
+    private TitleFilter titleFilter(String keyword) {
+        if (keyword.isEmpty()) {
+            return new TitleFilter("", false, TitleFilter.UNUSED_IDS);
         }
+        return catalogSearchIndex.candidates(SearchDomain.RECIPE, keyword)
+                .map(ids -> new TitleFilter("", true, ids))
+                .orElseGet(() -> new TitleFilter(keyword, false, TitleFilter.UNUSED_IDS));
+    }
 
-        return recipePage.map(recipe -> {
-            User author = recipe.getUser();
-            int recommendCount = recipe.getRecommendCount() != null ? recipe.getRecommendCount() : 0;
-            int reviewCount = recipe.getRecipeRevs() != null ? recipe.getRecipeRevs().size() : 0;
-
-            return RecipeListDto.builder()
-                    .id(recipe.getId())
-                    .title(recipe.getTitle())
-                    .recipeImg(recipe.getRecipeImg())
-                    .category(recipe.getCategory() != null ? recipe.getCategory().name() : "ETC")
-                    .reviewCount(reviewCount)
-                    .recommendCount(recommendCount)
-                    .username(author != null ? author.getUserName() : "알 수 없음")
-                    .userId(author != null ? author.getUserId() : null) // 사용자 DTO에도 userId를 내려주면 프론트가 편해짐
-                    .build();
-        });
+    private RecipeListDto toRecipeListDto(RecipeRepository.RecipeListRow row) {
+        return RecipeListDto.builder()
+                .id(row.getId())
+                .title(row.getTitle())
+                .recipeImg(row.getRecipeImg())
+                .thumbnailUrl(ImageVariantService.variantUrl(row.getRecipeImg(), ImageVariantService.MEDIUM))
+                .category(row.getCategory() != null ? row.getCategory().name() : "ETC")
+                .reviewCount(row.getReviewCount() != null ? row.getReviewCount().intValue() : 0)
+                .recommendCount(row.getRecommendCount() != null ? row.getRecommendCount() : 0)
+                .username(row.getUsername() != null ? row.getUsername() : "알 수 없음")
+                .userId(row.getUserId()) // 사용자 DTO에도 userId를 내려주면 프론트가 편해짐
+                .build();
     }
 
     /**
@@ -252,14 +285,32 @@ public class RecipeService {
                 .orElseThrow(() -> new EntityNotFoundException("레시피를 찾을 수 없습니다"));
 
         recipe.delete();
+        recipeDetailLoader.evict(id);
     }
 
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Long updateRecipe(
             Long id, RecipeFormDto recipeFormDto, MultipartFile recipeImage,
             List<MultipartFile> instructionImages) {
 
         log.info("===== 업데이트 시작=========");
+        if (instructionImages != null) {
+            log.info("조리 과정 이미지 개수: {}", instructionImages.size());
+        } else {
+            log.info("조리 과정 이미지 리스트(instructionImages)가 null입니다.");
+        }
+
+        // 이미지는 트랜잭션을 열기 전에 병렬로 임시 저장하고, 커밋된 뒤에만 공개한다.
+        StagedUpload mainImage = uploadStager.stage(recipeImage);
+        List<StagedUpload> stepImages = stageInstructionImages(mainImage, instructionImages);
+
+        return uploadStager.inTransaction(withMain(mainImage, stepImages),
+                status -> applyRecipeUpdate(id, recipeFormDto, mainImage, stepImages));
+    }
+
+    private Long applyRecipeUpdate(
+            Long id, RecipeFormDto recipeFormDto, StagedUpload mainImage,
+            List<StagedUpload> stepImages) {
 
         Recipe recipe = recipeRepository.findById(id)
                 .orElseThrow(EntityNotFoundException::new);
@@ -268,30 +319,18 @@ public class RecipeService {
         recipe.setCategory(recipeFormDto.getCategory());
         recipe.setBaseServings(recipeFormDto.getBaseServings());
 
-        if(recipeImage !=null && !recipeImage.isEmpty()) {
-            String savedMainImgName = uploadFile(recipeImage);
-            recipe.updateRecipeImg(savedMainImgName);
+        if (mainImage != null) {
+            recipe.updateRecipeImg(mainImage.storedName());
         }
 
-        recipe.getRecipeIngredientGroup().clear();
-        recipe.getRecipeInstructionGroup().clear();
+        // 재료/조리 트리는 saveIngredientsAndInstructions 에서 JDBC 로 통째로 교체한다.
+        // 여기서 컬렉션을 clear() 하면 flush 때 JPA 가 이미 지운 행을 한 번 더 지우려 하므로 건드리지 않는다.
         recipe.getSubRecipeRelations().clear();
 
         log.info("====새로 저장=====");
-        if (instructionImages != null) {
-            log.info("조리 과정 이미지 개수: {}", instructionImages.size());
-            instructionImages.forEach(file ->
-                    log.info("전달된 파일명: {}, 크기: {}", file.getOriginalFilename(), file.getSize())
-            );
-        } else {
-            log.info("조리 과정 이미지 리스트(instructionImages)가 null입니다.");
-        }
-
-        log.info("saveIngredientsAndInstructions 메서드 진입 직전");
-
-        saveIngredientsAndInstructions(recipe, recipeFormDto, instructionImages);
+        saveIngredientsAndInstructions(recipe, recipeFormDto, storedNames(stepImages));
         saveRecipeRelations(recipe, recipeFormDto.getSubrecipe());
-
+        recipeDetailLoader.evict(id);
 
         return recipe.getId();
     }
@@ -309,13 +348,15 @@ public class RecipeService {
      * 재료 그룹/재료와 조리 그룹/조리단계를 저장한다.
      * - 먼저 기존 하위 데이터를 지운 뒤 재생성한다.
      * - 베이커 퍼센트는 main 재료 우선 기준으로 계산한다.
+     * - instructionImageNames 는 새로 올린 조리 사진의 최종 파일명 목록이며, hasNewFile 인 단계에 순서대로 붙인다.
+     * - 트리를 메모리에서 다 만든 뒤 RecipeTreeJdbcRepository 로 한 번에 저장하므로, 재료/단계 수와 관계없이 DB 왕복 수가 고정된다.
      */
     public void saveIngredientsAndInstructions(
             Recipe recipe, RecipeFormDto recipeFormDto,
-            List<MultipartFile> instructionImages) {
+            List<String> instructionImageNames) {
 
-        ingredientGroupRepository.deleteByRecipe(recipe);
-        instructionGroupRepository.deleteByRecipe(recipe);
+        List<RecipeIngredientGroup> ingredientGroups = new ArrayList<>();
+        List<RecipeInstructionGroup> instructionGroups = new ArrayList<>();
 
         // 1. 재료 그룹별 반복 시작
         recipeFormDto.getIngredientGroup().forEach(groupDto -> {
@@ -340,7 +381,7 @@ public class RecipeService {
                     .recipe(recipe)
                     .sortOrder(groupDto.getSortOrder())
                     .build();
-            ingredientGroupRepository.save(group);
+            ingredientGroups.add(group);
 
             // 2. 그룹 내부 재료들 저장
             groupDto.getIngredients().forEach(ingreDto -> {
@@ -358,7 +399,7 @@ public class RecipeService {
                         .tasteType(ingreDto.getTasteType())
                         .main(ingreDto.isMain())
                         .build();
-                ingredientRepository.save(ingredient);
+                group.getIngredients().add(ingredient);
             });
         });
 
@@ -371,22 +412,16 @@ public class RecipeService {
                     .recipe(recipe)
                     .sortOrder(instGroupDto.getSortOrder())
                     .build();
-            instructionGroupRepository.save(instGroup);
+            instructionGroups.add(instGroup);
 
             for (InstructionDto instDto : instGroupDto.getInstructions()) {
                 String savedFileName = instDto.getInstImg();
 
                 if(instDto.isHasNewFile()) {
-                    if (instructionImages != null && fileIdx < instructionImages.size()) {
-                        MultipartFile file = instructionImages.get(fileIdx);
-
-                        if (file != null && !file.isEmpty()) {
-                            try {
-                                savedFileName = uploadFile(file);
-                                log.info("조리 사진 저장 완료: " + savedFileName);
-                            } catch (Exception e) {
-                                log.info("파일 저장 중 에러 발생", e);
-                            }
+                    if (instructionImageNames != null && fileIdx < instructionImageNames.size()) {
+                        String stagedName = instructionImageNames.get(fileIdx);
+                        if (stagedName != null) {
+                            savedFileName = stagedName;
                         }
                         fileIdx++;
                     }
@@ -398,9 +433,11 @@ public class RecipeService {
                         .content(instDto.getContent())
                         .instImg(savedFileName)
                         .build();
-                instructionRepository.save(instruction);
+                instGroup.getInstructions().add(instruction);
                 }
             }
+
+        recipeTreeJdbcRepository.replaceTree(recipe.getId(), ingredientGroups, instructionGroups);
         }
 
 
@@ -409,6 +446,7 @@ public class RecipeService {
                     .orElseThrow(() -> new EntityNotFoundException("레시피를 찾을 수 없습니다"));
 
             recipe.deleteReturn();
+            recipeDetailLoader.evict(id);
 
     }
 
@@ -424,6 +462,7 @@ public class RecipeService {
                 .id(recipe.getId())
                 .title(recipe.getTitle())
                 .recipeImg(recipe.getRecipeImg())
+                .thumbnailUrl(ImageVariantService.variantUrl(recipe.getRecipeImg(), ImageVariantService.MEDIUM))
                 .category(String.valueOf(recipe.getCategory()))
                 .username(recipe.getUser() != null ? recipe.getUser().getUserName() : "알 수 없음")
                 .build());
@@ -498,6 +537,7 @@ public class RecipeService {
             User author = recipe.getUser();
             if (author != null) {
                 author.addSpoon(2); // 작성자에게 2스푼 (원하시는 수량으로 조절하세요!)
+                principalCache.invalidateUser(author.getUserId());
                 log.info("레시피 작성자 {}에게 스푼 지급 완료", author.getUserName());
             }
 
@@ -518,7 +558,11 @@ public class RecipeService {
         Recipe recipe = recipeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("해당 레시피를 찾을 수 없습니다."));
 
-        // 2. DB에서 물리적으로 삭제 (DELETE 쿼리 실행)
+        // 2. 재료/조리 트리는 레시피 id 기준 DELETE 몇 번으로 먼저 지운다. (행마다 읽고 지우지 않도록)
+        recipeTreeJdbcRepository.deleteTree(id);
+
+        // 3. DB에서 물리적으로 삭제 (DELETE 쿼리 실행)
         recipeRepository.delete(recipe);
+        recipeDetailLoader.evict(id);
     }
 }
@@ -1,5 +1,6 @@
 package com.project.hanspoon.shop.cart.service;
 
+import com.project.hanspoon.common.storage.service.ImageVariantService;
 import com.project.hanspoon.shop.cart.dto.*;
 import com.project.hanspoon.shop.cart.entity.Cart;
 import com.project.hanspoon.shop.cart.entity.CartItem;
@@ -219,7 +220,8 @@ public class CartService {
         if (!productIds.isEmpty()) {
             List<ProductImage> reps = productImageRepository.findByProduct_IdInAndRepYnTrue(productIds);
             for (ProductImage img : reps) {
-                thumbMap.put(img.getProduct().getId(), img.getImgUrl());
+                // 장바구니 썸네일은 작게 보이므로 160px 축소본 주소를 쓴다.
+                thumbMap.put(img.getProduct().getId(), ImageVariantService.variantUrl(img.getImgUrl(), ImageVariantService.THUMB));
             }
         }
 
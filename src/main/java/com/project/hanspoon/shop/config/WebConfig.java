@@ -2,8 +2,11 @@ package com.project.hanspoon.shop.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.*;
 
+import java.time.Duration;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
@@ -12,8 +15,11 @@ public class WebConfig implements WebMvcConfigurer {
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // 평범한 업로드 파일(/images/uuid.jpg)은 UploadedImageController 가 먼저 처리하고,
+        // 여기는 그 외 경로용 예비 핸들러다. 업로드 파일명은 바뀌지 않으므로 길게 캐시한다.
         registry.addResourceHandler("/images/**")
-                .addResourceLocations(uploadPath);
+                .addResourceLocations(uploadPath)
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
     }
 }
 
@@ -1,5 +1,6 @@
 package com.project.hanspoon.shop.order.controller;
 
+import com.project.hanspoon.common.dto.CursorPage;
 import com.project.hanspoon.shop.constant.OrderStatus;
 import com.project.hanspoon.shop.order.dto.OrderListItemDto;
 import com.project.hanspoon.shop.order.dto.OrderResponseDto;
@@ -30,6 +31,18 @@ public class AdminOrderController {
         return ResponseEntity.ok(orderService.getOrdersForAdmin(status, keyword, page, size));
     }
 
+    // 커서(keyset) 목록: 응답의 nextCursor를 다음 요청의 after로 넘긴다. 전체 건수는 withTotal=true 일 때만.
+    @GetMapping("/list/cursor")
+    public ResponseEntity<CursorPage<OrderListItemDto>> listByCursor(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return ResponseEntity.ok(orderService.getOrdersForAdminByCursor(status, keyword, after, size, withTotal));
+    }
+
     @GetMapping("/{orderId}")
     public ResponseEntity<OrderResponseDto> getDetail(@PathVariable Long orderId) {
         return ResponseEntity.ok(orderService.getOrderForAdmin(orderId));
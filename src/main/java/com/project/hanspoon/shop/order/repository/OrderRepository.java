@@ -90,6 +90,48 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
                                    @Param("keyword") String keyword,
                                    Pageable pageable);
 
+    // ✅ 관리자 주문 목록 커서(keyset) 조회
+    // - offset 대신 마지막으로 본 주문의 (createdAt, id) 다음부터 읽는다. (첫 페이지는 커서 null)
+    // - 필터 조건은 findAllWithFilters와 동일, limit은 Pageable 크기로 지정
+    @Query("""
+        SELECT o FROM Order o
+        WHERE o.status <> com.project.hanspoon.shop.constant.OrderStatus.CREATED
+        AND (:status IS NULL OR o.status = :status)
+        AND (
+          :keyword IS NULL OR :keyword = '' OR
+          CONCAT('', o.id) LIKE CONCAT('%', :keyword, '%') OR
+          o.receiverName LIKE CONCAT('%', :keyword, '%') OR
+          o.receiverPhone LIKE CONCAT('%', :keyword, '%') OR
+          o.trackingNumber LIKE CONCAT('%', :keyword, '%')
+        )
+        AND (
+          :cursorCreatedAt IS NULL OR
+          o.createdAt < :cursorCreatedAt OR
+          (o.createdAt = :cursorCreatedAt AND o.id < :cursorId)
+        )
+        ORDER BY o.createdAt DESC, o.id DESC
+    """)
+    List<Order> findAllWithFiltersAfter(@Param("status") com.project.hanspoon.shop.constant.OrderStatus status,
+                                        @Param("keyword") String keyword,
+                                        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable limit);
+
+    @Query("""
+        SELECT count(o) FROM Order o
+        WHERE o.status <> com.project.hanspoon.shop.constant.OrderStatus.CREATED
+        AND (:status IS NULL OR o.status = :status)
+        AND (
+          :keyword IS NULL OR :keyword = '' OR
+          CONCAT('', o.id) LIKE CONCAT('%', :keyword, '%') OR
+          o.receiverName LIKE CONCAT('%', :keyword, '%') OR
+          o.receiverPhone LIKE CONCAT('%', :keyword, '%') OR
+          o.trackingNumber LIKE CONCAT('%', :keyword, '%')
+        )
+    """)
+    long countAllWithFilters(@Param("status") com.project.hanspoon.shop.constant.OrderStatus status,
+                             @Param("keyword") String keyword);
+
     long countByStatus(com.project.hanspoon.shop.constant.OrderStatus status);
 
     long countByStatusIn(java.util.List<com.project.hanspoon.shop.constant.OrderStatus> statuses);
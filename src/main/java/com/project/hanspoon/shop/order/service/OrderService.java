@@ -1,5 +1,7 @@
 package com.project.hanspoon.shop.order.service;
 
+import com.project.hanspoon.common.dto.CursorPage;
+import com.project.hanspoon.common.dto.CursorToken;
 import com.project.hanspoon.common.user.entity.User;
 import com.project.hanspoon.shop.cart.entity.Cart;
 import com.project.hanspoon.shop.cart.entity.CartItem;
@@ -18,6 +20,7 @@ import com.project.hanspoon.shop.product.entity.Product;
 import com.project.hanspoon.shop.product.entity.ProductImage;
 import com.project.hanspoon.shop.product.repository.ProductImageRepository;
 import com.project.hanspoon.shop.product.repository.ProductRepository;
+import com.project.hanspoon.shop.product.service.ProductStockService;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
@@ -35,6 +38,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
@@ -50,6 +54,7 @@ public class OrderService {
 
     private final ProductRepository productRepository;
     private final ProductImageRepository productImageRepository;
+    private final ProductStockService productStockService;
 
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
@@ -80,14 +85,25 @@ public class OrderService {
                 .totalPrice(0)
                 .build();
 
+        // 장바구니의 상품/대표 이미지를 IN 쿼리 2번으로 한꺼번에 읽는다. (장바구니 크기와 무관하게 쿼리 수 고정)
+        List<Long> productIds = cartItems.stream().map(ci -> ci.getProduct().getId()).distinct().toList();
+        Map<Long, Product> productMap = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, p -> p));
+        Map<Long, String> thumbMap = new HashMap<>();
+        for (ProductImage img : productImageRepository.findByProduct_IdInAndRepYnTrue(productIds)) {
+            thumbMap.putIfAbsent(img.getProduct().getId(), img.getImgUrl());
+        }
+
         int total = 0;
 
         for (CartItem ci : cartItems) {
             Long productId = ci.getProduct().getId();
             int qty = ci.getQuantity();
 
-            Product product = productRepository.findById(productId)
-                    .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "상품이 없습니다. id=" + productId));
+            Product product = productMap.get(productId);
+            if (product == null) {
+                throw new ResponseStatusException(NOT_FOUND, "상품이 없습니다. id=" + productId);
+            }
 
             if (qty <= 0) {
                 throw new ResponseStatusException(BAD_REQUEST, "수량이 올바르지 않습니다.");
@@ -97,16 +113,12 @@ public class OrderService {
                         "재고 부족: " + product.getName() + " (재고 " + product.getStock() + ", 요청 " + qty + ")");
             }
 
-            String thumb = productImageRepository.findFirstByProduct_IdAndRepYnTrue(productId)
-                    .map(ProductImage::getImgUrl)
-                    .orElse(null);
-
             OrderItem oi = OrderItem.builder()
                     .productId(product.getId())
                     .productName(product.getName())
                     .orderPrice(product.getPrice())
                     .quantity(qty)
-                    .thumbnailUrl(thumb)
+                    .thumbnailUrl(thumbMap.get(productId))
                     .build();
 
             order.addItem(oi);
@@ -276,7 +288,37 @@ public class OrderService {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<Order> ordersPage = orderRepository.findAllWithFilters(status, keyword, pageable);
 
-        List<Long> orderIds = ordersPage.getContent().stream().map(Order::getId).toList();
+        return new PageImpl<>(toListItems(ordersPage.getContent()), pageable, ordersPage.getTotalElements());
+    }
+
+    /**
+     * 관리자 주문 목록 커서(keyset) 조회.
+     * - 최신순(createdAt, id 내림차순)으로 after 토큰 다음 주문부터 size 개를 읽는다.
+     * - COUNT 쿼리는 withTotal=true 일 때만 실행한다.
+     */
+    public CursorPage<OrderListItemDto> getOrdersForAdminByCursor(OrderStatus status, String keyword,
+                                                                  String after, int size, boolean withTotal) {
+        int safeSize = Math.min(Math.max(size, 1), 100);
+        CursorToken cursor = CursorToken.decode(after);
+        if (cursor != null && cursor.createdAt() == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "잘못된 커서입니다.");
+        }
+
+        List<Order> rows = orderRepository.findAllWithFiltersAfter(
+                status, keyword,
+                cursor != null ? cursor.createdAt() : null,
+                cursor != null ? cursor.id() : null,
+                PageRequest.of(0, safeSize + 1));
+        Long total = withTotal ? orderRepository.countAllWithFilters(status, keyword) : null;
+
+        return CursorPage.of(rows, safeSize,
+                o -> CursorToken.ofCreatedAt(o.getCreatedAt(), o.getId()),
+                this::toListItems,
+                total);
+    }
+
+    private List<OrderListItemDto> toListItems(List<Order> orders) {
+        List<Long> orderIds = orders.stream().map(Order::getId).toList();
         Map<Long, Integer> countMap = new HashMap<>();
         Map<Long, OrderItem> firstItemMap = new HashMap<>();
 
@@ -289,7 +331,7 @@ public class OrderService {
             }
         }
 
-        List<OrderListItemDto> dtoList = ordersPage.getContent().stream()
+        return orders.stream()
                 .map(o -> {
                     OrderItem first = firstItemMap.get(o.getId());
                     return OrderListItemDto.builder()
@@ -305,8 +347,6 @@ public class OrderService {
                             .build();
                 })
                 .toList();
-
-        return new PageImpl<>(dtoList, pageable, ordersPage.getTotalElements());
     }
 
     @Transactional
@@ -379,12 +419,7 @@ public class OrderService {
             throw new ResponseStatusException(BAD_REQUEST, "환불 완료 처리 가능한 상태가 아닙니다. status=" + order.getStatus());
         }
 
-        for (OrderItem item : order.getItems()) {
-            Product product = productRepository.findByIdForUpdate(item.getProductId())
-                    .orElseThrow(() -> new ResponseStatusException(NOT_FOUND,
-                            "주문 상품이 존재하지 않습니다. productId=" + item.getProductId()));
-            product.setStock(product.getStock() + item.getQuantity());
-        }
+        productStockService.increaseAll(quantitiesByProductId(order));
 
         order.setStatus(OrderStatus.REFUNDED);
         order.setRefundedAt(LocalDateTime.now());
@@ -436,18 +471,8 @@ public class OrderService {
     }
 
     private void applyPaymentSuccess(Order order) {
-        for (OrderItem item : order.getItems()) {
-            Product product = productRepository.findByIdForUpdate(item.getProductId())
-                    .orElseThrow(() -> new ResponseStatusException(NOT_FOUND,
-                            "주문 상품이 삭제되었거나 존재하지 않습니다. productId=" + item.getProductId()));
-
-            if (product.getStock() < item.getQuantity()) {
-                throw new ResponseStatusException(BAD_REQUEST,
-                        "재고 부족: " + product.getName() + " (재고 " + product.getStock() + ", 요청 " + item.getQuantity() + ")");
-            }
-
-            product.setStock(product.getStock() - item.getQuantity());
-        }
+        // 재고 확인 + 차감을 상품별 조건부 UPDATE 한 문장으로 처리한다. (부족하면 예외 → 트랜잭션 전체 롤백)
+        productStockService.decreaseAll(quantitiesByProductId(order));
 
         order.setStatus(OrderStatus.PAID);
         order.setPaidAt(LocalDateTime.now());
@@ -459,4 +484,13 @@ public class OrderService {
             }
         }
     }
+
+    // 주문 항목을 상품 id 기준으로 모아 수량을 합친다. (같은 상품이 여러 줄이어도 한 번만 차감/복구하기 위해)
+    private Map<Long, Integer> quantitiesByProductId(Order order) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItem item : order.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
 }
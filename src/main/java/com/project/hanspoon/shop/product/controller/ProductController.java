@@ -1,5 +1,6 @@
 package com.project.hanspoon.shop.product.controller;
 
+import com.project.hanspoon.common.dto.CursorPage;
 import com.project.hanspoon.shop.constant.ProductSort;
 import com.project.hanspoon.shop.product.dto.ProductDetailResponseDto;
 import com.project.hanspoon.shop.product.dto.ProductListResponseDto;
@@ -57,6 +58,27 @@ public class ProductController {
         return ResponseEntity.ok(productService.list(search, page, size, sort));
     }
 
+    /**
+     * ✅ 상품 목록 커서 조회 (무한 스크롤용, 기존 목록 API와 함께 제공)
+     *
+     * 요청 예:
+     * GET /api/products/cursor?category=INGREDIENT&size=20&sort=PRICE_ASC&after={이전 응답의 nextCursor}
+     *
+     * 응답:
+     * - CursorPage<ProductListResponseDto> (content, nextCursor, hasNext)
+     * - totalElements는 withTotal=true 일 때만 채워짐 (COUNT 쿼리 생략)
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<ProductListResponseDto>> listByCursor(
+            @ModelAttribute ProductSearchRequest search,
+            @RequestParam(required = false) String after,            // 이전 응답의 nextCursor (첫 페이지는 생략)
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "LATEST") ProductSort sort,
+            @RequestParam(defaultValue = "false") boolean withTotal  // 전체 건수가 필요할 때만 true
+    ) {
+        return ResponseEntity.ok(productService.listByCursor(search, after, size, sort, withTotal));
+    }
+
     /**
      * ✅ 상품 상세 조회 (이미지 포함)
      *
@@ -1,5 +1,8 @@
 package com.project.hanspoon.shop.product.entity;
 
+import com.project.hanspoon.common.search.SearchDomain;
+import com.project.hanspoon.common.search.SearchIndexEntityListener;
+import com.project.hanspoon.common.search.Searchable;
 import com.project.hanspoon.shop.constant.ProductCategory;
 import jakarta.persistence.*;
 import lombok.*;
@@ -12,6 +15,8 @@ import lombok.*;
 @Entity
 // 이 클래스가 JPA 엔티티임을 선언 (JPA가 관리하는 영속 객체가 됨)
 @Table(name = "product")
+@EntityListeners(SearchIndexEntityListener.class)
+// 저장/수정/삭제 시 상품명 검색 인덱스를 갱신
 // 매핑될 테이블 이름을 명시 (기본은 클래스명 Product -> product 로 추론될 수 있지만, 명확히 지정하는 습관이 좋음)
 @Getter @Setter
 // Lombok: 모든 필드에 getter/setter 생성
@@ -25,7 +30,7 @@ import lombok.*;
 @NoArgsConstructor
 // Lombok: 파라미터 없는 기본 생성자 생성
 // JPA는 프록시/리플렉션을 위해 기본 생성자가 필요함(권장 접근제어자: protected)
-public class Product {
+public class Product implements Searchable {
 
     /**
      * PK (Primary Key)
@@ -81,4 +86,20 @@ public class Product {
     @Lob
     @Column(name = "detail_content", columnDefinition = "MEDIUMTEXT")
     private String detailContent;
+
+    // 검색 인덱스(CatalogSearchIndex)에 올릴 값입니다.
+    @Override
+    public SearchDomain searchDomain() {
+        return SearchDomain.PRODUCT;
+    }
+
+    @Override
+    public Long searchId() {
+        return id;
+    }
+
+    @Override
+    public String searchText() {
+        return name;
+    }
 }
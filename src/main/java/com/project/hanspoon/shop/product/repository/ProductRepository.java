@@ -5,6 +5,7 @@ import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -49,4 +50,38 @@ public interface ProductRepository
     Optional<Product> findByIdForUpdate(@Param("id") Long id);
     // @Param으로 JPQL의 :id 바인딩
     // Optional: 없을 수도 있음을 표현 (없으면 Optional.empty())
+
+    /**
+     * 조건부 재고 차감 (원자적 UPDATE)
+     *
+     * 동작:
+     * - UPDATE product SET stock = stock - :qty WHERE product_id = :id AND stock >= :qty
+     * - 재고가 충분하면 1, 부족하거나 상품이 없으면 0을 반환
+     * - 조회 → 확인 → 저장 사이에 락을 오래 잡지 않고, 한 문장 안에서 확인과 차감을 함께 처리한다.
+     *
+     * 주의:
+     * - 벌크 UPDATE는 영속성 컨텍스트를 거치지 않으므로, 같은 트랜잭션에서 이미 읽은 Product 엔티티의 stock 값은 갱신되지 않음
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Product p set p.stock = p.stock - :qty where p.id = :id and p.stock >= :qty")
+    int decreaseStockIfEnough(@Param("id") Long id, @Param("qty") int qty);
+
+    /**
+     * 재고 복구 (환불/취소용 원자적 UPDATE)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Product p set p.stock = p.stock + :qty where p.id = :id")
+    int increaseStock(@Param("id") Long id, @Param("qty") int qty);
+
+    /**
+     * 재고 부족 시 안내 메시지용으로 이름/재고만 조회
+     */
+    @Query("select p.name as name, p.stock as stock from Product p where p.id = :id")
+    Optional<StockView> findStockViewById(@Param("id") Long id);
+
+    interface StockView {
+        String getName();
+
+        int getStock();
+    }
 }
@@ -1,9 +1,13 @@
 package com.project.hanspoon.shop.product.repository.spec;
 
+import com.project.hanspoon.common.dto.CursorToken;
 import com.project.hanspoon.shop.constant.ProductCategory;
+import com.project.hanspoon.shop.constant.ProductSort;
 import com.project.hanspoon.shop.product.entity.Product;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
+
 /**
  * ProductSpecifications
  * - Spring Data JPA Specification(동적 조건)을 모아둔 유틸 클래스
@@ -46,6 +50,15 @@ public class ProductSpecifications {
         return (root, query, cb) -> cb.like(root.get("name"), "%" + keyword + "%");
     }
 
+    /**
+     * 상품 id 목록 조건 (검색 인덱스가 찾은 상품명 후보)
+     * - where product_id in (:ids)
+     * - 후보가 없으면 항상 false 조건이 되어 결과가 비게 된다.
+     */
+    public static Specification<Product> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
     /**
      * 최소 가격 조건
      * - where price >= :minPrice
@@ -61,4 +74,28 @@ public class ProductSpecifications {
     public static Specification<Product> priceLte(Integer maxPrice) {
         return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
     }
-}
\ No newline at end of file
+
+    /**
+     * 커서(keyset) 조건: 정렬 순서상 커서 행 "다음"에 오는 상품만
+     * - LATEST    : where id < :id
+     * - PRICE_ASC : where price > :price or (price = :price and id < :id)
+     * - PRICE_DESC: where price < :price or (price = :price and id < :id)
+     *
+     * 주의:
+     * - 서비스의 정렬(sortOf)과 반드시 같은 순서여야 중복/누락 없이 이어서 읽을 수 있음
+     */
+    public static Specification<Product> after(ProductSort sortType, CursorToken cursor) {
+        return (root, query, cb) -> {
+            var idBefore = cb.lessThan(root.<Long>get("id"), cursor.id());
+            if (sortType == ProductSort.LATEST || cursor.sortValue() == null) {
+                return idBefore;
+            }
+            int price = Math.toIntExact(cursor.sortValue());
+            var samePrice = cb.and(cb.equal(root.get("price"), price), idBefore);
+            var nextPrice = (sortType == ProductSort.PRICE_ASC)
+                    ? cb.greaterThan(root.<Integer>get("price"), price)
+                    : cb.lessThan(root.<Integer>get("price"), price);
+            return cb.or(nextPrice, samePrice);
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.project.hanspoon.shop.product.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 인기 상품(hot SKU)용 메모리 재고 예약 카운터
+ * - 한정 판매처럼 같은 상품에 주문이 몰릴 때, 재고가 없는 요청을 DB까지 보내지 않고 메모리에서 먼저 거절한다.
+ *
+ * 핵심 포인트:
+ * 1) DB의 조건부 UPDATE(stock >= ?)가 항상 최종 판단 → 이 카운터는 "앞단 필터"일 뿐 정확성에 관여하지 않음
+ * 2) 상품별 AtomicInteger를 CAS로 차감하므로 락 없이 동시 요청을 처리
+ * 3) 관리자 재고 수정/다른 서버의 차감을 반영하기 위해 ttl-seconds 마다 DB 재고로 다시 맞춤
+ *
+ * 설정:
+ * - shop.stock.hot-counter.enabled=true 일 때만 동작 (기본 꺼짐)
+ */
+@Slf4j
+@Component
+public class HotStockCounter {
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+
+    public HotStockCounter(
+            @Value("${shop.stock.hot-counter.enabled:false}") boolean enabled,
+            @Value("${shop.stock.hot-counter.ttl-seconds:5}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 메모리 재고에서 qty만큼 예약한다.
+     * - 처음 보거나 TTL이 지난 상품은 stockLoader로 DB 재고를 읽어 카운터를 다시 만든다.
+     * - 부족하면 false (DB까지 갈 필요 없이 재고 부족으로 처리)
+     */
+    public boolean tryReserve(Long productId, int qty, Function<Long, Integer> stockLoader) {
+        long now = System.nanoTime();
+        Slot slot = slots.get(productId);
+        if (slot == null || slot.expiresAt - now <= 0) {
+            slot = reload(productId, slot, stockLoader, now);
+        }
+
+        AtomicInteger available = slot.available;
+        while (true) {
+            int current = available.get();
+            if (current < qty) {
+                return false;
+            }
+            if (available.compareAndSet(current, current - qty)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * DB 재고를 읽어 카운터를 새로 넣는다.
+     * - DB 조회는 ConcurrentHashMap.compute 밖에서 한다. compute 안에서 읽으면 조회가 끝날 때까지
+     *   같은 버킷의 다른 상품 요청까지 멈춰 선다.
+     * - 동시에 여러 요청이 다시 읽을 수 있지만, 맵에는 먼저 넣은 하나만 남고 나머지는 그 카운터를 쓴다.
+     */
+    private Slot reload(Long productId, Slot stale, Function<Long, Integer> stockLoader, long now) {
+        Integer stock = stockLoader.apply(productId);
+        Slot fresh = new Slot(new AtomicInteger(stock != null ? stock : 0), now + ttlNanos);
+        if (stale != null && slots.replace(productId, stale, fresh)) {
+            return fresh;
+        }
+        // 처음 보는 상품이거나, 그 사이 다른 요청이 먼저 바꿨거나 invalidate 된 경우
+        Slot raced = slots.putIfAbsent(productId, fresh);
+        return raced != null ? raced : fresh;
+    }
+
+    /**
+     * 예약을 되돌린다. (트랜잭션 롤백, 환불/취소로 재고가 돌아온 경우)
+     */
+    public void release(Long productId, int qty) {
+        Slot slot = slots.get(productId);
+        if (slot != null) {
+            slot.available.addAndGet(qty);
+        }
+    }
+
+    /**
+     * 관리자 재고 수정처럼 DB 재고가 직접 바뀐 경우 카운터를 버려 다음 요청에서 다시 읽게 한다.
+     */
+    public void invalidate(Long productId) {
+        if (slots.remove(productId) != null) {
+            log.debug("[HotStockCounter] 카운터 초기화: productId={}", productId);
+        }
+    }
+
+    private record Slot(AtomicInteger available, long expiresAt) {
+    }
+}
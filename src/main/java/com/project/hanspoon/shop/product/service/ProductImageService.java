@@ -1,5 +1,7 @@
 package com.project.hanspoon.shop.product.service;
 
+import com.project.hanspoon.common.storage.service.UploadStager;
+import com.project.hanspoon.common.storage.service.UploadStager.StagedUpload;
 import com.project.hanspoon.shop.product.dto.ProductImageResponseDto;
 import com.project.hanspoon.shop.product.entity.Product;
 import com.project.hanspoon.shop.product.entity.ProductImage;
@@ -9,6 +11,7 @@ import com.project.hanspoon.shop.product.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
@@ -19,8 +22,6 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
@@ -31,27 +32,44 @@ public class ProductImageService {
 
     private final ProductRepository productRepository;
     private final ProductImageRepository productImageRepository;
+    private final UploadStager uploadStager;
 
     @Value("${itemImgLocation}")
     private String itemImgLocation;
 
-    @Transactional
+    /**
+     * 이미지 파일은 트랜잭션 밖에서 병렬로 임시 저장한 뒤, DB 저장이 커밋되면 최종 위치로 옮긴다.
+     * (파일 쓰기 동안 DB 커넥션을 잡고 있지 않도록)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<ProductImageResponseDto> upload(
             Long productId,
             List<MultipartFile> files,
             Integer repIndex,
             ProductImageType imageType
     ) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "상품이 없습니다. id=" + productId));
-
         if (files == null || files.isEmpty()) {
+            productRepository.findById(productId)
+                    .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "상품이 없습니다. id=" + productId));
             return List.of();
         }
 
+        List<StagedUpload> staged = uploadStager.stageAll(files);
+        return uploadStager.inTransaction(staged, status -> saveImages(productId, staged, repIndex, imageType));
+    }
+
+    private List<ProductImageResponseDto> saveImages(
+            Long productId,
+            List<StagedUpload> staged,
+            Integer repIndex,
+            ProductImageType imageType
+    ) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "상품이 없습니다. id=" + productId));
+
         ProductImageType targetType = imageType == null ? ProductImageType.MAIN : imageType;
         int rep = (repIndex == null) ? 0 : repIndex;
-        if (rep < 0 || rep >= files.size()) rep = 0;
+        if (rep < 0 || rep >= staged.size()) rep = 0;
 
         if (targetType == ProductImageType.MAIN) {
             productImageRepository.findByProduct_IdOrderByRepYnDescIdAsc(productId).stream()
@@ -61,31 +79,19 @@ public class ProductImageService {
                     .ifPresent(img -> img.setRepYn(false));
         }
 
-        ensureDirExists(itemImgLocation);
-
         List<ProductImageResponseDto> result = new ArrayList<>();
 
-        for (int i = 0; i < files.size(); i++) {
-            MultipartFile file = files.get(i);
-            if (file == null || file.isEmpty()) continue;
-
-            String originalName = Optional.ofNullable(file.getOriginalFilename()).orElse("file");
-            String ext = getExtension(originalName);
-            String storedName = UUID.randomUUID() + (ext.isEmpty() ? "" : "." + ext);
-            Path savePath = Paths.get(itemImgLocation).resolve(storedName);
-
-            try {
-                file.transferTo(savePath);
-            } catch (IOException e) {
-                throw new RuntimeException("파일 저장 실패: " + originalName, e);
-            }
+        for (int i = 0; i < staged.size(); i++) {
+            StagedUpload upload = staged.get(i);
+            if (upload == null) continue;
 
+            String storedName = upload.storedName();
             String imgUrl = "/images/" + storedName;
 
             ProductImage saved = productImageRepository.save(
                     ProductImage.builder()
                             .product(product)
-                            .originalName(originalName)
+                            .originalName(upload.originalName())
                             .storedName(storedName)
                             .imgUrl(imgUrl)
                             .repYn(targetType == ProductImageType.MAIN && i == rep)
@@ -160,18 +166,4 @@ public class ProductImageService {
         }
         return isMainImage(img);
     }
-
-    private void ensureDirExists(String dir) {
-        try {
-            Files.createDirectories(Paths.get(dir));
-        } catch (IOException e) {
-            throw new RuntimeException("디렉토리 생성 실패: " + dir, e);
-        }
-    }
-
-    private String getExtension(String filename) {
-        int idx = filename.lastIndexOf('.');
-        if (idx < 0 || idx == filename.length() - 1) return "";
-        return filename.substring(idx + 1);
-    }
 }
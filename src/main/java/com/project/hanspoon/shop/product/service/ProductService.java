@@ -1,5 +1,10 @@
 package com.project.hanspoon.shop.product.service;
 
+import com.project.hanspoon.common.dto.CursorPage;
+import com.project.hanspoon.common.dto.CursorToken;
+import com.project.hanspoon.common.search.CatalogSearchIndex;
+import com.project.hanspoon.common.search.SearchDomain;
+import com.project.hanspoon.common.storage.service.ImageVariantService;
 import com.project.hanspoon.shop.constant.ProductSort;
 import com.project.hanspoon.shop.product.dto.*;
 import com.project.hanspoon.shop.product.entity.Product;
@@ -39,6 +44,8 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final ProductImageRepository productImageRepository;
     private final ProductImageService productImageService;
+    private final HotStockCounter hotStockCounter;
+    private final CatalogSearchIndex catalogSearchIndex; // 상품명 검색용 n-gram 역색인
 
     /**
      * ✅ 상품 목록 조회
@@ -58,20 +65,75 @@ public class ProductService {
         // size는 1~100 범위로 강제 (과도한 요청으로 인한 부하 방지)
         int safeSize = Math.min(Math.max(size, 1), 100);
 
-        // 정렬 기준 구성
-        // - PRICE_ASC: price 오름차순, 같은 price면 id 내림차순(안정적인 정렬을 위한 tie-breaker)
-        // - PRICE_DESC: price 내림차순, 같은 price면 id 내림차순
-        // - default: id 내림차순(최신 등록 순)
-        Sort sort = switch (sortType) {
+        // PageRequest 생성 (page, size, sort)
+        Pageable pageable = PageRequest.of(safePage, safeSize, sortOf(sortType));
+
+        // Product 페이지 조회
+        // - spec + pageable 적용
+        // - 결과: 해당 페이지의 content(상품 리스트) + total count 포함
+        Page<Product> result = productRepository.findAll(searchSpec(search), pageable);
+
+        // Page<Product>를 그대로 쓰지 않고,
+        // DTO 리스트로 새 PageImpl을 만들어 반환
+        // - totalElements는 원본 result에서 가져와 페이징 정보 유지
+        return new PageImpl<>(toListDtos(result.getContent()), pageable, result.getTotalElements());
+    }
+
+    /**
+     * ✅ 상품 목록 커서(keyset) 조회
+     * - 검색 조건/정렬은 list()와 같고, page 번호 대신 after 토큰으로 "마지막으로 본 상품 다음"부터 읽는다.
+     *
+     * 핵심 포인트:
+     * 1) offset을 쓰지 않으므로 뒤 페이지로 가도 DB가 앞 행을 읽고 버리지 않는다.
+     * 2) size + 1 개를 읽어 다음 페이지 여부를 판단 → COUNT 쿼리 없음
+     * 3) 전체 건수는 withTotal=true 일 때만 따로 COUNT
+     */
+    public CursorPage<ProductListResponseDto> listByCursor(ProductSearchRequest search, String after, int size,
+                                                           ProductSort sortType, boolean withTotal) {
+
+        int safeSize = Math.min(Math.max(size, 1), 100);
+
+        Specification<Product> spec = searchSpec(search);
+        CursorToken cursor = CursorToken.decode(after);
+
+        // 커서가 있으면 정렬 키 (price, id) 또는 (id) 기준으로 "그 다음" 행만 남긴다.
+        Specification<Product> pageSpec = (cursor == null)
+                ? spec
+                : spec.and(ProductSpecifications.after(sortType, cursor));
+
+        // findAll(spec, pageable)은 항상 COUNT를 함께 실행하므로, limit만 거는 fluent 조회를 사용한다.
+        List<Product> rows = productRepository.findBy(pageSpec,
+                q -> q.sortBy(sortOf(sortType)).limit(safeSize + 1).all());
+        Long total = withTotal ? productRepository.count(spec) : null;
+
+        return CursorPage.of(rows, safeSize,
+                p -> (sortType == ProductSort.LATEST)
+                        ? CursorToken.ofId(p.getId())
+                        : CursorToken.ofValue((long) p.getPrice(), p.getId()),
+                this::toListDtos,
+                total);
+    }
+
+    /**
+     * 정렬 기준 구성
+     * - PRICE_ASC: price 오름차순, 같은 price면 id 내림차순(안정적인 정렬을 위한 tie-breaker)
+     * - PRICE_DESC: price 내림차순, 같은 price면 id 내림차순
+     * - default: id 내림차순(최신 등록 순)
+     */
+    private Sort sortOf(ProductSort sortType) {
+        return switch (sortType) {
             case PRICE_ASC -> Sort.by(Sort.Direction.ASC, "price")
                     .and(Sort.by(Sort.Direction.DESC, "id"));
             case PRICE_DESC -> Sort.by(Sort.Direction.DESC, "price")
                     .and(Sort.by(Sort.Direction.DESC, "id"));
             default -> Sort.by(Sort.Direction.DESC, "id");
         };
+    }
 
-        // PageRequest 생성 (page, size, sort)
-        Pageable pageable = PageRequest.of(safePage, safeSize, sort);
+    /**
+     * 검색 조건(ProductSearchRequest) → Specification
+     */
+    private Specification<Product> searchSpec(ProductSearchRequest search) {
 
         // Specification 초기화
         // where(null) 대신 항상 true 조건(conjunction)으로 시작해 경고를 제거한다.
@@ -85,10 +147,14 @@ public class ProductService {
                 spec = spec.and(ProductSpecifications.categoryEq(search.getCategory()));
             }
 
-            // 키워드 필터: name LIKE %keyword%
+            // 키워드 필터: 검색 인덱스가 찾은 상품 id 후보로 거른다. (product_id IN ...)
+            // 인덱스를 쓸 수 없을 때(준비 전/너무 넓은 검색어)만 name LIKE %keyword% 로 처리
             // trim() + isEmpty 체크로 공백만 들어오는 경우 제외
             if (search.getKeyword() != null && !search.getKeyword().trim().isEmpty()) {
-                spec = spec.and(ProductSpecifications.nameContains(search.getKeyword().trim()));
+                String keyword = search.getKeyword().trim();
+                spec = spec.and(catalogSearchIndex.candidates(SearchDomain.PRODUCT, keyword)
+                        .map(ProductSpecifications::idIn)
+                        .orElseGet(() -> ProductSpecifications.nameContains(keyword)));
             }
 
             // 최소 가격: price >= minPrice
@@ -101,14 +167,17 @@ public class ProductService {
                 spec = spec.and(ProductSpecifications.priceLte(search.getMaxPrice()));
             }
         }
+        return spec;
+    }
 
-        // Product 페이지 조회
-        // - spec + pageable 적용
-        // - 결과: 해당 페이지의 content(상품 리스트) + total count 포함
-        Page<Product> result = productRepository.findAll(spec, pageable);
+    /**
+     * Product 엔티티 목록 -> ProductListResponseDto 목록 (대표 썸네일 포함)
+     * - 해당 목록의 상품 id로 대표 이미지(repYn=true)를 IN 쿼리 1번 조회
+     */
+    private List<ProductListResponseDto> toListDtos(List<Product> products) {
 
         // 현재 페이지에 포함된 상품들의 id만 추출 (대표 이미지 IN 조회에 사용)
-        List<Long> ids = result.getContent().stream()
+        List<Long> ids = products.stream()
                 .map(Product::getId)
                 .toList();
 
@@ -125,20 +194,16 @@ public class ProductService {
             for (ProductImage img : reps) {
                 // img.getProduct().getId()를 통해 어느 상품의 대표이미지인지 키를 만든다.
                 // (JPA 프록시의 id 접근은 보통 추가 쿼리 없이 가능하지만, 환경에 따라 주의 포인트가 될 수 있음 - 리뷰 참고)
-                thumbMap.put(img.getProduct().getId(), img.getImgUrl());
+                // 목록 카드는 원본 대신 480px 축소본 주소를 내려 전송량을 줄인다.
+                thumbMap.put(img.getProduct().getId(), ImageVariantService.variantUrl(img.getImgUrl(), ImageVariantService.MEDIUM));
             }
         }
 
         // Product 엔티티 -> ProductListResponseDto 변환
         // - thumbMap에서 해당 상품의 대표 썸네일 url을 찾아 넣어준다.
-        List<ProductListResponseDto> dtos = result.getContent().stream()
+        return products.stream()
                 .map(p -> ProductMapper.toListDto(p, thumbMap.get(p.getId())))
                 .toList();
-
-        // Page<Product>를 그대로 쓰지 않고,
-        // DTO 리스트로 새 PageImpl을 만들어 반환
-        // - totalElements는 원본 result에서 가져와 페이징 정보 유지
-        return new PageImpl<>(dtos, pageable, result.getTotalElements());
     }
 
     /**
@@ -243,6 +308,9 @@ public class ProductService {
         // - 하지만 명시적으로 save를 호출해도 기능상 문제는 없음(리뷰 참고)
         productRepository.save(product);
 
+        // 재고가 직접 바뀌었을 수 있으므로 인기 상품 메모리 카운터를 버려 다음 주문에서 다시 읽게 한다.
+        hotStockCounter.invalidate(id);
+
         // 수정 후 상세 응답 반환
         return getDetail(id);
     }
@@ -0,0 +1,119 @@
+package com.project.hanspoon.shop.product.service;
+
+import com.project.hanspoon.shop.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * ProductStockService
+ * - 상품 재고 차감/복구를 담당하는 서비스
+ *
+ * 핵심 포인트:
+ * 1) 재고 확인과 차감을 "UPDATE ... WHERE stock >= ?" 한 문장으로 처리 → 상품 행을 SELECT FOR UPDATE로 오래 잡지 않음
+ * 2) 여러 상품 주문은 상품 id 오름차순으로 차감 → 트랜잭션끼리 같은 순서로 행 락을 잡아 교착상태 방지
+ * 3) 하나라도 부족하면 예외 → 호출한 트랜잭션이 롤백되며 앞서 차감한 상품도 함께 되돌아감
+ * 4) (선택) HotStockCounter가 켜져 있으면 메모리 카운터로 재고 없는 요청을 DB 전에 거절
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ProductStockService {
+
+    private final ProductRepository productRepository;
+    private final HotStockCounter hotStockCounter;
+
+    /**
+     * 여러 상품 재고를 한 번에 차감 (주문 결제용)
+     * - key: 상품 id, value: 차감 수량
+     */
+    public void decreaseAll(Map<Long, Integer> quantities) {
+        Map<Long, Integer> sorted = new TreeMap<>(quantities);
+
+        for (Map.Entry<Long, Integer> e : sorted.entrySet()) {
+            Long productId = e.getKey();
+            int qty = e.getValue();
+            if (qty <= 0) {
+                throw new ResponseStatusException(BAD_REQUEST, "수량이 올바르지 않습니다.");
+            }
+
+            if (hotStockCounter.isEnabled()) {
+                boolean reserved = hotStockCounter.tryReserve(productId, qty,
+                        id -> productRepository.findStockViewById(id)
+                                .map(ProductRepository.StockView::getStock)
+                                .orElse(0));
+                if (!reserved) {
+                    throw outOfStock(productId, qty);
+                }
+                releaseOnRollback(productId, qty);
+            }
+
+            if (productRepository.decreaseStockIfEnough(productId, qty) == 0) {
+                throw outOfStock(productId, qty);
+            }
+        }
+    }
+
+    /**
+     * 여러 상품 재고를 한 번에 복구 (환불/취소용)
+     */
+    public void increaseAll(Map<Long, Integer> quantities) {
+        Map<Long, Integer> sorted = new TreeMap<>(quantities);
+
+        for (Map.Entry<Long, Integer> e : sorted.entrySet()) {
+            if (productRepository.increaseStock(e.getKey(), e.getValue()) == 0) {
+                throw new ResponseStatusException(NOT_FOUND, "주문 상품이 존재하지 않습니다. productId=" + e.getKey());
+            }
+            if (hotStockCounter.isEnabled()) {
+                releaseOnCommit(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    // 차감 실패 사유(상품 없음 / 재고 부족)를 기존 메시지 형식 그대로 만든다.
+    private ResponseStatusException outOfStock(Long productId, int qty) {
+        return productRepository.findStockViewById(productId)
+                .map(view -> new ResponseStatusException(BAD_REQUEST,
+                        "재고 부족: " + view.getName() + " (재고 " + view.getStock() + ", 요청 " + qty + ")"))
+                .orElseGet(() -> new ResponseStatusException(NOT_FOUND,
+                        "주문 상품이 삭제되었거나 존재하지 않습니다. productId=" + productId));
+    }
+
+    // 메모리 예약은 트랜잭션이 롤백되면 되돌린다. (커밋되면 DB 재고와 같아지므로 그대로 둠)
+    private void releaseOnRollback(Long productId, int qty) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    hotStockCounter.release(productId, qty);
+                }
+            }
+        });
+    }
+
+    // 복구된 재고는 커밋된 뒤에만 메모리 카운터에 더한다.
+    private void releaseOnCommit(Long productId, int qty) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            hotStockCounter.release(productId, qty);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                hotStockCounter.release(productId, qty);
+            }
+        });
+    }
+}
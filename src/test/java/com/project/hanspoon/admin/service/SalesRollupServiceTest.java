@@ -0,0 +1,188 @@
+package com.project.hanspoon.admin.service;
+
+import com.project.hanspoon.admin.entity.DailySalesRollup;
+import com.project.hanspoon.admin.entity.ItemSalesRollup;
+import com.project.hanspoon.admin.repository.DailySalesRollupRepository;
+import com.project.hanspoon.admin.repository.ItemSalesRollupRepository;
+import com.project.hanspoon.admin.scheduler.SalesRollupBackfillJob;
+import com.project.hanspoon.common.payment.constant.PaymentStatus;
+import com.project.hanspoon.common.payment.entity.Payment;
+import com.project.hanspoon.common.payment.entity.PaymentItem;
+import com.project.hanspoon.common.payment.repository.PaymentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 매출 집계가 결제 트랜잭션 커밋 뒤에만 반영되는지 H2 에서 실제 트랜잭션으로 확인합니다.
+ * (afterCommit 콜백이 불려야 하므로 테스트 메서드를 트랜잭션으로 감싸지 않습니다)
+ */
+@DataJpaTest
+@Import({SalesRollupService.class, SalesRollupBackfillService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SalesRollupServiceTest {
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+    @Autowired
+    private SalesRollupBackfillService backfillService;
+    @Autowired
+    private PaymentRepository paymentRepository;
+    @Autowired
+    private DailySalesRollupRepository dailySalesRollupRepository;
+    @Autowired
+    private ItemSalesRollupRepository itemSalesRollupRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from payment_item");
+        jdbcTemplate.update("delete from payment");
+        jdbcTemplate.update("delete from daily_sales_rollup");
+        jdbcTemplate.update("delete from item_sales_rollup");
+    }
+
+    private TransactionTemplate tx() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private static Payment payment(int amount, PaymentItem item) {
+        Payment payment = Payment.builder()
+                .totalPrice(amount)
+                .status(PaymentStatus.PAID)
+                .build();
+        payment.addPaymentItem(item);
+        return payment;
+    }
+
+    // PortOneService 처럼 결제 저장과 집계 요청을 한 트랜잭션에서 합니다.
+    private Payment pay(int amount, PaymentItem item) {
+        return tx().execute(status -> {
+            Payment saved = paymentRepository.save(payment(amount, item));
+            salesRollupService.recordPaid(saved);
+            return saved;
+        });
+    }
+
+    private void cancel(Long payId) {
+        tx().executeWithoutResult(status -> {
+            Payment payment = paymentRepository.findById(payId).orElseThrow();
+            payment.setStatus(PaymentStatus.CANCELLED);
+            salesRollupService.recordCancelled(payment);
+        });
+    }
+
+    private DailySalesRollup daily(LocalDate date) {
+        return dailySalesRollupRepository.findById(date).orElseThrow();
+    }
+
+    private Map<String, ItemSalesRollup> items() {
+        return itemSalesRollupRepository.findAll().stream()
+                .collect(Collectors.toMap(ItemSalesRollup::getItemName, r -> r));
+    }
+
+    @Test
+    void recordPaid_커밋된_뒤에_일자_집계와_상품_집계에_더한다() {
+        Payment first = tx().execute(status -> {
+            Payment saved = paymentRepository.save(payment(20000, PaymentItem.createForProduct(1L, "식빵", 2)));
+            salesRollupService.recordPaid(saved);
+            // 아직 커밋 전이므로 집계에는 없습니다.
+            assertEquals(0, dailySalesRollupRepository.count());
+            return saved;
+        });
+        pay(30000, PaymentItem.createForClass(5L, "제빵 클래스", 1));
+
+        DailySalesRollup rollup = daily(first.getPayDate().toLocalDate());
+        assertEquals(50000, rollup.getPaidAmount());
+        assertEquals(2, rollup.getPaidCount());
+        assertEquals(20000, rollup.getProductAmount());
+        assertEquals(30000, rollup.getClassAmount());
+
+        Map<String, ItemSalesRollup> items = items();
+        assertEquals(1, items.get("식빵").getItemCount());
+        assertEquals(2, items.get("식빵").getQuantity());
+        assertEquals(1, items.get("제빵 클래스").getItemCount());
+    }
+
+    @Test
+    void recordPaid_롤백된_결제는_집계에_잡히지_않는다() {
+        tx().executeWithoutResult(status -> {
+            Payment saved = paymentRepository.save(payment(20000, PaymentItem.createForProduct(1L, "식빵", 1)));
+            salesRollupService.recordPaid(saved);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, dailySalesRollupRepository.count());
+        assertEquals(0, itemSalesRollupRepository.count());
+    }
+
+    @Test
+    void recordCancelled_결제_후_취소하면_결제일_매출에서_빼고_상품_건수는_그대로_둔다() {
+        Payment bread = pay(20000, PaymentItem.createForProduct(1L, "식빵", 2));
+        pay(30000, PaymentItem.createForClass(5L, "제빵 클래스", 1));
+
+        cancel(bread.getPayId());
+
+        DailySalesRollup rollup = daily(bread.getPayDate().toLocalDate());
+        assertEquals(30000, rollup.getPaidAmount());
+        assertEquals(1, rollup.getPaidCount());
+        assertEquals(0, rollup.getProductAmount());
+        assertEquals(30000, rollup.getClassAmount());
+        assertEquals(1, items().get("식빵").getItemCount());
+    }
+
+    @Test
+    void backfill_기존_결제로_다시_계산한_뒤_새_결제와_취소가_이어서_반영된다() {
+        // 집계 테이블이 생기기 전의 결제 (recordPaid 없이 저장)
+        Payment old = tx().execute(status ->
+                paymentRepository.save(payment(10000, PaymentItem.createForProduct(1L, "식빵", 1))));
+        tx().execute(status -> paymentRepository.save(payment(15000, PaymentItem.createForClass(5L, "제빵 클래스", 1))));
+        tx().executeWithoutResult(status -> paymentRepository
+                .save(payment(99000, PaymentItem.createForProduct(2L, "케이크", 1)))
+                .setStatus(PaymentStatus.CANCELLED));
+        LocalDate today = old.getPayDate().toLocalDate();
+
+        new SalesRollupBackfillJob(backfillService).backfillIfEmpty();
+
+        DailySalesRollup rebuilt = daily(today);
+        assertEquals(25000, rebuilt.getPaidAmount());
+        assertEquals(2, rebuilt.getPaidCount());
+        assertEquals(10000, rebuilt.getProductAmount());
+        assertEquals(15000, rebuilt.getClassAmount());
+        // 상품 건수는 결제 상태와 관계없이 결제 항목 기준입니다.
+        assertEquals(1, items().get("케이크").getItemCount());
+
+        // 백필 뒤의 증분은 같은 날짜 행에 이어서 더하고 뺍니다.
+        pay(5000, PaymentItem.createForProduct(1L, "식빵", 3));
+        cancel(old.getPayId());
+
+        DailySalesRollup rollup = daily(today);
+        assertEquals(20000, rollup.getPaidAmount());
+        assertEquals(2, rollup.getPaidCount());
+        assertEquals(5000, rollup.getProductAmount());
+        assertEquals(15000, rollup.getClassAmount());
+        assertEquals(2, items().get("식빵").getItemCount());
+        assertEquals(4, items().get("식빵").getQuantity());
+
+        // 집계가 비어 있지 않으면 기동 시 백필은 다시 돌지 않습니다.
+        jdbcTemplate.update("update daily_sales_rollup set paid_amount = 1 where sales_date = ?", today);
+        new SalesRollupBackfillJob(backfillService).backfillIfEmpty();
+        assertEquals(1, daily(today).getPaidAmount());
+    }
+}
@@ -0,0 +1,242 @@
+package com.project.hanspoon.common.payment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.hanspoon.admin.service.SalesRollupService;
+import com.project.hanspoon.common.config.PortOneConfig;
+import com.project.hanspoon.common.payment.constant.PaymentStatus;
+import com.project.hanspoon.common.payment.dto.PortOneDto;
+import com.project.hanspoon.common.payment.gateway.FakePortOneGateway;
+import com.project.hanspoon.common.payment.gateway.PortOneClient;
+import com.project.hanspoon.common.payment.repository.PaymentRepository;
+import com.project.hanspoon.common.payment.service.PortOneService;
+import com.project.hanspoon.common.user.entity.User;
+import com.project.hanspoon.mypage.service.PointService;
+import com.project.hanspoon.oneday.clazz.repository.ClassSessionRepository;
+import com.project.hanspoon.oneday.coupon.repository.ClassUserCouponRepository;
+import com.project.hanspoon.oneday.reservation.repository.ClassReservationRepository;
+import com.project.hanspoon.shop.order.repository.OrderRepository;
+import com.project.hanspoon.shop.order.service.OrderService;
+import com.project.hanspoon.shop.product.entity.Product;
+import com.project.hanspoon.shop.product.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 포트원 조회가 DB 트랜잭션 밖에서 실행되는지, 포트원이 느릴 때 빨리 실패하는지,
+ * 같은 결제를 여러 번 검증해도 한 번만 처리하는지 확인합니다.
+ * 지연을 넣은 가짜 포트원 서버(FakePortOneGateway)와 열린 트랜잭션 수를 세는 트랜잭션 매니저를 씁니다.
+ */
+class PortOneVerificationIsolationTest {
+
+    private final CountingTransactionManager transactionManager = new CountingTransactionManager();
+    private final AtomicInteger maxOpenDuringRemoteCall = new AtomicInteger();
+    private volatile CountDownLatch arrivals = new CountDownLatch(0);
+    private FakePortOneGateway gateway;
+    private PaymentRepository paymentRepository;
+
+    @AfterEach
+    void tearDown() {
+        if (gateway != null) {
+            gateway.close();
+        }
+    }
+
+    @Test
+    void verifyAndSavePayment_포트원_응답을_기다리는_동안_트랜잭션을_열지_않는다() throws Exception {
+        PortOneService service = newService(0, 5000, 16);
+        // 8건이 모두 도착한 뒤에야 응답하므로, 도착 시점에는 어떤 요청도 ②단계(트랜잭션)에 들어가 있을 수 없습니다.
+        arrivals = new CountDownLatch(8);
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<PortOneDto.PaymentResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String paymentId = "pay-" + i;
+                results.add(callers.submit(() -> service.verifyAndSavePayment(user(1L), request(paymentId))));
+            }
+            for (Future<PortOneDto.PaymentResult> result : results) {
+                assertTrue(result.get().isSuccess(), result.get().getMessage());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(0, maxOpenDuringRemoteCall.get());
+        assertEquals(8, transactionManager.begun.get());
+        assertEquals(0, transactionManager.open.get());
+    }
+
+    @Test
+    void verifyAndSavePayment_포트원이_느리면_트랜잭션_없이_빨리_실패한다() throws Exception {
+        PortOneService service = newService(3000, 300, 16);
+
+        long startedAt = System.nanoTime();
+        PortOneDto.PaymentResult result = service.verifyAndSavePayment(user(1L), request("pay-1"));
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertFalse(result.isSuccess());
+        assertTrue(elapsedMs < 2000, "elapsedMs=" + elapsedMs);
+        assertEquals(0, transactionManager.begun.get());
+    }
+
+    @Test
+    void verifyAndSavePayment_동시_호출_상한을_넘으면_기다리지_않고_거절한다() throws Exception {
+        PortOneService service = newService(800, 5000, 1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<PortOneDto.PaymentResult> first =
+                    callers.submit(() -> service.verifyAndSavePayment(user(1L), request("pay-1")));
+            Thread.sleep(200);
+            Future<PortOneDto.PaymentResult> second =
+                    callers.submit(() -> service.verifyAndSavePayment(user(1L), request("pay-2")));
+
+            assertFalse(second.get().isSuccess());
+            assertTrue(first.get().isSuccess(), first.get().getMessage());
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, transactionManager.begun.get());
+    }
+
+    @Test
+    void verifyAndSavePayment_같은_결제를_동시에_검증하면_포트원_조회와_저장을_한_번만_한다() throws Exception {
+        PortOneService service = newService(300, 5000, 16);
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<PortOneDto.PaymentResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> service.verifyAndSavePayment(user(1L), request("pay-1"))));
+            }
+            for (Future<PortOneDto.PaymentResult> result : results) {
+                assertTrue(result.get().isSuccess(), result.get().getMessage());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertTrue(service.verifyAndSavePayment(user(1L), request("pay-1")).isSuccess());
+
+        assertEquals(1, gateway.requests().size());
+        assertEquals(1, transactionManager.begun.get());
+    }
+
+    @Test
+    void verifyAndSavePayment_이미_저장된_결제는_포트원을_부르지_않고_기존_결과를_돌려준다() throws Exception {
+        PortOneService service = newService(0, 5000, 16);
+        PaymentRepository.ProcessedPayment existing = mock(PaymentRepository.ProcessedPayment.class);
+        when(existing.getPayId()).thenReturn(42L);
+        when(existing.getUserId()).thenReturn(1L);
+        when(existing.getStatus()).thenReturn(PaymentStatus.PAID);
+        when(existing.getTotalPrice()).thenReturn(1000);
+        when(paymentRepository.findProcessedByPortOnePaymentId("pay-1")).thenReturn(Optional.of(existing));
+
+        PortOneDto.PaymentResult result = service.verifyAndSavePayment(user(1L), request("pay-1"));
+        assertTrue(result.isSuccess());
+        assertEquals(42L, result.getPayId());
+
+        assertFalse(service.verifyAndSavePayment(user(2L), request("pay-1")).isSuccess());
+        assertTrue(gateway.requests().isEmpty());
+        assertEquals(0, transactionManager.begun.get());
+    }
+
+    private PortOneService newService(long latencyMs, int readTimeoutMs, int maxConcurrent) throws IOException {
+        gateway = FakePortOneGateway.start().reply(request -> {
+            maxOpenDuringRemoteCall.accumulateAndGet(transactionManager.open.get(), Math::max);
+            arrivals.countDown();
+            try {
+                arrivals.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return FakePortOneGateway.Reply.paid("pay-1", 1000).delayed(latencyMs);
+        });
+
+        PortOneConfig config = gateway.config();
+        config.getClient().setReadTimeoutMs(readTimeoutMs);
+        config.getClient().setDeadlineMs(readTimeoutMs * 2L + 500);
+        config.getClient().setMaxConcurrent(maxConcurrent);
+        PortOneClient client = new PortOneClient(config.portOneWebClient(), config, new ObjectMapper(),
+                new SimpleMeterRegistry());
+
+        Product product = new Product();
+        product.setPrice(1000);
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        paymentRepository = mock(PaymentRepository.class);
+        when(paymentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        return new PortOneService(
+                client,
+                paymentRepository,
+                mock(SalesRollupService.class),
+                new TransactionTemplate(transactionManager),
+                mock(ClassSessionRepository.class),
+                mock(ClassReservationRepository.class),
+                mock(ClassUserCouponRepository.class),
+                productRepository,
+                mock(OrderRepository.class),
+                mock(OrderService.class),
+                mock(PointService.class));
+    }
+
+    private static User user(Long userId) {
+        return User.builder().userId(userId).build();
+    }
+
+    private static PortOneDto.PaymentVerifyRequest request(String paymentId) {
+        return PortOneDto.PaymentVerifyRequest.builder()
+                .paymentId(paymentId)
+                .productId(1L)
+                .quantity(1)
+                .amount(1000)
+                .build();
+    }
+
+    /** 실제 DB 없이 열린 트랜잭션 수만 세는 트랜잭션 매니저입니다. */
+    private static final class CountingTransactionManager implements PlatformTransactionManager {
+        private final AtomicInteger open = new AtomicInteger();
+        private final AtomicInteger begun = new AtomicInteger();
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            begun.incrementAndGet();
+            open.incrementAndGet();
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            open.decrementAndGet();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            open.decrementAndGet();
+        }
+    }
+}
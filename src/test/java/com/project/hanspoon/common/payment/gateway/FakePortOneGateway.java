@@ -0,0 +1,109 @@
+package com.project.hanspoon.common.payment.gateway;
+
+import com.project.hanspoon.common.config.PortOneConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * 테스트용 가짜 포트원 서버입니다. (JDK 내장 HttpServer)
+ * 요청마다 응답 코드/본문/지연 시간을 정할 수 있고, 받은 요청을 기록합니다.
+ */
+public class FakePortOneGateway implements AutoCloseable {
+
+    public record Request(String method, String path, String idempotencyKey, String body) {
+    }
+
+    public record Reply(int status, String body, long delayMs) {
+
+        public static Reply paid(String paymentId, int total) {
+            return new Reply(200, "{\"id\":\"" + paymentId + "\",\"status\":\"PAID\",\"amount\":{\"total\":" + total
+                    + "},\"orderName\":\"테스트 상품\"}", 0);
+        }
+
+        public static Reply status(int status, String body) {
+            return new Reply(status, body, 0);
+        }
+
+        public Reply delayed(long delayMs) {
+            return new Reply(status, body, delayMs);
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private volatile Function<Request, Reply> handler = request -> Reply.status(404, "{}");
+
+    private FakePortOneGateway() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public static FakePortOneGateway start() throws IOException {
+        return new FakePortOneGateway();
+    }
+
+    /** 요청을 받을 때마다 호출됩니다. 요청 스레드에서 실행되므로 여기서 기다리면 응답도 늦어집니다. */
+    public FakePortOneGateway reply(Function<Request, Reply> handler) {
+        this.handler = handler;
+        return this;
+    }
+
+    public List<Request> requests() {
+        return List.copyOf(requests);
+    }
+
+    /** 이 서버를 바라보는 포트원 설정. 테스트가 빨리 끝나도록 타임아웃을 짧게 둡니다. */
+    public PortOneConfig config() {
+        PortOneConfig config = new PortOneConfig();
+        config.setApiSecret("test-secret");
+        config.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        config.getClient().setReadTimeoutMs(1000);
+        config.getClient().setDeadlineMs(2000);
+        config.getClient().setAcquireTimeoutMs(50);
+        config.getClient().setRetryBackoffMs(20);
+        return config;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Request request = new Request(
+                    exchange.getRequestMethod(),
+                    exchange.getRequestURI().getPath(),
+                    exchange.getRequestHeaders().getFirst("Idempotency-Key"),
+                    new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            requests.add(request);
+
+            Reply reply = handler.apply(request);
+            if (reply.delayMs() > 0) {
+                Thread.sleep(reply.delayMs());
+            }
+            byte[] body = reply.body().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(reply.status(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException | IOException ignored) {
+            // 클라이언트가 타임아웃으로 먼저 연결을 끊은 경우
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
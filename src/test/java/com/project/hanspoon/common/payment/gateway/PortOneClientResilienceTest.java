@@ -0,0 +1,119 @@
+package com.project.hanspoon.common.payment.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.hanspoon.common.config.PortOneConfig;
+import com.project.hanspoon.common.exception.BusinessException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PortOneClientResilienceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FakePortOneGateway gateway;
+
+    @AfterEach
+    void tearDown() {
+        if (gateway != null) {
+            gateway.close();
+        }
+    }
+
+    private PortOneClient newClient(PortOneConfig config) {
+        return new PortOneClient(config.portOneWebClient(), config, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void getPayment_실패가_이어지면_서킷이_열려_포트원을_부르지_않는다() throws IOException {
+        gateway = FakePortOneGateway.start().reply(request -> FakePortOneGateway.Reply.status(500, "{}"));
+        PortOneConfig config = gateway.config();
+        config.getClient().setMaxRetries(0);
+        config.getBreaker().setMinimumCalls(4);
+        config.getBreaker().setWindowSize(4);
+        PortOneClient client = newClient(config);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(PortOneClient.UnavailableException.class, () -> client.getPayment("pay-1"));
+        }
+        assertEquals(GatewayCircuitBreaker.State.OPEN, client.circuitState());
+
+        assertThrows(PortOneClient.UnavailableException.class, () -> client.getPayment("pay-1"));
+        assertEquals(4, gateway.requests().size());
+
+        Timer shortCircuited = meterRegistry.get("portone.client.requests")
+                .tag("endpoint", "getPayment").tag("outcome", "short_circuited").timer();
+        assertEquals(1, shortCircuited.count());
+    }
+
+    @Test
+    void getPayment_4xx는_빈값이고_서킷_실패로_세지_않는다() throws IOException {
+        gateway = FakePortOneGateway.start().reply(request -> FakePortOneGateway.Reply.status(404, "{}"));
+        PortOneConfig config = gateway.config();
+        config.getBreaker().setMinimumCalls(2);
+        config.getBreaker().setWindowSize(2);
+        PortOneClient client = newClient(config);
+
+        assertTrue(client.getPayment("missing").isEmpty());
+        assertTrue(client.getPayment("missing").isEmpty());
+        assertEquals(GatewayCircuitBreaker.State.CLOSED, client.circuitState());
+    }
+
+    @Test
+    void cancelPayment_5xx_재시도에도_같은_멱등키를_보내고_완료된_취소는_다시_부르지_않는다() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        gateway = FakePortOneGateway.start().reply(request -> calls.incrementAndGet() == 1
+                ? FakePortOneGateway.Reply.status(503, "{}")
+                : FakePortOneGateway.Reply.status(200, "{\"cancellation\":{}}"));
+        PortOneClient client = newClient(gateway.config());
+
+        client.cancelPayment("pay-1", "단순 변심");
+        client.cancelPayment("pay-1", "단순 변심");
+
+        assertEquals(2, gateway.requests().size());
+        String key = gateway.requests().get(0).idempotencyKey();
+        assertFalse(key == null || key.isBlank());
+        assertEquals(key, gateway.requests().get(1).idempotencyKey());
+    }
+
+    @Test
+    void cancelPayment_이미_취소된_결제는_성공으로_보고_다른_거절은_예외다() throws IOException {
+        gateway = FakePortOneGateway.start().reply(request -> request.path().contains("pay-done")
+                ? FakePortOneGateway.Reply.status(409, "{\"type\":\"PAYMENT_ALREADY_CANCELLED\"}")
+                : FakePortOneGateway.Reply.status(400, "{\"type\":\"INVALID_REQUEST\"}"));
+        PortOneClient client = newClient(gateway.config());
+
+        client.cancelPayment("pay-done", "중복 요청");
+        assertThrows(BusinessException.class, () -> client.cancelPayment("pay-bad", "잘못된 요청"));
+    }
+
+    @Test
+    void circuitBreaker_열린_시간이_지나면_한_건만_시험하고_성공하면_닫힌다() {
+        AtomicLong now = new AtomicLong();
+        GatewayCircuitBreaker breaker = new GatewayCircuitBreaker("test", 50, 2, 2, 100, now::get);
+
+        breaker.tryAcquirePermission();
+        breaker.onFailure();
+        breaker.tryAcquirePermission();
+        breaker.onFailure();
+        assertEquals(GatewayCircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquirePermission());
+
+        now.addAndGet(100_000_000L);
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.onSuccess();
+        assertEquals(GatewayCircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+}
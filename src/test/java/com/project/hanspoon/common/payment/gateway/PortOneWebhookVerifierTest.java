@@ -0,0 +1,61 @@
+package com.project.hanspoon.common.payment.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PortOneWebhookVerifierTest {
+
+    private static final String SECRET = "whsec_" + Base64.getEncoder()
+            .encodeToString("test-webhook-secret".getBytes(StandardCharsets.UTF_8));
+    private static final long NOW = 1_760_000_000L;
+    private static final String BODY = "{\"type\":\"Transaction.Paid\",\"data\":{\"paymentId\":\"pay-1\"}}";
+
+    private final PortOneWebhookVerifier verifier =
+            new PortOneWebhookVerifier(SECRET, false, Clock.fixed(Instant.ofEpochSecond(NOW), ZoneOffset.UTC));
+
+    private String signature(String webhookId, long timestamp, String body) {
+        return "v1," + Base64.getEncoder().encodeToString(verifier.sign(webhookId + "." + timestamp + "." + body));
+    }
+
+    @Test
+    void verify_올바른_서명은_통과하고_본문이_바뀌면_거절한다() {
+        String signature = signature("wh-1", NOW, BODY);
+
+        assertTrue(verifier.verify("wh-1", String.valueOf(NOW), signature, BODY));
+        assertTrue(verifier.verify("wh-1", String.valueOf(NOW), "v1,AAAA " + signature, BODY));
+        assertFalse(verifier.verify("wh-1", String.valueOf(NOW), signature, BODY.replace("pay-1", "pay-2")));
+        assertFalse(verifier.verify("wh-2", String.valueOf(NOW), signature, BODY));
+        assertFalse(verifier.verify("wh-1", String.valueOf(NOW), null, BODY));
+    }
+
+    @Test
+    void verify_5분이_지난_웹훅은_거절한다() {
+        long old = NOW - 301;
+        assertFalse(verifier.verify("wh-1", String.valueOf(old), signature("wh-1", old, BODY), BODY));
+    }
+
+    @Test
+    void verify_시크릿이_없으면_거절한다() {
+        PortOneWebhookVerifier noSecret = new PortOneWebhookVerifier("", false, Clock.systemUTC());
+
+        assertFalse(noSecret.isEnabled());
+        assertFalse(noSecret.verify("wh-1", null, null, BODY));
+    }
+
+    @Test
+    void verify_개발용_허용이면_서명없이_받되_webhook_id는_필요하다() {
+        PortOneWebhookVerifier unsigned = new PortOneWebhookVerifier("", true, Clock.systemUTC());
+
+        assertTrue(unsigned.isEnabled());
+        assertTrue(unsigned.verify("wh-1", null, null, BODY));
+        assertFalse(unsigned.verify(null, null, null, BODY));
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.hanspoon.common.payment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.hanspoon.common.payment.dto.PortOneDto;
+import com.project.hanspoon.common.payment.gateway.PortOneClient;
+import com.project.hanspoon.common.payment.repository.PaymentInboxRepository;
+import com.project.hanspoon.common.payment.repository.PaymentRepository;
+import com.project.hanspoon.common.user.entity.User;
+import com.project.hanspoon.common.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PaymentInboxServiceTest {
+
+    private static final String PAYMENT_ID = "pay-1";
+
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PortOneClient portOneClient = mock(PortOneClient.class);
+    private final PortOneService portOneService = mock(PortOneService.class);
+    private final CheckoutTokens checkoutTokens = new CheckoutTokens("test-checkout-secret");
+    private final PaymentInboxService service = new PaymentInboxService(
+            mock(PaymentInboxRepository.class), paymentRepository, userRepository,
+            portOneClient, portOneService, checkoutTokens, new ObjectMapper());
+
+    @BeforeEach
+    void setUp() {
+        PortOneDto.PortOnePaymentResponse payment = new PortOneDto.PortOnePaymentResponse();
+        payment.setId(PAYMENT_ID);
+        payment.setStatus("PAID");
+        payment.setCustomData("{\"userId\":7,\"checkoutToken\":\"" + checkoutTokens.issue(7L, PAYMENT_ID)
+                + "\",\"amount\":10000,\"productId\":1,\"quantity\":1}");
+        when(portOneClient.getPayment(PAYMENT_ID)).thenReturn(Optional.of(payment));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(User.builder().userId(7L).build()));
+    }
+
+    private void verifyReturns(PortOneDto.PaymentResult result) {
+        when(portOneService.verifyPrefetched(any(User.class), any(PortOneDto.PaymentVerifyRequest.class),
+                any(PortOneDto.PortOnePaymentResponse.class))).thenReturn(result);
+    }
+
+    @Test
+    void complete_일시적인_DB_오류로_저장하지_못하면_재시도한다() {
+        verifyReturns(PortOneDto.PaymentResult.builder()
+                .success(false).retryable(true).message("결제 처리 중 일시적인 오류가 발생했습니다.").build());
+
+        assertEquals(PaymentInboxService.Outcome.RETRY, service.complete(PAYMENT_ID).outcome());
+    }
+
+    @Test
+    void complete_검증에서_거절된_결제는_실패로_남긴다() {
+        verifyReturns(PortOneDto.PaymentResult.builder()
+                .success(false).message("결제 금액이 일치하지 않습니다.").build());
+
+        assertEquals(PaymentInboxService.Outcome.FAILED, service.complete(PAYMENT_ID).outcome());
+    }
+
+    @Test
+    void complete_서명이_맞지_않는_customData는_브라우저_검증에_맡긴다() {
+        PortOneDto.PortOnePaymentResponse payment = new PortOneDto.PortOnePaymentResponse();
+        payment.setStatus("PAID");
+        payment.setCustomData("{\"userId\":7,\"checkoutToken\":\""
+                + new CheckoutTokens("other-secret").issue(7L, PAYMENT_ID) + "\"}");
+        when(portOneClient.getPayment(eq(PAYMENT_ID))).thenReturn(Optional.of(payment));
+
+        assertEquals(PaymentInboxService.Outcome.SKIPPED, service.complete(PAYMENT_ID).outcome());
+    }
+}
@@ -0,0 +1,115 @@
+package com.project.hanspoon.common.payment.service;
+
+import com.project.hanspoon.common.payment.constant.PaymentInboxStatus;
+import com.project.hanspoon.common.payment.entity.PaymentInbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentInboxWorkerTest {
+
+    private final PaymentInboxService inboxService = mock(PaymentInboxService.class);
+    private final PaymentInboxWorker worker = new PaymentInboxWorker(
+            inboxService, new SimpleMeterRegistry(), true, 10, 2, 3, 1000, 60_000, 60_000, 2, 500);
+
+    private static PaymentInbox claimed(long id, String paymentId, int attempts) {
+        PaymentInbox inbox = PaymentInbox.received("wh-" + id, paymentId, "Transaction.Paid", "{}", LocalDateTime.now());
+        ReflectionTestUtils.setField(inbox, "id", id);
+        for (int i = 0; i < attempts; i++) {
+            inbox.claim(LocalDateTime.now().plusMinutes(2));
+        }
+        return inbox;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, PaymentInboxService.Result> drainAndCapture() {
+        worker.drain();
+        ArgumentCaptor<List<PaymentInboxService.Result>> captor = ArgumentCaptor.forClass(List.class);
+        verify(inboxService).applyResults(captor.capture());
+        return captor.getValue().stream()
+                .collect(Collectors.toMap(PaymentInboxService.Result::inboxId, r -> r));
+    }
+
+    @Test
+    void drain_같은_결제의_중복_웹훅은_한_번만_처리하고_함께_완료한다() {
+        when(inboxService.claimDue(any(LocalDateTime.class), anyInt(), any(Duration.class)))
+                .thenReturn(List.of(claimed(1, "pay-1", 1), claimed(2, "pay-1", 1), claimed(3, "pay-2", 1)));
+        when(inboxService.complete("pay-1")).thenReturn(
+                new PaymentInboxService.Completion(PaymentInboxService.Outcome.COMPLETED, "결제가 완료되었습니다."));
+        when(inboxService.complete("pay-2")).thenReturn(
+                new PaymentInboxService.Completion(PaymentInboxService.Outcome.ALREADY_DONE, "이미 저장된 결제입니다."));
+
+        Map<Long, PaymentInboxService.Result> results = drainAndCapture();
+
+        verify(inboxService, times(1)).complete("pay-1");
+        verify(inboxService, times(1)).complete("pay-2");
+        assertEquals(3, results.size());
+        results.values().forEach(r -> assertEquals(PaymentInboxStatus.DONE, r.status()));
+    }
+
+    @Test
+    void drain_재시도할_실패는_백오프_후_다시_대기하고_최대_횟수를_넘으면_실패로_남긴다() {
+        when(inboxService.claimDue(any(LocalDateTime.class), anyInt(), any(Duration.class)))
+                .thenReturn(List.of(claimed(1, "pay-1", 1), claimed(2, "pay-2", 3)));
+        when(inboxService.complete(any())).thenReturn(
+                new PaymentInboxService.Completion(PaymentInboxService.Outcome.RETRY, "포트원 응답 지연"));
+
+        LocalDateTime before = LocalDateTime.now();
+        Map<Long, PaymentInboxService.Result> results = drainAndCapture();
+
+        PaymentInboxService.Result retry = results.get(1L);
+        assertEquals(PaymentInboxStatus.PENDING, retry.status());
+        assertNotNull(retry.nextAttemptAt());
+        assertTrue(retry.nextAttemptAt().isAfter(before.plusNanos(700_000_000L)));
+
+        PaymentInboxService.Result failed = results.get(2L);
+        assertEquals(PaymentInboxStatus.FAILED, failed.status());
+        assertNull(failed.nextAttemptAt());
+    }
+
+    @Test
+    void drain_포트원에_없는_결제는_짧게_몇_번만_다시_보고_건너뛴다() {
+        when(inboxService.claimDue(any(LocalDateTime.class), anyInt(), any(Duration.class)))
+                .thenReturn(List.of(claimed(1, "pay-unknown-1", 1), claimed(2, "pay-unknown-2", 2)));
+        when(inboxService.complete(any())).thenReturn(
+                new PaymentInboxService.Completion(PaymentInboxService.Outcome.NOT_FOUND, "결제 없음"));
+
+        LocalDateTime before = LocalDateTime.now();
+        Map<Long, PaymentInboxService.Result> results = drainAndCapture();
+
+        PaymentInboxService.Result retry = results.get(1L);
+        assertEquals(PaymentInboxStatus.PENDING, retry.status());
+        assertTrue(retry.nextAttemptAt().isBefore(before.plusSeconds(2)));
+
+        PaymentInboxService.Result skipped = results.get(2L);
+        assertEquals(PaymentInboxStatus.SKIPPED, skipped.status());
+        assertNull(skipped.nextAttemptAt());
+    }
+
+    @Test
+    void backoffMs_시도마다_두_배로_늘고_최대값을_넘지_않는다() {
+        for (int attempts = 1; attempts <= 40; attempts++) {
+            long expected = Math.min(60_000, 1000L << Math.min(30, attempts - 1));
+            long delay = worker.backoffMs(attempts);
+            assertTrue(delay >= expected * 0.8 - 1 && delay <= expected * 1.2 + 1, "attempts=" + attempts);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.project.hanspoon.common.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+
+    private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::id).toList();
+    }
+
+    @Test
+    void search_부분문자열과_한글자_검색을_찾는다() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "김치찌개");
+        index.put(2, "돼지고기 김치찌개");
+        index.put(3, "된장찌개");
+
+        assertEquals(List.of(2L, 1L), ids(index.search("김치", 100)));
+        assertEquals(List.of(3L, 2L, 1L), ids(index.search("찌개", 100)));
+        assertEquals(List.of(2L, 1L), ids(index.search("김", 100)));
+        assertTrue(index.search("없는메뉴", 100).isEmpty());
+    }
+
+    @Test
+    void search_오타가_있어도_후보로_찾고_정확히_맞는_문서를_앞에_둔다() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "김치찌개");
+        index.put(2, "김치찌게");
+
+        assertEquals(List.of(2L, 1L), ids(index.search("김치찌게", 100)));
+    }
+
+    @Test
+    void search_대소문자와_전각문자를_구분하지_않는다() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "Chicken Breast 샐러드");
+
+        assertEquals(List.of(1L), ids(index.search("ＣＨＩＣＫＥＮ", 100)));
+    }
+
+    @Test
+    void put_remove_수정과_삭제가_바로_반영된다() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "김치전");
+        index.put(1, "부추전");
+
+        assertTrue(index.search("김치", 100).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("부추", 100)));
+
+        index.remove(1);
+        assertTrue(index.search("부추", 100).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void search_후보가_상한을_넘으면_null을_돌려준다() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "김치찌개");
+        index.put(2, "된장찌개");
+
+        assertNull(index.search("찌개", 1));
+    }
+}
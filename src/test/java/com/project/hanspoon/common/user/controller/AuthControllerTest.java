@@ -0,0 +1,44 @@
+package com.project.hanspoon.common.user.controller;
+
+import com.project.hanspoon.common.response.ApiResponse;
+import com.project.hanspoon.common.security.CustomUserDetails;
+import com.project.hanspoon.common.security.jwt.JwtTokenProvider;
+import com.project.hanspoon.common.user.dto.LoginResponse;
+import com.project.hanspoon.common.user.entity.User;
+import com.project.hanspoon.common.user.service.AuthService;
+import com.project.hanspoon.common.user.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthControllerTest {
+
+    @Mock
+    private UserService userService;
+    @Mock
+    private AuthService authService;
+    @Mock
+    private AuthenticationManager authenticationManager;
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    void me_인증_캐시의_User가_옛_값이어도_DB의_스푼_잔액을_보여준다() {
+        AuthController controller = new AuthController(userService, authService, authenticationManager, jwtTokenProvider);
+        // PrincipalCache 에 들어 있던 User: 잔액 3
+        User cached = User.builder().userId(7L).email("author@hanspoon.com").spoonCount(3).build();
+        // 그 사이 레시피 추천 보상으로 DB 잔액은 5
+        when(userService.getSpoonBalance(7L)).thenReturn(5);
+
+        ResponseEntity<ApiResponse<LoginResponse>> response = controller.getCurrentUser(new CustomUserDetails(cached));
+
+        assertEquals(5, response.getBody().data().getSpoonBalance());
+    }
+}
@@ -0,0 +1,153 @@
+package com.project.hanspoon.oneday.api.location;
+
+import com.project.hanspoon.common.exception.BusinessException;
+import com.project.hanspoon.oneday.api.location.dto.GeocodeResponseDTO;
+import com.project.hanspoon.oneday.api.location.repository.GeocodeCacheRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 가짜 카카오 로컬 서버(JDK 내장 HttpServer)를 띄워 캐시/동시 호출 동작을 확인합니다.
+ */
+class KakaoLocationServiceTest {
+
+    private static final String ADDRESS_PATH = "/v2/local/search/address.json";
+    private static final String KEYWORD_PATH = "/v2/local/search/keyword.json";
+
+    private record Reply(int status, String body, long delayMs) {
+    }
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final Map<String, Reply> replies = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private KakaoLocationService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+
+        GeocodeCache cache = new GeocodeCache(mock(GeocodeCacheRepository.class), new SimpleMeterRegistry(),
+                false, 60_000, 60_000, 100);
+        service = new KakaoLocationService(cache, "test-key",
+                "http://127.0.0.1:" + server.getAddress().getPort(), 500, 1500, 2000, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void 주소검색과_키워드검색을_동시에_보내고_주소결과를_쓴다() {
+        replies.put(ADDRESS_PATH, new Reply(200, document("서울 중구 세종대로 110", "126.9779", "37.5663"), 800));
+        replies.put(KEYWORD_PATH, new Reply(200, document("서울 중구 태평로1가 31", "126.9780", "37.5664"), 800));
+
+        long startedAt = System.nanoTime();
+        GeocodeResponseDTO result = service.geocode("서울 중구 세종대로 110");
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertEquals("서울 중구 세종대로 110", result.getAddress());
+        assertEquals(37.5663, result.getLat());
+        assertEquals(126.9779, result.getLng());
+        assertEquals(2, requests.size());
+        // 차례로 불렀다면 1600ms 이상 걸립니다.
+        assertTrue(elapsedMs < 1500, "elapsed=" + elapsedMs);
+    }
+
+    @Test
+    void 같은_검색어는_공백이_달라도_캐시에서_답한다() {
+        replies.put(ADDRESS_PATH, new Reply(200, document("서울 중구 세종대로 110", "126.9779", "37.5663"), 0));
+        replies.put(KEYWORD_PATH, new Reply(200, "{\"documents\":[]}", 0));
+
+        service.geocode("서울 중구 세종대로 110");
+        GeocodeResponseDTO cached = service.geocode("  서울  중구   세종대로 110 ");
+
+        assertEquals("서울 중구 세종대로 110", cached.getAddress());
+        assertEquals(2, requests.size());
+        assertTrue(requests.contains(ADDRESS_PATH + "?query=서울 중구 세종대로 110"));
+    }
+
+    @Test
+    void 주소결과가_없으면_키워드결과를_쓴다() {
+        replies.put(ADDRESS_PATH, new Reply(200, "{\"documents\":[]}", 0));
+        replies.put(KEYWORD_PATH, new Reply(200, "{\"documents\":[{\"place_name\":\"한스푼 쿠킹스튜디오\","
+                + "\"road_address_name\":\"서울 마포구 양화로 45\",\"x\":\"126.9141\",\"y\":\"37.5509\"}]}", 0));
+
+        GeocodeResponseDTO result = service.geocode("한스푼 쿠킹스튜디오");
+
+        assertEquals("서울 마포구 양화로 45", result.getAddress());
+        assertEquals(37.5509, result.getLat());
+    }
+
+    @Test
+    void 결과가_없으면_잠시_기억하고_다시_부르지_않는다() {
+        replies.put(ADDRESS_PATH, new Reply(200, "{\"documents\":[]}", 0));
+        replies.put(KEYWORD_PATH, new Reply(200, "{\"documents\":[]}", 0));
+
+        assertThrows(BusinessException.class, () -> service.geocode("없는 주소 999"));
+        assertThrows(BusinessException.class, () -> service.geocode("없는 주소 999"));
+
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void 인증_실패는_캐시하지_않는다() {
+        replies.put(ADDRESS_PATH, new Reply(401, "{}", 0));
+        replies.put(KEYWORD_PATH, new Reply(401, "{}", 0));
+
+        BusinessException e = assertThrows(BusinessException.class, () -> service.geocode("서울역"));
+        assertTrue(e.getMessage().contains("인증"));
+        assertThrows(BusinessException.class, () -> service.geocode("서울역"));
+
+        assertEquals(4, requests.size());
+    }
+
+    private static String document(String addressName, String x, String y) {
+        return "{\"documents\":[{\"address_name\":\"" + addressName + "\",\"x\":\"" + x + "\",\"y\":\"" + y + "\"}]}";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        requests.add(path + "?" + URLDecoder.decode(exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8));
+        Reply reply = replies.getOrDefault(path, new Reply(404, "{}", 0));
+        if (reply.delayMs() > 0) {
+            try {
+                Thread.sleep(reply.delayMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] body = reply.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(reply.status(), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
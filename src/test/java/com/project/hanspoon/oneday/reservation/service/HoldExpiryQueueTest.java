@@ -0,0 +1,197 @@
+package com.project.hanspoon.oneday.reservation.service;
+
+import com.project.hanspoon.common.user.entity.User;
+import com.project.hanspoon.common.user.repository.UserRepository;
+import com.project.hanspoon.oneday.clazz.entity.ClassSession;
+import com.project.hanspoon.oneday.clazz.repository.ClassSessionRepository;
+import com.project.hanspoon.oneday.reservation.domain.ReservationStatus;
+import com.project.hanspoon.oneday.reservation.entity.ClassReservation;
+import com.project.hanspoon.oneday.reservation.repository.ClassReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HoldExpiryQueueTest {
+
+    private static final ZoneId KST_ZONE = ZoneId.of("Asia/Seoul");
+
+    /** 테스트에서 시간을 직접 앞으로 보내는 시계 */
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return KST_ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    private final MutableClock clock = new MutableClock(Instant.now());
+    private final ReservationExpireService expireService = mock(ReservationExpireService.class);
+    private final ClassReservationRepository reservationRepository = mock(ClassReservationRepository.class);
+    private final HoldExpiryQueue queue = new HoldExpiryQueue(expireService, reservationRepository, true, clock);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private static ClassReservationRepository.HoldDeadline deadline(long id, LocalDateTime holdExpiredAt) {
+        ClassReservationRepository.HoldDeadline hold = mock(ClassReservationRepository.HoldDeadline.class);
+        when(hold.getId()).thenReturn(id);
+        when(hold.getHoldExpiredAt()).thenReturn(holdExpiredAt);
+        return hold;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> expiredIds() {
+        ArgumentCaptor<Collection<Long>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(expireService).expireByIds(captor.capture(), any(LocalDateTime.class));
+        return List.copyOf(captor.getValue());
+    }
+
+    @Test
+    void reload_서버_시작_때_DB의_HOLD_만료_시각으로_큐를_채우고_시각이_되면_만료한다() {
+        when(reservationRepository.findHoldDeadlines(ReservationStatus.HOLD)).thenReturn(List.of(
+                deadline(1L, now().plusMinutes(1)),
+                deadline(2L, now().plusMinutes(5)),
+                deadline(3L, null)));
+
+        assertEquals(3, queue.reload());
+        assertEquals(2, queue.size());
+
+        // 아직 만료 시각 전
+        assertEquals(0, queue.drainDue());
+        verify(expireService, never()).expireByIds(anyCollection(), any(LocalDateTime.class));
+
+        clock.advance(Duration.ofMinutes(2));
+        assertEquals(1, queue.drainDue());
+        assertEquals(List.of(1L), expiredIds());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void schedule_트랜잭션_안이면_커밋된_뒤에만_큐에_넣는다() {
+        TransactionSynchronizationManager.initSynchronization();
+        queue.schedule(1L, now().plusMinutes(10));
+        assertEquals(0, queue.size());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        assertEquals(1, queue.size());
+
+        // 롤백되면 afterCommit 이 불리지 않으므로 큐에 들어가지 않습니다.
+        TransactionSynchronizationManager.initSynchronization();
+        queue.schedule(2L, now().plusMinutes(10));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void createHold_커밋되면_만료_시각을_큐에_등록하고_그_시각에_만료한다() {
+        ClassSessionRepository sessionRepository = mock(ClassSessionRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        SeatAllocator seatAllocator = mock(SeatAllocator.class);
+        ClassReservationService reservationService = new ClassReservationService(
+                sessionRepository, reservationRepository, userRepository, seatAllocator, queue);
+
+        ClassSession session = mock(ClassSession.class);
+        when(session.getId()).thenReturn(10L);
+        when(session.getStartAt()).thenReturn(LocalDateTime.now(KST_ZONE).plusDays(1));
+        when(session.remainingSeats()).thenReturn(5);
+        when(sessionRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(session));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(User.builder().userId(7L).build()));
+        when(reservationRepository.save(any(ClassReservation.class))).thenAnswer(invocation -> {
+            ClassReservation saved = invocation.getArgument(0);
+            ReflectionTestUtils.setField(saved, "id", 100L);
+            return saved;
+        });
+
+        TransactionSynchronizationManager.initSynchronization();
+        reservationService.createHold(10L, 7L);
+        assertEquals(0, queue.size());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        assertEquals(1, queue.size());
+
+        // 홀드는 10분 유지됩니다.
+        clock.advance(Duration.ofMinutes(11));
+        assertEquals(1, queue.drainDue());
+        assertEquals(List.of(100L), expiredIds());
+    }
+
+    @Test
+    void drainDue_한_번에_MAX_BATCH_건까지만_꺼낸다() {
+        for (long id = 1; id <= 600; id++) {
+            queue.schedule(id, now().plusSeconds(1));
+        }
+        queue.schedule(601L, now().plusHours(1));
+        clock.advance(Duration.ofSeconds(5));
+
+        assertEquals(500, queue.drainDue());
+        assertEquals(100, queue.drainDue());
+        assertEquals(0, queue.drainDue());
+
+        verify(expireService, times(2)).expireByIds(anyCollection(), eq(now()));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void drainDue_만료_처리가_실패해도_다음_항목을_계속_처리한다() {
+        queue.schedule(1L, now().plusSeconds(1));
+        clock.advance(Duration.ofSeconds(5));
+        when(expireService.expireByIds(anyCollection(), any(LocalDateTime.class)))
+                .thenThrow(new IllegalStateException("DB 오류"));
+
+        assertEquals(1, queue.drainDue());
+
+        queue.schedule(2L, now().minusSeconds(1));
+        assertEquals(1, queue.drainDue());
+    }
+}
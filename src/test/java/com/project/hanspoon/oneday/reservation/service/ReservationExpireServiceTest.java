@@ -0,0 +1,107 @@
+package com.project.hanspoon.oneday.reservation.service;
+
+import com.project.hanspoon.oneday.clazz.entity.ClassSession;
+import com.project.hanspoon.oneday.clazz.repository.ClassSessionRepository;
+import com.project.hanspoon.oneday.reservation.domain.ReservationStatus;
+import com.project.hanspoon.oneday.reservation.entity.ClassReservation;
+import com.project.hanspoon.oneday.reservation.repository.ClassReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReservationExpireServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private final ClassReservationRepository reservationRepository = mock(ClassReservationRepository.class);
+    private final ClassSessionRepository sessionRepository = mock(ClassSessionRepository.class);
+    private final SeatAllocator seatAllocator = mock(SeatAllocator.class);
+    private final ReservationExpireService service =
+            new ReservationExpireService(reservationRepository, sessionRepository, seatAllocator);
+
+    private static ClassSession session(long id) {
+        ClassSession session = mock(ClassSession.class);
+        when(session.getId()).thenReturn(id);
+        return session;
+    }
+
+    private static ClassReservation reservation(ClassSession session, ReservationStatus status) {
+        return ClassReservation.builder()
+                .session(session)
+                .status(status)
+                .holdExpiredAt(NOW.minusMinutes(1))
+                .build();
+    }
+
+    @Test
+    void expireByIds_세션별로_모아_세션당_한_번씩_좌석을_돌려놓는다() {
+        ClassSession first = session(1L);
+        ClassSession second = session(2L);
+        List<ClassReservation> targets = List.of(
+                reservation(second, ReservationStatus.HOLD),
+                reservation(first, ReservationStatus.HOLD),
+                reservation(second, ReservationStatus.HOLD),
+                reservation(first, ReservationStatus.HOLD),
+                reservation(second, ReservationStatus.HOLD));
+        when(reservationRepository.findExpiredHoldsByIdsForUpdate(anyCollection(), any(), any()))
+                .thenReturn(targets);
+
+        int expired = service.expireByIds(List.of(1L, 2L, 3L, 4L, 5L), NOW);
+
+        assertEquals(5, expired);
+        targets.forEach(r -> assertEquals(ReservationStatus.EXPIRED, r.getStatus()));
+        // 세션 id 오름차순으로 한 번씩 (잠금 순서 고정)
+        InOrder order = inOrder(sessionRepository);
+        order.verify(sessionRepository).decreaseReserved(1L, 2);
+        order.verify(sessionRepository).decreaseReserved(2L, 3);
+        order.verifyNoMoreInteractions();
+        verify(seatAllocator).release(1L, 2);
+        verify(seatAllocator).release(2L, 3);
+    }
+
+    @Test
+    void expireByIds_그_사이_상태가_바뀐_예약은_건너뛴다() {
+        ClassSession session = session(1L);
+        ClassReservation paid = reservation(session, ReservationStatus.PAID);
+        when(reservationRepository.findExpiredHoldsByIdsForUpdate(anyCollection(), any(), any()))
+                .thenReturn(List.of(reservation(session, ReservationStatus.HOLD), paid));
+
+        assertEquals(1, service.expireByIds(List.of(1L, 2L), NOW));
+
+        assertEquals(ReservationStatus.PAID, paid.getStatus());
+        verify(sessionRepository).decreaseReserved(1L, 1);
+    }
+
+    @Test
+    void expireByIds_빈_목록이면_조회하지_않는다() {
+        assertEquals(0, service.expireByIds(List.of(), NOW));
+
+        verify(reservationRepository, never()).findExpiredHoldsByIdsForUpdate(anyCollection(), any(), any());
+        verify(sessionRepository, never()).decreaseReserved(anyLong(), anyInt());
+    }
+
+    @Test
+    void expireHolds_주기_점검도_같은_방식으로_만료한다() {
+        ClassSession session = session(3L);
+        when(reservationRepository.findExpiredHolds(ReservationStatus.HOLD, NOW))
+                .thenReturn(List.of(reservation(session, ReservationStatus.HOLD), reservation(session, ReservationStatus.HOLD)));
+
+        assertEquals(2, service.expireHolds(NOW));
+
+        verify(sessionRepository).decreaseReserved(3L, 2);
+        verify(seatAllocator).release(3L, 2);
+    }
+}
@@ -0,0 +1,125 @@
+package com.project.hanspoon.oneday.reservation.service;
+
+import com.project.hanspoon.oneday.clazz.entity.ClassSession;
+import com.project.hanspoon.oneday.clazz.repository.ClassSessionRepository;
+import com.project.hanspoon.oneday.reservation.domain.ReservationStatus;
+import com.project.hanspoon.oneday.reservation.entity.ClassReservation;
+import com.project.hanspoon.oneday.reservation.repository.ClassReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SeatAllocatorTest {
+
+    private final ClassSessionRepository sessionRepository = mock(ClassSessionRepository.class);
+    private final ClassReservationRepository reservationRepository = mock(ClassReservationRepository.class);
+    private final SeatAllocator allocator = new SeatAllocator(
+            sessionRepository, reservationRepository, mock(PlatformTransactionManager.class), true);
+
+    private static ClassSession session(long id, int remaining) {
+        ClassSession session = mock(ClassSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.remainingSeats()).thenReturn(remaining);
+        when(session.getStartAt()).thenReturn(LocalDateTime.now().plusDays(1));
+        return session;
+    }
+
+    // 트랜잭션 하나를 흉내 냅니다. body 안에서 등록된 동기화 콜백을 status 로 끝냅니다.
+    private static void inTransaction(int status, Runnable body) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            body.run();
+            for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                sync.afterCompletion(status);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void tryAcquire_롤백되면_좌석을_돌려놓고_DB에_반영하지_않는다() {
+        ClassSession session = session(1L, 1);
+
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> assertTrue(allocator.tryAcquire(session)));
+        allocator.flush();
+
+        verify(sessionRepository, never()).increaseReservedIfFits(anyLong(), anyInt());
+        // 돌려받은 1자리를 다시 쓸 수 있고, 그 다음은 없습니다.
+        assertTrue(allocator.tryAcquire(session));
+        assertFalse(allocator.tryAcquire(session));
+    }
+
+    @Test
+    void claimUser_같은_사용자의_동시_요청은_하나만_통과하고_트랜잭션이_끝나면_풀린다() {
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            assertTrue(allocator.claimUser(1L, 7L));
+            assertFalse(allocator.claimUser(1L, 7L));
+            // 다른 사용자나 다른 세션은 막지 않습니다.
+            assertTrue(allocator.claimUser(1L, 8L));
+            assertTrue(allocator.claimUser(2L, 7L));
+        });
+
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> assertTrue(allocator.claimUser(1L, 7L)));
+    }
+
+    @Test
+    void flush_DB_반영에_실패하면_다음_flush_때_같은_수를_다시_반영한다() {
+        ClassSession session = session(1L, 5);
+        assertTrue(allocator.tryAcquire(session));
+        assertTrue(allocator.tryAcquire(session));
+        when(sessionRepository.increaseReservedIfFits(1L, 2))
+                .thenThrow(new QueryTimeoutException("lock wait timeout"))
+                .thenReturn(1);
+
+        allocator.flush();
+        allocator.flush();
+        // 이미 반영했으므로 더 쓸 것이 없습니다.
+        allocator.flush();
+
+        verify(sessionRepository, times(2)).increaseReservedIfFits(1L, 2);
+        verify(reservationRepository, never()).findNewestHoldsForUpdate(anyLong(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void flush_DB_정원이_모자라면_넘친_홀드를_취소하고_초과분은_기록하지_않는다() {
+        ClassSession session = session(1L, 2);
+        assertTrue(allocator.tryAcquire(session));
+        assertTrue(allocator.tryAcquire(session));
+
+        // 다른 경로로 좌석이 줄어 DB에는 1자리만 남은 상황
+        when(sessionRepository.increaseReservedIfFits(1L, 2)).thenReturn(0);
+        when(sessionRepository.increaseReservedIfFits(1L, 1)).thenReturn(1);
+        when(sessionRepository.findRemainingSeatsById(1L)).thenReturn(Optional.of(1), Optional.of(0));
+        ClassReservation newest = mock(ClassReservation.class);
+        when(reservationRepository.findNewestHoldsForUpdate(eq(1L), eq(ReservationStatus.HOLD), any(Pageable.class)))
+                .thenReturn(List.of(newest));
+
+        allocator.flush();
+
+        verify(newest).markCanceled(any(LocalDateTime.class));
+        verify(sessionRepository).increaseReservedIfFits(1L, 1);
+        verify(sessionRepository, never()).increaseReserved(anyLong(), anyInt());
+        // 카운터도 DB 기준(남은 좌석 0)으로 다시 맞춰집니다.
+        assertFalse(allocator.tryAcquire(session));
+    }
+}
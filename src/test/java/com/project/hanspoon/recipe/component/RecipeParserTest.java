@@ -38,4 +38,40 @@ class RecipeParserTest {
         String parsed = parser.parse(null, Map.of(), 1.0);
         assertEquals("", parsed);
     }
+
+    @Test
+    void parse_이름이_겹치면_가장_긴_재료명으로_치환한다() {
+        IngredientDto sugar = IngredientDto.builder()
+                .name("설탕")
+                .baseAmount(10)
+                .unit("g")
+                .build();
+        IngredientDto syrup = IngredientDto.builder()
+                .name("설탕물")
+                .baseAmount(50)
+                .unit("ml")
+                .build();
+
+        String parsed = parser.parse(
+                "@설탕물 에 @설탕 추가, 이메일@주소 는 그대로",
+                Map.of("설탕", sugar, "설탕물", syrup),
+                1.5
+        );
+
+        assertEquals("설탕물75ml 에 설탕15g 추가, 이메일@주소 는 그대로", parsed);
+    }
+
+    @Test
+    void parse_캐시된_템플릿도_인분_배수를_새로_적용한다() {
+        IngredientDto milk = IngredientDto.builder()
+                .name("우유")
+                .baseAmount(33.3)
+                .unit("ml")
+                .build();
+        Map<String, IngredientDto> ingMap = Map.of("우유", milk);
+
+        assertEquals("우유33.3ml 데우기", parser.parse("@우유 데우기", ingMap, 1.0));
+        assertEquals("우유66.6ml 데우기", parser.parse("@우유 데우기", ingMap, 2.0));
+        assertEquals("재료 없음", parser.parse("재료 없음", ingMap, 2.0));
+    }
 }
@@ -0,0 +1,136 @@
+package com.project.hanspoon.recipe.repository;
+
+import com.project.hanspoon.recipe.entity.Recipe;
+import com.project.hanspoon.recipe.entity.RecipeIngredient;
+import com.project.hanspoon.recipe.entity.RecipeIngredientGroup;
+import com.project.hanspoon.recipe.entity.RecipeInstruction;
+import com.project.hanspoon.recipe.entity.RecipeInstructionGroup;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * 레시피 재료/조리 트리 JDBC 배치 저장소를 H2 에서 실제로 실행해 봅니다.
+ */
+@DataJpaTest
+@Import(RecipeTreeJdbcRepository.class)
+class RecipeTreeJdbcRepositoryTest {
+
+    @Autowired
+    private RecipeTreeJdbcRepository repository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long 레시피저장(String title) {
+        Recipe recipe = entityManager.persistAndFlush(Recipe.builder()
+                .title(title)
+                .baseServings(1)
+                .build());
+        return recipe.getId();
+    }
+
+    private static RecipeIngredientGroup 재료그룹(String name, int sortOrder, String... ingredientNames) {
+        RecipeIngredientGroup group = RecipeIngredientGroup.builder()
+                .name(name)
+                .sortOrder(sortOrder)
+                .ingredients(new ArrayList<>())
+                .build();
+        for (String ingredientName : ingredientNames) {
+            group.getIngredients().add(RecipeIngredient.builder()
+                    .recipeIngredientGroup(group)
+                    .name(ingredientName)
+                    .baseAmount(100)
+                    .unit("g")
+                    .main(true)
+                    .ratio(50)
+                    .build());
+        }
+        return group;
+    }
+
+    private static RecipeInstructionGroup 조리그룹(String title, int sortOrder, String... contents) {
+        RecipeInstructionGroup group = RecipeInstructionGroup.builder()
+                .title(title)
+                .sortOrder(sortOrder)
+                .instructions(new ArrayList<>())
+                .build();
+        for (int i = 0; i < contents.length; i++) {
+            group.getInstructions().add(RecipeInstruction.builder()
+                    .recipeInstructionGroup(group)
+                    .stepOrder(i + 1)
+                    .content(contents[i])
+                    .build());
+        }
+        return group;
+    }
+
+    private int count(String sql, Long recipeId) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, recipeId);
+    }
+
+    @Test
+    void replaceTree_생성_키로_그룹_id를_채우고_하위_행을_그_그룹에_넣는다() {
+        Long recipeId = 레시피저장("식빵");
+        List<RecipeIngredientGroup> ingredientGroups = List.of(
+                재료그룹("반죽", 1, "밀가루", "물"), 재료그룹("토핑", 2, "버터"));
+        List<RecipeInstructionGroup> instructionGroups = List.of(조리그룹("굽기", 1, "예열한다", "굽는다"));
+
+        repository.replaceTree(recipeId, ingredientGroups, instructionGroups);
+
+        assertNotNull(ingredientGroups.get(0).getId());
+        assertNotEquals(ingredientGroups.get(0).getId(), ingredientGroups.get(1).getId());
+        assertEquals("반죽", jdbcTemplate.queryForObject(
+                "select group_name from recipe_ingredient_group where group_id = ?",
+                String.class, ingredientGroups.get(0).getId()));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from recipe_ingredient where group_id = ?",
+                Integer.class, ingredientGroups.get(1).getId()));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "select count(*) from recipe_instruction where inst_group_id = ?",
+                Integer.class, instructionGroups.get(0).getId()));
+    }
+
+    @Test
+    void replaceTree_다시_저장하면_기존_트리를_지우고_다른_레시피는_건드리지_않는다() {
+        Long recipeId = 레시피저장("식빵");
+        Long otherId = 레시피저장("바게트");
+        repository.replaceTree(recipeId, List.of(재료그룹("반죽", 1, "밀가루", "물")), List.of(조리그룹("굽기", 1, "굽는다")));
+        repository.replaceTree(otherId, List.of(재료그룹("반죽", 1, "밀가루")), List.of(조리그룹("굽기", 1, "굽는다")));
+
+        repository.replaceTree(recipeId, List.of(재료그룹("새 반죽", 1, "쌀가루")), List.of());
+
+        assertEquals(1, count("select count(*) from recipe_ingredient_group where recipe_id = ?", recipeId));
+        assertEquals(1, count("""
+                select count(*) from recipe_ingredient i
+                join recipe_ingredient_group g on g.group_id = i.group_id where g.recipe_id = ?
+                """, recipeId));
+        assertEquals(0, count("select count(*) from recipe_instruction_group where recipe_id = ?", recipeId));
+        assertEquals(1, count("select count(*) from recipe_ingredient_group where recipe_id = ?", otherId));
+        assertEquals(1, count("select count(*) from recipe_instruction_group where recipe_id = ?", otherId));
+    }
+
+    @Test
+    void deleteTree_재료와_조리_트리를_모두_지운다() {
+        Long recipeId = 레시피저장("식빵");
+        repository.replaceTree(recipeId, List.of(재료그룹("반죽", 1, "밀가루")), List.of(조리그룹("굽기", 1, "굽는다")));
+
+        repository.deleteTree(recipeId);
+
+        assertEquals(0, count("select count(*) from recipe_ingredient_group where recipe_id = ?", recipeId));
+        assertEquals(0, count("select count(*) from recipe_instruction_group where recipe_id = ?", recipeId));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from recipe_ingredient", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from recipe_instruction", Integer.class));
+    }
+}
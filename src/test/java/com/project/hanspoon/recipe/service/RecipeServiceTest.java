@@ -1,5 +1,9 @@
 package com.project.hanspoon.recipe.service;
 
+import com.project.hanspoon.common.search.CatalogSearchIndex;
+import com.project.hanspoon.common.security.PrincipalCache;
+import com.project.hanspoon.common.storage.service.UploadStager;
+import com.project.hanspoon.common.user.entity.User;
 import com.project.hanspoon.common.user.repository.UserRepository;
 import com.project.hanspoon.recipe.dto.IngredientDto;
 import com.project.hanspoon.recipe.dto.IngredientGroupDto;
@@ -12,14 +16,12 @@ import com.project.hanspoon.recipe.entity.RecipeIngredient;
 import com.project.hanspoon.recipe.entity.RecipeIngredientGroup;
 import com.project.hanspoon.recipe.entity.RecipeInstruction;
 import com.project.hanspoon.recipe.entity.RecipeInstructionGroup;
-import com.project.hanspoon.recipe.repository.IngredientGroupRepository;
-import com.project.hanspoon.recipe.repository.IngredientRepository;
-import com.project.hanspoon.recipe.repository.InstructionGroupRepository;
-import com.project.hanspoon.recipe.repository.InstructionRepository;
+import com.project.hanspoon.recipe.repository.RecipeIngRepository;
 import com.project.hanspoon.recipe.repository.RecipeRelationRepository;
 import com.project.hanspoon.recipe.repository.RecommendationRepository;
 import com.project.hanspoon.recipe.repository.RecipeRepository;
 import com.project.hanspoon.recipe.repository.RecipeRevRepository;
+import com.project.hanspoon.recipe.repository.RecipeTreeJdbcRepository;
 import com.project.hanspoon.recipe.repository.RecipeWishesRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,7 +35,9 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.mockito.Mockito.times;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,13 +47,7 @@ class RecipeServiceTest {
     @Mock
     private RecipeRepository recipeRepository;
     @Mock
-    private IngredientGroupRepository ingredientGroupRepository;
-    @Mock
-    private IngredientRepository ingredientRepository;
-    @Mock
-    private InstructionRepository instructionRepository;
-    @Mock
-    private InstructionGroupRepository instructionGroupRepository;
+    private RecipeTreeJdbcRepository recipeTreeJdbcRepository;
     @Mock
     private RecipeRelationRepository recipeRelationRepository;
     @Mock
@@ -57,22 +55,34 @@ class RecipeServiceTest {
     @Mock
     private RecipeRevRepository recipeRevRepository;
     @Mock
+    private RecipeIngRepository recipeIngRepository;
+    @Mock
+    private RecipeDetailLoader recipeDetailLoader;
+    @Mock
     private UserRepository userRepository;
     @Mock
     private RecommendationRepository recommendationRepository;
+    @Mock
+    private UploadStager uploadStager;
+    @Mock
+    private CatalogSearchIndex catalogSearchIndex;
+    @Mock
+    private PrincipalCache principalCache;
 
     private RecipeService 서비스생성() {
         return new RecipeService(
                 recipeRepository,
-                ingredientGroupRepository,
-                ingredientRepository,
-                instructionRepository,
-                instructionGroupRepository,
+                recipeTreeJdbcRepository,
                 recipeRelationRepository,
                 recipeWishesRepository,
                 recipeRevRepository,
+                recipeIngRepository,
+                recipeDetailLoader,
                 userRepository,
-                recommendationRepository
+                recommendationRepository,
+                uploadStager,
+                catalogSearchIndex,
+                principalCache
         );
     }
 
@@ -134,13 +144,41 @@ class RecipeServiceTest {
         instructionGroup.getInstructions().add(instruction);
         recipe.getRecipeInstructionGroup().add(instructionGroup);
 
-        when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
+        when(recipeDetailLoader.loadBody(1L)).thenReturn(RecipeDetailDto.bodyOf(recipe));
         RecipeDetailDto dto = service.getRecipeDtl(1L, null);
 
         assertEquals("@밀가루 넣기", dto.getInstructionGroup().get(0).getInstructions().get(0).getContent());
         assertFalse(dto.isWished());
     }
 
+    @Test
+    void deleteRecipe_상세_캐시를_비운다() {
+        RecipeService service = 서비스생성();
+        Recipe recipe = 기본레시피();
+        when(recipeRepository.findById(99L)).thenReturn(Optional.of(recipe));
+
+        service.deleteRecipe(99L);
+
+        assertTrue(recipe.isDeleted());
+        verify(recipeDetailLoader).evict(99L);
+    }
+
+    @Test
+    void toggleRecommendation_작성자_스푼이_바뀌면_인증_캐시를_비운다() {
+        RecipeService service = 서비스생성();
+        User author = User.builder().userId(7L).spoonCount(3).build();
+        User reader = User.builder().userId(8L).build();
+        Recipe recipe = 기본레시피();
+        recipe.setUser(author);
+        when(userRepository.findById(8L)).thenReturn(Optional.of(reader));
+        when(recipeRepository.findById(99L)).thenReturn(Optional.of(recipe));
+
+        service.toggleRecommendation(99L, 8L);
+
+        assertEquals(5, author.getSpoonBalance());
+        verify(principalCache).invalidateUser(7L);
+    }
+
     @Test
     void saveIngredientsAndInstructions_main재료합계를_비율기준으로_사용한다() {
         RecipeService service = 서비스생성();
@@ -171,12 +209,8 @@ class RecipeServiceTest {
 
         service.saveIngredientsAndInstructions(recipe, form, null);
 
-        ArgumentCaptor<RecipeIngredient> captor = ArgumentCaptor.forClass(RecipeIngredient.class);
-        verify(ingredientRepository, times(3)).save(captor.capture());
-        verify(ingredientGroupRepository).deleteByRecipe(recipe);
-        verify(instructionGroupRepository).deleteByRecipe(recipe);
-
-        List<RecipeIngredient> 저장재료 = captor.getAllValues();
+        List<RecipeIngredient> 저장재료 = 저장된재료(recipe);
+        assertEquals(3, 저장재료.size());
         assertEquals(33.333, 저장재료.get(0).getRatio(), 0.01);
         assertEquals(3.333, 저장재료.get(1).getRatio(), 0.01);
         assertEquals(66.666, 저장재료.get(2).getRatio(), 0.01);
@@ -203,10 +237,8 @@ class RecipeServiceTest {
 
         service.saveIngredientsAndInstructions(recipe, form, null);
 
-        ArgumentCaptor<RecipeIngredient> captor = ArgumentCaptor.forClass(RecipeIngredient.class);
-        verify(ingredientRepository, times(2)).save(captor.capture());
-
-        List<RecipeIngredient> 저장재료 = captor.getAllValues();
+        List<RecipeIngredient> 저장재료 = 저장된재료(recipe);
+        assertEquals(2, 저장재료.size());
         assertEquals(66.666, 저장재료.get(0).getRatio(), 0.01);
         assertEquals(33.333, 저장재료.get(1).getRatio(), 0.01);
     }
@@ -232,14 +264,22 @@ class RecipeServiceTest {
 
         service.saveIngredientsAndInstructions(recipe, form, null);
 
-        ArgumentCaptor<RecipeIngredient> captor = ArgumentCaptor.forClass(RecipeIngredient.class);
-        verify(ingredientRepository, times(2)).save(captor.capture());
-
-        List<RecipeIngredient> 저장재료 = captor.getAllValues();
+        List<RecipeIngredient> 저장재료 = 저장된재료(recipe);
+        assertEquals(2, 저장재료.size());
         assertEquals(0.0, 저장재료.get(0).getRatio(), 0.0);
         assertEquals(0.0, 저장재료.get(1).getRatio(), 0.0);
     }
 
+    // 재료/조리 트리는 JDBC 배치 저장소에 한 번에 넘어가므로, 넘긴 그룹에서 재료를 꺼내 검증한다.
+    @SuppressWarnings("unchecked")
+    private List<RecipeIngredient> 저장된재료(Recipe recipe) {
+        ArgumentCaptor<List<RecipeIngredientGroup>> captor = ArgumentCaptor.forClass(List.class);
+        verify(recipeTreeJdbcRepository).replaceTree(eq(recipe.getId()), captor.capture(), anyList());
+        return captor.getValue().stream()
+                .flatMap(group -> group.getIngredients().stream())
+                .toList();
+    }
+
     private Recipe 기본레시피() {
         return Recipe.builder()
                 .id(99L)